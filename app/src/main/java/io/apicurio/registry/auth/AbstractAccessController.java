@@ -56,7 +56,7 @@ public abstract class AbstractAccessController implements IAccessController {
         }
     }
 
-    private boolean verifyArtifactCreatedBy(String groupId, String artifactId) {
+    protected boolean verifyArtifactCreatedBy(String groupId, String artifactId) {
         try {
             ArtifactMetaDataDto dto = storage.getArtifactMetaData(groupId, artifactId, DEFAULT);
             String createdBy = dto.getCreatedBy();
@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.auth;
 
+import io.quarkus.security.ForbiddenException;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.interceptor.InvocationContext;
 
@@ -25,6 +27,9 @@ import jakarta.interceptor.InvocationContext;
 @Singleton
 public class OwnerBasedAccessController extends AbstractAccessController {
 
+    @Inject
+    AdminOverride adminOverride;
+
     /**
      * @see io.apicurio.registry.auth.IAccessController#isAuthorized(jakarta.interceptor.InvocationContext)
      */
@@ -41,4 +46,21 @@ public class OwnerBasedAccessController extends AbstractAccessController {
         return isOwner(context);
     }
 
+    /**
+     * Checks that the current user may write to the given artifact.  The {@link AuthorizedInterceptor} only
+     * checks the group of the operations that write to (or test writes to) many artifacts of a group, so they
+     * check each of the artifacts with this method.
+     * @param groupId
+     * @param artifactId
+     * @throws ForbiddenException if owner-only authorization is enabled and the user is not the owner
+     */
+    public void checkArtifactWriteAccess(String groupId, String artifactId) {
+        if (!authConfig.isAuthEnabled() || !authConfig.isObacEnabled() || adminOverride.isAdmin()) {
+            return;
+        }
+        if (!verifyArtifactCreatedBy(groupId, artifactId)) {
+            throw new ForbiddenException("User " + securityIdentity.getPrincipal().getName() + " is not authorized to write to artifact " + artifactId + ".");
+        }
+    }
+
 }
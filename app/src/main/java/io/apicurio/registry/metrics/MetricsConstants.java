@@ -31,9 +31,18 @@ public interface MetricsConstants {
     String STORAGE_PREFIX = "storage.";
     String STORAGE_METHOD_CALL = STORAGE_PREFIX + "method.call";
     String STORAGE_METHOD_CALL_DESCRIPTION = "Timing and results of storage methods calls";
+    String STORAGE_CONTENT_CACHE = STORAGE_PREFIX + "content.cache";
 
     // Storage tags/labels
 
     String STORAGE_METHOD_CALL_TAG_METHOD = "method";
     String STORAGE_METHOD_CALL_TAG_SUCCESS = "success";
+
+    // KafkaSQL storage
+
+    String KAFKASQL_PREFIX = STORAGE_PREFIX + "kafkasql.";
+    String KAFKASQL_PENDING_REQUESTS = KAFKASQL_PREFIX + "pending.requests";
+    String KAFKASQL_PENDING_REQUESTS_DESCRIPTION = "Number of KafkaSQL operations waiting for their journal record to be applied";
+    String KAFKASQL_APPLY_LATENCY = KAFKASQL_PREFIX + "apply.latency";
+    String KAFKASQL_APPLY_LATENCY_DESCRIPTION = "Time between submitting a KafkaSQL operation and receiving its response";
 }
@@ -16,12 +16,16 @@
 
 package io.apicurio.registry.rest.v2;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.hash.Hashing;
 import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.common.apps.logging.audit.Audited;
 import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
+import io.apicurio.registry.auth.OwnerBasedAccessController;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
@@ -33,6 +37,7 @@ import io.apicurio.registry.rest.v2.beans.*;
 import io.apicurio.registry.rest.v2.shared.CommonResourceOperations;
 import io.apicurio.registry.rules.RuleApplicationType;
 import io.apicurio.registry.rules.RulesService;
+import io.apicurio.registry.services.http.RegistryExceptionMapperService;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.types.ArtifactState;
@@ -54,10 +59,13 @@ import jakarta.ws.rs.NotAllowedException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.jose4j.base64url.Base64;
 
 import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -87,6 +95,15 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
     private static final String EMPTY_CONTENT_ERROR_MESSAGE = "Empty content is not allowed.";
     @SuppressWarnings("unused")
     private static final Integer GET_GROUPS_LIMIT = 1000;
+    /**
+     * Bounds the number of artifacts tested by {@link #testUpdateArtifacts(String, List)}, their existing versions
+     * are all loaded at once.
+     */
+    static final int MAX_TESTED_ARTIFACTS = 1000;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final ObjectMapper TEST_RESULT_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
     @Inject
     RulesService rulesService;
@@ -103,6 +120,12 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
     @Inject
     CommonResourceOperations common;
 
+    @Inject
+    RegistryExceptionMapperService exceptionMapper;
+
+    @Inject
+    OwnerBasedAccessController obac;
+
     /**
      * @see io.apicurio.registry.rest.v2.GroupsResource#getLatestArtifact(java.lang.String, java.lang.String, io.apicurio.registry.rest.v2.beans.HandleReferencesType)
      */
@@ -492,6 +515,77 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         rulesService.applyRules(defaultGroupIdToNull(groupId), artifactId, artifactType, content, RuleApplicationType.UPDATE, Collections.emptyList(), Collections.emptyMap()); //TODO:references not supported for testing update
     }
 
+    /**
+     * @see io.apicurio.registry.rest.v2.GroupsResource#testUpdateArtifacts(java.lang.String, java.util.List)
+     */
+    @Override
+    @Authorized(style = AuthorizedStyle.GroupOnly, level = AuthorizedLevel.Write)
+    public Response testUpdateArtifacts(String groupId, List<ArtifactTestContent> data) {
+        requireParameter("groupId", groupId);
+        requireParameter("data", data);
+        if (data.size() > MAX_TESTED_ARTIFACTS) {
+            throw new BadRequestException("At most " + MAX_TESTED_ARTIFACTS + " artifacts can be tested at once.");
+        }
+
+        Set<String> artifactIds = new HashSet<>();
+        for (ArtifactTestContent item : data) {
+            requireParameter("artifactId", item.getArtifactId());
+            if (item.getContent() == null || item.getContent().isEmpty()) {
+                throw new BadRequestException(EMPTY_CONTENT_ERROR_MESSAGE);
+            }
+            if (!artifactIds.add(item.getArtifactId())) {
+                throw new BadRequestException("Artifact " + item.getArtifactId() + " is tested more than once.");
+            }
+        }
+
+        // The operation is authorized on the group, the user must also be allowed to update each artifact
+        for (ArtifactTestContent item : data) {
+            obac.checkArtifactWriteAccess(groupId, item.getArtifactId());
+        }
+
+        // Loads everything the rules need now, a storage error can't be reported once the results are streamed
+        Map<String, RulesService.TestedContent> updatedContent = new LinkedHashMap<>();
+        for (ArtifactTestContent item : data) {
+            List<ArtifactReference> references = item.getReferences() != null ? item.getReferences() : Collections.emptyList();
+            Map<String, ContentHandle> resolvedReferences = storage.resolveReferences(toReferenceDtos(references));
+            updatedContent.put(item.getArtifactId(), new RulesService.TestedContent(ContentHandle.create(item.getContent()),
+                    references, resolvedReferences));
+        }
+        RulesService.RulesTest test = rulesService.prepareRulesTest(defaultGroupIdToNull(groupId), updatedContent);
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains(NDJSON)) {
+            StreamingOutput stream = os -> {
+                try {
+                    test.run((artifactId, error) -> {
+                        try {
+                            TEST_RESULT_MAPPER.writeValue(os, toTestResult(artifactId, error));
+                            os.write('\n');
+                            os.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            };
+            return Response.ok(stream, NDJSON).build();
+        }
+
+        List<ArtifactTestResult> results = new ArrayList<>(updatedContent.size());
+        test.run((artifactId, error) -> results.add(toTestResult(artifactId, error)));
+        return Response.ok(results, MediaType.APPLICATION_JSON).build();
+    }
+
+    private ArtifactTestResult toTestResult(String artifactId, RuntimeException error) {
+        ArtifactTestResult result = new ArtifactTestResult();
+        result.setArtifactId(artifactId);
+        if (error != null) {
+            result.setError(exceptionMapper.mapException(error).getError());
+        }
+        return result;
+    }
+
     /**
      * @see io.apicurio.registry.rest.v2.GroupsResource#getArtifactVersion(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.rest.v2.beans.HandleReferencesType)
      */
@@ -25,10 +25,13 @@ import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.HeadersHack;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
+import io.apicurio.registry.rest.v2.beans.ContentLookup;
 import io.apicurio.registry.rest.v2.beans.HandleReferencesType;
+import io.apicurio.registry.rest.v2.beans.IdentifiedContent;
 import io.apicurio.registry.rest.v2.shared.CommonResourceOperations;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ContentWrapperDto;
+import io.apicurio.registry.storage.dto.IdContentDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.error.ArtifactNotFoundException;
 import io.apicurio.registry.types.ArtifactMediaTypes;
@@ -37,10 +40,14 @@ import io.apicurio.registry.types.ReferenceType;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -52,6 +59,12 @@ import java.util.stream.Collectors;
 @Logged
 public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource {
 
+    /**
+     * Bounds the size of the query used by {@link #getContentByIds(HandleReferencesType, ContentLookup)}, some
+     * databases limit the number of parameters of a statement.
+     */
+    static final int MAX_CONTENT_IDS = 1000;
+
     @Inject
     CommonResourceOperations common;
 
@@ -108,6 +121,50 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
         return builder.build();
     }
 
+    /**
+     * @see io.apicurio.registry.rest.v2.IdsResource#getContentByIds(io.apicurio.registry.rest.v2.beans.HandleReferencesType, io.apicurio.registry.rest.v2.beans.ContentLookup)
+     */
+    @Override
+    @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Read)
+    public List<IdentifiedContent> getContentByIds(HandleReferencesType references, ContentLookup data) {
+        Set<Long> globalIds = toSet(data.getGlobalIds());
+        Set<Long> contentIds = toSet(data.getContentIds());
+        Set<String> contentHashes = toSet(data.getContentHashes());
+        if (globalIds.size() + contentIds.size() + contentHashes.size() > MAX_CONTENT_IDS) {
+            throw new BadRequestException("At most " + MAX_CONTENT_IDS + " identifiers can be requested at once.");
+        }
+
+        if (references == null) {
+            references = HandleReferencesType.PRESERVE;
+        }
+
+        List<IdentifiedContent> contents = new ArrayList<>();
+        for (IdContentDto dto : storage.getContentByIds(globalIds, contentIds, contentHashes)) {
+            if (ArtifactState.DISABLED.equals(dto.getState())) {
+                continue;
+            }
+            ContentHandle content = dto.getContent();
+            // The artifact type is needed to handle references, it is only known for artifact versions
+            if (dto.getArtifactType() != null) {
+                content = handleContentReferences(references, dto.getArtifactType(), content, dto.getReferences());
+            }
+            IdentifiedContent identifiedContent = new IdentifiedContent();
+            identifiedContent.setGlobalId(dto.getGlobalId());
+            identifiedContent.setContentId(dto.getContentId());
+            identifiedContent.setContentHash(dto.getContentHash());
+            identifiedContent.setContent(content.content());
+            identifiedContent.setReferences(dto.getReferences().stream()
+                    .map(V2ApiUtil::referenceDtoToReference)
+                    .collect(Collectors.toList()));
+            contents.add(identifiedContent);
+        }
+        return contents;
+    }
+
+    private static <T> Set<T> toSet(List<T> ids) {
+        return ids == null ? Set.of() : new LinkedHashSet<>(ids);
+    }
+
     /**
      * @see io.apicurio.registry.rest.v2.IdsResource#referencesByContentHash(java.lang.String)
      */
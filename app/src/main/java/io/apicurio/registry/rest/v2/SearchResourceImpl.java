@@ -18,6 +18,8 @@ package io.apicurio.registry.rest.v2;
 
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -42,12 +44,15 @@ import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.SearchCountMode;
 import io.apicurio.registry.rest.v2.beans.SortBy;
 import io.apicurio.registry.rest.v2.beans.SortOrder;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
+import io.apicurio.registry.storage.dto.CountMode;
 import io.apicurio.registry.storage.dto.OrderBy;
 import io.apicurio.registry.storage.dto.OrderDirection;
+import io.apicurio.registry.storage.dto.SearchCursor;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
@@ -65,6 +70,7 @@ public class SearchResourceImpl implements SearchResource {
 
     private static final String EMPTY_CONTENT_ERROR_MESSAGE = "Empty content is not allowed.";
     private static final String CANONICAL_QUERY_PARAM_ERROR_MESSAGE = "When setting 'canonical' to 'true', the 'artifactType' query parameter is also required.";
+    private static final String INVALID_NEXT_QUERY_PARAM_ERROR_MESSAGE = "Invalid 'next' continuation token, or 'order'/'orderby' different from the ones it was obtained with.";
 
     @Inject
     Logger log;
@@ -80,13 +86,13 @@ public class SearchResourceImpl implements SearchResource {
     HttpServletRequest request;
 
     /**
-     * @see io.apicurio.registry.rest.v2.SearchResource#searchArtifacts(java.lang.String, java.lang.Integer, java.lang.Integer, io.apicurio.registry.rest.v2.beans.SortOrder, io.apicurio.registry.rest.v2.beans.SortBy, java.util.List, java.util.List, java.lang.String, java.lang.String, java.lang.Long, java.lang.Long)
+     * @see io.apicurio.registry.rest.v2.SearchResource#searchArtifacts(java.lang.String, java.lang.Integer, java.lang.Integer, io.apicurio.registry.rest.v2.beans.SortOrder, io.apicurio.registry.rest.v2.beans.SortBy, java.util.List, java.util.List, java.lang.String, java.lang.String, java.lang.Long, java.lang.Long, java.lang.String, io.apicurio.registry.rest.v2.beans.SearchCountMode)
      */
     @Override
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
     public ArtifactSearchResults searchArtifacts(String name, BigInteger offset, BigInteger limit, SortOrder order,
             SortBy orderby, List<String> labels, List<String> properties, String description, String group,
-            Long globalId, Long contentId)
+            Long globalId, Long contentId, String next, SearchCountMode count)
     {
         if (orderby == null) {
             orderby = SortBy.name;
@@ -145,8 +151,24 @@ public class SearchResourceImpl implements SearchResource {
             filters.add(SearchFilter.ofContentId(contentId));
         }
 
-        ArtifactSearchResultsDto results = storage.searchArtifacts(filters, oBy, oDir, offset.intValue(), limit.intValue());
-        return V2ApiUtil.dtoToSearchResults(results);
+        ArtifactSearchResultsDto results;
+        if (StringUtil.isEmpty(next) && offset.intValue() != 0) {
+            results = storage.searchArtifacts(filters, oBy, oDir, offset.intValue(), limit.intValue());
+        } else {
+            SearchCursor after = StringUtil.isEmpty(next) ? null : decodeContinuationToken(next, oBy, oDir);
+            CountMode countMode;
+            if (count != null) {
+                countMode = CountMode.valueOf(count.name());
+            } else {
+                countMode = after != null ? CountMode.approximate : CountMode.exact;
+            }
+            results = storage.searchArtifacts(filters, oBy, oDir, after, limit.intValue(), countMode);
+        }
+        ArtifactSearchResults searchResults = V2ApiUtil.dtoToSearchResults(results);
+        if (results.getNext() != null) {
+            searchResults.setNext(encodeContinuationToken(results.getNext(), oBy, oDir));
+        }
+        return searchResults;
     }
 
     /**
@@ -193,6 +215,31 @@ public class SearchResourceImpl implements SearchResource {
         return V2ApiUtil.dtoToSearchResults(results);
     }
 
+    /**
+     * Encodes a search cursor, along with the ordering it is only valid for, as an opaque string.
+     */
+    private static String encodeContinuationToken(SearchCursor cursor, OrderBy orderBy, OrderDirection orderDirection) {
+        String token = orderBy.name() + ":" + orderDirection.name() + ":" + cursor.getGlobalId()
+                + (cursor.getOrderValue() != null ? ":" + cursor.getOrderValue() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SearchCursor decodeContinuationToken(String next, OrderBy orderBy, OrderDirection orderDirection) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(next), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length < 3 || !orderBy.name().equals(parts[0]) || !orderDirection.name().equals(parts[1])
+                    || (orderBy != OrderBy.globalId && parts.length != 4)) {
+                throw new BadRequestException(INVALID_NEXT_QUERY_PARAM_ERROR_MESSAGE);
+            }
+            if (orderBy == OrderBy.createdOn) {
+                Long.parseLong(parts[3]);
+            }
+            return new SearchCursor(parts.length == 4 ? parts[3] : null, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_NEXT_QUERY_PARAM_ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Make sure this is ONLY used when request instance is active.
      * e.g. in actual http request
@@ -38,6 +38,7 @@ public class RuleContext {
     private final ContentHandle updatedContent;
     private final List<ArtifactReference> references;
     private final Map<String, ContentHandle> resolvedReferences;
+    private final boolean verbose;
 
     /**
      * Constructor.
@@ -52,6 +53,25 @@ public class RuleContext {
     public RuleContext(String groupId, String artifactId, String artifactType, String configuration,
                        List<ContentHandle> currentContent, ContentHandle updatedContent, 
                        List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) {
+        this(groupId, artifactId, artifactType, configuration, currentContent, updatedContent, references,
+                resolvedReferences, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param groupId
+     * @param artifactId
+     * @param artifactType
+     * @param configuration
+     * @param currentContent
+     * @param updatedContent
+     * @param verbose whether a rule violation must list its causes, rather than only tell that the rule is violated
+     */
+    public RuleContext(String groupId, String artifactId, String artifactType, String configuration,
+                       List<ContentHandle> currentContent, ContentHandle updatedContent,
+                       List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences,
+                       boolean verbose) {
         this.groupId = groupId;
         this.artifactId = Objects.requireNonNull(artifactId);
         this.artifactType = Objects.requireNonNull(artifactType);
@@ -60,6 +80,7 @@ public class RuleContext {
         this.updatedContent = Objects.requireNonNull(updatedContent);
         this.references = Objects.requireNonNull(references);
         this.resolvedReferences = Objects.requireNonNull(resolvedReferences);
+        this.verbose = verbose;
     }
 
     /**
@@ -117,4 +138,11 @@ public class RuleContext {
     public List<ArtifactReference> getReferences() {
         return references;
     }
+
+    /**
+     * @return whether a rule violation must list its causes
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
 }
@@ -18,6 +18,7 @@ package io.apicurio.registry.rules;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
@@ -81,6 +82,84 @@ public interface RulesService {
             ContentHandle updatedContent, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences)
             throws RuleViolationException;
 
+    /**
+     * Applies configured rules to the content update, relative to ANY artifact version.  When not verbose, the
+     * rules only need to tell whether they are violated, so the rule violation has no causes, and the rules can
+     * stop at the first violation they find.
+     * @param groupId
+     * @param artifactId
+     * @param artifactVersion
+     * @param artifactType
+     * @param updatedContent
+     * @param references
+     * @param resolvedReferences
+     * @param verbose
+     * @throws RuleViolationException
+     */
+    public void applyRules(String groupId, String artifactId, String artifactVersion, String artifactType,
+            ContentHandle updatedContent, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences,
+            boolean verbose) throws RuleViolationException;
+
+
+    /**
+     * Prepares the test of the configured rules against updates of the content of many artifacts of a group,
+     * without updating them.  The artifact types, the artifact and global rules, and the existing versions of all
+     * the artifacts are loaded in bulk by this method, so that it throws any storage error before the test is run.
+     * @param groupId
+     * @param updatedContent the updated content of each artifact, with its references, by artifactId
+     */
+    public RulesTest prepareRulesTest(String groupId, Map<String, TestedContent> updatedContent);
+
+    /**
+     * The updated content of an artifact tested by {@link RulesService#prepareRulesTest(String, Map)}.
+     */
+    public static class TestedContent {
+
+        private final ContentHandle content;
+        private final List<ArtifactReference> references;
+        private final Map<String, ContentHandle> resolvedReferences;
+
+        /**
+         * Constructor.
+         * @param content
+         * @param references
+         * @param resolvedReferences
+         */
+        public TestedContent(ContentHandle content, List<ArtifactReference> references,
+                             Map<String, ContentHandle> resolvedReferences) {
+            this.content = content;
+            this.references = references;
+            this.resolvedReferences = resolvedReferences;
+        }
+
+        public ContentHandle getContent() {
+            return content;
+        }
+
+        public List<ArtifactReference> getReferences() {
+            return references;
+        }
+
+        public Map<String, ContentHandle> getResolvedReferences() {
+            return resolvedReferences;
+        }
+    }
+
+    /**
+     * A test of the rules against updates of the content of many artifacts, see
+     * {@link RulesService#prepareRulesTest(String, Map)}.
+     */
+    public interface RulesTest {
+
+        /**
+         * Checks the artifacts concurrently.  The result of each artifact is passed to the handler on the calling
+         * thread, as soon as it is known: null when the rules pass, or the exception that the update of the
+         * artifact would fail with, e.g. a {@link RuleViolationException}, or an
+         * {@link io.apicurio.registry.storage.error.ArtifactNotFoundException} when the artifact doesn't exist.
+         * @param resultHandler
+         */
+        public void run(BiConsumer<String, RuntimeException> resultHandler);
+    }
 
     public void applyRulesCompat(String groupId, String artifactId, String artifactVersion, String artifactType,
                                  ContentHandle updatedContent, List<ArtifactReference> references,
@@ -21,20 +21,30 @@ import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.content.canon.ContentCanonicalizer;
 import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactRulesContextDto;
 import io.apicurio.registry.storage.dto.LazyContentList;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.microprofile.context.ManagedExecutor;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +69,9 @@ public class RulesServiceImpl implements RulesService {
     @Inject
     ArtifactTypeUtilProviderFactory providerFactory;
 
+    @Inject
+    ManagedExecutor executor;
+
     /**
      * @see io.apicurio.registry.rules.RulesService#applyRules(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.content.ContentHandle, io.apicurio.registry.rules.RuleApplicationType, java.util.List, java.util.Map)
      */
@@ -78,25 +91,19 @@ public class RulesServiceImpl implements RulesService {
             currentContent = new LazyContentList(storage, Collections.emptyList());
         }
 
-        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentContent, artifactContent, rules, references, resolvedReferences);
+        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentContent, artifactContent, rules, references, resolvedReferences, true);
     }
 
     private void applyGlobalAndArtifactRules(String groupId, String artifactId, String artifactType,
                                              List<ContentHandle> currentArtifactContent, ContentHandle updatedArtifactContent,
-                                             List<RuleType> artifactRules, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) {
+                                             List<RuleType> artifactRules, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences,
+                                             boolean verbose) {
 
         Map<RuleType, RuleConfigurationDto> globalOrArtifactRulesMap = artifactRules.stream()
                 .collect(Collectors.toMap(ruleType -> ruleType, ruleType -> storage.getArtifactRule(groupId, artifactId, ruleType)));
 
         if (globalOrArtifactRulesMap.isEmpty()) {
-            List<RuleType> globalRules = storage.getGlobalRules();
-            globalOrArtifactRulesMap = globalRules.stream()
-                    .collect(Collectors.toMap(ruleType -> ruleType, storage::getGlobalRule));
-
-            // Add any default global rules to the map (after filtering out any global rules from artifactStore)
-            Map<RuleType, RuleConfigurationDto> filteredDefaultGlobalRulesMap = rulesProperties.getFilteredDefaultGlobalRules(globalRules).stream()
-                    .collect(Collectors.toMap(ruleType -> ruleType, rulesProperties::getDefaultGlobalRuleConfiguration));
-            globalOrArtifactRulesMap.putAll(filteredDefaultGlobalRulesMap);
+            globalOrArtifactRulesMap = getGlobalRulesConfiguration();
         }
 
         if (globalOrArtifactRulesMap.isEmpty()) {
@@ -105,7 +112,110 @@ public class RulesServiceImpl implements RulesService {
 
         for (RuleType ruleType : globalOrArtifactRulesMap.keySet()) {
             applyRule(groupId, artifactId, artifactType, currentArtifactContent, updatedArtifactContent, ruleType,
-                    globalOrArtifactRulesMap.get(ruleType).getConfiguration(), references, resolvedReferences);
+                    globalOrArtifactRulesMap.get(ruleType).getConfiguration(), references, resolvedReferences, verbose);
+        }
+    }
+
+    /**
+     * Gets the configuration of the global rules, including the default global rules that aren't overridden by
+     * a global rule from the storage.
+     */
+    private Map<RuleType, RuleConfigurationDto> getGlobalRulesConfiguration() {
+        List<RuleType> globalRules = storage.getGlobalRules();
+        Map<RuleType, RuleConfigurationDto> globalRulesMap = globalRules.stream()
+                .collect(Collectors.toMap(ruleType -> ruleType, storage::getGlobalRule));
+
+        // Add any default global rules to the map (after filtering out any global rules from artifactStore)
+        Map<RuleType, RuleConfigurationDto> filteredDefaultGlobalRulesMap = rulesProperties.getFilteredDefaultGlobalRules(globalRules).stream()
+                .collect(Collectors.toMap(ruleType -> ruleType, rulesProperties::getDefaultGlobalRuleConfiguration));
+        globalRulesMap.putAll(filteredDefaultGlobalRulesMap);
+        return globalRulesMap;
+    }
+
+    /**
+     * @see io.apicurio.registry.rules.RulesService#prepareRulesTest(java.lang.String, java.util.Map)
+     */
+    @Override
+    public RulesTest prepareRulesTest(String groupId, Map<String, TestedContent> updatedContent) {
+        Map<RuleType, RuleConfigurationDto> globalRules = getGlobalRulesConfiguration();
+        Map<String, ArtifactRulesContextDto> contexts = storage.getArtifactRulesContexts(groupId, updatedContent.keySet())
+                .stream()
+                .collect(Collectors.toMap(ArtifactRulesContextDto::getArtifactId, context -> context));
+        Map<Long, ContentHandle> contentById = LazyContentList.loadContents(storage, contexts.values().stream()
+                .flatMap(context -> context.getEnabledContentIds().stream())
+                .collect(Collectors.toList()));
+        return resultHandler -> testRules(groupId, updatedContent, globalRules, contexts, contentById, resultHandler);
+    }
+
+    /**
+     * Tests the updates of many artifacts concurrently, once everything they need is loaded.
+     */
+    private void testRules(String groupId, Map<String, TestedContent> updatedContent,
+                           Map<RuleType, RuleConfigurationDto> globalRules, Map<String, ArtifactRulesContextDto> contexts,
+                           Map<Long, ContentHandle> contentById, BiConsumer<String, RuntimeException> resultHandler) {
+        // Keeps at most one check per processor in flight, so that a large batch doesn't take over the executor
+        CompletionService<Pair<String, RuntimeException>> completionService = new ExecutorCompletionService<>(executor);
+        int maxInFlight = Runtime.getRuntime().availableProcessors();
+        int inFlight = 0;
+        for (Map.Entry<String, TestedContent> entry : updatedContent.entrySet()) {
+            String artifactId = entry.getKey();
+            ArtifactRulesContextDto context = contexts.get(artifactId);
+            if (context == null) {
+                resultHandler.accept(artifactId, new ArtifactNotFoundException(groupId, artifactId));
+                continue;
+            }
+            if (inFlight == maxInFlight) {
+                handleNextResult(completionService, resultHandler);
+                inFlight--;
+            }
+            Map<RuleType, RuleConfigurationDto> rules = context.getRules().isEmpty() ? globalRules : context.getRules();
+            completionService.submit(() -> Pair.of(artifactId, testRules(context, rules, contentById, entry.getValue())));
+            inFlight++;
+        }
+        for (; inFlight > 0; inFlight--) {
+            handleNextResult(completionService, resultHandler);
+        }
+    }
+
+    /**
+     * Applies the rules to an update of the content of a single artifact, and returns the exception the rules
+     * failed with, or null when they pass.
+     */
+    private RuntimeException testRules(ArtifactRulesContextDto context, Map<RuleType, RuleConfigurationDto> rules,
+                                       Map<Long, ContentHandle> contentById, TestedContent updatedContent) {
+        try {
+            List<ContentHandle> currentContent = new ArrayList<>(context.getEnabledContentIds().size());
+            for (Long contentId : context.getEnabledContentIds()) {
+                ContentHandle content = contentById.get(contentId);
+                if (content == null) {
+                    throw new ContentNotFoundException(contentId);
+                }
+                currentContent.add(content);
+            }
+            for (Map.Entry<RuleType, RuleConfigurationDto> rule : rules.entrySet()) {
+                applyRule(context.getGroupId(), context.getArtifactId(), context.getArtifactType(), currentContent,
+                        updatedContent.getContent(), rule.getKey(), rule.getValue().getConfiguration(),
+                        updatedContent.getReferences(), updatedContent.getResolvedReferences(), true);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static void handleNextResult(CompletionService<Pair<String, RuntimeException>> completionService,
+                                         BiConsumer<String, RuntimeException> resultHandler) {
+        try {
+            Pair<String, RuntimeException> result = completionService.take().get();
+            resultHandler.accept(result.getLeft(), result.getRight());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while testing the rules", e);
         }
     }
 
@@ -122,7 +232,7 @@ public class RulesServiceImpl implements RulesService {
             currentContent = new LazyContentList(storage, storage.getEnabledArtifactContentIds(groupId, artifactId));
         }
         applyRule(groupId, artifactId, artifactType, currentContent, artifactContent, ruleType, ruleConfiguration,
-                references, resolvedReferences);
+                references, resolvedReferences, true);
     }
 
     /**
@@ -130,10 +240,11 @@ public class RulesServiceImpl implements RulesService {
      */
     private void applyRule(String groupId, String artifactId, String artifactType, List<ContentHandle> currentContent,
                            ContentHandle updatedContent, RuleType ruleType, String ruleConfiguration,
-                           List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) {
+                           List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences,
+                           boolean verbose) {
         RuleExecutor executor = factory.createExecutor(ruleType);
         RuleContext context = new RuleContext(groupId, artifactId, artifactType, ruleConfiguration, currentContent,
-                updatedContent, references, resolvedReferences);
+                updatedContent, references, resolvedReferences, verbose);
         executor.execute(context);
     }
 
@@ -144,9 +255,19 @@ public class RulesServiceImpl implements RulesService {
     public void applyRules(String groupId, String artifactId, String artifactVersion, String artifactType,
                            ContentHandle updatedContent, List<ArtifactReference> references,
                            Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
+        applyRules(groupId, artifactId, artifactVersion, artifactType, updatedContent, references, resolvedReferences, true);
+    }
+
+    /**
+     * @see io.apicurio.registry.rules.RulesService#applyRules(java.lang.String, java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.content.ContentHandle, java.util.List, java.util.Map, boolean)
+     */
+    @Override
+    public void applyRules(String groupId, String artifactId, String artifactVersion, String artifactType,
+                           ContentHandle updatedContent, List<ArtifactReference> references,
+                           Map<String, ContentHandle> resolvedReferences, boolean verbose) throws RuleViolationException {
         StoredArtifactDto versionContent = storage.getArtifactVersion(groupId, artifactId, artifactVersion);
         applyGlobalAndArtifactRules(groupId, artifactId, artifactType, Collections.singletonList(versionContent.getContent()),
-                updatedContent, storage.getArtifactRules(groupId, artifactId), references, resolvedReferences);
+                updatedContent, storage.getArtifactRules(groupId, artifactId), references, resolvedReferences, verbose);
     }
 
     @Override
@@ -158,6 +279,6 @@ public class RulesServiceImpl implements RulesService {
         StoredArtifactDto versionContent = storage.getArtifactVersion(groupId, artifactId, artifactVersion);
         applyGlobalAndArtifactRules(groupId, artifactId, artifactType,
                 Collections.singletonList(contentCanonicalizer.canonicalize(versionContent.getContent(), Map.of())),
-                updatedContent, storage.getArtifactRules(groupId, artifactId), references, resolvedReferences);
+                updatedContent, storage.getArtifactRules(groupId, artifactId), references, resolvedReferences, true);
     }
 }
@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.rules.compatibility;
 
+import io.apicurio.common.apps.config.Info;
 import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rules.RuleContext;
@@ -26,8 +27,12 @@ import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -50,6 +55,23 @@ public class CompatibilityRuleExecutor implements RuleExecutor {
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
+    @Inject
+    @ConfigProperty(name = "registry.rules.compatibility.parallelism", defaultValue = "0")
+    @Info(category = "rules", description = "Maximum number of threads checking a schema against the existing versions of its artifact in parallel, for the transitive and full compatibility levels (0 or 1 to check them one after the other on the request thread)", availableSince = "3.0.0.Final")
+    int parallelism;
+
+    private CompatibilityCheckExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = CompatibilityCheckExecutor.parallel(parallelism);
+    }
+
+    @PreDestroy
+    void destroy() {
+        executor.shutdown();
+    }
+
     /**
      * @see io.apicurio.registry.rules.RuleExecutor#execute(io.apicurio.registry.rules.RuleContext)
      */
@@ -60,11 +82,20 @@ public class CompatibilityRuleExecutor implements RuleExecutor {
         CompatibilityChecker checker = provider.getCompatibilityChecker();
         List<ContentHandle> existingArtifacts = context.getCurrentContent() != null
                 ? context.getCurrentContent() : emptyList();
+        if (!context.isVerbose()) {
+            if (!checker.isCompatible(level, existingArtifacts, context.getUpdatedContent(), context.getResolvedReferences(), executor)) {
+                throw new RuleViolationException(String.format("Incompatible artifact: %s [%s]",
+                        context.getArtifactId(), context.getArtifactType()),
+                        RuleType.COMPATIBILITY, context.getConfiguration(), Collections.emptySet());
+            }
+            return;
+        }
         CompatibilityExecutionResult compatibilityExecutionResult = checker.testCompatibility(
                 level,
                 existingArtifacts,
                 context.getUpdatedContent(),
-                context.getResolvedReferences());
+                context.getResolvedReferences(),
+                executor);
         if (!compatibilityExecutionResult.isCompatible()) {
             throw new RuleViolationException(String.format("Incompatible artifact: %s [%s], num of incompatible diffs: {%s}, list of diff types: %s",
                     context.getArtifactId(), context.getArtifactType(),
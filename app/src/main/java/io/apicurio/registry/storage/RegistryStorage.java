@@ -22,19 +22,23 @@ import io.apicurio.common.apps.config.DynamicConfigStorage;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactOwnerDto;
+import io.apicurio.registry.storage.dto.ArtifactRulesContextDto;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.ArtifactSearchResultsDto;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
 import io.apicurio.registry.storage.dto.CommentDto;
 import io.apicurio.registry.storage.dto.ContentWrapperDto;
+import io.apicurio.registry.storage.dto.CountMode;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupSearchResultsDto;
+import io.apicurio.registry.storage.dto.IdContentDto;
 import io.apicurio.registry.storage.dto.OrderBy;
 import io.apicurio.registry.storage.dto.OrderDirection;
 import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.dto.SearchCursor;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
@@ -211,6 +215,18 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     ContentWrapperDto getArtifactByContentHash(String contentHash) throws ContentNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets many pieces of artifact content at once, by the globalIds of artifact versions, by contentId
+     * or by content hash.  Ids that don't exist are ignored, so the result can be smaller than the number
+     * of ids.  The order of the result is not defined.
+     *
+     * @param globalIds
+     * @param contentIds
+     * @param contentHashes
+     * @throws RegistryStorageException
+     */
+    List<IdContentDto> getContentByIds(Collection<Long> globalIds, Collection<Long> contentIds, Collection<String> contentHashes) throws RegistryStorageException;
+
     /**
      * Get artifact metadata for a given contentId
      *
@@ -228,6 +244,17 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     List<Long> getEnabledArtifactContentIds(String groupId, String artifactId);
 
+    /**
+     * Gets what the rules need to check an update of the content of many artifacts of a group at once: the
+     * type, the artifact rules and the enabled versions of each artifact.  Artifacts that don't exist are
+     * ignored, so the result can be smaller than the number of artifactIds.
+     *
+     * @param groupId
+     * @param artifactIds
+     * @throws RegistryStorageException
+     */
+    List<ArtifactRulesContextDto> getArtifactRulesContexts(String groupId, Collection<String> artifactIds) throws RegistryStorageException;
+
     /**
      * Updates the artifact value by storing the given value as a new version of the artifact.  Previous value
      * is NOT overwitten.  Returns a map of meta-data generated by the artifactStore layer, such as the generated,
@@ -286,6 +313,22 @@ public interface RegistryStorage extends DynamicConfigStorage {
     ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
                                              int offset, int limit);
 
+    /**
+     * Search artifacts by given criteria, returning the artifacts that follow the given position (keyset
+     * pagination).  Unlike with an offset, the cost of getting a page does not depend on the number of
+     * artifacts before it.
+     *
+     * @param filters        the set of filters to apply when searching
+     * @param orderBy        the field to order by
+     * @param orderDirection the direction to order the results
+     * @param after          the position of the last artifact of the previous page (see
+     *                       {@link ArtifactSearchResultsDto#getNext()}), or null to get the first page
+     * @param limit          the result size limit
+     * @param countMode      how to compute the total count of matching artifacts
+     */
+    ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                             SearchCursor after, int limit, CountMode countMode);
+
     ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId)
             throws ArtifactNotFoundException, RegistryStorageException;
 
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.decorator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
+import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
+import io.apicurio.registry.storage.error.GroupNotFoundException;
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.storage.error.VersionNotFoundException;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.EqualsAndHashCode;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE;
+
+/**
+ * Read-through cache of the immutable registry data: content, with its references, by contentId, content
+ * hash or globalId.  These are the lookups done by serializers/deserializers, and the ones that dominate the
+ * load of most deployments.  Mutable data (latest versions, meta-data, state) is not cached, since it can be
+ * changed by other replicas (or for KafkaSQL, by the journal consumer) without this replica knowing it.
+ * <p>
+ * The cache is bounded by the (approximate) number of bytes of the cached content.  The content of a
+ * contentId, hash or globalId never changes, it can only be deleted, or replaced when ids are reset or data
+ * is imported.  Writes doing so through this replica invalidate the cache, otherwise entries expire.
+ * <p>
+ * Hit, miss and eviction counts are exposed as Micrometer cache metrics.
+ */
+@ApplicationScoped
+public class RegistryStorageContentCache extends RegistryStorageDecoratorBase implements RegistryStorageDecorator {
+
+    // Rough size of a cached DTO without its content
+    private static final int ENTRY_OVERHEAD_BYTES = 1024;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "registry.storage.content-cache.enabled", defaultValue = "false")
+    @Info(category = "cache", description = "Enable the artifact content cache", availableSince = "3.0.0.Final")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.storage.content-cache.max-size-bytes", defaultValue = "67108864")
+    @Info(category = "cache", description = "Maximum size of the content held by the artifact content cache, in bytes", availableSince = "3.0.0.Final")
+    long maxSizeBytes;
+
+    @ConfigProperty(name = "registry.storage.content-cache.expire-after-write-seconds", defaultValue = "60")
+    @Info(category = "cache", description = "Number of seconds after which an entry of the artifact content cache is reloaded from storage", availableSince = "3.0.0.Final")
+    long expireAfterWriteSeconds;
+
+    // Values are ContentWrapperDto or StoredArtifactDto, depending on the kind of key
+    private Cache<CacheKey, Object> cache;
+
+    // Incremented on every invalidation, so that a value loaded before the invalidation is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher(RegistryStorageContentCache::weigh)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        if (enabled) {
+            GuavaCacheMetrics.monitor(meterRegistry, cache, STORAGE_CONTENT_CACHE);
+        }
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#order()
+     */
+    @Override
+    public int order() {
+        return RegistryStorageDecoratorOrderConstants.CONTENT_CACHE_DECORATOR;
+    }
+
+
+    @Override
+    public ContentWrapperDto getArtifactByContentId(long contentId)
+            throws ContentNotFoundException, RegistryStorageException {
+        return get(CacheKey.of(KeyKind.CONTENT_ID, contentId), () -> super.getArtifactByContentId(contentId),
+                RegistryStorageContentCache::copy);
+    }
+
+
+    @Override
+    public ContentWrapperDto getArtifactByContentHash(String contentHash)
+            throws ContentNotFoundException, RegistryStorageException {
+        return get(CacheKey.of(KeyKind.CONTENT_HASH, contentHash), () -> super.getArtifactByContentHash(contentHash),
+                RegistryStorageContentCache::copy);
+    }
+
+
+    @Override
+    public StoredArtifactDto getArtifactVersion(long globalId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        return get(CacheKey.of(KeyKind.GLOBAL_ID, globalId), () -> super.getArtifactVersion(globalId),
+                RegistryStorageContentCache::copy);
+    }
+
+
+    @Override
+    public List<String> deleteArtifact(String groupId, String artifactId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        try {
+            return super.deleteArtifact(groupId, artifactId);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void deleteArtifacts(String groupId) throws RegistryStorageException {
+        try {
+            super.deleteArtifacts(groupId);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void deleteArtifactVersion(String groupId, String artifactId, String version)
+            throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
+        try {
+            super.deleteArtifactVersion(groupId, artifactId, version);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void deleteGroup(String groupId) throws GroupNotFoundException, RegistryStorageException {
+        try {
+            super.deleteGroup(groupId);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void importData(EntityInputStream entities, boolean preserveGlobalId, boolean preserveContentId)
+            throws RegistryStorageException {
+        try {
+            super.importData(entities, preserveGlobalId, preserveContentId);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void deleteAllUserData() {
+        try {
+            super.deleteAllUserData();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+
+    @Override
+    public void resetGlobalId() {
+        super.resetGlobalId();
+        invalidateAll();
+    }
+
+
+    @Override
+    public void resetContentId() {
+        super.resetContentId();
+        invalidateAll();
+    }
+
+
+    @Override
+    public void importContent(ContentEntity entity) {
+        super.importContent(entity);
+        invalidateAll();
+    }
+
+
+    @Override
+    public void importArtifactVersion(ArtifactVersionEntity entity) {
+        super.importArtifactVersion(entity);
+        invalidateAll();
+    }
+
+
+    /**
+     * Returns a copy of the cached value, or loads it.  Failures (e.g. not found) are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(CacheKey key, Supplier<T> loader, UnaryOperator<T> copy) {
+        T cached = (T) cache.getIfPresent(key);
+        if (cached != null) {
+            return copy.apply(cached);
+        }
+        long gen = generation.get();
+        T value = loader.get();
+        if (value != null && gen == generation.get()) {
+            // The caller may change the returned DTO
+            cache.put(key, copy.apply(value));
+            // An invalidation may have happened between the check and the put.
+            if (gen != generation.get()) {
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    private static ContentWrapperDto copy(ContentWrapperDto dto) {
+        return new ContentWrapperDto(dto.getContent(), copy(dto.getReferences()));
+    }
+
+    private static StoredArtifactDto copy(StoredArtifactDto dto) {
+        // The DTO itself is immutable, but not its list of references
+        return StoredArtifactDto.builder()
+                .globalId(dto.getGlobalId())
+                .version(dto.getVersion())
+                .versionId(dto.getVersionId())
+                .contentId(dto.getContentId())
+                .content(dto.getContent())
+                .references(copy(dto.getReferences()))
+                .build();
+    }
+
+    private static List<ArtifactReferenceDto> copy(List<ArtifactReferenceDto> references) {
+        if (references == null) {
+            return null;
+        }
+        return references.stream()
+                .map(ref -> new ArtifactReferenceDto(ref.getGroupId(), ref.getArtifactId(), ref.getVersion(), ref.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static int weigh(CacheKey key, Object value) {
+        ContentHandle content = value instanceof StoredArtifactDto
+                ? ((StoredArtifactDto) value).getContent() : ((ContentWrapperDto) value).getContent();
+        return ENTRY_OVERHEAD_BYTES + (content != null ? content.getSizeBytes() : 0);
+    }
+
+    private enum KeyKind {
+        CONTENT_ID, CONTENT_HASH, GLOBAL_ID
+    }
+
+    @EqualsAndHashCode
+    private static class CacheKey {
+
+        private final KeyKind kind;
+        private final Object id;
+
+        private CacheKey(KeyKind kind, Object id) {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        static CacheKey of(KeyKind kind, Object id) {
+            return new CacheKey(kind, id);
+        }
+    }
+}
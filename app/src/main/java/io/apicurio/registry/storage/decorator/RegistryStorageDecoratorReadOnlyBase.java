@@ -25,6 +25,7 @@ import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.impexp.Entity;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -105,6 +106,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public List<IdContentDto> getContentByIds(Collection<Long> globalIds, Collection<Long> contentIds, Collection<String> contentHashes)
+            throws RegistryStorageException {
+        return delegate.getContentByIds(globalIds, contentIds, contentHashes);
+    }
+
+
     @Override
     public List<ArtifactMetaDataDto> getArtifactVersionsByContentId(long contentId) {
         return delegate.getArtifactVersionsByContentId(contentId);
@@ -124,6 +132,14 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy,
+                                                    OrderDirection orderDirection, SearchCursor after, int limit,
+                                                    CountMode countMode) {
+        return delegate.searchArtifacts(filters, orderBy, orderDirection, after, limit, countMode);
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -402,6 +418,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
         return delegate.getEnabledArtifactContentIds(groupId, artifactId);
     }
 
+    @Override
+    public List<ArtifactRulesContextDto> getArtifactRulesContexts(String groupId, Collection<String> artifactIds)
+            throws RegistryStorageException {
+        return delegate.getArtifactRulesContexts(groupId, artifactIds);
+    }
+
     @Override
     public List<String> getArtifactVersions(String groupId, String artifactId, ArtifactRetrievalBehavior behavior) throws ArtifactNotFoundException, RegistryStorageException {
         return delegate.getArtifactVersions(groupId, artifactId, behavior);
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.dto;
+
+import io.apicurio.registry.types.RuleType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the rules need to know about an artifact to check an update of its content: its type, the configuration
+ * of its own rules, and the contentIds of its enabled versions, in version order.
+ */
+@Value
+@Builder
+public class ArtifactRulesContextDto {
+
+    private String groupId;
+    private String artifactId;
+    private String artifactType;
+    private Map<RuleType, RuleConfigurationDto> rules;
+    private List<Long> enabledContentIds;
+}
@@ -26,6 +26,7 @@ public class ArtifactSearchResultsDto {
     
     private List<SearchedArtifactDto> artifacts = new ArrayList<SearchedArtifactDto>();
     private long count;
+    private SearchCursor next;
     
     /**
      * Constructor.
@@ -61,4 +62,19 @@ public class ArtifactSearchResultsDto {
         this.count = count;
     }
 
+    /**
+     * @return the position of the last artifact in the result set, to get the following artifacts with, or
+     * null if there are none
+     */
+    public SearchCursor getNext() {
+        return next;
+    }
+
+    /**
+     * @param next the next to set
+     */
+    public void setNext(SearchCursor next) {
+        this.next = next;
+    }
+
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.dto;
+
+/**
+ * How the total count of an artifact search result set is computed.
+ */
+public enum CountMode {
+
+    /**
+     * Always count the matching artifacts.
+     */
+    exact,
+
+    /**
+     * Reuse the count of a recent search with the same filters, if there is one.
+     */
+    approximate,
+
+    /**
+     * Do not count the matching artifacts, the count of the result set is then -1.
+     */
+    skip
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.dto;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.types.ArtifactState;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Some content looked up by one of its ids.  The globalId, state and artifact type are only set when the content
+ * was requested by the globalId of an artifact version.
+ */
+@Value
+@Builder
+public class IdContentDto {
+
+    private Long globalId;
+    private ArtifactState state;
+    private String artifactType;
+    private long contentId;
+    private String contentHash;
+    private ContentHandle content;
+    private List<ArtifactReferenceDto> references;
+}
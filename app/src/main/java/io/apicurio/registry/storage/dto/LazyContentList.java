@@ -17,21 +17,40 @@
 package io.apicurio.registry.storage.dto;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.StoredContentHandle;
 import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
+/**
+ * The content of some artifact versions, loaded from the storage when it is needed.  A single item is loaded
+ * on its own, e.g. the latest version for a non-transitive compatibility check, while iterating over the list
+ * loads all the items at once, in as few queries as possible.  The items are {@link StoredContentHandle}s.
+ */
 public class LazyContentList implements List<ContentHandle> {
 
+    /**
+     * The maximum number of contentIds loaded by a single query, so that it stays below the parameter limits
+     * of the databases.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final RegistryStorage storage;
     private final List<Long> contentIds;
+    private List<ContentHandle> contents;
 
     public LazyContentList(RegistryStorage storage, List<Long> contentIds) {
         this.storage = storage;
@@ -55,8 +74,15 @@ public class LazyContentList implements List<ContentHandle> {
 
     @Override
     public ContentHandle get(int index) {
-        //Not the best solution, works for now...
-        return storage.getArtifactByContentId(contentIds.get(index)).getContent();
+        if (contents != null) {
+            return contents.get(index);
+        }
+        Long contentId = contentIds.get(index);
+        ContentHandle content = loadContents(storage, List.of(contentId)).get(contentId);
+        if (content == null) {
+            throw new ContentNotFoundException(contentId);
+        }
+        return content;
     }
 
     @Override
@@ -105,7 +131,7 @@ public class LazyContentList implements List<ContentHandle> {
     @NotNull
     @Override
     public Iterator<ContentHandle> iterator() {
-        return new LazyContentListIterator(this, contentIds.iterator());
+        return loadAll().iterator();
     }
 
     @NotNull
@@ -168,10 +194,7 @@ public class LazyContentList implements List<ContentHandle> {
 
     @Override
     public void forEach(Consumer<? super ContentHandle> action) {
-        for (Long contentId : contentIds) {
-            ContentHandle retrievedContent = storage.getArtifactByContentId(contentId).getContent();
-            action.accept(retrievedContent);
-        }
+        loadAll().forEach(action);
     }
 
     public List<Long> getContentIds() {
@@ -186,30 +209,40 @@ public class LazyContentList implements List<ContentHandle> {
         }
     }
 
-    private static class LazyContentListIterator implements Iterator<ContentHandle> {
-
-        private final LazyContentList lazyContentList;
-        private final Iterator<Long> contentIdsIterator;
-
-        private LazyContentListIterator(LazyContentList lazyContentList, Iterator<Long> contentIdsIterator) {
-            this.lazyContentList = lazyContentList;
-            this.contentIdsIterator = contentIdsIterator;
-        }
-
-        @Override
-        public boolean hasNext() {
-            return contentIdsIterator.hasNext();
+    /**
+     * Loads the content of many contentIds, in batches of {@link #MAX_BATCH_SIZE} distinct contentIds.  The
+     * contentIds that don't exist are left out of the result.  The content carries its content hash, which
+     * identifies it in the compatibility verdict cache.
+     */
+    public static Map<Long, ContentHandle> loadContents(RegistryStorage storage, Collection<Long> contentIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(contentIds));
+        Map<Long, ContentHandle> contentById = new HashMap<>();
+        for (int i = 0; i < distinctIds.size(); i += MAX_BATCH_SIZE) {
+            List<Long> batch = distinctIds.subList(i, Math.min(i + MAX_BATCH_SIZE, distinctIds.size()));
+            storage.getContentByIds(Collections.emptyList(), batch, Collections.emptyList())
+                    .forEach(dto -> contentById.put(dto.getContentId(),
+                            new StoredContentHandle(dto.getContent(), dto.getContentHash())));
         }
-
-        @Override
-        public ContentHandle next() {
-            Long nextContentId = contentIdsIterator.next();
-            return lazyContentList.getContentById(nextContentId);
-        }
-
-        @Override
-        public void remove() {
-            contentIdsIterator.remove();
+        return contentById;
+    }
+
+    /**
+     * Loads the content of all the items, in batches of {@link #MAX_BATCH_SIZE} distinct contentIds, and keeps
+     * it for the next iterations.
+     */
+    private List<ContentHandle> loadAll() {
+        if (contents == null) {
+            Map<Long, ContentHandle> contentById = loadContents(storage, contentIds);
+            List<ContentHandle> loaded = new ArrayList<>(contentIds.size());
+            for (Long contentId : contentIds) {
+                ContentHandle content = contentById.get(contentId);
+                if (content == null) {
+                    throw new ContentNotFoundException(contentId);
+                }
+                loaded.add(content);
+            }
+            contents = Collections.unmodifiableList(loaded);
         }
+        return contents;
     }
-}
\ No newline at end of file
+}
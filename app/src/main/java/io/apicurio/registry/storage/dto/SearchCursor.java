@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.dto;
+
+import java.util.Objects;
+
+/**
+ * Position in an ordered artifact search result set, used for keyset pagination.  Holds the value of
+ * the order-by field and the globalId (used to break ties) of the last artifact of a page.
+ */
+public class SearchCursor {
+
+    private final String orderValue;
+    private final long globalId;
+
+    /**
+     * Constructor.
+     * @param orderValue the value of the order-by field, as a string (null when ordering by globalId)
+     * @param globalId
+     */
+    public SearchCursor(String orderValue, long globalId) {
+        this.orderValue = orderValue;
+        this.globalId = globalId;
+    }
+
+    /**
+     * @return the orderValue
+     */
+    public String getOrderValue() {
+        return orderValue;
+    }
+
+    /**
+     * @return the globalId
+     */
+    public long getGlobalId() {
+        return globalId;
+    }
+
+    /**
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SearchCursor that = (SearchCursor) o;
+        return globalId == that.globalId && Objects.equals(orderValue, that.orderValue);
+    }
+
+    /**
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderValue, globalId);
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "SearchCursor [orderValue=" + orderValue + ", globalId=" + globalId + "]";
+    }
+
+}
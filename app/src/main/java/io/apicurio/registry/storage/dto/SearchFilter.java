@@ -18,6 +18,8 @@ package io.apicurio.registry.storage.dto;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Objects;
+
 /**
  * @author eric.wittmann@gmail.com
  */
@@ -141,6 +143,29 @@ public class SearchFilter {
         this.type = type;
     }
 
+    /**
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SearchFilter that = (SearchFilter) o;
+        return type == that.type && Objects.equals(value, that.value);
+    }
+
+    /**
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value);
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
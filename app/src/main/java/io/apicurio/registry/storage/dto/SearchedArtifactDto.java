@@ -38,6 +38,7 @@ public class SearchedArtifactDto {
     private ArtifactState state;
     private Date modifiedOn;
     private String modifiedBy;
+    private long globalId;
     
     /**
      * Constructor.
@@ -199,4 +200,18 @@ public class SearchedArtifactDto {
         this.modifiedBy = modifiedBy;
     }
 
+    /**
+     * @return the globalId of the latest version
+     */
+    public long getGlobalId() {
+        return globalId;
+    }
+
+    /**
+     * @param globalId the globalId to set
+     */
+    public void setGlobalId(long globalId) {
+        this.globalId = globalId;
+    }
+
 }
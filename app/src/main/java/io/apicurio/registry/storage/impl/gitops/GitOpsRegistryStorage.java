@@ -37,6 +37,7 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -232,6 +233,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public List<IdContentDto> getContentByIds(Collection<Long> globalIds, Collection<Long> contentIds, Collection<String> contentHashes) {
+        return proxy(storage -> storage.getContentByIds(globalIds, contentIds, contentHashes));
+    }
+
+
     @Override
     public ContentWrapperDto getArtifactByContentHash(String contentHash) {
         return proxy(storage -> storage.getArtifactByContentHash(contentHash));
@@ -249,6 +256,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public List<ArtifactRulesContextDto> getArtifactRulesContexts(String groupId, Collection<String> artifactIds) {
+        return proxy(storage -> storage.getArtifactRulesContexts(groupId, artifactIds));
+    }
+
+
     @Override
     public List<Long> getArtifactContentIds(String groupId, String artifactId) {
         return proxy(storage -> storage.getArtifactContentIds(groupId, artifactId));
@@ -267,6 +280,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, SearchCursor after, int limit, CountMode countMode) {
+        return proxy(storage -> storage.searchArtifacts(filters, orderBy, orderDirection, after, limit, countMode));
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId) {
         return proxy(storage -> storage.getArtifactMetaData(groupId, artifactId));
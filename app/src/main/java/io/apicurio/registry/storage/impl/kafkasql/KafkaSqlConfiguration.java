@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.storage.impl.kafkasql;
 
+import java.util.Optional;
 import java.util.Properties;
 
 /**
@@ -27,8 +28,17 @@ public interface KafkaSqlConfiguration {
     String topic();
     Properties topicProperties();
     boolean isTopicAutoCreate();
+    Integer topicPartitions();
     Integer pollTimeout();
     Integer responseTimeout();
+    boolean isApplyPipelined();
+    Integer applyWorkers();
+    Integer applyQueueSize();
+    boolean isApplyBatched();
+    Integer applyBatchMaxSize();
+    boolean isSnapshotsEnabled();
+    Integer snapshotInterval();
+    Optional<String> snapshotLocation();
     Properties producerProperties();
     Properties consumerProperties();
     Properties adminProperties();
@@ -17,19 +17,38 @@
 package io.apicurio.registry.storage.impl.kafkasql;
 
 import io.apicurio.registry.types.RegistryException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_APPLY_LATENCY;
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_APPLY_LATENCY_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_PENDING_REQUESTS;
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_PENDING_REQUESTS_DESCRIPTION;
 
 /**
  * Coordinates "write" responses across threads in the Kafka-SQL artifactStore implementation.  Basically this is used
  * to communicate between the Kafka consumer thread and the waiting HTTP/API thread, where the HTTP thread is
  * waiting for an operation to be completed by the Kafka consumer thread.
+ * <p>
+ * Every operation is represented by a {@link CompletableFuture} that is completed by the consumer thread.  The
+ * storage API is synchronous, so its write operations still block in {@link #waitForResponse(UUID)}, but the
+ * response timeouts are all handled by the single JDK delay scheduler, and {@link #waitForResponseAsync(UUID)}
+ * is there for callers that can compose the response instead.  An operation that is not applied within the
+ * response timeout fails with a {@link RegistryException}.
  *
  * @author eric.wittmann@gmail.com
  */
@@ -39,48 +58,94 @@ public class KafkaSqlCoordinator {
     @Inject
     KafkaSqlConfiguration configuration;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     private static final Object NULL = new Object();
-    private Map<UUID, CountDownLatch> latches = new ConcurrentHashMap<>();
-    private Map<UUID, Object> returnValues = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Object>> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private Timer applyLatency;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder(KAFKASQL_PENDING_REQUESTS, pending, AtomicInteger::get)
+                .description(KAFKASQL_PENDING_REQUESTS_DESCRIPTION)
+                .register(meterRegistry);
+        applyLatency = Timer.builder(KAFKASQL_APPLY_LATENCY)
+                .description(KAFKASQL_APPLY_LATENCY_DESCRIPTION)
+                .register(meterRegistry);
+    }
 
     /**
-     * Creates a UUID for a single operation.
+     * Creates a UUID for a single operation.  The response for the operation is discarded if nobody
+     * waits for it within the response timeout.
      */
     public UUID createUUID() {
         UUID uuid = UUID.randomUUID();
-        latches.put(uuid, new CountDownLatch(1));
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        responses.put(uuid, response);
+        pending.incrementAndGet();
+
+        final long start = System.nanoTime();
+        response.orTimeout(configuration.responseTimeout(), TimeUnit.MILLISECONDS)
+                .whenComplete((rval, error) -> {
+                    // Timeouts would only record the response timeout itself
+                    if (!(error instanceof TimeoutException)) {
+                        applyLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    pending.decrementAndGet();
+                });
+        // Responses to operations nobody waits for (e.g. tombstones) must not stay around forever.
+        CompletableFuture.delayedExecutor(configuration.responseTimeout(), TimeUnit.MILLISECONDS)
+                .execute(() -> responses.remove(uuid));
         return uuid;
     }
 
     /**
-     * Waits for a response to the operation with the given UUID. There is a countdown latch for each operation.  The
-     * caller waiting for the response will wait for the countdown to happen and then proceed.  We also remove
-     * the latch from the Map here since it's not needed anymore.
+     * Returns a future completed with the response to the operation with the given UUID (or with the
+     * {@link RegistryException} the operation failed with).  The future fails with a {@link RegistryException}
+     * if no response is received within the response timeout.
+     *
+     * @param uuid
+     */
+    public CompletableFuture<Object> waitForResponseAsync(UUID uuid) {
+        CompletableFuture<Object> response = responses.get(uuid);
+        if (response == null) {
+            return CompletableFuture.failedFuture(
+                    new RegistryException("[KafkaSqlCoordinator] Timed out waiting for a Kafka Sql response."));
+        }
+        response.whenComplete((rval, error) -> responses.remove(uuid));
+        return response.handle((rval, error) -> {
+            if (error instanceof TimeoutException) {
+                throw new RegistryException("[KafkaSqlCoordinator] Timed out waiting for a Kafka Sql response.", error);
+            } else if (error instanceof RegistryException) {
+                throw (RegistryException) error;
+            } else if (error != null) {
+                throw new RegistryException(error);
+            }
+            return rval == NULL ? null : rval;
+        });
+    }
+
+    /**
+     * Waits for a response to the operation with the given UUID, blocking the calling thread until the
+     * operation has been applied by the Kafka consumer thread (or the response timeout is reached).
      *
      * @param uuid
-     * @throws InterruptedException
      */
     public Object waitForResponse(UUID uuid) {
         try {
-            latches.get(uuid).await(configuration.responseTimeout(), TimeUnit.MILLISECONDS);
-
-            Object rval = returnValues.remove(uuid);
-            if (rval == NULL) {
-                return null;
-            } else if (rval instanceof RegistryException) {
-                throw (RegistryException) rval;
-            }
-            return rval;
+            return waitForResponseAsync(uuid).get();
         } catch (InterruptedException e) {
-          throw new RegistryException("[KafkaSqlCoordinator] Thread interrupted waiting for a Kafka Sql response.", e);
-        } finally {
-            latches.remove(uuid);
+            throw new RegistryException("[KafkaSqlCoordinator] Thread interrupted waiting for a Kafka Sql response.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
         }
     }
 
     /**
-     * Countdown the latch for the given UUID.  This will wake up the thread waiting for the response
-     * so that it can proceed.
+     * Completes the response for the given UUID.  This will wake up (or resume) the caller waiting for
+     * the response so that it can proceed.
      * @param uuid
      * @param returnValue
      */
@@ -90,22 +155,32 @@ public class KafkaSqlCoordinator {
             return;
         }
 
-        // If there is no countdown latch, then there is no HTTP thread waiting for
+        // If there is no response future, then there is no HTTP thread waiting for
         // a response.  This means one of two possible things:
         //  1) We're in a cluster and the HTTP thread is on another node
         //  2) We're starting up and consuming all the old journal entries
-        if (!latches.containsKey(uuid)) {
+        CompletableFuture<Object> response = responses.get(uuid);
+        if (response == null) {
             return;
         }
 
-        // Otherwise, put the return value in the Map and countdown the latch.  The latch
-        // countdown will notify the HTTP thread that the operation is complete and there is
-        // a return value waiting for it.
-        if (returnValue == null) {
-            returnValue = NULL;
+        // Otherwise, complete the future.  This will notify the HTTP thread that the operation
+        // is complete and there is a return value waiting for it.
+        if (returnValue instanceof RegistryException) {
+            response.completeExceptionally((RegistryException) returnValue);
+        } else {
+            response.complete(returnValue == null ? NULL : returnValue);
+        }
+    }
+
+    private static RegistryException unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RegistryException) {
+            return (RegistryException) error;
         }
-        returnValues.put(uuid, returnValue);
-        latches.get(uuid).countDown();
+        return new RegistryException(error);
     }
 
 }
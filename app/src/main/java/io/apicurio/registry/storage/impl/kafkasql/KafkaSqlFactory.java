@@ -23,6 +23,8 @@ import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlKeySerializer;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlPartitioner;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueDeserializer;
 import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueSerializer;
+import io.apicurio.registry.storage.impl.kafkasql.snapshot.KafkaSqlSnapshotStore;
+import io.apicurio.registry.storage.impl.kafkasql.snapshot.LocalKafkaSqlSnapshotStore;
 import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
 import io.apicurio.registry.utils.RegistryProperties;
 import io.apicurio.registry.utils.kafka.AsyncProducer;
@@ -37,6 +39,7 @@ import org.apache.kafka.common.config.SaslConfigs;
 import org.apache.kafka.common.config.SslConfigs;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
@@ -67,6 +70,11 @@ public class KafkaSqlFactory {
     @Info(category = "storage", description = "Kafka sql storage topic auto create")
     Boolean topicAutoCreate;
 
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.topic.partitions", defaultValue = "1")
+    @Info(category = "storage", description = "Kafka sql storage number of journal topic partitions (artifacts are spread over them when greater than 1)", availableSince = "3.0.0.Final")
+    Integer topicPartitions;
+
     @Inject
     @ConfigProperty(name = "registry.kafkasql.consumer.poll.timeout", defaultValue = "1000")
     @Info(category = "storage", description = "Kafka sql storage consumer poll timeout")
@@ -77,6 +85,52 @@ public class KafkaSqlFactory {
     @Info(category = "storage", description = "Kafka sql storage coordinator response timeout")
     Integer responseTimeout;
 
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.pipelined", defaultValue = "false")
+    @Info(category = "storage", description = "Kafka sql storage apply journal records on dedicated SQL writer threads", availableSince = "3.0.0.Final")
+    Boolean applyPipelined;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.workers", defaultValue = "4")
+    @Info(category = "storage", description = "Kafka sql storage number of SQL writer threads used when pipelined apply is enabled", availableSince = "3.0.0.Final")
+    Integer applyWorkers;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.queue-size", defaultValue = "1000")
+    @Info(category = "storage", description = "Kafka sql storage maximum number of journal records queued per SQL writer thread", availableSince = "3.0.0.Final")
+    Integer applyQueueSize;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.batch.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Kafka sql storage apply consecutive journal records in a single database transaction", availableSince = "3.0.0.Final")
+    Boolean applyBatched;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.consumer.apply.batch.max-size", defaultValue = "500")
+    @Info(category = "storage", description = "Kafka sql storage maximum number of journal records applied in a single database transaction", availableSince = "3.0.0.Final")
+    Integer applyBatchMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Kafka sql storage restore the newest snapshot on startup and periodically create new ones", availableSince = "3.0.0.Final")
+    Boolean snapshotsEnabled;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.interval.seconds", defaultValue = "3600")
+    @Info(category = "storage", description = "Kafka sql storage seconds between two snapshots (0 to only restore snapshots)", availableSince = "3.0.0.Final")
+    Integer snapshotInterval;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.location")
+    @Info(category = "storage", description = "Kafka sql storage directory the snapshots are stored in, required when snapshots are enabled. "
+            + "New replicas only start from the snapshots of the others when it is shared by all replicas (e.g. a shared volume)", availableSince = "3.0.0.Final")
+    Optional<String> snapshotLocation;
+
+    @Inject
+    @ConfigProperty(name = "registry.kafkasql.snapshot.retention", defaultValue = "3")
+    @Info(category = "storage", description = "Kafka sql storage number of snapshots to keep", availableSince = "3.0.0.Final")
+    Integer snapshotRetention;
+
     @Inject
     @RegistryProperties(
             value = {"registry.kafka.common", "registry.kafkasql.producer"},
@@ -176,6 +230,10 @@ public class KafkaSqlFactory {
                 return topicAutoCreate;
             }
             @Override
+            public Integer topicPartitions() {
+                return topicPartitions;
+            }
+            @Override
             public Integer pollTimeout() {
                 return pollTimeout;
             }
@@ -184,6 +242,38 @@ public class KafkaSqlFactory {
                 return responseTimeout;
             }
             @Override
+            public boolean isApplyPipelined() {
+                return applyPipelined;
+            }
+            @Override
+            public Integer applyWorkers() {
+                return applyWorkers;
+            }
+            @Override
+            public Integer applyQueueSize() {
+                return applyQueueSize;
+            }
+            @Override
+            public boolean isApplyBatched() {
+                return applyBatched;
+            }
+            @Override
+            public Integer applyBatchMaxSize() {
+                return applyBatchMaxSize;
+            }
+            @Override
+            public boolean isSnapshotsEnabled() {
+                return snapshotsEnabled;
+            }
+            @Override
+            public Integer snapshotInterval() {
+                return snapshotInterval;
+            }
+            @Override
+            public Optional<String> snapshotLocation() {
+                return snapshotLocation;
+            }
+            @Override
             public Properties producerProperties() {
                 return producerProperties;
             }
@@ -246,6 +336,16 @@ public class KafkaSqlFactory {
         return consumer;
     }
 
+    /**
+     * Creates the store used to save and restore snapshots of the KafkaSQL database.
+     */
+    @ApplicationScoped
+    @Produces
+    public KafkaSqlSnapshotStore createSnapshotStore() {
+        // Only used when snapshots are enabled, which requires the location
+        return new LocalKafkaSqlSnapshotStore(Paths.get(snapshotLocation.orElseThrow()), snapshotRetention);
+    }
+
     private void tryToConfigureSecurity(Properties props) {
         if (protocol.isPresent()) {
             props.putIfAbsent("security.protocol", protocol.get());
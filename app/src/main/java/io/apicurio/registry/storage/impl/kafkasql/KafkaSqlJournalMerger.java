@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.storage.impl.kafkasql.keys.FenceKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static io.apicurio.registry.storage.impl.kafkasql.KafkaSqlJournalPartitions.GLOBAL_PARTITION;
+
+/**
+ * Merges the partitions of a multi-partition KafkaSQL journal into a single sequence of records, which is
+ * the same on every replica.  Must only be used from the Kafka consumer thread.
+ * <p>
+ * Records of a partition are applied in partition order, and records of different partitions are applied
+ * in whatever order they are consumed, except around fenced messages (see
+ * {@link KafkaSqlJournalPartitions#isFenced(MessageKey, MessageValue)}).  A fenced message is written to the
+ * global partition, followed by a fence marker on every other partition.  A partition that reaches a fence
+ * marker is held until the fenced message has been applied, and the fenced message is only applied once
+ * every other partition is held at a marker.  So every replica applies a fenced message after exactly the
+ * same records.
+ * <p>
+ * When two fenced messages are written concurrently, their markers may be in a different order than the
+ * messages themselves.  A partition is therefore held at the first marker of a fenced message that has not
+ * been applied yet, whichever message it belongs to.
+ * <p>
+ * The journal topic is compacted.  Markers have a value, so they are kept and a replica replaying the
+ * journal holds its partitions at the same points as the replicas that consumed it live, instead of waiting
+ * for the fence timeout and writing new markers at the end of the partitions.  Once a stored snapshot covers
+ * a marker, no replica replays it anymore and the marker is removed by a tombstone (a null-valued marker
+ * with the same key), which is below the global offset of such replicas and never holds them either.  A
+ * fenced message may itself be compacted away by a later message with the same key, its markers are
+ * skipped once the global partition has moved past its offset.
+ */
+public class KafkaSqlJournalMerger {
+
+    private final Logger log;
+    private final Consumer<MessageKey, MessageValue> consumer;
+    private final String topic;
+    private final int maxBuffered;
+    private final long fenceTimeout;
+    private final BiConsumer<Long, List<Integer>> fenceWriter;
+    private final List<Deque<ConsumerRecord<MessageKey, MessageValue>>> buffers;
+
+    // Offset of the next record of the global partition to apply
+    private long globalNext;
+
+    // Fenced message the merger is waiting for, used to write missing fence markers
+    private long waitingFor = -1;
+    private long waitingSince;
+
+    /**
+     * Constructor.
+     * @param log
+     * @param consumer the (subscribed) journal consumer, used to pause partitions that are too far ahead
+     * @param topic the journal topic
+     * @param partitions number of partitions of the journal topic
+     * @param startOffsets offsets the partitions are consumed from, if not from the beginning
+     * @param maxBuffered number of consumed records per partition above which the partition is paused
+     * @param fenceTimeout milliseconds after which missing fence markers are written by this replica
+     * @param fenceWriter writes fence markers for the given global partition offset to the given partitions
+     */
+    public KafkaSqlJournalMerger(Logger log, Consumer<MessageKey, MessageValue> consumer, String topic, int partitions,
+            Map<Integer, Long> startOffsets, int maxBuffered, long fenceTimeout, BiConsumer<Long, List<Integer>> fenceWriter) {
+        this.log = log;
+        this.consumer = consumer;
+        this.topic = topic;
+        this.maxBuffered = Math.max(1, maxBuffered);
+        this.fenceTimeout = fenceTimeout;
+        this.fenceWriter = fenceWriter;
+        this.buffers = new ArrayList<>(partitions);
+        for (int idx = 0; idx < partitions; idx++) {
+            buffers.add(new ArrayDeque<>());
+        }
+        this.globalNext = startOffsets.getOrDefault(GLOBAL_PARTITION, 0L);
+    }
+
+    /**
+     * Adds freshly consumed records.
+     * @param records
+     */
+    public void add(ConsumerRecords<MessageKey, MessageValue> records) {
+        for (ConsumerRecord<MessageKey, MessageValue> record : records) {
+            if (record.partition() < buffers.size()) {
+                buffers.get(record.partition()).add(record);
+            } else {
+                log.warn("Discarded a journal record from unexpected partition {}.", record.partition());
+            }
+        }
+    }
+
+    /**
+     * Passes every record that can be applied to the given applier, in the order they must be applied.
+     * Fence markers are passed too, once they no longer hold their partition.
+     * @param applier
+     */
+    public void release(java.util.function.Consumer<ConsumerRecord<MessageKey, MessageValue>> applier) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int partition = 0; partition < buffers.size(); partition++) {
+                if (partition != GLOBAL_PARTITION) {
+                    progress |= releasePartition(buffers.get(partition), applier);
+                }
+            }
+            progress |= releaseGlobalPartition(applier);
+        }
+        throttle();
+    }
+
+    private boolean releasePartition(Deque<ConsumerRecord<MessageKey, MessageValue>> buffer,
+            java.util.function.Consumer<ConsumerRecord<MessageKey, MessageValue>> applier) {
+        boolean progress = false;
+        while (!buffer.isEmpty() && !isHeld(buffer)) {
+            applier.accept(buffer.poll());
+            progress = true;
+        }
+        return progress;
+    }
+
+    private boolean releaseGlobalPartition(java.util.function.Consumer<ConsumerRecord<MessageKey, MessageValue>> applier) {
+        Deque<ConsumerRecord<MessageKey, MessageValue>> buffer = buffers.get(GLOBAL_PARTITION);
+        boolean progress = false;
+        while (!buffer.isEmpty()) {
+            ConsumerRecord<MessageKey, MessageValue> record = buffer.peek();
+            if (isFenced(record)) {
+                if (globalNext < record.offset()) {
+                    // Markers for offsets in between belong to messages that are gone (e.g. compacted).
+                    globalNext = record.offset();
+                    return true;
+                }
+                List<Integer> missing = missingMarkers();
+                if (!missing.isEmpty()) {
+                    awaitMarkers(record.offset(), missing);
+                    return progress;
+                }
+            }
+            buffer.poll();
+            globalNext = record.offset() + 1;
+            applier.accept(record);
+            progress = true;
+        }
+        return progress;
+    }
+
+    /**
+     * Returns true if the partition is held at a marker of a fenced message that has not been applied yet.
+     */
+    private boolean isHeld(Deque<ConsumerRecord<MessageKey, MessageValue>> buffer) {
+        ConsumerRecord<MessageKey, MessageValue> head = buffer.peek();
+        return head != null && head.key() instanceof FenceKey && ((FenceKey) head.key()).getOffset() >= globalNext;
+    }
+
+    private List<Integer> missingMarkers() {
+        List<Integer> missing = new ArrayList<>();
+        for (int partition = 0; partition < buffers.size(); partition++) {
+            if (partition != GLOBAL_PARTITION && !isHeld(buffers.get(partition))) {
+                missing.add(partition);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Writes the missing fence markers if the fenced message has been waiting for them for too long, e.g.
+     * because the replica that wrote it failed before writing the markers.  Extra markers are harmless,
+     * they are skipped once the fenced message has been applied.
+     */
+    private void awaitMarkers(long offset, List<Integer> missing) {
+        long now = System.currentTimeMillis();
+        if (waitingFor != offset) {
+            waitingFor = offset;
+            waitingSince = now;
+        } else if (now - waitingSince >= fenceTimeout) {
+            log.warn("Fence markers for journal offset {} missing on partitions {}, writing them.", offset, missing);
+            fenceWriter.accept(offset, missing);
+            waitingSince = now;
+        }
+    }
+
+    /**
+     * Pauses the partitions that have too many records waiting, and resumes the others.
+     */
+    private void throttle() {
+        for (int partition = 0; partition < buffers.size(); partition++) {
+            TopicPartition tp = new TopicPartition(topic, partition);
+            boolean full = buffers.get(partition).size() >= maxBuffered;
+            if (full && !consumer.paused().contains(tp) && consumer.assignment().contains(tp)) {
+                consumer.pause(Collections.singleton(tp));
+            } else if (!full && consumer.paused().contains(tp)) {
+                consumer.resume(Collections.singleton(tp));
+            }
+        }
+    }
+
+    private static boolean isFenced(ConsumerRecord<MessageKey, MessageValue> record) {
+        return record.key() != null && record.value() != null
+                && KafkaSqlJournalPartitions.isFenced(record.key(), record.value());
+    }
+
+}
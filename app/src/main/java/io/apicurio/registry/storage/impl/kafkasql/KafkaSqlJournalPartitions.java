@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.values.AbstractMessageValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.common.utils.Utils;
+
+/**
+ * Decides which partition of the journal topic a KafkaSQL message is written to when the journal is
+ * spread over more than one partition.
+ * <p>
+ * Messages that only touch a single artifact (its versions, rules, owner and comments) are spread over all
+ * partitions by groupId/artifactId, so they stay ordered per artifact.  Everything else is written to the
+ * global partition (partition 0).  That includes globalId/contentId generation, which therefore stays
+ * consistent across the cluster.
+ * <p>
+ * Some messages affect data that lives on other partitions, e.g. deleting an artifact also deletes the
+ * content it no longer shares with other artifacts, and new content is used by versions on any partition.
+ * Those are "fenced": they are written to the global partition, followed by a fence marker on every other
+ * partition, and every replica applies them once it has applied each other partition up to its marker.
+ * The markers are written before the message is acknowledged, so the versions that use new content always
+ * follow its markers.  See {@link KafkaSqlJournalMerger}.
+ */
+public final class KafkaSqlJournalPartitions {
+
+    public static final int GLOBAL_PARTITION = 0;
+
+    private KafkaSqlJournalPartitions() {
+    }
+
+    /**
+     * Returns the partition the given message must be written to.
+     * @param key
+     * @param value the message value, or null for tombstones
+     * @param partitions number of partitions of the journal topic
+     */
+    public static int partitionFor(MessageKey key, MessageValue value, int partitions) {
+        if (partitions <= 1 || (value != null && isFenced(key, value)) || !isArtifactScoped(key)) {
+            return GLOBAL_PARTITION;
+        }
+        return partitionFor(KafkaSqlJournalPipeline.routingKey(key), partitions);
+    }
+
+    /**
+     * Returns the partition of the messages of the given artifact.
+     * @param groupId
+     * @param artifactId
+     * @param partitions number of partitions of the journal topic
+     */
+    public static int partitionFor(String groupId, String artifactId, int partitions) {
+        if (partitions <= 1) {
+            return GLOBAL_PARTITION;
+        }
+        return partitionFor(groupId + "/" + artifactId, partitions);
+    }
+
+    private static int partitionFor(String routingKey, int partitions) {
+        return Utils.toPositive(Utils.murmur2(routingKey.getBytes())) % partitions;
+    }
+
+    /**
+     * Returns true if the given message must be applied at the same point of the journal by every replica
+     * with respect to all partitions, not only the one it is written to.
+     * @param key
+     * @param value
+     */
+    public static boolean isFenced(MessageKey key, MessageValue value) {
+        if (key.getType() == MessageType.GlobalAction) {
+            return true;
+        }
+        if (value instanceof AbstractMessageValue) {
+            ActionType action = ((AbstractMessageValue) value).getAction();
+            if (action == ActionType.IMPORT || action == ActionType.RESET) {
+                return true;
+            }
+            if (key.getType() == MessageType.Content) {
+                // Content is shared by the artifacts of all partitions.  When two replicas create the same
+                // content concurrently, only the first CREATE is applied, and so its contentId is used by
+                // the versions of both: every replica must agree on which one that is.
+                return true;
+            }
+            // Deleting artifacts, versions or groups also deletes any content that becomes orphaned.
+            return action == ActionType.DELETE && (key.getType() == MessageType.Artifact
+                    || key.getType() == MessageType.ArtifactVersion || key.getType() == MessageType.Group);
+        }
+        return false;
+    }
+
+    private static boolean isArtifactScoped(MessageKey key) {
+        switch (key.getType()) {
+            case Artifact:
+            case ArtifactRule:
+            case ArtifactVersion:
+            case ArtifactOwner:
+            case Comment:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.storage.impl.kafkasql.keys.CommentKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.values.AbstractMessageValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Applies KafkaSQL journal records on a pool of dedicated SQL writer threads instead of inline on the
+ * Kafka consumer thread.  Every record is routed to a writer "lane" based on the artifact (or other entity)
+ * it targets, so records for the same artifact are always applied in journal order, while records for
+ * unrelated artifacts are applied concurrently.  Each lane has a bounded queue, which throttles the
+ * consumer thread when the writers fall behind.
+ * <p>
+ * Some records have effects (or dependencies) that cross entity boundaries: content rows referenced by
+ * versions that follow them in the journal, deletes that clean up orphaned content, imports, id resets
+ * and global actions.  Those records are barriers - all lanes are drained before the record is applied
+ * on the calling thread - so the resulting database state is the same as when applying the journal
+ * sequentially.
+ */
+public class KafkaSqlJournalPipeline implements AutoCloseable {
+
+    private static final Runnable STOP = () -> {};
+
+    private final Logger log;
+    private final Consumer<ConsumerRecord<MessageKey, MessageValue>> applier;
+    private final List<BlockingQueue<Runnable>> lanes;
+    private final List<Thread> writers;
+
+    /**
+     * Constructor.
+     * @param log
+     * @param applier applies a single journal record to the SQL store
+     * @param workers number of SQL writer threads (lanes)
+     * @param queueSize maximum number of records waiting in each lane
+     */
+    public KafkaSqlJournalPipeline(Logger log, Consumer<ConsumerRecord<MessageKey, MessageValue>> applier, int workers, int queueSize) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of KafkaSQL writer threads must be at least 1.");
+        }
+        this.log = log;
+        this.applier = applier;
+        this.lanes = new ArrayList<>(workers);
+        this.writers = new ArrayList<>(workers);
+        for (int idx = 0; idx < workers; idx++) {
+            BlockingQueue<Runnable> lane = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+            Thread writer = new Thread(() -> runLane(lane));
+            writer.setDaemon(true);
+            writer.setName("KSQL SQL Writer Thread-" + idx);
+            lanes.add(lane);
+            writers.add(writer);
+        }
+        writers.forEach(Thread::start);
+    }
+
+    /**
+     * Submits a journal record for processing.  Ordinary records are queued on the lane of the entity
+     * they target, barrier records are applied on the calling thread once all lanes have been drained.
+     * @param record
+     */
+    public void submit(ConsumerRecord<MessageKey, MessageValue> record) {
+        if (isBarrier(record.key(), record.value())) {
+            drain();
+            applier.accept(record);
+        } else {
+            enqueue(laneFor(record.key()), () -> applier.accept(record));
+        }
+    }
+
+    /**
+     * Blocks until every record submitted so far has been applied.
+     */
+    public void drain() {
+        CountDownLatch latch = new CountDownLatch(lanes.size());
+        lanes.forEach(lane -> enqueue(lane, latch::countDown));
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryStorageException("Interrupted while waiting for the KafkaSQL writer threads.", e);
+        }
+    }
+
+    /**
+     * Applies all pending records and stops the writer threads.
+     * @see java.lang.AutoCloseable#close()
+     */
+    @Override
+    public void close() {
+        lanes.forEach(lane -> enqueue(lane, STOP));
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runLane(BlockingQueue<Runnable> lane) {
+        while (true) {
+            Runnable task;
+            try {
+                task = lane.take();
+            } catch (InterruptedException e) {
+                log.warn("KafkaSQL writer thread interrupted, {} journal records left unapplied.", lane.size());
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // The sink already reports failures to the waiting callers, this is only a safety net
+                // so that one bad record does not kill the lane.
+                log.error("Unexpected error applying a KafkaSQL journal record.", t);
+            }
+        }
+    }
+
+    private void enqueue(BlockingQueue<Runnable> lane, Runnable task) {
+        try {
+            lane.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryStorageException("Interrupted while queueing a KafkaSQL journal record.", e);
+        }
+    }
+
+    private BlockingQueue<Runnable> laneFor(MessageKey key) {
+        int hash = Utils.toPositive(Utils.murmur2(routingKey(key).getBytes()));
+        return lanes.get(hash % lanes.size());
+    }
+
+    /**
+     * Returns the key used to pick the writer lane for a message.  This is the partition key, except for
+     * comments, which must stay ordered with the versions (and artifacts) they belong to.
+     * @param key
+     */
+    static String routingKey(MessageKey key) {
+        if (key instanceof CommentKey) {
+            CommentKey ckey = (CommentKey) key;
+            return ckey.getGroupId() + "/" + ckey.getArtifactId();
+        }
+        return String.valueOf(key.getPartitionKey());
+    }
+
+    /**
+     * Returns true if the given message must be applied only once all previously consumed messages
+     * have been applied, and before any of the following ones.
+     * @param key
+     * @param value
+     */
+    static boolean isBarrier(MessageKey key, MessageValue value) {
+        switch (key.getType()) {
+            case Bootstrap:
+            case GlobalAction:
+            case Content:
+                return true;
+            default:
+                break;
+        }
+        if (value instanceof AbstractMessageValue) {
+            ActionType action = ((AbstractMessageValue) value).getAction();
+            if (action == ActionType.IMPORT || action == ActionType.RESET) {
+                return true;
+            }
+            // Deleting artifacts, versions or groups also deletes any content that becomes orphaned.
+            return action == ActionType.DELETE && (key.getType() == MessageType.Artifact
+                    || key.getType() == MessageType.ArtifactVersion || key.getType() == MessageType.Group);
+        }
+        return false;
+    }
+
+}
@@ -45,7 +45,10 @@ import io.apicurio.registry.storage.error.VersionAlreadyExistsException;
 import io.apicurio.registry.storage.error.VersionNotFoundException;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.FenceKey;
 import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.snapshot.KafkaSqlSnapshot;
+import io.apicurio.registry.storage.impl.kafkasql.snapshot.KafkaSqlSnapshotStore;
 import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
 import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
 import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
@@ -72,16 +75,30 @@ import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.errors.TopicExistsException;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.DEFAULT;
 
@@ -124,6 +141,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     @Inject
     KafkaSqlSubmitter submitter;
 
+    @Inject
+    KafkaSqlSnapshotStore snapshotStore;
+
     @Inject
     SecurityIdentity securityIdentity;
 
@@ -146,18 +166,29 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     public void initialize() {
         log.info("Using Kafka-SQL artifactStore.");
 
+        //Fail on startup rather than when the first snapshot is due.
+        if (configuration.isSnapshotsEnabled()) {
+            validateSnapshotConfiguration();
+        }
+
         //First, if needed create the Kafka topics.
         if (configuration.isTopicAutoCreate()) {
             autoCreateTopics();
         }
 
-        //Once the topics are created, initialize the internal SQL Storage.
+        //A journal spread over several partitions must always be read with the same number of partitions.
+        if (configuration.topicPartitions() > 1) {
+            validateTopicPartitions();
+        }
+
+        //Once the topics are created, initialize the internal SQL Storage (from the newest snapshot, if enabled).
+        Map<Integer, Long> snapshotOffsets = restoreSnapshot();
         sqlStore.initialize();
         setDelegate(sqlStore);
 
         //Once the SQL storage has been initialized, start the Kafka consumer thread.
         log.info("SQL store initialized, starting consumer thread.");
-        startConsumerThread(consumer);
+        startConsumerThread(consumer, snapshotOffsets);
 
     }
 
@@ -188,24 +219,174 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         topicNames.add(configuration.topic());
         Map<String, String> topicProperties = new HashMap<>();
         configuration.topicProperties().forEach((key, value) -> topicProperties.put(key.toString(), value.toString()));
+        // The number of partitions is not a topic config.
+        topicProperties.remove("partitions");
         // Use log compaction by default.
         topicProperties.putIfAbsent(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT);
         Properties adminProperties = configuration.adminProperties();
         adminProperties.putIfAbsent(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, configuration.bootstrapServers());
         try {
-            KafkaUtil.createTopics(adminProperties, topicNames, topicProperties);
+            KafkaUtil.createTopics(adminProperties, topicNames, topicProperties, configuration.topicPartitions());
         } catch (TopicExistsException e) {
             log.info("Topic {} already exists, skipping.", configuration.topic());
         }
     }
 
 
+    /**
+     * Makes sure the journal topic has the configured number of partitions.  Messages are assigned to
+     * partitions based on that number, so changing it would break the order of the journal.
+     */
+    private void validateTopicPartitions() {
+        int partitions = consumer.partitionsFor(configuration.topic()).size();
+        if (partitions != configuration.topicPartitions()) {
+            throw new RegistryStorageException(String.format("KafkaSQL journal topic %s has %d partitions, but %d are configured.",
+                    configuration.topic(), partitions, configuration.topicPartitions()));
+        }
+        log.info("KafkaSQL journal is spread over {} partitions.", partitions);
+    }
+
+
+    /**
+     * Makes sure snapshots can be created and restored: the internal SQL storage must be able to dump itself
+     * (only the embedded H2 database can), and the snapshots need a location that outlives the replica.
+     */
+    private void validateSnapshotConfiguration() {
+        if (!sqlStore.isSnapshotSupported()) {
+            throw new RegistryStorageException("KafkaSQL snapshots are enabled, but the configured database "
+                    + "(registry.storage.db-kind) does not support them, only H2 does.");
+        }
+        if (configuration.snapshotLocation().isEmpty()) {
+            throw new RegistryStorageException("KafkaSQL snapshots are enabled, but registry.kafkasql.snapshot.location "
+                    + "is not set.  It should be a directory shared by all the replicas.");
+        }
+    }
+
+
+    /**
+     * Restores the newest snapshot of the internal SQL storage, if snapshots are enabled and one exists.
+     * Returns the journal topic offsets covered by the restored snapshot (or an empty map when the
+     * whole topic must be consumed).
+     */
+    private Map<Integer, Long> restoreSnapshot() {
+        if (!configuration.isSnapshotsEnabled()) {
+            return Collections.emptyMap();
+        }
+        Path data = null;
+        try {
+            data = Files.createTempFile("kafkasql-snapshot-", ".sql.gz");
+            Optional<KafkaSqlSnapshot> snapshot = snapshotStore.getLatestSnapshot(configuration.topic(), data);
+            if (snapshot.isEmpty()) {
+                log.info("No KafkaSQL snapshot found, consuming the whole journal topic.");
+                return Collections.emptyMap();
+            }
+            final long restoreStart = System.currentTimeMillis();
+            sqlStore.restoreSnapshot(data.toString());
+            log.info("Restored KafkaSQL snapshot {} (offsets {}) in {} ms.", snapshot.get().getSnapshotId(),
+                    snapshot.get().getOffsets(), System.currentTimeMillis() - restoreStart);
+            return snapshot.get().getOffsets();
+        } catch (Exception e) {
+            log.warn("Failed to restore a KafkaSQL snapshot, consuming the whole journal topic.", e);
+            return Collections.emptyMap();
+        } finally {
+            deleteSnapshotData(data);
+        }
+    }
+
+    private void deleteSnapshotData(Path data) {
+        if (data != null) {
+            try {
+                Files.deleteIfExists(data);
+            } catch (IOException e) {
+                log.warn("Failed to delete the KafkaSQL snapshot copy {}.", data, e);
+            }
+        }
+    }
+
+
+    /**
+     * Starts a snapshot of the internal SQL storage on the snapshot thread.  Must be called from the consumer
+     * thread, once all journal records up to the given offsets have been applied.  This only blocks until
+     * the snapshot thread has started the (isolated) transaction the snapshot is read from, at most for the
+     * response timeout: the dump itself and storing it run while the consumer thread keeps applying records.
+     * The returned future completes with the newest stored snapshot, which is not the new one if another
+     * replica stored a snapshot ahead of it, or with null if it failed.
+     */
+    private CompletableFuture<KafkaSqlSnapshot> startSnapshot(ExecutorService snapshotExecutor, Map<Integer, Long> offsets) {
+        final long snapshotStart = System.currentTimeMillis();
+        KafkaSqlSnapshot snapshot = KafkaSqlSnapshot.builder()
+                .snapshotId(snapshotStart + "-" + UUID.randomUUID())
+                .topic(configuration.topic())
+                .createdOn(snapshotStart)
+                .offsets(new HashMap<>(offsets))
+                .build();
+        // Completed by the snapshot thread once its transaction has started, or by this thread if it gives up
+        // waiting, in which case the snapshot is aborted: it would contain records applied after the offsets.
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<KafkaSqlSnapshot> result = CompletableFuture.supplyAsync(() -> {
+            Path data = null;
+            try {
+                data = Files.createTempFile("kafkasql-snapshot-", ".sql.gz");
+                sqlStore.createSnapshot(data.toString(), () -> {
+                    if (!started.complete(null)) {
+                        throw new IllegalStateException("The snapshot transaction started too late.");
+                    }
+                });
+                KafkaSqlSnapshot latest = snapshotStore.saveSnapshot(snapshot, data);
+                if (latest.getSnapshotId().equals(snapshot.getSnapshotId())) {
+                    log.info("Created KafkaSQL snapshot {} (offsets {}) in {} ms.", snapshot.getSnapshotId(),
+                            snapshot.getOffsets(), System.currentTimeMillis() - snapshotStart);
+                } else {
+                    log.debug("Discarded KafkaSQL snapshot (offsets {}), snapshot {} (offsets {}) is ahead of it.",
+                            snapshot.getOffsets(), latest.getSnapshotId(), latest.getOffsets());
+                }
+                return latest;
+            } catch (Exception e) {
+                log.warn("Failed to create a KafkaSQL snapshot.", e);
+                deleteSnapshotData(data);
+                return null;
+            } finally {
+                started.complete(null);
+            }
+        }, snapshotExecutor);
+        try {
+            started.get(configuration.responseTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            started.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            started.completeExceptionally(e);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Not completed exceptionally by the snapshot thread
+        }
+        return result;
+    }
+
+    /**
+     * Removes the fence markers covered by the newest stored snapshot from the list of markers passed by
+     * the consumer thread.  No replica replays these markers anymore, so the replica that stored the snapshot
+     * sends their tombstones, and compaction eventually removes them from the journal topic.
+     */
+    private void tombstoneFences(List<ConsumerRecord<MessageKey, MessageValue>> fences, KafkaSqlSnapshot latest, boolean stored) {
+        fences.removeIf(fence -> {
+            if (fence.offset() >= latest.getOffsets().getOrDefault(fence.partition(), 0L)) {
+                return false;
+            }
+            if (stored) {
+                submitter.submitFenceTombstone((FenceKey) fence.key(), fence.partition());
+            }
+            return true;
+        });
+    }
+
+
     /**
      * Start the KSQL Kafka consumer thread which is responsible for subscribing to the kafka topic,
      * consuming JournalRecord entries found on that topic, and applying those journal entries to
-     * the internal data model.
+     * the internal data model.  If a snapshot was restored, the consumer starts right after the
+     * offsets it covers.
      */
-    private void startConsumerThread(final KafkaConsumer<MessageKey, MessageValue> consumer) {
+    private void startConsumerThread(final KafkaConsumer<MessageKey, MessageValue> consumer, final Map<Integer, Long> snapshotOffsets) {
         log.info("Starting KSQL consumer thread on topic: {}", configuration.topic());
         log.info("Bootstrap servers: {}", configuration.bootstrapServers());
 
@@ -214,51 +395,173 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
         final long bootstrapStart = System.currentTimeMillis();
 
         Runnable runner = () -> {
+            // When pipelined apply is enabled, journal records are applied by a pool of SQL writer threads
+            // and this thread only polls and dispatches them.
+            final KafkaSqlJournalPipeline pipeline = configuration.isApplyPipelined()
+                    ? new KafkaSqlJournalPipeline(log, kafkaSqlSink::processMessage, configuration.applyWorkers(), configuration.applyQueueSize())
+                    : null;
+            // Batched apply groups the consecutive records of a poll into a single database transaction.
+            final boolean batched = pipeline == null && configuration.isApplyBatched();
+            if (configuration.isApplyPipelined() && configuration.isApplyBatched()) {
+                log.warn("KafkaSQL pipelined apply is enabled, ignoring the batched apply configuration.");
+            }
+            // Snapshots are written by their own thread, see startSnapshot()
+            final ExecutorService snapshotExecutor = configuration.isSnapshotsEnabled()
+                    ? Executors.newSingleThreadExecutor(task -> {
+                        Thread thread = new Thread(task);
+                        thread.setDaemon(true);
+                        thread.setName("KSQL Snapshot Thread");
+                        return thread;
+                    })
+                    : null;
             try (consumer) {
                 log.info("Subscribing to {}", configuration.topic());
 
-                // Subscribe to the journal topic
+                // Subscribe to the journal topic, skipping the records covered by the restored snapshot (if any)
                 Collection<String> topics = Collections.singleton(configuration.topic());
-                consumer.subscribe(topics);
+                final Map<Integer, Long> pendingSeeks = new HashMap<>(snapshotOffsets);
+                consumer.subscribe(topics, new ConsumerRebalanceListener() {
+                    @Override
+                    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    }
+
+                    @Override
+                    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                        partitions.forEach(partition -> {
+                            Long offset = pendingSeeks.remove(partition.partition());
+                            if (offset != null) {
+                                consumer.seek(partition, offset);
+                            }
+                        });
+                    }
+                });
+
+                // When the journal is spread over several partitions, the merger decides in which order the
+                // records of the different partitions are applied, so that it is the same on every replica.
+                final KafkaSqlJournalMerger merger = configuration.topicPartitions() > 1
+                        ? new KafkaSqlJournalMerger(log, consumer, configuration.topic(), configuration.topicPartitions(), snapshotOffsets,
+                                configuration.applyQueueSize(), configuration.responseTimeout(), submitter::submitFence)
+                        : null;
+
+                // Offsets of the next record to apply, used to create snapshots
+                final Map<Integer, Long> offsets = new HashMap<>(snapshotOffsets);
+                Map<Integer, Long> snapshotted = new HashMap<>(snapshotOffsets);
+                long lastSnapshot = System.currentTimeMillis();
+
+                // Partitions on which our bootstrap message has been consumed
+                final Set<Integer> bootstrappedPartitions = new HashSet<>();
+
+                // Fence markers passed since the newest stored snapshot, see tombstoneFences()
+                final List<ConsumerRecord<MessageKey, MessageValue>> passedFences = new ArrayList<>();
+
+                // The snapshot being written by the snapshot thread, if any, see startSnapshot()
+                CompletableFuture<KafkaSqlSnapshot> pendingSnapshot = null;
+
+                final List<ConsumerRecord<MessageKey, MessageValue>> batch = new ArrayList<>();
+                final Consumer<ConsumerRecord<MessageKey, MessageValue>> handler = record -> {
+                    offsets.put(record.partition(), record.offset() + 1);
+
+                    // If the key is null, we couldn't deserialize the message
+                    if (record.key() == null) {
+                        log.info("Discarded an unreadable/unrecognized message.");
+                        return;
+                    }
+
+                    // If the key is a Bootstrap key, then we have processed all messages and can set bootstrapped to 'true'
+                    // (once the Bootstrap message has been consumed on every partition)
+                    if (record.key().getType() == MessageType.Bootstrap) {
+                        BootstrapKey bkey = (BootstrapKey) record.key();
+                        if (bkey.getBootstrapId().equals(bootstrapId) && bootstrappedPartitions.add(record.partition())
+                                && bootstrappedPartitions.size() == configuration.topicPartitions()) {
+                            applyBatch(batch);
+                            if (pipeline != null) {
+                                pipeline.drain();
+                            }
+                            this.bootstrapped = true;
+                            if (configuration.topicPartitions() > 1) {
+                                submitter.submitBootstrapTombstone(bootstrapId);
+                            }
+                            storageEvent.fireAsync(StorageEvent.builder()
+                                    .type(StorageEventType.READY)
+                                    .build());
+                            log.info("KafkaSQL storage bootstrapped in {} ms.", System.currentTimeMillis() - bootstrapStart);
+                        }
+                        return;
+                    }
+
+                    // Fence markers only order the partitions of the journal, there is nothing to apply.
+                    if (record.key().getType() == MessageType.Fence) {
+                        if (configuration.isSnapshotsEnabled() && record.value() != null) {
+                            passedFences.add(record);
+                        }
+                        return;
+                    }
+
+                    // If the value is null, then this is a tombstone (or unrecognized) message and should not
+                    // be processed.
+                    if (record.value() == null) {
+                        log.info("Discarded a (presumed) tombstone message with key: {}", record.key());
+                        return;
+                    }
+
+                    if (pipeline != null) {
+                        pipeline.submit(record);
+                    } else if (batched) {
+                        batch.add(record);
+                        if (batch.size() >= configuration.applyBatchMaxSize()) {
+                            applyBatch(batch);
+                        }
+                    } else {
+                        kafkaSqlSink.processMessage(record);
+                    }
+                };
 
                 // Main consumer loop
                 while (!stopped) {
                     final ConsumerRecords<MessageKey, MessageValue> records = consumer.poll(Duration.ofMillis(configuration.pollTimeout()));
                     if (records != null && !records.isEmpty()) {
                         log.debug("Consuming {} journal records.", records.count());
-                        records.forEach(record -> {
-
-                            // If the key is null, we couldn't deserialize the message
-                            if (record.key() == null) {
-                                log.info("Discarded an unreadable/unrecognized message.");
-                                return;
-                            }
-
-                            // If the key is a Bootstrap key, then we have processed all messages and can set bootstrapped to 'true'
-                            if (record.key().getType() == MessageType.Bootstrap) {
-                                BootstrapKey bkey = (BootstrapKey) record.key();
-                                if (bkey.getBootstrapId().equals(bootstrapId)) {
-                                    this.bootstrapped = true;
-                                    storageEvent.fireAsync(StorageEvent.builder()
-                                            .type(StorageEventType.READY)
-                                            .build());
-                                    log.info("KafkaSQL storage bootstrapped in {} ms.", System.currentTimeMillis() - bootstrapStart);
-                                }
-                                return;
-                            }
-
-                            // If the value is null, then this is a tombstone (or unrecognized) message and should not
-                            // be processed.
-                            if (record.value() == null) {
-                                log.info("Discarded a (presumed) tombstone message with key: {}", record.key());
-                                return;
-                            }
+                        if (merger != null) {
+                            merger.add(records);
+                        } else {
+                            records.forEach(handler);
+                        }
+                    }
+                    if (merger != null) {
+                        merger.release(handler);
+                    }
+                    applyBatch(batch);
+
+                    // Once the snapshot thread is done, the fences covered by the newest stored snapshot can go
+                    if (pendingSnapshot != null && pendingSnapshot.isDone()) {
+                        KafkaSqlSnapshot latest = pendingSnapshot.join();
+                        if (latest != null) {
+                            tombstoneFences(passedFences, latest, latest.getOffsets().equals(snapshotted));
+                        }
+                        pendingSnapshot = null;
+                        lastSnapshot = System.currentTimeMillis();
+                    }
 
-                            // TODO instead of processing the journal record directly on the consumer thread, instead queue them and have *another* thread process the queue
-                            kafkaSqlSink.processMessage(record);
-                        });
+                    // Periodically snapshot the SQL storage, once the records up to the tracked offsets have been applied
+                    // (a single snapshot at a time)
+                    if (snapshotExecutor != null && configuration.snapshotInterval() > 0 && bootstrapped
+                            && pendingSnapshot == null
+                            && System.currentTimeMillis() - lastSnapshot >= configuration.snapshotInterval() * 1000L
+                            && !offsets.equals(snapshotted)) {
+                        if (pipeline != null) {
+                            pipeline.drain();
+                        }
+                        pendingSnapshot = startSnapshot(snapshotExecutor, offsets);
+                        snapshotted = new HashMap<>(offsets);
                     }
                 }
+            } finally {
+                if (pipeline != null) {
+                    pipeline.close();
+                }
+                if (snapshotExecutor != null) {
+                    snapshotExecutor.shutdownNow();
+                }
             }
         };
         stopped = false;
@@ -269,6 +572,17 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     }
 
 
+    /**
+     * Applies (and then clears) the given batch of journal records, if there are any.
+     */
+    private void applyBatch(List<ConsumerRecord<MessageKey, MessageValue>> batch) {
+        if (!batch.isEmpty()) {
+            kafkaSqlSink.processMessages(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+
     /**
      * Ensures that the given content exists in the database.  If it's already in the DB, then this just
      * returns the content hash.  If the content does not yet exist in the DB, then it is added (by sending
@@ -280,8 +594,10 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
         if (!delegate.isContentExists(contentHash)) {
 
-            long contentId = nextContentId();
-            String canonicalContentHash = utils.getCanonicalContentHash(content, artifactType, references, this::resolveReferences);
+            // Canonicalize the content while the new contentId is being generated.
+            CompletableFuture<Object> contentIdResponse = submitter.awaitResponse(submitter.submitContentId(ActionType.CREATE));
+            String canonicalContentHash = utils.getCanonicalContentHash(content, contentHash, artifactType, references, this::resolveReferences);
+            long contentId = (long) ConcurrentUtil.get(contentIdResponse);
 
             CompletableFuture<UUID> future = submitter.submitContent(contentId, contentHash, ActionType.CREATE, canonicalContentHash, content, SqlUtil.serializeReferences(references));
             UUID uuid = ConcurrentUtil.get(future);
@@ -336,18 +652,22 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             metaData = utils.extractEditableArtifactMetadata(artifactType, content);
         }
 
+        CompletableFuture<Object> groupResponse = null;
         if (groupId != null && !isGroupExists(groupId)) {
-            //Only create group metadata for non-default groups.
-            createGroup(GroupMetaDataDto.builder()
+            //Only create group metadata for non-default groups.  The group is created while the globalId is generated.
+            groupResponse = submitter.awaitResponse(submitter.submitGroup(ActionType.CREATE, GroupMetaDataDto.builder()
                     .groupId(groupId)
                     .createdOn(0)
                     .modifiedOn(0)
                     .createdBy(createdBy)
                     .modifiedBy(createdBy)
-                    .build());
+                    .build()));
         }
 
         long globalId = globalIdGenerator.generate();
+        if (groupResponse != null) {
+            ConcurrentUtil.get(groupResponse);
+        }
 
         UUID uuid = ConcurrentUtil.get(
                 submitter.submitArtifact(groupId, artifactId, version, ActionType.CREATE,
@@ -478,14 +798,10 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
             throw new ArtifactNotFoundException(groupId, artifactId);
         }
 
-        submitter.submitArtifactRule(groupId, artifactId, RuleType.COMPATIBILITY, ActionType.DELETE);
-
-        UUID reqId = ConcurrentUtil.get(submitter.submitArtifactRule(groupId, artifactId, RuleType.VALIDITY, ActionType.DELETE));
-        try {
-            coordinator.waitForResponse(reqId);
-        } catch (RuleNotFoundException e) {
-            // Eat this exception - we don't care if the rule didn't exist.
-        }
+        awaitAll(Arrays.stream(RuleType.values())
+                .map(rule -> submitter.awaitResponse(submitter.submitArtifactRule(groupId, artifactId, rule, ActionType.DELETE)))
+                .map(KafkaSqlRegistryStorage::ignoreRuleNotFound)
+                .collect(Collectors.toList()));
     }
 
 
@@ -569,15 +885,35 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     public void deleteGlobalRules() {
         // TODO This should use "DELETE FROM" instead of being rule specific
 
-        getGlobalRules().stream()
-                .map(r -> ConcurrentUtil.get(submitter.submitGlobalRule(r, ActionType.DELETE)))
-                .forEach(reqId -> {
-                    try {
-                        coordinator.waitForResponse(reqId);
-                    } catch (RuleNotFoundException e) {
-                        // Eat this exception - we don't care if the rule didn't exist.
-                    }
-                });
+        awaitAll(getGlobalRules().stream()
+                .map(r -> submitter.awaitResponse(submitter.submitGlobalRule(r, ActionType.DELETE)))
+                .map(KafkaSqlRegistryStorage::ignoreRuleNotFound)
+                .collect(Collectors.toList()));
+    }
+
+
+    /**
+     * Waits for the responses to several messages of one logical operation, sent back to back.  Since all
+     * the messages are in flight at the same time, this costs a single round trip to Kafka and back.
+     * Throws the first error, if any of the messages failed.
+     */
+    static List<Object> awaitAll(List<CompletableFuture<Object>> responses) {
+        ConcurrentUtil.get(CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])));
+        return responses.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+
+    /**
+     * Eats a RuleNotFoundException - we don't care if a rule being deleted didn't exist.
+     */
+    static CompletableFuture<Object> ignoreRuleNotFound(CompletableFuture<Object> response) {
+        return response.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof RuleNotFoundException) {
+                return null;
+            }
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        });
     }
 
 
@@ -32,12 +32,16 @@ import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.event.Shutdown;
 import jakarta.inject.Inject;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.header.internals.RecordHeader;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -72,10 +76,54 @@ public class KafkaSqlSubmitter {
      * @param value
      */
     public CompletableFuture<UUID> send(MessageKey key, MessageValue value) {
+        return send(key, value, KafkaSqlJournalPartitions.partitionFor(key, value, configuration.topicPartitions()));
+    }
+
+    /**
+     * Sends a message to the given partition of the Kafka topic.  Fenced messages are followed by a
+     * fence marker on every other partition (see {@link KafkaSqlJournalPartitions}).
+     * @param key
+     * @param value
+     * @param partition
+     */
+    private CompletableFuture<UUID> send(MessageKey key, MessageValue value, int partition) {
         UUID requestId = coordinator.createUUID();
         RecordHeader header = new RecordHeader("req", requestId.toString().getBytes());
-        ProducerRecord<MessageKey, MessageValue> record = new ProducerRecord<>(configuration.topic(), 0, key, value, Collections.singletonList(header));
-        return producer.apply(record).thenApply(rm -> requestId);
+        ProducerRecord<MessageKey, MessageValue> record = new ProducerRecord<>(configuration.topic(), partition, key, value, Collections.singletonList(header));
+        CompletableFuture<RecordMetadata> sent = producer.apply(record);
+        if (configuration.topicPartitions() > 1 && value != null && KafkaSqlJournalPartitions.isFenced(key, value)) {
+            sent = sent.thenCompose(rm -> submitFence(rm.offset(), otherPartitions()).thenApply(v -> rm));
+        }
+        return sent.thenApply(rm -> requestId);
+    }
+
+    /**
+     * Sends a message that needs no response (a marker) to the given partition of the Kafka topic.  The
+     * value must not be null, the journal topic is compacted and would eventually drop it as a tombstone,
+     * unless the record is the tombstone of a marker that is no longer needed.
+     * @param key
+     * @param value
+     * @param partition
+     */
+    private CompletableFuture<RecordMetadata> sendMarker(MessageKey key, MessageValue value, int partition) {
+        return producer.apply(new ProducerRecord<>(configuration.topic(), partition, key, value));
+    }
+
+    private List<Integer> otherPartitions() {
+        return IntStream.range(0, configuration.topicPartitions())
+                .filter(partition -> partition != KafkaSqlJournalPartitions.GLOBAL_PARTITION)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a future completed with the response to a sent message, once the message has been applied
+     * by the Kafka consumer thread.  Use this to send several messages of one logical operation back to
+     * back and then wait for all of them at once, instead of paying one round trip per message.
+     * @param sent
+     */
+    public CompletableFuture<Object> awaitResponse(CompletableFuture<UUID> sent) {
+        return sent.thenCompose(coordinator::waitForResponseAsync);
     }
 
 
@@ -294,7 +342,34 @@ public class KafkaSqlSubmitter {
     }
     public void submitBootstrap(String bootstrapId) {
         BootstrapKey key = BootstrapKey.create(bootstrapId);
-        send(key, null);
+        if (configuration.topicPartitions() == 1) {
+            send(key, null);
+            return;
+        }
+        // One bootstrap message per partition, the storage is bootstrapped once it has consumed all of them.
+        BootstrapValue value = BootstrapValue.create(bootstrapId);
+        for (int partition = 0; partition < configuration.topicPartitions(); partition++) {
+            sendMarker(key, value, partition);
+        }
+    }
+    public void submitBootstrapTombstone(String bootstrapId) {
+        BootstrapKey key = BootstrapKey.create(bootstrapId);
+        for (int partition = 0; partition < configuration.topicPartitions(); partition++) {
+            sendMarker(key, null, partition);
+        }
+    }
+
+
+    /* ******************************************************************************************
+     * Fences
+     * ****************************************************************************************** */
+    public CompletableFuture<Void> submitFence(long offset, List<Integer> partitions) {
+        return CompletableFuture.allOf(partitions.stream()
+                .map(partition -> sendMarker(FenceKey.create(offset), FenceValue.create(offset), partition))
+                .toArray(CompletableFuture[]::new));
+    }
+    public void submitFenceTombstone(FenceKey key, int partition) {
+        sendMarker(key, null, partition);
     }
 
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.keys;
+
+import io.apicurio.registry.storage.impl.kafkasql.MessageType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.UUID;
+
+/**
+ * Key of the marker messages written to the journal partitions when a message that affects more than one
+ * partition (e.g. deleting an artifact, or a global action) is written to the global partition.  The
+ * marker identifies that message by its offset in the global partition.
+ * <p>
+ * Like the other keys, it has a random uuid, so that compaction never merges the markers written for the
+ * same message (e.g. after the fence timeout) into a later position of the partition.  The uuid is read
+ * back from the journal, so the tombstone of a consumed marker has exactly the same key.
+ */
+@RegisterForReflection
+public class FenceKey implements MessageKey {
+
+    private static final String FENCE_PARTITION_KEY = "__apicurio_registry_fence__";
+
+    private long offset;
+    private final String uuid = UUID.randomUUID().toString();
+
+    /**
+     * Creator method.
+     * @param offset
+     */
+    public static final FenceKey create(long offset) {
+        FenceKey key = new FenceKey();
+        key.setOffset(offset);
+        return key;
+    }
+
+    /**
+     * @see MessageKey#getType()
+     */
+    @Override
+    public MessageType getType() {
+        return MessageType.Fence;
+    }
+
+    /**
+     * @see MessageKey#getPartitionKey()
+     */
+    @Override
+    public String getPartitionKey() {
+        return FENCE_PARTITION_KEY;
+    }
+
+    /**
+     * @return the offset of the fenced message in the global partition
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param offset the offset to set
+     */
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.format("FenceKey(offset = %d)", offset);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Describes a snapshot of the KafkaSQL in-memory database, together with the position in the journal
+ * topic it covers.  The offsets are the offsets of the next record to consume in each partition, so a
+ * replica restoring the snapshot must resume consuming the topic from exactly these offsets.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class KafkaSqlSnapshot {
+
+    private String snapshotId;
+    private String topic;
+    private long createdOn;
+    private Map<Integer, Long> offsets;
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stores snapshots of the KafkaSQL in-memory database, so that a new replica can restore the newest
+ * snapshot and only consume the tail of the journal topic written after it.
+ */
+public interface KafkaSqlSnapshotStore {
+
+    /**
+     * Returns the newest complete snapshot taken from the given journal topic, if there is one, and copies
+     * its data to the given local file.  The snapshot can't be removed by another replica in between.
+     * @param topic
+     * @param data
+     */
+    Optional<KafkaSqlSnapshot> getLatestSnapshot(String topic, Path data) throws IOException;
+
+    /**
+     * Stores a new snapshot.  The store takes ownership of the given data file, and may remove older
+     * snapshots once the new one has been stored.
+     * <p>
+     * The snapshot is only stored if it is ahead of the newest stored snapshot of the same topic, i.e. it
+     * has been taken after it, covers at least the same offsets of every partition and more of one of them.  The newest snapshot
+     * therefore never goes back in the journal, even when replicas that are behind save snapshots too.
+     * @param snapshot
+     * @param data
+     * @return the newest stored snapshot of the topic, which is the given one if it has been stored
+     */
+    KafkaSqlSnapshot saveSnapshot(KafkaSqlSnapshot snapshot, Path data) throws IOException;
+
+}
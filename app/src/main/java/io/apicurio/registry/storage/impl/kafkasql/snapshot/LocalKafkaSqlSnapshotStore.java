@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot store that keeps snapshots in a local (or mounted) directory.  Each snapshot is made of
+ * a data file and a JSON metadata file.  The metadata file is written last, so a snapshot that was
+ * interrupted while being stored is never returned.
+ * <p>
+ * The directory is shared by all replicas, which store snapshots and remove the old ones concurrently.
+ * Every operation therefore holds a lock on a file of the directory, so that a replica never reads a
+ * snapshot another one is removing.
+ */
+public class LocalKafkaSqlSnapshotStore implements KafkaSqlSnapshotStore {
+
+    private static final String DATA_SUFFIX = ".sql.gz";
+    private static final String METADATA_SUFFIX = ".json";
+    private static final String LOCK_FILE = ".lock";
+
+    // A file lock is held by the whole JVM, the threads of a JVM must not request it concurrently
+    private static final Object JVM_LOCK = new Object();
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final Path directory;
+    private final int retention;
+
+    /**
+     * Constructor.
+     * @param directory the directory the snapshots are stored in
+     * @param retention the number of snapshots to keep
+     */
+    public LocalKafkaSqlSnapshotStore(Path directory, int retention) {
+        this.directory = directory;
+        this.retention = Math.max(1, retention);
+    }
+
+    /**
+     * @see KafkaSqlSnapshotStore#getLatestSnapshot(String, Path)
+     */
+    @Override
+    public Optional<KafkaSqlSnapshot> getLatestSnapshot(String topic, Path data) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        return locked(() -> {
+            Optional<KafkaSqlSnapshot> latest = listSnapshots().stream()
+                    .filter(snapshot -> topic.equals(snapshot.getTopic()))
+                    .filter(snapshot -> Files.isRegularFile(dataFile(snapshot.getSnapshotId())))
+                    .findFirst();
+            if (latest.isPresent()) {
+                Files.copy(dataFile(latest.get().getSnapshotId()), data, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return latest;
+        });
+    }
+
+    /**
+     * @see KafkaSqlSnapshotStore#saveSnapshot(KafkaSqlSnapshot, Path)
+     */
+    @Override
+    public KafkaSqlSnapshot saveSnapshot(KafkaSqlSnapshot snapshot, Path data) throws IOException {
+        Files.createDirectories(directory);
+        return locked(() -> {
+            Optional<KafkaSqlSnapshot> latest = listSnapshots().stream()
+                    .filter(stored -> snapshot.getTopic().equals(stored.getTopic()))
+                    .findFirst();
+            if (latest.isPresent() && !isAhead(snapshot, latest.get())) {
+                Files.deleteIfExists(data);
+                return latest.get();
+            }
+
+            Files.move(data, dataFile(snapshot.getSnapshotId()), StandardCopyOption.REPLACE_EXISTING);
+
+            Path tmp = directory.resolve(snapshot.getSnapshotId() + METADATA_SUFFIX + ".tmp");
+            mapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, metadataFile(snapshot.getSnapshotId()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Only the snapshots of the same journal topic count towards its retention
+            List<KafkaSqlSnapshot> snapshots = listSnapshots().stream()
+                    .filter(stored -> snapshot.getTopic().equals(stored.getTopic()))
+                    .collect(Collectors.toList());
+            for (KafkaSqlSnapshot old : snapshots.subList(Math.min(retention, snapshots.size()), snapshots.size())) {
+                Files.deleteIfExists(metadataFile(old.getSnapshotId()));
+                Files.deleteIfExists(dataFile(old.getSnapshotId()));
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Returns true if the snapshot has been taken after the other one, covers at least its offsets on every
+     * partition, and more on one of them.  Partitions missing from a snapshot have not been consumed at all.
+     */
+    private static boolean isAhead(KafkaSqlSnapshot snapshot, KafkaSqlSnapshot other) {
+        if (snapshot.getCreatedOn() <= other.getCreatedOn()) {
+            return false;
+        }
+        boolean ahead = false;
+        Set<Integer> partitions = new HashSet<>(snapshot.getOffsets().keySet());
+        partitions.addAll(other.getOffsets().keySet());
+        for (Integer partition : partitions) {
+            long offset = snapshot.getOffsets().getOrDefault(partition, 0L);
+            long otherOffset = other.getOffsets().getOrDefault(partition, 0L);
+            if (offset < otherOffset) {
+                return false;
+            }
+            ahead |= offset > otherOffset;
+        }
+        return ahead;
+    }
+
+    /**
+     * Runs the given action while holding the lock of the directory, which must exist.
+     */
+    private <T> T locked(LockedAction<T> action) throws IOException {
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+                return action.run();
+            }
+        }
+    }
+
+    /**
+     * Lists all complete snapshots, newest first.
+     */
+    private List<KafkaSqlSnapshot> listSnapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<Path> metadataFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            metadataFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(METADATA_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        List<KafkaSqlSnapshot> snapshots = new ArrayList<>(metadataFiles.size());
+        for (Path file : metadataFiles) {
+            snapshots.add(mapper.readValue(file.toFile(), KafkaSqlSnapshot.class));
+        }
+        snapshots.sort(Comparator.comparingLong(KafkaSqlSnapshot::getCreatedOn).reversed());
+        return snapshots;
+    }
+
+    private Path dataFile(String snapshotId) {
+        return directory.resolve(snapshotId + DATA_SUFFIX);
+    }
+
+    private Path metadataFile(String snapshotId) {
+        return directory.resolve(snapshotId + METADATA_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+}
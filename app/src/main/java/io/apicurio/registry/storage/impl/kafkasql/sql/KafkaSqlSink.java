@@ -25,10 +25,13 @@ import io.apicurio.registry.utils.impexp.GroupEntity;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -69,7 +72,7 @@ public class KafkaSqlSink {
         log.debug("Processing Kafka message with UUID: {}", requestId);
 
         try {
-            Object result = doProcessMessage(record);
+            Object result = doProcessMessage(record, true);
             log.trace("Processed message key: {} value: {} result: {}", record.key().getType().name(), record.value() != null ? record.value().toString() : "", result != null ? result.toString() : "");
             log.debug("Kafka message successfully processed. Notifying listeners of response.");
             coordinator.notifyResponse(requestId, result);
@@ -82,6 +85,57 @@ public class KafkaSqlSink {
         }
     }
 
+    /**
+     * Called by the {@link KafkaSqlRegistryStorage} main Kafka consumer loop (when batched apply is enabled)
+     * to process a batch of consecutive messages from the topic.  All messages in the batch are applied in a
+     * single database transaction, and the local threads waiting for them are notified once that transaction
+     * has been committed.
+     * <p>
+     * If any message in the batch fails, the whole transaction is rolled back and every message in the batch
+     * is applied again individually via <code>processMessage()</code>, so that a bad message only fails its
+     * own request.
+     *
+     * @param records
+     */
+    @ActivateRequestContext
+    public void processMessages(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+        if (records.size() == 1) {
+            processMessage(records.get(0));
+            return;
+        }
+
+        List<Object> results;
+        try {
+            // Note: self-invocation is intercepted by ArC, so this runs in its own transaction.
+            results = doProcessMessages(records);
+        } catch (Throwable e) {
+            log.debug("Batch of {} Kafka messages failed ({}), applying them one by one.", records.size(), e.getMessage());
+            records.forEach(this::processMessage);
+            return;
+        }
+
+        log.debug("Batch of {} Kafka messages successfully processed. Notifying listeners of responses.", records.size());
+        for (int idx = 0; idx < records.size(); idx++) {
+            coordinator.notifyResponse(extractUuid(records.get(idx)), results.get(idx));
+        }
+    }
+
+    /**
+     * Processes all messages of a batch in one transaction.  Any exception rolls back the whole batch.
+     *
+     * @param records
+     */
+    @Transactional
+    protected List<Object> doProcessMessages(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+        List<Object> results = new ArrayList<>(records.size());
+        for (ConsumerRecord<MessageKey, MessageValue> record : records) {
+            // No tombstone is sent for a failing message, the batch is rolled back and the message is applied
+            // again on its own, which sends it
+            results.add(doProcessMessage(record, false));
+        }
+        return results;
+    }
+
     /**
      * Extracts the UUID from the message.  The UUID should be found in a message header.
      *
@@ -104,8 +158,9 @@ public class KafkaSqlSink {
      * goes wrong.
      *
      * @param record
+     * @param sendTombstones whether the unique messages that fail are cleaned up from the topic
      */
-    private Object doProcessMessage(ConsumerRecord<MessageKey, MessageValue> record) {
+    private Object doProcessMessage(ConsumerRecord<MessageKey, MessageValue> record, boolean sendTombstones) {
         MessageKey key = record.key();
         MessageValue value = record.value();
 
@@ -114,7 +169,7 @@ public class KafkaSqlSink {
             case Group:
                 return processGroupMessage((GroupKey) key, (GroupValue) value);
             case Artifact:
-                return processArtifactMessage((ArtifactKey) key, (ArtifactValue) value);
+                return processArtifactMessage((ArtifactKey) key, (ArtifactValue) value, sendTombstones);
             case ArtifactRule:
                 return processArtifactRuleMessage((ArtifactRuleKey) key, (ArtifactRuleValue) value);
             case ArtifactVersion:
@@ -255,8 +310,9 @@ public class KafkaSqlSink {
      *
      * @param key
      * @param value
+     * @param sendTombstones
      */
-    private Object processArtifactMessage(ArtifactKey key, ArtifactValue value) throws RegistryStorageException {
+    private Object processArtifactMessage(ArtifactKey key, ArtifactValue value, boolean sendTombstones) throws RegistryStorageException {
         try {
             switch (value.getAction()) {
                 case CREATE:
@@ -294,7 +350,9 @@ public class KafkaSqlSink {
         } catch (ArtifactNotFoundException | ArtifactAlreadyExistsException e) {
             // Send a tombstone message to clean up the unique Kafka message that caused this failure.  We may be
             // able to do this for other errors, but these two are definitely safe.
-            submitter.send(key, null);
+            if (sendTombstones) {
+                submitter.send(key, null);
+            }
             throw e;
         }
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.values;
+
+import io.apicurio.registry.storage.impl.kafkasql.MessageType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.ToString;
+
+/**
+ * Value of the bootstrap markers (see {@link io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey}).
+ * When the journal topic has several partitions, the markers have a value so that compaction does not
+ * remove them before the replica that sent them has consumed all of them.  The replica then sends their
+ * tombstones.  A single-partition journal uses a null-valued bootstrap message instead.
+ */
+@RegisterForReflection
+@ToString
+public class BootstrapValue implements MessageValue {
+
+    private String bootstrapId;
+
+    /**
+     * Creator method.
+     * @param bootstrapId
+     */
+    public static final BootstrapValue create(String bootstrapId) {
+        BootstrapValue value = new BootstrapValue();
+        value.setBootstrapId(bootstrapId);
+        return value;
+    }
+
+    /**
+     * @see MessageValue#getType()
+     */
+    @Override
+    public MessageType getType() {
+        return MessageType.Bootstrap;
+    }
+
+    /**
+     * @return the bootstrapId
+     */
+    public String getBootstrapId() {
+        return bootstrapId;
+    }
+
+    /**
+     * @param bootstrapId the bootstrapId to set
+     */
+    public void setBootstrapId(String bootstrapId) {
+        this.bootstrapId = bootstrapId;
+    }
+
+}
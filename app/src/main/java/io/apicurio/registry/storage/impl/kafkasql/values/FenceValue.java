@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.values;
+
+import io.apicurio.registry.storage.impl.kafkasql.MessageType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.ToString;
+
+/**
+ * Value of the fence markers (see {@link io.apicurio.registry.storage.impl.kafkasql.keys.FenceKey}).  Markers
+ * are never applied, but they need a value: the journal topic is compacted, and a marker without one would
+ * eventually be removed as a tombstone.
+ */
+@RegisterForReflection
+@ToString
+public class FenceValue implements MessageValue {
+
+    private long offset;
+
+    /**
+     * Creator method.
+     * @param offset
+     */
+    public static final FenceValue create(long offset) {
+        FenceValue value = new FenceValue();
+        value.setOffset(offset);
+        return value;
+    }
+
+    /**
+     * @see MessageValue#getType()
+     */
+    @Override
+    public MessageType getType() {
+        return MessageType.Fence;
+    }
+
+    /**
+     * @return the offset of the fenced message in the global partition
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param offset the offset to set
+     */
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+}
@@ -33,6 +33,10 @@ public class MessageTypeToValueClass {
         for (MessageType type : types) {
             switch (type) {
                 case Bootstrap:
+                    index.put(type, BootstrapValue.class);
+                    break;
+                case Fence:
+                    index.put(type, FenceValue.class);
                     break;
                 case Group:
                     index.put(type, GroupValue.class);
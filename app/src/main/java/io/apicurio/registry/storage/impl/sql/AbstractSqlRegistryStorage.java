@@ -18,6 +18,8 @@ package io.apicurio.registry.storage.impl.sql;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
 import io.apicurio.common.apps.config.Info;
 import io.apicurio.common.apps.core.System;
@@ -31,6 +33,7 @@ import io.apicurio.registry.storage.StorageEventType;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.storage.impl.sql.jdb.Batch;
 import io.apicurio.registry.storage.impl.sql.jdb.Handle;
 import io.apicurio.registry.storage.impl.sql.jdb.Query;
 import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
@@ -52,6 +55,8 @@ import io.apicurio.registry.utils.impexp.ManifestEntity;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -62,6 +67,8 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -127,16 +134,32 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Info(category = "storage", description = "SQL init", availableSince = "2.0.0.Final")
     boolean initDB;
 
+    @ConfigProperty(name = "registry.sql.search.indexed.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Use the search index for the 'everything' artifact search filter, which then matches the beginning of words instead of any part of the text", availableSince = "3.0.0.Final")
+    boolean indexedSearchEnabled;
+
+    @ConfigProperty(name = "registry.sql.search.count-cache.expire-seconds", defaultValue = "30")
+    @Info(category = "storage", description = "Number of seconds the total count of an artifact search is reused for by the searches with an approximate count", availableSince = "3.0.0.Final")
+    long searchCountCacheExpireSeconds;
+
     @Inject
     Event<SqlStorageEvent> sqlStorageEvent;
 
     @Inject
     Event<StorageEvent> storageEvent;
 
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
     private volatile boolean isReady = false;
     private volatile Instant isAliveLastCheck = Instant.MIN;
     private volatile boolean isAliveCached = false;
 
+    // Total counts of recent artifact searches, by filters, cleared when an artifact or version changes
+    private Cache<Set<SearchFilter>, Long> searchCountCache;
+    // Incremented when the changes clearing the search counts are committed, see invalidateSearchCounts()
+    private final AtomicLong searchCountVersion = new AtomicLong();
+
     /**
      * @param emitStorageReadyEvent The concrete implementation needs to tell AbstractSqlRegistryStorage
      *                              whether it should fire {@see io.apicurio.registry.storage.StorageEvent} in addition to
@@ -147,6 +170,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     protected void initialize(HandleFactory handleFactory, boolean emitStorageReadyEvent) {
         this.handles = handleFactory;
+        this.searchCountCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(searchCountCacheExpireSeconds, TimeUnit.SECONDS)
+                .maximumSize(1000)
+                .build();
 
         log.info("SqlRegistryStorage constructed successfully.");
 
@@ -174,6 +201,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     throw new RuntimeException("Database not upgraded.");
                 }
             }
+
+            updateSearchTokens(handle);
             return null;
         });
 
@@ -217,6 +246,29 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
         return version == DB_VERSION;
     }
 
+    /**
+     * The "search_tokens" table is only maintained while indexed search is enabled.  Fills it when indexed
+     * search has been enabled since the last start, and empties it when it has been disabled, as it would
+     * otherwise get out of date.
+     */
+    private void updateSearchTokens(Handle handle) {
+        boolean maintained = handle.createQuery(sqlStatements.selectSearchTokensMaintained())
+                .mapTo(Integer.class)
+                .one() > 0;
+        if (indexedSearchEnabled && !maintained) {
+            log.info("Indexed search enabled, indexing all artifact versions.");
+            SearchTokensIndexer.rebuild(handle);
+            handle.createUpdate(sqlStatements.insertSearchTokensMaintained())
+                    .execute();
+        } else if (!indexedSearchEnabled && maintained) {
+            log.info("Indexed search disabled, deleting the search index.");
+            handle.createUpdate(sqlStatements.deleteAllSearchTokens())
+                    .execute();
+            handle.createUpdate(sqlStatements.deleteSearchTokensMaintained())
+                    .execute();
+        }
+    }
+
     private void initializeDatabase(Handle handle) {
         log.info("Initializing the Apicurio Registry database.");
         log.info("\tDatabase type: " + this.sqlStatements.dbType());
@@ -356,6 +408,79 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public List<IdContentDto> getContentByIds(Collection<Long> globalIds, Collection<Long> contentIds, Collection<String> contentHashes)
+            throws RegistryStorageException {
+        if (globalIds.isEmpty() && contentIds.isEmpty() && contentHashes.isEmpty()) {
+            return List.of();
+        }
+        return handles.withHandleNoException(handle -> {
+            Query query = handle.createQuery(sqlStatements().selectContentByIds(globalIds.size(), contentIds.size(), contentHashes.size()));
+            int idx = 0;
+            for (Long globalId : globalIds) {
+                query.bind(idx++, globalId);
+            }
+            for (Long contentId : contentIds) {
+                query.bind(idx++, contentId);
+            }
+            for (String contentHash : contentHashes) {
+                query.bind(idx++, contentHash);
+            }
+            return query.map(IdContentMapper.instance).list();
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public List<ArtifactRulesContextDto> getArtifactRulesContexts(String groupId, Collection<String> artifactIds)
+            throws RegistryStorageException {
+        if (artifactIds.isEmpty()) {
+            return List.of();
+        }
+        return handles.withHandleNoException(handle -> {
+            Query typesQuery = handle.createQuery(sqlStatements().selectArtifactTypesByArtifactIds(artifactIds.size()));
+            bindGroupAndArtifactIds(typesQuery, groupId, artifactIds);
+            Map<String, String> types = new HashMap<>();
+            typesQuery.map(rs -> Pair.of(rs.getString("artifactId"), rs.getString("type"))).list()
+                    .forEach(row -> types.put(row.getLeft(), row.getRight()));
+
+            Query rulesQuery = handle.createQuery(sqlStatements().selectArtifactRulesByArtifactIds(artifactIds.size()));
+            bindGroupAndArtifactIds(rulesQuery, groupId, artifactIds);
+            Map<String, Map<RuleType, RuleConfigurationDto>> rules = new HashMap<>();
+            rulesQuery.map(ArtifactRuleEntityMapper.instance).list()
+                    .forEach(rule -> rules.computeIfAbsent(rule.artifactId, k -> new HashMap<>())
+                            .put(rule.type, RuleConfigurationDto.builder().configuration(rule.configuration).build()));
+
+            Query contentIdsQuery = handle.createQuery(sqlStatements().selectEnabledArtifactContentIdsByArtifactIds(artifactIds.size()));
+            bindGroupAndArtifactIds(contentIdsQuery, groupId, artifactIds);
+            Map<String, List<Long>> contentIds = new HashMap<>();
+            contentIdsQuery.map(rs -> Pair.of(rs.getString("artifactId"), rs.getLong("contentId"))).list()
+                    .forEach(row -> contentIds.computeIfAbsent(row.getLeft(), k -> new ArrayList<>()).add(row.getRight()));
+
+            return artifactIds.stream()
+                    .filter(types::containsKey)
+                    .map(artifactId -> ArtifactRulesContextDto.builder()
+                            .groupId(groupId)
+                            .artifactId(artifactId)
+                            .artifactType(types.get(artifactId))
+                            .rules(rules.getOrDefault(artifactId, Map.of()))
+                            .enabledContentIds(contentIds.getOrDefault(artifactId, List.of()))
+                            .build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private static void bindGroupAndArtifactIds(Query query, String groupId, Collection<String> artifactIds) {
+        query.bind(0, normalizeGroupId(groupId));
+        int idx = 1;
+        for (String artifactId : artifactIds) {
+            query.bind(idx++, artifactId);
+        }
+    }
+
+
     @Override
     @Transactional
     public List<ArtifactMetaDataDto> getArtifactVersionsByContentId(long contentId) {
@@ -434,6 +559,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 }, oldState, newState);
             return null;
         });
+        invalidateSearchCounts();
     }
 
 
@@ -525,27 +651,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
         return handles.withHandleNoException(handle -> {
 
             // Insert labels into the "labels" table
-            if (labels != null && !labels.isEmpty()) {
-                labels.forEach(label -> {
-
-                    handle.createUpdate(sqlStatements.insertLabel())
-                            .bind(0, globalId)
-                            .bind(1, limitStr(label.toLowerCase(), 256))
-                            .execute();
-                });
-            }
+            insertLabels(handle, globalId, labels, true);
 
             // Insert properties into the "properties" table
-            if (properties != null && !properties.isEmpty()) {
-                properties.forEach((k, v) -> {
+            insertProperties(handle, globalId, properties, true);
 
-                    handle.createUpdate(sqlStatements.insertProperty())
-                            .bind(0, globalId)
-                            .bind(1, limitStr(k.toLowerCase(), 256))
-                            .bind(2, limitStr(v.toLowerCase(), 1024))
-                            .execute();
-                });
-            }
+            // Insert search tokens into the "search_tokens" table
+            insertSearchTokens(handle, globalId, groupId, artifactId, name, description, labels, properties);
 
             // Update the "latest" column in the artifacts table with the globalId of the new version
             handle.createUpdate(sqlStatements.updateArtifactLatest())
@@ -553,6 +665,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                     .bind(1, normalizeGroupId(groupId))
                     .bind(2, artifactId)
                     .execute();
+            invalidateSearchCounts();
 
             return handle.createQuery(sqlStatements.selectArtifactVersionMetaDataByGlobalId())
                     .bind(0, globalId)
@@ -563,24 +676,88 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    /**
+     * Inserts the labels of a version into the "labels" table, in a single batch.  Labels are truncated to the
+     * size of the column, except imported ones, which are stored as exported (or fail the import if too long).
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void insertLabels(Handle handle, long globalId, List<String> labels, boolean truncate) {
+        if (labels != null && !labels.isEmpty()) {
+            Batch batch = handle.createBatch(sqlStatements.insertLabel());
+            labels.forEach(label -> {
+                batch.bind(0, globalId)
+                        .bind(1, truncate ? limitStr(label.toLowerCase(), 256) : label.toLowerCase())
+                        .add();
+            });
+            batch.execute();
+        }
+    }
+
+
+    /**
+     * Inserts the properties of a version into the "properties" table, in a single batch.  Properties are
+     * truncated like labels (see {@link #insertLabels(Handle, long, List, boolean)}).
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void insertProperties(Handle handle, long globalId, Map<String, String> properties, boolean truncate) {
+        if (properties != null && !properties.isEmpty()) {
+            Batch batch = handle.createBatch(sqlStatements.insertProperty());
+            properties.forEach((k, v) -> {
+                batch.bind(0, globalId)
+                        .bind(1, truncate ? limitStr(k.toLowerCase(), 256) : k.toLowerCase())
+                        .bind(2, truncate ? limitStr(v.toLowerCase(), 1024) : v.toLowerCase())
+                        .add();
+            });
+            batch.execute();
+        }
+    }
+
+
+    /**
+     * Inserts the words a version can be found by into the "search_tokens" table (see {@link SearchTokenizer}),
+     * in a single batch.  Does nothing when indexed search is disabled.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void insertSearchTokens(Handle handle, long globalId, String groupId, String artifactId, String name,
+                                    String description, List<String> labels, Map<String, String> properties) {
+        if (!indexedSearchEnabled) {
+            return;
+        }
+        Batch batch = handle.createBatch(sqlStatements.insertSearchToken());
+        for (String token : SearchTokenizer.versionTokens(groupId, artifactId, name, description, labels, properties)) {
+            batch.bind(0, globalId)
+                    .bind(1, token)
+                    .add();
+        }
+        batch.execute();
+    }
+
+
     /**
      * Store the content in the database and return the content ID of the new row.
-     * If the content already exists, just return the content ID of the existing row.
+     * If the content already exists, just return the content ID of the existing row, without canonicalizing
+     * the content again.
      * <p>
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      *
      * @param references may be null
      */
     private Long getOrCreateContent(String artifactType, ContentHandle content, List<ArtifactReferenceDto> references) {
+        String contentHash = utils.getContentHash(content, references);
+        Optional<Long> existingContentId = contentIdFromHash(contentHash);
+        if (existingContentId.isPresent()) {
+            return existingContentId.get();
+        }
         if (notEmpty(references)) {
-            return getOrCreateContentRaw(content,
-                    utils.getContentHash(content, references),
-                    utils.getCanonicalContentHash(content, artifactType, references, this::resolveReferences),
+            return getOrCreateContentRaw(content, contentHash,
+                    utils.getCanonicalContentHash(content, contentHash, artifactType, references, this::resolveReferences),
                     references, SqlUtil.serializeReferences(references));
         } else {
-            return getOrCreateContentRaw(content,
-                    utils.getContentHash(content, null),
-                    utils.getCanonicalContentHash(content, artifactType, null, null),
+            return getOrCreateContentRaw(content, contentHash,
+                    utils.getCanonicalContentHash(content, contentHash, artifactType, null, null),
                     null, null);
         }
     }
@@ -654,30 +831,68 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      */
     private void insertReferences(Long contentId, List<ArtifactReferenceDto> references) {
         if (references != null && !references.isEmpty()) {
-            references.forEach(reference -> {
-                handles.withHandleNoException(handle -> {
-                    try {
-                        handle.createUpdate(sqlStatements.upsertReference())
-                                .bind(0, contentId)
-                                .bind(1, normalizeGroupId(reference.getGroupId()))
-                                .bind(2, reference.getArtifactId())
-                                .bind(3, reference.getVersion())
-                                .bind(4, reference.getName())
-                                .execute();
-                    } catch (Exception e) {
-                        if (sqlStatements.isPrimaryKeyViolation(e)) {
-                            //Do nothing, the reference already exist, only needed for H2
-                        } else {
-                            throw e;
-                        }
-                    }
-                    return null;
-                });
+            handles.withHandleNoException(handle -> {
+                insertReferences(handle, sqlStatements, contentId, references);
+                return null;
             });
         }
     }
 
 
+    /**
+     * Inserts the references of a content into the "artifactreferences" table, in a single batch.  On H2 the
+     * references may already exist, the batch then fails and the references are inserted one by one, skipping
+     * the existing ones.  Package-private so that it can be tested without a storage.
+     */
+    static void insertReferences(Handle handle, SqlStatements sqlStatements, Long contentId, List<ArtifactReferenceDto> references) {
+        // References are unique by name, a duplicate would fail the whole batch on H2
+        Map<String, ArtifactReferenceDto> byName = new LinkedHashMap<>();
+        references.forEach(reference -> byName.putIfAbsent(reference.getName(), reference));
+
+        Batch batch = handle.createBatch(sqlStatements.upsertReference());
+        byName.values().forEach(reference -> {
+            batch.bind(0, contentId)
+                    .bind(1, normalizeGroupId(reference.getGroupId()))
+                    .bind(2, reference.getArtifactId())
+                    .bind(3, reference.getVersion())
+                    .bind(4, reference.getName())
+                    .add();
+        });
+        try {
+            batch.execute();
+        } catch (Exception e) {
+            if (sqlStatements.isPrimaryKeyViolation(e)) {
+                //Some references already exist, only needed for H2
+                insertReferencesOneByOne(handle, sqlStatements, contentId, byName.values());
+            } else {
+                throw e;
+            }
+        }
+    }
+
+
+    private static void insertReferencesOneByOne(Handle handle, SqlStatements sqlStatements, Long contentId,
+                                                 Collection<ArtifactReferenceDto> references) {
+        references.forEach(reference -> {
+            try {
+                handle.createUpdate(sqlStatements.upsertReference())
+                        .bind(0, contentId)
+                        .bind(1, normalizeGroupId(reference.getGroupId()))
+                        .bind(2, reference.getArtifactId())
+                        .bind(3, reference.getVersion())
+                        .bind(4, reference.getName())
+                        .execute();
+            } catch (Exception e) {
+                if (sqlStatements.isPrimaryKeyViolation(e)) {
+                    //Do nothing, the reference already exist, only needed for H2
+                } else {
+                    throw e;
+                }
+            }
+        });
+    }
+
+
     @Override
     @Transactional
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
@@ -787,6 +1002,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(1, artifactId)
                         .execute();
 
+                // Delete search tokens
+                handle.createUpdate(sqlStatements.deleteSearchTokens())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .execute();
+
                 // Delete versions
                 handle.createUpdate(sqlStatements.deleteVersions())
                         .bind(0, normalizeGroupId(groupId))
@@ -811,6 +1032,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return versions;
             });
             deleteAllOrphanedContent();
+            invalidateSearchCounts();
             return res;
         } catch (ArtifactNotFoundException e) {
             throw e;
@@ -839,6 +1061,11 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(0, normalizeGroupId(groupId))
                         .execute();
 
+                // Delete search tokens
+                handle.createUpdate(sqlStatements.deleteSearchTokensByGroupId())
+                        .bind(0, normalizeGroupId(groupId))
+                        .execute();
+
                 // Delete versions
                 handle.createUpdate(sqlStatements.deleteVersionsByGroupId())
                         .bind(0, normalizeGroupId(groupId))
@@ -860,6 +1087,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return null;
             });
             deleteAllOrphanedContent();
+            invalidateSearchCounts();
         } catch (ArtifactNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -1053,11 +1281,28 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
                                                     int offset, int limit) {
+        return searchArtifacts(filters, orderBy, orderDirection, null, offset, limit, CountMode.exact);
+    }
+
+
+    @Override
+    @Transactional
+    public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                                    SearchCursor after, int limit, CountMode countMode) {
+        return searchArtifacts(filters, orderBy, orderDirection, after, 0, limit, countMode);
+    }
+
+
+    private ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection,
+                                                     SearchCursor after, int offset, int limit,
+                                                     CountMode countMode) {
         return handles.withHandleNoException(handle -> {
             List<SqlStatementVariableBinder> binders = new LinkedList<>();
+            List<SqlStatementVariableBinder> keysetBinders = new LinkedList<>();
 
             StringBuilder select = new StringBuilder();
             StringBuilder where = new StringBuilder();
+            StringBuilder keyset = new StringBuilder();
             StringBuilder orderByQuery = new StringBuilder();
             StringBuilder limitOffset = new StringBuilder();
 
@@ -1085,6 +1330,17 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         });
                         break;
                     case everything:
+                        Set<String> tokens = indexedSearchEnabled ? SearchTokenizer.tokenize(filter.getStringValue()) : Set.of();
+                        if (!tokens.isEmpty()) {
+                            // Every word of the search text must be the beginning of a word of the artifact
+                            where.append(tokens.stream()
+                                    .map(token -> "v.globalId IN (SELECT t.globalId FROM search_tokens t WHERE t.token LIKE ?)")
+                                    .collect(Collectors.joining(" AND ")));
+                            tokens.forEach(token -> binders.add((query, idx) -> {
+                                query.bind(idx, token + "%");
+                            }));
+                            break;
+                        }
                         where.append("("
                                 + "v.name LIKE ? OR "
                                 + "v.groupId LIKE ? OR "
@@ -1181,19 +1437,42 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 where.append(")");
             }
 
-            // Add order by to artifact query
+            // Add order by to artifact query, with the globalId to break ties (needed for keyset pagination)
+            String orderByColumn;
             switch (orderBy) {
                 case name:
-                    orderByQuery.append(" ORDER BY coalesce(v.name, a.artifactId) ");
+                    orderByColumn = "coalesce(v.name, a.artifactId)";
                     break;
                 case createdOn:
-                    orderByQuery.append(" ORDER BY v.createdOn ");
+                    orderByColumn = "v.createdOn";
                     break;
                 case globalId:
-                    orderByQuery.append(" ORDER BY v.globalId ");
+                    orderByColumn = "v.globalId";
                     break;
+                default:
+                    throw new UnreachableCodeException();
+            }
+            orderByQuery.append(" ORDER BY ").append(orderByColumn).append(" ").append(orderDirection.name());
+            if (orderBy != OrderBy.globalId) {
+                orderByQuery.append(", v.globalId ").append(orderDirection.name());
+            }
+
+            // Only return the artifacts after the cursor (artifact query only)
+            if (after != null) {
+                String op = orderDirection == OrderDirection.asc ? ">" : "<";
+                if (orderBy == OrderBy.globalId) {
+                    keyset.append(" AND (v.globalId ").append(op).append(" ?)");
+                } else {
+                    keyset.append(" AND (").append(orderByColumn).append(" ").append(op).append(" ? OR (")
+                            .append(orderByColumn).append(" = ? AND v.globalId ").append(op).append(" ?))");
+                    SqlStatementVariableBinder valueBinder = cursorValueBinder(orderBy, after);
+                    keysetBinders.add(valueBinder);
+                    keysetBinders.add(valueBinder);
+                }
+                keysetBinders.add((query, idx) -> {
+                    query.bind(idx, after.getGlobalId());
+                });
             }
-            orderByQuery.append(orderDirection.name());
 
             // Add limit and offset to artifact query
             if ("mssql".equals(sqlStatements.dbType())) {
@@ -1203,7 +1482,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             }
 
             // Query for the artifacts
-            String artifactsQuerySql = select.toString() + where.toString() + orderByQuery.toString() + limitOffset.toString();
+            String artifactsQuerySql = select.toString() + where.toString() + keyset.toString() + orderByQuery.toString() + limitOffset.toString();
             Query artifactsQuery = handle.createQuery(artifactsQuerySql);
             // Query for the total row count
             String countSelect = "SELECT count(a.artifactId) "
@@ -1221,6 +1500,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 binder.bind(countQuery, idx);
                 idx++;
             }
+            for (SqlStatementVariableBinder binder : keysetBinders) {
+                binder.bind(artifactsQuery, idx);
+                idx++;
+            }
             // TODO find a better way to swap arguments
             if ("mssql".equals(sqlStatements.dbType())) {
                 artifactsQuery.bind(idx++, offset);
@@ -1232,17 +1515,100 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
             // Execute artifact query
             List<SearchedArtifactDto> artifacts = artifactsQuery.map(SearchedArtifactMapper.instance).list();
-            // Execute count query
-            Integer count = countQuery.mapTo(Integer.class).one();
+            // Execute count query, unless it is skipped or a recent count can be used instead
+            Set<SearchFilter> countKey = Set.copyOf(filters);
+            Long count;
+            switch (countMode) {
+                case skip:
+                    count = -1L;
+                    break;
+                case approximate:
+                    count = searchCountCache.getIfPresent(countKey);
+                    if (count == null) {
+                        long version = searchCountVersion.get();
+                        count = countQuery.mapTo(Long.class).one();
+                        cacheSearchCount(countKey, count, version);
+                    }
+                    break;
+                case exact:
+                    long version = searchCountVersion.get();
+                    count = countQuery.mapTo(Long.class).one();
+                    cacheSearchCount(countKey, count, version);
+                    break;
+                default:
+                    throw new UnreachableCodeException();
+            }
 
             ArtifactSearchResultsDto results = new ArtifactSearchResultsDto();
             results.setArtifacts(artifacts);
             results.setCount(count);
+            if (!artifacts.isEmpty() && artifacts.size() == limit) {
+                results.setNext(cursorOf(orderBy, artifacts.get(artifacts.size() - 1)));
+            }
             return results;
         });
     }
 
 
+    /**
+     * Caches the total count of a search, unless the search counts have been invalidated by a commit since the
+     * given version was read: the count may then predate that commit.
+     */
+    private void cacheSearchCount(Set<SearchFilter> countKey, long count, long version) {
+        searchCountCache.put(countKey, count);
+        if (searchCountVersion.get() != version) {
+            searchCountCache.invalidate(countKey);
+        }
+    }
+
+
+    /**
+     * Clears the cached search counts once the current transaction completes (or right away, without one).
+     * Clearing them before the commit is not enough, a concurrent search would cache a count of the data
+     * as it was before the commit again.
+     */
+    private void invalidateSearchCounts() {
+        if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+            searchCountVersion.incrementAndGet();
+            searchCountCache.invalidateAll();
+            return;
+        }
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                searchCountVersion.incrementAndGet();
+                searchCountCache.invalidateAll();
+            }
+        });
+    }
+
+    private static SqlStatementVariableBinder cursorValueBinder(OrderBy orderBy, SearchCursor cursor) {
+        if (orderBy == OrderBy.createdOn) {
+            Date createdOn = new Date(Long.parseLong(cursor.getOrderValue()));
+            return (query, idx) -> query.bind(idx, createdOn);
+        }
+        return (query, idx) -> query.bind(idx, cursor.getOrderValue());
+    }
+
+    private static SearchCursor cursorOf(OrderBy orderBy, SearchedArtifactDto artifact) {
+        switch (orderBy) {
+            case name:
+                return new SearchCursor(artifact.getName() != null ? artifact.getName() : artifact.getId(), artifact.getGlobalId());
+            case createdOn:
+                // The artifacts are ordered by the creation time of their latest version
+                return new SearchCursor(String.valueOf(artifact.getModifiedOn().getTime()), artifact.getGlobalId());
+            case globalId:
+                return new SearchCursor(null, artifact.getGlobalId());
+            default:
+                throw new UnreachableCodeException();
+        }
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(String groupId, String artifactId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -1307,12 +1673,28 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      */
     private String getContentHash(String groupId, String artifactId, boolean canonical,
                                   ContentHandle content, List<ArtifactReferenceDto> references) {
+        String contentHash = utils.getContentHash(content, references);
         if (canonical) {
             var artifactMetaData = getArtifactMetaData(groupId, artifactId);
-            return utils.getCanonicalContentHash(content, artifactMetaData.getType(),
+            // Content that is already stored has its canonical hash stored with it, but it was canonicalized
+            // as the type of the artifact it was first stored for, so it is only reused for the same type.
+            // Nor is it reused for content with references: the canonical content depends on what the references
+            // resolve to, and a referenced version can be deleted and created again with other content.
+            Optional<String> storedCanonicalHash = notEmpty(references) ? Optional.empty() : handles.withHandleNoException(handle -> {
+                return handle.createQuery(sqlStatements.selectCanonicalHashByContentHash())
+                        .bind(0, contentHash)
+                        .bind(1, artifactMetaData.getType())
+                        .bind(2, artifactMetaData.getType())
+                        .mapTo(String.class)
+                        .findOne();
+            });
+            if (storedCanonicalHash.isPresent()) {
+                return storedCanonicalHash.get();
+            }
+            return utils.getCanonicalContentHash(content, contentHash, artifactMetaData.getType(),
                     references, this::resolveReferences);
         } else {
-            return utils.getContentHash(content, references);
+            return contentHash;
         }
     }
 
@@ -1778,6 +2160,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(2, version)
                         .execute();
 
+                // Delete search tokens
+                handle.createUpdate(sqlStatements.deleteVersionSearchTokens())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .bind(2, version)
+                        .execute();
+
                 // Delete comments
                 handle.createUpdate(sqlStatements.deleteVersionComments())
                         .bind(0, normalizeGroupId(groupId))
@@ -1821,6 +2210,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return null;
             });
             deleteAllOrphanedContent();
+            invalidateSearchCounts();
         } catch (VersionNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -1891,33 +2281,26 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(0, globalId)
                         .execute();
 
+                // Delete all appropriate rows in the "search_tokens" table
+                handle.createUpdate(sqlStatements.deleteSearchTokensByGlobalId())
+                        .bind(0, globalId)
+                        .execute();
+
                 // Insert new labels into the "labels" table
                 List<String> labels = metaData.getLabels();
-                if (labels != null && !labels.isEmpty()) {
-                    labels.forEach(label -> {
-                        String sqli = sqlStatements.insertLabel();
-                        handle.createUpdate(sqli)
-                                .bind(0, globalId)
-                                .bind(1, limitStr(label.toLowerCase(), 256))
-                                .execute();
-                    });
-                }
+                insertLabels(handle, globalId, labels, true);
 
                 // Insert new properties into the "properties" table
                 Map<String, String> properties = metaData.getProperties();
-                if (properties != null && !properties.isEmpty()) {
-                    properties.forEach((k, v) -> {
-                        String sqli = sqlStatements.insertProperty();
-                        handle.createUpdate(sqli)
-                                .bind(0, globalId)
-                                .bind(1, limitStr(k.toLowerCase(), 256))
-                                .bind(2, limitStr(v.toLowerCase(), 1024))
-                                .execute();
-                    });
-                }
+                insertProperties(handle, globalId, properties, true);
+
+                // Insert new search tokens into the "search_tokens" table
+                insertSearchTokens(handle, globalId, groupId, artifactId, metaData.getName(), metaData.getDescription(),
+                        labels, properties);
 
                 return null;
             });
+            invalidateSearchCounts();
         } catch (ArtifactNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -1958,11 +2341,28 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(2, version)
                         .execute();
 
+                // Delete search tokens
+                handle.createUpdate(sqlStatements.deleteVersionSearchTokens())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .bind(2, version)
+                        .execute();
+
                 if (rowCount == 0) {
                     throw new VersionNotFoundException(groupId, artifactId, version);
                 }
+
+                // The version can still be found by its group and artifact id
+                ArtifactVersionMetaDataDto dto = handle.createQuery(sqlStatements.selectArtifactVersionMetaData())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .bind(2, version)
+                        .map(ArtifactVersionMetaDataDtoMapper.instance)
+                        .one();
+                insertSearchTokens(handle, dto.getGlobalId(), groupId, artifactId, null, null, null, null);
                 return null;
             });
+            invalidateSearchCounts();
         } catch (VersionNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -2789,6 +3189,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             handle.createUpdate(sqlStatements.deleteAllProperties())
                     .execute();
 
+            handle.createUpdate(sqlStatements.deleteAllSearchTokens())
+                    .execute();
+
             handle.createUpdate(sqlStatements.deleteAllComments())
                     .execute();
 
@@ -2821,6 +3224,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
             return null;
         });
+        invalidateSearchCounts();
 
     }
 
@@ -3189,25 +3593,14 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .execute();
 
                 // Insert labels into the "labels" table
-                if (entity.labels != null && !entity.labels.isEmpty()) {
-                    entity.labels.forEach(label -> {
-                        handle.createUpdate(sqlStatements.insertLabel())
-                                .bind(0, entity.globalId)
-                                .bind(1, label.toLowerCase())
-                                .execute();
-                    });
-                }
+                insertLabels(handle, entity.globalId, entity.labels, false);
 
                 // Insert properties into the "properties" table
-                if (entity.properties != null && !entity.properties.isEmpty()) {
-                    entity.properties.forEach((k, v) -> {
-                        handle.createUpdate(sqlStatements.insertProperty())
-                                .bind(0, entity.globalId)
-                                .bind(1, k.toLowerCase())
-                                .bind(2, v.toLowerCase())
-                                .execute();
-                    });
-                }
+                insertProperties(handle, entity.globalId, entity.properties, false);
+
+                // Insert search tokens into the "search_tokens" table
+                insertSearchTokens(handle, entity.globalId, entity.groupId, entity.artifactId, entity.name,
+                        entity.description, entity.labels, entity.properties);
 
                 if (entity.isLatest) {
                     // Update the "latest" column in the artifacts table with the globalId of the new version
@@ -3216,6 +3609,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                             .bind(1, normalizeGroupId(entity.groupId))
                             .bind(2, entity.artifactId)
                             .execute();
+                    invalidateSearchCounts();
                 }
 
             } else {
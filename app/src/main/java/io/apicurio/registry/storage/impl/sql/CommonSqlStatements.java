@@ -19,7 +19,9 @@ package io.apicurio.registry.storage.impl.sql;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Shared base class for all sql statements.
@@ -342,6 +344,18 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT c.contentId FROM content c WHERE c.contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectCanonicalHashByContentHash()
+     */
+    @Override
+    public String selectCanonicalHashByContentHash() {
+        return "SELECT c.canonicalHash FROM content c WHERE c.contentHash = ? "
+                + "AND EXISTS (SELECT 1 FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId AND a.type = ?) "
+                + "AND NOT EXISTS (SELECT 1 FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId AND a.type <> ?)";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactRules()
      */
@@ -570,6 +584,78 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "DELETE FROM comments WHERE globalId IN (SELECT v.globalId FROM versions v WHERE v.groupId = ? AND v.artifactId = ? AND v.version = ?)";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertSearchToken()
+     */
+    @Override
+    public String insertSearchToken() {
+        return "INSERT INTO search_tokens (globalId, token) VALUES (?, ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteSearchTokens()
+     */
+    @Override
+    public String deleteSearchTokens() {
+        return "DELETE FROM search_tokens WHERE globalId IN (SELECT globalId FROM versions WHERE groupId = ? AND artifactId = ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteSearchTokensByGlobalId()
+     */
+    @Override
+    public String deleteSearchTokensByGlobalId() {
+        return "DELETE FROM search_tokens WHERE globalId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteSearchTokensByGroupId()
+     */
+    @Override
+    public String deleteSearchTokensByGroupId() {
+        return "DELETE FROM search_tokens WHERE globalId IN (SELECT globalId FROM versions WHERE groupId = ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteAllSearchTokens()
+     */
+    @Override
+    public String deleteAllSearchTokens() {
+        return "DELETE FROM search_tokens WHERE globalId IN (SELECT globalId FROM versions)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteVersionSearchTokens()
+     */
+    @Override
+    public String deleteVersionSearchTokens() {
+        return "DELETE FROM search_tokens WHERE globalId IN (SELECT v.globalId FROM versions v WHERE v.groupId = ? AND v.artifactId = ? AND v.version = ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectSearchTokensMaintained()
+     */
+    @Override
+    public String selectSearchTokensMaintained() {
+        return "SELECT COUNT(a.prop_name) FROM apicurio a WHERE a.prop_name = 'search_tokens'";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertSearchTokensMaintained()
+     */
+    @Override
+    public String insertSearchTokensMaintained() {
+        return "INSERT INTO apicurio (prop_name, prop_value) VALUES ('search_tokens', 'maintained')";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteSearchTokensMaintained()
+     */
+    @Override
+    public String deleteSearchTokensMaintained() {
+        return "DELETE FROM apicurio WHERE prop_name = 'search_tokens'";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertLabel()
      */
@@ -683,6 +769,64 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE c.contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentByIds(int, int, int)
+     */
+    @Override
+    public String selectContentByIds(int globalIdCount, int contentIdCount, int contentHashCount) {
+        List<String> selects = new ArrayList<>(2);
+        if (globalIdCount > 0) {
+            selects.add("SELECT v.globalId, v.state, a.type, c.contentId, c.contentHash, c.content, c.artifactreferences "
+                    + "FROM versions v "
+                    + "JOIN artifacts a ON v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                    + "JOIN content c ON v.contentId = c.contentId "
+                    + "WHERE v.globalId IN (" + parameters(globalIdCount) + ")");
+        }
+        if (contentIdCount > 0 || contentHashCount > 0) {
+            List<String> conditions = new ArrayList<>(2);
+            if (contentIdCount > 0) {
+                conditions.add("c.contentId IN (" + parameters(contentIdCount) + ")");
+            }
+            if (contentHashCount > 0) {
+                conditions.add("c.contentHash IN (" + parameters(contentHashCount) + ")");
+            }
+            selects.add("SELECT CAST(NULL AS BIGINT) AS globalId, CAST(NULL AS VARCHAR(64)) AS state, "
+                    + "CAST(NULL AS VARCHAR(32)) AS type, c.contentId, c.contentHash, c.content, c.artifactreferences "
+                    + "FROM content c WHERE " + String.join(" OR ", conditions));
+        }
+        // UNION ALL rather than UNION, the content columns can't be compared by every database
+        return String.join(" UNION ALL ", selects);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactTypesByArtifactIds(int)
+     */
+    @Override
+    public String selectArtifactTypesByArtifactIds(int artifactIdCount) {
+        return "SELECT a.artifactId, a.type FROM artifacts a WHERE a.groupId = ? AND a.artifactId IN (" + parameters(artifactIdCount) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactRulesByArtifactIds(int)
+     */
+    @Override
+    public String selectArtifactRulesByArtifactIds(int artifactIdCount) {
+        return "SELECT r.* FROM rules r WHERE r.groupId = ? AND r.artifactId IN (" + parameters(artifactIdCount) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectEnabledArtifactContentIdsByArtifactIds(int)
+     */
+    @Override
+    public String selectEnabledArtifactContentIdsByArtifactIds(int artifactIdCount) {
+        return "SELECT v.artifactId, v.contentId FROM versions v WHERE v.groupId = ? AND v.artifactId IN (" + parameters(artifactIdCount) + ") "
+                + "AND v.state != 'DISABLED' ORDER BY v.versionId";
+    }
+
+    private static String parameters(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
     @Override
     public String deleteAllOrphanedContent() {
         // TODO This may be too slow
@@ -1088,4 +1232,12 @@ public abstract class CommonSqlStatements implements SqlStatements {
     public String updateComment() {
         return "UPDATE comments SET cvalue = ? WHERE globalId = ? AND commentId = ? AND createdBy = ?";
     }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#dataSnapshotStatements()
+     */
+    @Override
+    public Optional<DataSnapshotSqlStatements> dataSnapshotStatements() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.List;
+
+/**
+ * SQL statements used to snapshot the whole database, e.g. by the KafkaSQL storage.  Only databases that can
+ * dump and load themselves with SQL statements (the embedded H2 database) implement them, see
+ * {@link SqlStatements#dataSnapshotStatements()}.
+ */
+public interface DataSnapshotSqlStatements {
+
+    /**
+     * A statement that writes a full dump of the database to the file given as its only parameter.
+     */
+    public String createDataSnapshot();
+
+    /**
+     * Statements that start a transaction reading the database as it is when they are executed, unaffected
+     * by the writes committed afterwards, so that {@link #createDataSnapshot()} can run while the database
+     * keeps being written.
+     */
+    public List<String> beginDataSnapshot();
+
+    /**
+     * Statements that end the transaction started by {@link #beginDataSnapshot()} and restore the
+     * connection defaults.
+     */
+    public List<String> endDataSnapshot();
+
+    /**
+     * A statement that restores the database from a file written by {@link #createDataSnapshot()}.
+     */
+    public String restoreDataSnapshot();
+
+    /**
+     * A statement that drops all tables, sequences and other objects from the database.
+     */
+    public String dropAllObjects();
+
+}
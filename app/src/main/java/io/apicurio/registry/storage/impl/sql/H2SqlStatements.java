@@ -16,12 +16,15 @@
 
 package io.apicurio.registry.storage.impl.sql;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * H2 implementation of the sql statements interface.  Provides sql statements that
  * are specific to H2, where applicable.
  * @author eric.wittmann@gmail.com
  */
-public class H2SqlStatements extends CommonSqlStatements {
+public class H2SqlStatements extends CommonSqlStatements implements DataSnapshotSqlStatements {
 
     /**
      * Constructor.
@@ -108,4 +111,54 @@ public class H2SqlStatements extends CommonSqlStatements {
     public String upsertReference() {
         return "INSERT INTO artifactreferences (contentId, groupId, artifactId, version, name) VALUES (?, ?, ?, ?, ?)";
     }
+
+    /**
+     * @see SqlStatements#dataSnapshotStatements()
+     */
+    @Override
+    public Optional<DataSnapshotSqlStatements> dataSnapshotStatements() {
+        return Optional.of(this);
+    }
+
+    /**
+     * @see DataSnapshotSqlStatements#createDataSnapshot()
+     */
+    @Override
+    public String createDataSnapshot() {
+        return "SCRIPT TO ? COMPRESSION GZIP";
+    }
+
+    /**
+     * @see DataSnapshotSqlStatements#beginDataSnapshot()
+     */
+    @Override
+    public List<String> beginDataSnapshot() {
+        return List.of("SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL SNAPSHOT",
+                "SET AUTOCOMMIT FALSE");
+    }
+
+    /**
+     * @see DataSnapshotSqlStatements#endDataSnapshot()
+     */
+    @Override
+    public List<String> endDataSnapshot() {
+        return List.of("ROLLBACK", "SET AUTOCOMMIT TRUE",
+                "SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL READ COMMITTED");
+    }
+
+    /**
+     * @see DataSnapshotSqlStatements#restoreDataSnapshot()
+     */
+    @Override
+    public String restoreDataSnapshot() {
+        return "RUNSCRIPT FROM ? COMPRESSION GZIP";
+    }
+
+    /**
+     * @see DataSnapshotSqlStatements#dropAllObjects()
+     */
+    @Override
+    public String dropAllObjects() {
+        return "DROP ALL OBJECTS";
+    }
 }
@@ -1,18 +1,21 @@
 package io.apicurio.registry.storage.impl.sql;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.types.RegistryException;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 import io.apicurio.registry.util.ArtifactTypeUtil;
+import io.apicurio.registry.utils.BoundedCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,12 +30,19 @@ import java.util.function.Function;
 @ApplicationScoped
 public class RegistryStorageContentUtils {
 
+    /**
+     * The maximum number of memoized canonical hashes, the least recently used are evicted when it is full.
+     */
+    private static final int MAX_CANONICAL_HASHES = 10000;
+
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
     @Inject
     Logger log;
 
+    private final BoundedCache<String, String> canonicalHashes = new BoundedCache<>(MAX_CANONICAL_HASHES);
+
     /**
      * Canonicalize the given content.
      *
@@ -73,18 +83,39 @@ public class RegistryStorageContentUtils {
      */
     public String getCanonicalContentHash(ContentHandle content, String artifactType, List<ArtifactReferenceDto> references,
                                           Function<List<ArtifactReferenceDto>, Map<String, ContentHandle>> referenceResolver) {
-        try {
+        return getCanonicalContentHash(content, getContentHash(content, references), artifactType, references, referenceResolver);
+    }
+
+
+    /**
+     * Same as {@link #getCanonicalContentHash(ContentHandle, String, List, Function)}, when the caller already
+     * knows the hash of the content and its references, see {@link #getContentHash(ContentHandle, List)}.
+     * <p>
+     * The canonical hash of some content is memoized by artifact type, content hash and the hashes of the content
+     * its references resolve to, so that registering or looking up the same content again doesn't canonicalize it
+     * again.  The references are still resolved every time: a referenced version can be deleted and created again
+     * with other content, which changes the canonical content.
+     *
+     * @param references        may be null
+     * @param referenceResolver may be null if references is null
+     */
+    public String getCanonicalContentHash(ContentHandle content, String contentHash, String artifactType,
+                                          List<ArtifactReferenceDto> references,
+                                          Function<List<ArtifactReferenceDto>, Map<String, ContentHandle>> referenceResolver) {
+        Map<String, ContentHandle> resolvedReferences = notEmpty(references) ? referenceResolver.apply(references) : Map.of();
+        String key = artifactType + ':' + contentHash + ':' + ParsedContentCache.referencesHash(resolvedReferences);
+        String canonicalHash = canonicalHashes.get(key);
+        if (canonicalHash == null) {
             if (notEmpty(references)) {
-                String referencesSerialized = SqlUtil.serializeReferences(references);
-                ContentHandle canonicalContent = canonicalizeContent(artifactType, content, referenceResolver.apply(references));
-                return DigestUtils.sha256Hex(concatContentAndReferences(canonicalContent.bytes(), referencesSerialized));
+                ContentHandle canonicalContent = canonicalizeContent(artifactType, content, resolvedReferences);
+                canonicalHash = sha256Hex(canonicalContent.bytes(), SqlUtil.serializeReferences(references));
             } else {
                 ContentHandle canonicalContent = canonicalizeContent(artifactType, content, Map.of());
-                return DigestUtils.sha256Hex(canonicalContent.bytes());
+                canonicalHash = sha256Hex(canonicalContent.bytes(), null);
             }
-        } catch (IOException ex) {
-            throw new RegistryException("Failed to compute canonical content hash.", ex);
+            canonicalHashes.put(key, canonicalHash);
         }
+        return canonicalHash;
     }
 
 
@@ -92,29 +123,26 @@ public class RegistryStorageContentUtils {
      * @param references may be null
      */
     public String getContentHash(ContentHandle content, List<ArtifactReferenceDto> references) {
-        try {
-            if (notEmpty(references)) {
-                String referencesSerialized = SqlUtil.serializeReferences(references);
-                return DigestUtils.sha256Hex(concatContentAndReferences(content.bytes(), referencesSerialized));
-            } else {
-                return DigestUtils.sha256Hex(content.bytes());
-            }
-        } catch (IOException ex) {
-            throw new RegistryException("Failed to compute content hash.", ex);
+        if (notEmpty(references)) {
+            return sha256Hex(content.bytes(), SqlUtil.serializeReferences(references));
+        } else {
+            return sha256Hex(content.bytes(), null);
         }
     }
 
 
-    private byte[] concatContentAndReferences(byte[] contentBytes, String references) throws IOException {
-        if (references != null && !references.isEmpty()) {
-            var referencesBytes = ContentHandle.create(references).bytes();
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(contentBytes.length + referencesBytes.length);
-            outputStream.write(contentBytes);
-            outputStream.write(referencesBytes);
-            return outputStream.toByteArray();
-        } else {
-            throw new IllegalArgumentException("references");
+    /**
+     * Hashes the content followed by the serialized references, without copying them into a single array.
+     *
+     * @param references may be null
+     */
+    private static String sha256Hex(byte[] contentBytes, String references) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update(contentBytes);
+        if (references != null) {
+            digest.update(references.getBytes(StandardCharsets.UTF_8));
         }
+        return Hex.encodeHexString(digest.digest());
     }
 
 
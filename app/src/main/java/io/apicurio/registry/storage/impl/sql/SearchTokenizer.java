@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits the searchable text of an artifact version into the words stored in the "search_tokens" table,
+ * which is an inverted index used by the "everything" search filter when indexed search is enabled.
+ * <p>
+ * Words are sequences of letters and digits, lower-cased and truncated to the size of the token column.
+ */
+public final class SearchTokenizer {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Returns the distinct words of the given texts, in order of appearance.
+     * @param texts the texts to tokenize, null texts are ignored
+     */
+    public static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the words an artifact version can be found by: those of its group, id, name, description,
+     * labels and property keys (the same fields the non-indexed "everything" filter searches).
+     */
+    public static Set<String> versionTokens(String groupId, String artifactId, String name, String description,
+                                            Collection<String> labels, Map<String, String> properties) {
+        Set<String> tokens = tokenize(groupId, artifactId, name, description);
+        if (labels != null) {
+            labels.forEach(label -> tokens.addAll(tokenize(label)));
+        }
+        if (properties != null) {
+            properties.keySet().forEach(key -> tokens.addAll(tokenize(key)));
+        }
+        return tokens;
+    }
+
+}
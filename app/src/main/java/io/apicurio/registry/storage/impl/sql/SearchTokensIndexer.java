@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.impl.sql.jdb.Batch;
+import io.apicurio.registry.storage.impl.sql.jdb.Handle;
+
+import java.util.List;
+
+/**
+ * Fills the "search_tokens" table with the words of the existing versions (see {@link SearchTokenizer}).
+ * Used on start when indexed search is enabled on a DB whose tokens were not maintained, e.g. right after
+ * the upgrade to DB version 2, which only adds the empty table.
+ * <p>
+ * Versions are read by pages, so that no result set is open while the tokens are inserted.
+ */
+class SearchTokensIndexer {
+
+    private static final int PAGE_SIZE = 1000;
+
+    // Portable to all the supported databases
+    private static final String SELECT_VERSIONS = "SELECT v.globalId, v.groupId, v.artifactId, v.name, v.description, v.labels, v.properties "
+            + "FROM versions v WHERE v.globalId > ? ORDER BY v.globalId OFFSET 0 ROWS FETCH NEXT " + PAGE_SIZE + " ROWS ONLY";
+    private static final String DELETE_SEARCH_TOKENS = "DELETE FROM search_tokens";
+    private static final String INSERT_SEARCH_TOKEN = "INSERT INTO search_tokens (globalId, token) VALUES (?, ?)";
+
+    private SearchTokensIndexer() {
+    }
+
+    /**
+     * Replaces the rows of the "search_tokens" table with the words of every version.
+     * <p>
+     * IMPORTANT: Callers MUST have started a transaction.
+     */
+    static void rebuild(Handle handle) {
+        handle.createUpdate(DELETE_SEARCH_TOKENS).execute();
+
+        long lastGlobalId = Long.MIN_VALUE;
+        List<VersionTokens> page;
+        do {
+            page = handle.createQuery(SELECT_VERSIONS)
+                    .bind(0, lastGlobalId)
+                    .map(rs -> new VersionTokens(rs.getLong("globalId"), SearchTokenizer.versionTokens(
+                            SqlUtil.denormalizeGroupId(rs.getString("groupId")), rs.getString("artifactId"),
+                            rs.getString("name"), rs.getString("description"),
+                            SqlUtil.deserializeLabels(rs.getString("labels")),
+                            SqlUtil.deserializeProperties(rs.getString("properties")))))
+                    .list();
+
+            Batch batch = handle.createBatch(INSERT_SEARCH_TOKEN);
+            for (VersionTokens version : page) {
+                for (String token : version.tokens) {
+                    batch.bind(0, version.globalId)
+                            .bind(1, token)
+                            .add();
+                }
+                lastGlobalId = version.globalId;
+            }
+            batch.execute();
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    private static class VersionTokens {
+
+        private final long globalId;
+        private final Iterable<String> tokens;
+
+        private VersionTokens(long globalId, Iterable<String> tokens) {
+            this.globalId = globalId;
+            this.tokens = tokens;
+        }
+    }
+}
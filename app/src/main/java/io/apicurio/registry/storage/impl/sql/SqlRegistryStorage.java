@@ -21,6 +21,7 @@ import io.apicurio.registry.metrics.StorageMetricsApply;
 import io.apicurio.registry.metrics.health.liveness.PersistenceExceptionLivenessApply;
 import io.apicurio.registry.metrics.health.readiness.PersistenceTimeoutReadinessApply;
 import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.error.RegistryStorageException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -51,4 +52,79 @@ public class SqlRegistryStorage extends AbstractSqlRegistryStorage {
     public void initialize() {
         initialize(handleFactory, true);
     }
+
+    /**
+     * @return true if the database supports {@link #createSnapshot(String)} and {@link #restoreSnapshot(String)}
+     */
+    public boolean isSnapshotSupported() {
+        return sqlStatements().dataSnapshotStatements().isPresent();
+    }
+
+    /**
+     * Writes a snapshot of the whole database to the given file.  Only supported by embedded databases.
+     * @param location
+     */
+    public void createSnapshot(String location) {
+        createSnapshot(location, () -> {});
+    }
+
+    /**
+     * Writes a snapshot of the whole database to the given file.  Only supported by embedded databases.  The
+     * snapshot is read from a transaction isolated from the writes committed after it has started, so the
+     * database can keep being written while the snapshot is written.  The snapshot contains exactly the
+     * writes committed before {@code started} is called.  If {@code started} throws, no snapshot is written.
+     * @param location
+     * @param started called once the snapshot transaction has started
+     */
+    public void createSnapshot(String location, Runnable started) {
+        DataSnapshotSqlStatements statements = dataSnapshotStatements();
+        handleFactory.withHandleNoException(handle -> {
+            for (String statement : statements.beginDataSnapshot()) {
+                handle.createUpdate(statement).executeNoUpdate();
+            }
+            try {
+                started.run();
+                handle.createUpdate(statements.createDataSnapshot())
+                        .bind(0, location)
+                        .executeNoUpdate();
+            } finally {
+                for (String statement : statements.endDataSnapshot()) {
+                    handle.createUpdate(statement).executeNoUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the content of the database with a snapshot written by {@link #createSnapshot(String)}.  When
+     * starting, this must be called before {@link #initialize()}, which then upgrades the restored database if
+     * needed.  If the restore fails, the database is left empty so that it can still be initialized from scratch.
+     * @param location
+     */
+    public void restoreSnapshot(String location) {
+        DataSnapshotSqlStatements statements = dataSnapshotStatements();
+        try {
+            handleFactory.withHandleNoException(handle -> {
+                handle.createUpdate(statements.dropAllObjects())
+                        .executeNoUpdate();
+                handle.createUpdate(statements.restoreDataSnapshot())
+                        .bind(0, location)
+                        .executeNoUpdate();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            handleFactory.withHandleNoException(handle -> {
+                handle.createUpdate(statements.dropAllObjects())
+                        .executeNoUpdate();
+                return null;
+            });
+            throw e;
+        }
+    }
+
+    private DataSnapshotSqlStatements dataSnapshotStatements() {
+        return sqlStatements().dataSnapshotStatements().orElseThrow(() -> new RegistryStorageException(
+                "Snapshots are not supported for database type: " + sqlStatements().dbType()));
+    }
 }
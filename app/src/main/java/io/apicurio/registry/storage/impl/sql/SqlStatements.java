@@ -17,6 +17,7 @@
 package io.apicurio.registry.storage.impl.sql;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Returns SQL statements used by the JDB artifactStore implementation.  There are different
@@ -245,6 +246,12 @@ public interface SqlStatements {
      */
     public String selectContentIdByHash();
 
+    /**
+     * A statement to select the canonicalHash of a row in the content table by hash value, only when all the
+     * versions using the content are versions of artifacts of the given type.
+     */
+    public String selectCanonicalHashByContentHash();
+
     /**
      * A statement used to select artifact rules by artifactId.
      */
@@ -417,6 +424,51 @@ public interface SqlStatements {
      */
     public String insertProperty();
 
+    /**
+     * A statement to insert a row in the "search_tokens" table.
+     */
+    public String insertSearchToken();
+
+    /**
+     * A statement to delete all search tokens for all versions for a single artifact.
+     */
+    public String deleteSearchTokens();
+
+    /**
+     * A statement to delete all search tokens for a single artifact version by globalId
+     */
+    public String deleteSearchTokensByGlobalId();
+
+    /**
+     * A statement to delete all search tokens for all versions for all artifacts in a groupId.
+     */
+    public String deleteSearchTokensByGroupId();
+
+    /**
+     * A statement to delete all search tokens for all versions for all artifacts
+     */
+    public String deleteAllSearchTokens();
+
+    /**
+     * A statement to delete the search tokens for a single artifact version.
+     */
+    public String deleteVersionSearchTokens();
+
+    /**
+     * A statement to count the rows of the "apicurio" table recording that the "search_tokens" table is maintained.
+     */
+    public String selectSearchTokensMaintained();
+
+    /**
+     * A statement to record in the "apicurio" table that the "search_tokens" table is maintained.
+     */
+    public String insertSearchTokensMaintained();
+
+    /**
+     * A statement to record in the "apicurio" table that the "search_tokens" table is not maintained.
+     */
+    public String deleteSearchTokensMaintained();
+
     /**
      * A statement to insert a row in the "references" table.
      */
@@ -472,6 +524,30 @@ public interface SqlStatements {
      */
     public String selectContentByContentHash();
 
+    /**
+     * A statement to select many content rows at once, by the globalIds of their versions, by contentId or by
+     * contentHash.  The statement has one parameter per id, in that order, and there must be at least one id.
+     */
+    public String selectContentByIds(int globalIdCount, int contentIdCount, int contentHashCount);
+
+    /**
+     * A statement to select the type of many artifacts of a group at once.  The statement has the groupId
+     * parameter, then one parameter per artifactId.
+     */
+    public String selectArtifactTypesByArtifactIds(int artifactIdCount);
+
+    /**
+     * A statement to select the rules of many artifacts of a group at once.  The statement has the groupId
+     * parameter, then one parameter per artifactId.
+     */
+    public String selectArtifactRulesByArtifactIds(int artifactIdCount);
+
+    /**
+     * A statement to select the contentIds of the enabled versions of many artifacts of a group at once, in
+     * version order.  The statement has the groupId parameter, then one parameter per artifactId.
+     */
+    public String selectEnabledArtifactContentIdsByArtifactIds(int artifactIdCount);
+
     /**
      * A statement to delete content that is no longer being referenced by an artifact version.
      */
@@ -631,4 +707,10 @@ public interface SqlStatements {
 
     public String updateComment();
 
+    /**
+     * Returns the statements used to snapshot the database (by the KafkaSQL storage), if the database supports
+     * them.
+     */
+    public Optional<DataSnapshotSqlStatements> dataSnapshotStatements();
+
 }
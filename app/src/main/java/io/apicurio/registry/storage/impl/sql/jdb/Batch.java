@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+/**
+ * A statement executed once per row of parameters, sent to the database as a single JDBC batch.
+ * Parameters are bound as for an {@link Update}, and {@link #add()} finishes the current row.
+ */
+public interface Batch extends Sql<Batch> {
+
+    /**
+     * Adds the parameters bound since the previous row as a new row of the batch.
+     */
+    public Batch add();
+
+    /**
+     * Executes the statement for every row of the batch (including a last row not finished by
+     * {@link #add()}) and returns the update counts.  Does nothing if the batch is empty.
+     */
+    public int[] execute();
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchImpl extends SqlImpl<Batch> implements Batch {
+
+    private final List<List<SqlParam>> rows = new ArrayList<>();
+
+    /**
+     * Constructor.
+     * @param connection
+     * @param sql
+     */
+    public BatchImpl(Connection connection, String sql) {
+        super(connection, sql);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Batch#add()
+     */
+    @Override
+    public Batch add() {
+        rows.add(new ArrayList<>(parameters));
+        parameters.clear();
+        return this;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Batch#execute()
+     */
+    @Override
+    public int[] execute() {
+        if (!parameters.isEmpty()) {
+            add();
+        }
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (List<SqlParam> row : rows) {
+                row.forEach(param -> {
+                    param.bindTo(statement);
+                });
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        } finally {
+            rows.clear();
+        }
+    }
+
+}
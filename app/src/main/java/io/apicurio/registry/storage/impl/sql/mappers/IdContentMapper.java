@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.IdContentDto;
+import io.apicurio.registry.storage.impl.sql.SqlUtil;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+import io.apicurio.registry.types.ArtifactState;
+
+public class IdContentMapper implements RowMapper<IdContentDto> {
+
+    public static final IdContentMapper instance = new IdContentMapper();
+
+    /**
+     * Constructor.
+     */
+    private IdContentMapper() {
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.RowMapper#map(java.sql.ResultSet)
+     */
+    @Override
+    public IdContentDto map(ResultSet rs) throws SQLException {
+        long globalId = rs.getLong("globalId");
+        boolean byGlobalId = !rs.wasNull();
+        return IdContentDto.builder()
+                .globalId(byGlobalId ? globalId : null)
+                .state(byGlobalId ? ArtifactState.valueOf(rs.getString("state")) : null)
+                .artifactType(rs.getString("type"))
+                .contentId(rs.getLong("contentId"))
+                .contentHash(rs.getString("contentHash"))
+                .content(ContentHandle.create(rs.getBytes("content")))
+                .references(SqlUtil.deserializeReferences(rs.getString("artifactreferences")))
+                .build();
+    }
+
+}
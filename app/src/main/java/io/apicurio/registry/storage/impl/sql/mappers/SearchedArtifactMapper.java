@@ -55,6 +55,7 @@ public class SearchedArtifactMapper implements RowMapper<SearchedArtifactDto> {
         dto.setModifiedBy(rs.getString("modifiedBy"));
         dto.setModifiedOn(rs.getTimestamp("modifiedOn"));
         dto.setType(rs.getString("type"));
+        dto.setGlobalId(rs.getLong("globalId"));
         return dto;
     }
 
@@ -1367,6 +1367,112 @@ public class GroupsResourceTest extends AbstractResourceTestBase {
 
     }
 
+    @Test
+    public void testTestUpdateArtifacts() throws Exception {
+        String artifactContent = resourceToString("jsonschema-valid.json");
+        String incompatibleContent = resourceToString("jsonschema-valid-incompatible.json");
+        String group = "testTestUpdateArtifacts";
+        createArtifact(group, "testTestUpdateArtifacts/Compatible", ArtifactType.JSON, artifactContent);
+        createArtifact(group, "testTestUpdateArtifacts/Incompatible", ArtifactType.JSON, artifactContent);
+
+        Rule rule = new Rule();
+        rule.setType(RuleType.COMPATIBILITY);
+        rule.setConfig("BACKWARD");
+        for (String artifactId : List.of("testTestUpdateArtifacts/Compatible", "testTestUpdateArtifacts/Incompatible")) {
+            given()
+                    .when()
+                    .contentType(CT_JSON)
+                    .pathParam("groupId", group)
+                    .pathParam("artifactId", artifactId)
+                    .body(rule)
+                    .post("/registry/v2/groups/{groupId}/artifacts/{artifactId}/rules")
+                    .then()
+                    .statusCode(204);
+        }
+
+        List<Map<String, String>> data = List.of(
+                Map.of("artifactId", "testTestUpdateArtifacts/Compatible", "content", artifactContent),
+                Map.of("artifactId", "testTestUpdateArtifacts/Incompatible", "content", incompatibleContent),
+                Map.of("artifactId", "testTestUpdateArtifacts/Missing", "content", artifactContent));
+
+        // Test all the updates at once
+        given()
+                .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", group)
+                .body(data)
+                .post("/registry/v2/groups/{groupId}/test")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("size()", equalTo(3))
+                .body("find { it.artifactId == 'testTestUpdateArtifacts/Compatible' }.error", nullValue())
+                .body("find { it.artifactId == 'testTestUpdateArtifacts/Incompatible' }.error.error_code", equalTo(409))
+                .body("find { it.artifactId == 'testTestUpdateArtifacts/Incompatible' }.error.causes[0].context", equalTo("/properties/age"))
+                .body("find { it.artifactId == 'testTestUpdateArtifacts/Missing' }.error.error_code", equalTo(404));
+
+        // Stream the results, one JSON line per artifact
+        String lines = given()
+                .when()
+                .contentType(CT_JSON)
+                .accept("application/x-ndjson")
+                .pathParam("groupId", group)
+                .body(data)
+                .post("/registry/v2/groups/{groupId}/test")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+        assertEquals(3, lines.trim().split("\n").length);
+
+        // Test the same artifact twice
+        given()
+                .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", group)
+                .body(List.of(data.get(0), data.get(0)))
+                .post("/registry/v2/groups/{groupId}/test")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void testTestUpdateArtifactsWithReferences() throws Exception {
+        String artifactContent = resourceToString("jsonschema-valid.json");
+        String group = "testTestUpdateArtifactsWithReferences";
+        createArtifact(group, "Customer", ArtifactType.JSON, artifactContent);
+        createArtifact(group, "Order", ArtifactType.JSON, artifactContent);
+
+        Rule rule = new Rule();
+        rule.setType(RuleType.INTEGRITY);
+        rule.setConfig("REFS_EXIST");
+        given()
+                .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", group)
+                .pathParam("artifactId", "Order")
+                .body(rule)
+                .post("/registry/v2/groups/{groupId}/artifacts/{artifactId}/rules")
+                .then()
+                .statusCode(204);
+
+        for (String version : List.of("1", "99")) {
+            List<Map<String, Object>> data = List.of(Map.of("artifactId", "Order", "content", artifactContent,
+                    "references", List.of(Map.of("groupId", group, "artifactId", "Customer", "version", version,
+                            "name", "customer.json"))));
+            given()
+                    .when()
+                    .contentType(CT_JSON)
+                    .pathParam("groupId", group)
+                    .body(data)
+                    .post("/registry/v2/groups/{groupId}/test")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(1))
+                    .body("[0].error.error_code", "1".equals(version) ? nullValue() : equalTo(409));
+        }
+    }
+
     @Test
     public void testGetArtifactVersion() throws Exception {
         String artifactContent = resourceToString("openapi-empty.json");
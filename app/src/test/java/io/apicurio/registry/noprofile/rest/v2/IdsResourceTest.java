@@ -32,6 +32,8 @@ import io.apicurio.registry.utils.tests.TestUtils;
 import io.quarkus.test.junit.QuarkusTest;
 
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -288,4 +290,51 @@ public class IdsResourceTest extends AbstractResourceTestBase {
                 .statusCode(404);
     }
 
+    @Test
+    public void testGetByIds() throws Exception {
+        String title = "Test By IDs API";
+        String artifactContent = resourceToString("openapi-empty.json").replaceAll("Empty API", title);
+        String contentHash = DigestUtils.sha256Hex(artifactContent);
+
+        // Create the artifact.
+        ArtifactMetaData amd = given()
+                .when()
+                    .contentType(CT_JSON)
+                    .pathParam("groupId", GROUP)
+                    .header("X-Registry-ArtifactId", "testGetByIds/Empty")
+                    .header("X-Registry-ArtifactType", ArtifactType.OPENAPI)
+                    .body(artifactContent)
+                .post("/registry/v2/groups/{groupId}/artifacts")
+                .then()
+                    .statusCode(200)
+                .extract()
+                    .as(ArtifactMetaData.class);
+
+        // Get by globalId, contentId and contentHash at once, the content is only returned once for its ids
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .body("{\"globalIds\": [" + amd.getGlobalId() + ", " + Integer.MAX_VALUE + "], "
+                        + "\"contentIds\": [" + amd.getContentId() + "], "
+                        + "\"contentHashes\": [\"" + contentHash + "\"]}")
+                .post("/registry/v2/ids/contents")
+            .then()
+                .statusCode(200)
+                .body("size()", equalTo(2))
+                .body("find { it.globalId != null }.globalId", equalTo(amd.getGlobalId().intValue()))
+                .body("find { it.globalId == null }.contentId", equalTo(amd.getContentId().intValue()))
+                .body("find { it.globalId == null }.contentHash", equalTo(contentHash))
+                .body("[0].content", equalTo(artifactContent));
+
+        // Too many ids
+        String globalIds = IntStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(", "));
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .body("{\"globalIds\": [" + globalIds + "]}")
+                .post("/registry/v2/ids/contents")
+            .then()
+                .statusCode(400);
+    }
+
 }
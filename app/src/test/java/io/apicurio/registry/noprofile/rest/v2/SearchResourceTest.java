@@ -18,6 +18,8 @@ package io.apicurio.registry.noprofile.rest.v2;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -535,5 +537,87 @@ public class SearchResourceTest extends AbstractResourceTestBase {
                 ;
     }
 
+    @Test
+    public void testSearchWithContinuationToken() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json");
+        String group = UUID.randomUUID().toString();
+
+        // Create 5 artifacts in the UUID group
+        for (int idx = 0; idx < 5; idx++) {
+            String title = "Empty API " + idx;
+            String artifactId = "Empty-" + idx;
+            this.createArtifact(group, artifactId, ArtifactType.OPENAPI, artifactContent.replaceAll("Empty API", title));
+        }
+
+        // The token of each page leads to the next one
+        String next = given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("orderby", "name")
+                .queryParam("order", "asc")
+                .queryParam("limit", 2)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("count", equalTo(5))
+                .body("artifacts.size()", equalTo(2))
+                .body("artifacts[0].id", equalTo("Empty-0"))
+                .body("artifacts[1].id", equalTo("Empty-1"))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        next = given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("orderby", "name")
+                .queryParam("order", "asc")
+                .queryParam("limit", 2)
+                .queryParam("next", next)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("count", equalTo(5))
+                .body("artifacts.size()", equalTo(2))
+                .body("artifacts[0].id", equalTo("Empty-2"))
+                .body("artifacts[1].id", equalTo("Empty-3"))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("orderby", "name")
+                .queryParam("order", "asc")
+                .queryParam("limit", 2)
+                .queryParam("next", next)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(200)
+                .body("artifacts.size()", equalTo(1))
+                .body("artifacts[0].id", equalTo("Empty-4"))
+                .body("next", nullValue());
+
+        // A token obtained with another order is rejected
+        given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("orderby", "name")
+                .queryParam("order", "desc")
+                .queryParam("limit", 2)
+                .queryParam("next", next)
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(400);
+
+        // As well as a malformed one
+        given()
+            .when()
+                .queryParam("group", group)
+                .queryParam("limit", 2)
+                .queryParam("next", "not a continuation token")
+                .get("/registry/v2/search/artifacts")
+            .then()
+                .statusCode(400);
+    }
 
 }
@@ -34,6 +34,7 @@ import org.slf4j.Logger;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBehavior.DEFAULT;
 
@@ -928,6 +929,84 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         System.out.println("Search time: " + (end - start) + "ms");
     }
 
+    @Test
+    public void testSearchArtifactsWithCursor() throws Exception {
+        String artifactIdPrefix = "testSearchArtifactsWithCursor-";
+        for (int idx = 1; idx <= 25; idx++) {
+            String idxs = (idx < 10 ? "0" : "") + idx;
+            String artifactId = artifactIdPrefix + idxs;
+            ContentHandle content = ContentHandle.create(OPENAPI_CONTENT);
+            // Some artifacts share a name, so the order relies on the globalId to break ties
+            EditableArtifactMetaDataDto metaData = new EditableArtifactMetaDataDto(
+                    artifactIdPrefix + (idx % 10) + "-name", null, Collections.emptyList(), Collections.emptyMap());
+            storage().createArtifactWithMetadata(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, content, metaData, null);
+        }
+        Set<SearchFilter> filters = Collections.singleton(SearchFilter.ofName(artifactIdPrefix));
+
+        for (OrderBy orderBy : OrderBy.values()) {
+            for (OrderDirection orderDirection : OrderDirection.values()) {
+                List<String> expected = storage().searchArtifacts(filters, orderBy, orderDirection, 0, 100).getArtifacts()
+                        .stream().map(SearchedArtifactDto::getId).collect(Collectors.toList());
+                Assertions.assertEquals(25, expected.size());
+
+                List<String> paged = new ArrayList<>();
+                ArtifactSearchResultsDto results = storage().searchArtifacts(filters, orderBy, orderDirection, null, 10, CountMode.exact);
+                Assertions.assertEquals(25, results.getCount());
+                results.getArtifacts().forEach(artifact -> paged.add(artifact.getId()));
+                while (results.getNext() != null) {
+                    results = storage().searchArtifacts(filters, orderBy, orderDirection, results.getNext(), 10, CountMode.approximate);
+                    Assertions.assertEquals(25, results.getCount());
+                    results.getArtifacts().forEach(artifact -> paged.add(artifact.getId()));
+                }
+                Assertions.assertEquals(expected, paged, orderBy + " " + orderDirection);
+            }
+        }
+    }
+
+    @Test
+    public void testCanonicalLookupOfContentWithReferences() throws Exception {
+        String customerContent = "{\"type\":\"record\",\"name\":\"Customer\",\"fields\":[{\"name\":\"id\",\"type\":\"string\"}]}";
+        String orderContent = "{\"type\":\"record\",\"name\":\"Order\",\"fields\":[{\"name\":\"customer\",\"type\":\"Customer\"}]}";
+        List<ArtifactReferenceDto> references = List.of(new ArtifactReferenceDto(GROUP_ID, "testCanonicalLookup-customer", "1", "Customer"));
+        storage().createArtifact(GROUP_ID, "testCanonicalLookup-customer", "1", ArtifactType.AVRO, ContentHandle.create(customerContent), null);
+        ArtifactMetaDataDto order = storage().createArtifact(GROUP_ID, "testCanonicalLookup-order", null, ArtifactType.AVRO,
+                ContentHandle.create(orderContent), references);
+
+        ArtifactVersionMetaDataDto found = storage().getArtifactVersionMetaData(GROUP_ID, "testCanonicalLookup-order", true,
+                ContentHandle.create(orderContent), references);
+        Assertions.assertEquals(order.getGlobalId(), found.getGlobalId());
+
+        // The reference now resolves to other content, so the canonical content differs from the stored one
+        storage().deleteArtifact(GROUP_ID, "testCanonicalLookup-customer");
+        storage().createArtifact(GROUP_ID, "testCanonicalLookup-customer", "1", ArtifactType.AVRO,
+                ContentHandle.create(customerContent.replace("\"id\"", "\"name\"")), null);
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionMetaData(GROUP_ID,
+                "testCanonicalLookup-order", true, ContentHandle.create(orderContent), references));
+    }
+
+    @Test
+    public void testSearchArtifactsCountModes() throws Exception {
+        String artifactIdPrefix = "testSearchArtifactsCountModes-";
+        Set<SearchFilter> filters = Collections.singleton(SearchFilter.ofName(artifactIdPrefix));
+        for (int idx = 1; idx <= 3; idx++) {
+            storage().createArtifact(GROUP_ID, artifactIdPrefix + idx, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT), null);
+        }
+
+        ArtifactSearchResultsDto results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, null, 2, CountMode.exact);
+        Assertions.assertEquals(3, results.getCount());
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, results.getNext(), 2, CountMode.skip);
+        Assertions.assertEquals(-1, results.getCount());
+        Assertions.assertEquals(1, results.getArtifacts().size());
+
+        // The cached count is dropped when an artifact is created or deleted
+        storage().createArtifact(GROUP_ID, artifactIdPrefix + 4, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT), null);
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, null, 2, CountMode.approximate);
+        Assertions.assertEquals(4, results.getCount());
+        storage().deleteArtifact(GROUP_ID, artifactIdPrefix + 1);
+        results = storage().searchArtifacts(filters, OrderBy.name, OrderDirection.asc, results.getNext(), 2, CountMode.approximate);
+        Assertions.assertEquals(3, results.getCount());
+    }
+
     @Test
     public void testSearchVersions() throws Exception {
         String artifactId = "testSearchVersions-1";
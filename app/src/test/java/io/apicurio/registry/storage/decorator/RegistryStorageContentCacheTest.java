@@ -0,0 +1,255 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.decorator;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.ContentWrapperDto;
+import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONTENT_CACHE;
+
+class RegistryStorageContentCacheTest {
+
+    private static final ArtifactReferenceDto REFERENCE = new ArtifactReferenceDto("default", "Customer", "1", "Customer");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContentStorage storage = new ContentStorage();
+    private RegistryStorageContentCache cache;
+
+    @BeforeEach
+    void init() {
+        cache = new RegistryStorageContentCache();
+        cache.meterRegistry = meterRegistry;
+        cache.enabled = true;
+        cache.maxSizeBytes = 1024 * 1024;
+        cache.expireAfterWriteSeconds = 60;
+        cache.init();
+        cache.setDelegate(storage);
+
+        storage.put(1, "hash-1", "{\"type\":\"string\"}", List.of(REFERENCE));
+    }
+
+    @Test
+    void testContentIsCachedByIdAndHash() {
+        for (int idx = 0; idx < 3; idx++) {
+            Assertions.assertEquals("{\"type\":\"string\"}", cache.getArtifactByContentId(1).getContent().content());
+            Assertions.assertEquals(List.of(REFERENCE), cache.getArtifactByContentHash("hash-1").getReferences());
+        }
+
+        Assertions.assertEquals(2, storage.loads);
+        Assertions.assertEquals(4, meterRegistry.get("cache.gets").tag("cache", STORAGE_CONTENT_CACHE)
+                .tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(2, meterRegistry.get("cache.gets").tag("cache", STORAGE_CONTENT_CACHE)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testCachedContentCanNotBeChangedByCallers() {
+        ContentWrapperDto loaded = cache.getArtifactByContentId(1);
+        loaded.getReferences().get(0).setVersion("2");
+        loaded.setContent(ContentHandle.create("changed"));
+
+        ContentWrapperDto cached = cache.getArtifactByContentId(1);
+        Assertions.assertEquals("{\"type\":\"string\"}", cached.getContent().content());
+        Assertions.assertEquals("1", cached.getReferences().get(0).getVersion());
+        cached.getReferences().clear();
+
+        Assertions.assertEquals(List.of(REFERENCE), cache.getArtifactByContentId(1).getReferences());
+        Assertions.assertEquals(1, storage.loads);
+    }
+
+    @Test
+    void testNotFoundIsNotCached() {
+        Assertions.assertThrows(ContentNotFoundException.class, () -> cache.getArtifactByContentId(2));
+
+        storage.put(2, "hash-2", "{\"type\":\"int\"}", null);
+        Assertions.assertEquals("{\"type\":\"int\"}", cache.getArtifactByContentId(2).getContent().content());
+        Assertions.assertNull(cache.getArtifactByContentId(2).getReferences());
+    }
+
+    @Test
+    void testDeletesAndResetsInvalidate() {
+        cache.getArtifactByContentId(1);
+        cache.deleteArtifact("default", "an-artifact");
+        Assertions.assertThrows(ContentNotFoundException.class, () -> cache.getArtifactByContentId(1));
+
+        // The contentId is reused for other content after a reset
+        storage.put(1, "hash-1", "{\"type\":\"string\"}", null);
+        cache.getArtifactByContentId(1);
+        cache.resetContentId();
+        storage.put(1, "hash-3", "{\"type\":\"long\"}", null);
+        Assertions.assertEquals("{\"type\":\"long\"}", cache.getArtifactByContentId(1).getContent().content());
+    }
+
+    @Test
+    void testVersionIsCachedByGlobalId() {
+        storage.putVersion(5, "1", "{\"type\":\"string\"}", List.of(REFERENCE));
+        for (int idx = 0; idx < 3; idx++) {
+            StoredArtifactDto version = cache.getArtifactVersion(5);
+            Assertions.assertEquals("{\"type\":\"string\"}", version.getContent().content());
+            version.getReferences().clear();
+        }
+        Assertions.assertEquals(List.of(REFERENCE), cache.getArtifactVersion(5).getReferences());
+        Assertions.assertEquals(1, storage.loads);
+
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> cache.getArtifactVersion(6));
+    }
+
+    @Test
+    void testVersionDeletesAndImportsInvalidate() {
+        storage.putVersion(5, "1", "{\"type\":\"string\"}", null);
+        cache.getArtifactVersion(5);
+        cache.deleteArtifactVersion("default", "an-artifact", "1");
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> cache.getArtifactVersion(5));
+
+        // The globalId is reused by an imported version
+        storage.putVersion(5, "1", "{\"type\":\"string\"}", null);
+        cache.getArtifactVersion(5);
+        ArtifactVersionEntity entity = new ArtifactVersionEntity();
+        entity.globalId = 5;
+        entity.version = "3";
+        cache.importArtifactVersion(entity);
+        Assertions.assertEquals("3", cache.getArtifactVersion(5).getVersion());
+    }
+
+    @Test
+    void testMetaDataIsNotCached() {
+        cache.getArtifactMetaData(10);
+        cache.getArtifactMetaData(10);
+
+        // Can be changed by other replicas, always read from storage
+        Assertions.assertEquals(2, storage.metaDataLoads);
+    }
+
+    /**
+     * Storage of the content only, the other methods fail as the delegate is not set.
+     */
+    private static class ContentStorage extends RegistryStorageDecoratorBase {
+
+        private final Map<Long, ContentWrapperDto> byId = new HashMap<>();
+        private final Map<String, ContentWrapperDto> byHash = new HashMap<>();
+        private final Map<Long, StoredArtifactDto> byGlobalId = new HashMap<>();
+        private int loads;
+        private int metaDataLoads;
+
+        void put(long contentId, String contentHash, String content, List<ArtifactReferenceDto> references) {
+            ContentWrapperDto dto = new ContentWrapperDto(ContentHandle.create(content), references);
+            byId.put(contentId, dto);
+            byHash.put(contentHash, dto);
+        }
+
+        void putVersion(long globalId, String version, String content, List<ArtifactReferenceDto> references) {
+            byGlobalId.put(globalId, StoredArtifactDto.builder()
+                    .globalId(globalId)
+                    .version(version)
+                    .content(ContentHandle.create(content))
+                    .references(references)
+                    .build());
+        }
+
+        @Override
+        public ContentWrapperDto getArtifactByContentId(long contentId) {
+            loads++;
+            ContentWrapperDto dto = byId.get(contentId);
+            if (dto == null) {
+                throw new ContentNotFoundException(contentId);
+            }
+            return copy(dto);
+        }
+
+        @Override
+        public ContentWrapperDto getArtifactByContentHash(String contentHash) {
+            loads++;
+            ContentWrapperDto dto = byHash.get(contentHash);
+            if (dto == null) {
+                throw new ContentNotFoundException(contentHash);
+            }
+            return copy(dto);
+        }
+
+        @Override
+        public StoredArtifactDto getArtifactVersion(long globalId) {
+            loads++;
+            StoredArtifactDto dto = byGlobalId.get(globalId);
+            if (dto == null) {
+                throw new ArtifactNotFoundException(null, "gid-" + globalId);
+            }
+            return StoredArtifactDto.builder()
+                    .globalId(dto.getGlobalId())
+                    .version(dto.getVersion())
+                    .content(dto.getContent())
+                    .references(dto.getReferences() != null ? new ArrayList<>(dto.getReferences()) : null)
+                    .build();
+        }
+
+        @Override
+        public void deleteArtifactVersion(String groupId, String artifactId, String version) {
+            byGlobalId.values().removeIf(dto -> dto.getVersion().equals(version));
+        }
+
+        @Override
+        public void importArtifactVersion(ArtifactVersionEntity entity) {
+            putVersion(entity.globalId, entity.version, "{}", null);
+        }
+
+        @Override
+        public ArtifactMetaDataDto getArtifactMetaData(long globalId) {
+            metaDataLoads++;
+            ArtifactMetaDataDto dto = new ArtifactMetaDataDto();
+            dto.setGlobalId(globalId);
+            return dto;
+        }
+
+        @Override
+        public List<String> deleteArtifact(String groupId, String artifactId) {
+            byId.clear();
+            byHash.clear();
+            return List.of("1");
+        }
+
+        @Override
+        public void resetContentId() {
+            byId.clear();
+            byHash.clear();
+        }
+
+        private static ContentWrapperDto copy(ContentWrapperDto dto) {
+            List<ArtifactReferenceDto> references = null;
+            if (dto.getReferences() != null) {
+                references = new ArrayList<>();
+                for (ArtifactReferenceDto ref : dto.getReferences()) {
+                    references.add(new ArtifactReferenceDto(ref.getGroupId(), ref.getArtifactId(), ref.getVersion(), ref.getName()));
+                }
+            }
+            return new ContentWrapperDto(dto.getContent(), references);
+        }
+    }
+}
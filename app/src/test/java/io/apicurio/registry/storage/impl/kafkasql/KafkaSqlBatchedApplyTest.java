@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.storage.error.RoleMappingAlreadyExistsException;
+import io.apicurio.registry.storage.impl.kafkasql.keys.GlobalIdKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.RoleMappingKey;
+import io.apicurio.registry.storage.impl.kafkasql.sql.KafkaSqlSink;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.GlobalIdValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.RoleMappingValue;
+import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
+import io.apicurio.registry.storage.util.KafkasqlBatchedTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies batches of journal records the way the consumer thread does when batched apply is enabled, and
+ * checks that a failing record rolls back its whole batch, which is then applied again record by record.
+ */
+@QuarkusTest
+@TestProfile(KafkasqlBatchedTestProfile.class)
+public class KafkaSqlBatchedApplyTest {
+
+    private static final String TOPIC = "kafkasql-journal";
+
+    @Inject
+    KafkaSqlSink sink;
+
+    @Inject
+    KafkaSqlCoordinator coordinator;
+
+    @Inject
+    SqlRegistryStorage sqlStore;
+
+    private long offset;
+
+    @Test
+    public void testBatchApplied() {
+        long globalId = sqlStore.nextGlobalId();
+
+        UUID mapping = coordinator.createUUID();
+        UUID nextGlobalId = coordinator.createUUID();
+        sink.processMessages(List.of(
+                roleMapping(mapping, "testBatchApplied"),
+                record(nextGlobalId, GlobalIdKey.create(), GlobalIdValue.create(ActionType.CREATE))));
+
+        Assertions.assertNull(coordinator.waitForResponse(mapping));
+        Assertions.assertEquals(globalId + 1, coordinator.waitForResponse(nextGlobalId));
+        Assertions.assertEquals("DEVELOPER", sqlStore.getRoleMapping("testBatchApplied").getRole());
+    }
+
+    @Test
+    public void testFailedBatchRolledBackAndReplayed() {
+        long globalId = sqlStore.nextGlobalId();
+
+        UUID nextGlobalId = coordinator.createUUID();
+        UUID mapping = coordinator.createUUID();
+        UUID other = coordinator.createUUID();
+        UUID duplicate = coordinator.createUUID();
+        sink.processMessages(List.of(
+                record(nextGlobalId, GlobalIdKey.create(), GlobalIdValue.create(ActionType.CREATE)),
+                roleMapping(mapping, "testFailedBatch"),
+                roleMapping(other, "testFailedBatch-other"),
+                roleMapping(duplicate, "testFailedBatch")));
+
+        // Had the batch not been rolled back, the replayed records would have failed or used a new id
+        Assertions.assertEquals(globalId + 1, coordinator.waitForResponse(nextGlobalId));
+        Assertions.assertNull(coordinator.waitForResponse(mapping));
+        Assertions.assertNull(coordinator.waitForResponse(other));
+        Assertions.assertThrows(RoleMappingAlreadyExistsException.class, () -> coordinator.waitForResponse(duplicate));
+
+        Assertions.assertEquals("DEVELOPER", sqlStore.getRoleMapping("testFailedBatch").getRole());
+        Assertions.assertEquals("DEVELOPER", sqlStore.getRoleMapping("testFailedBatch-other").getRole());
+        Assertions.assertEquals(globalId + 2, sqlStore.nextGlobalId());
+    }
+
+    private ConsumerRecord<MessageKey, MessageValue> roleMapping(UUID requestId, String principalId) {
+        return record(requestId, RoleMappingKey.create(principalId), RoleMappingValue.create(ActionType.CREATE, "DEVELOPER", principalId));
+    }
+
+    private ConsumerRecord<MessageKey, MessageValue> record(UUID requestId, MessageKey key, MessageValue value) {
+        ConsumerRecord<MessageKey, MessageValue> record = new ConsumerRecord<>(TOPIC, 0, offset++, key, value);
+        record.headers().add("req", requestId.toString().getBytes());
+        return record;
+    }
+
+}
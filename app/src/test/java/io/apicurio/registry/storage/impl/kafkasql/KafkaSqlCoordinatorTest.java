@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.types.RegistryException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_APPLY_LATENCY;
+import static io.apicurio.registry.metrics.MetricsConstants.KAFKASQL_PENDING_REQUESTS;
+
+class KafkaSqlCoordinatorTest {
+
+    private static final int RESPONSE_TIMEOUT = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KafkaSqlCoordinator coordinator;
+
+    @BeforeEach
+    void init() {
+        coordinator = new KafkaSqlCoordinator();
+        coordinator.configuration = (KafkaSqlConfiguration) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { KafkaSqlConfiguration.class }, (proxy, method, args) -> {
+                    if ("responseTimeout".equals(method.getName())) {
+                        return RESPONSE_TIMEOUT;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        coordinator.meterRegistry = meterRegistry;
+        coordinator.init();
+    }
+
+    @Test
+    void testResponse() {
+        UUID uuid = coordinator.createUUID();
+        assertPending(1);
+
+        coordinator.notifyResponse(uuid, "applied");
+        Assertions.assertEquals("applied", coordinator.waitForResponse(uuid));
+        assertPending(0);
+        Assertions.assertEquals(1, meterRegistry.get(KAFKASQL_APPLY_LATENCY).timer().count());
+
+        UUID nullUuid = coordinator.createUUID();
+        coordinator.notifyResponse(nullUuid, null);
+        Assertions.assertNull(coordinator.waitForResponse(nullUuid));
+    }
+
+    @Test
+    void testResponseRemovedOnceReceived() throws Exception {
+        UUID uuid = coordinator.createUUID();
+        CompletableFuture<Object> response = coordinator.waitForResponseAsync(uuid);
+        coordinator.notifyResponse(uuid, "applied");
+        Assertions.assertEquals("applied", response.get(1, TimeUnit.SECONDS));
+
+        // Only a single wait per operation, there is nothing left to wait for
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class,
+                () -> coordinator.waitForResponseAsync(uuid).get(1, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(RegistryException.class, error.getCause());
+    }
+
+    @Test
+    void testUnclaimedResponseRemovedAfterTimeout() throws Exception {
+        UUID uuid = coordinator.createUUID();
+        Thread.sleep(RESPONSE_TIMEOUT * 3);
+
+        coordinator.notifyResponse(uuid, "applied");
+        Assertions.assertThrows(RegistryException.class, () -> coordinator.waitForResponse(uuid));
+        assertPending(0);
+    }
+
+    @Test
+    void testExceptionPropagated() {
+        UUID uuid = coordinator.createUUID();
+        RegistryException failure = new RegistryException("Rule violated");
+        coordinator.notifyResponse(uuid, failure);
+
+        Assertions.assertSame(failure, Assertions.assertThrows(RegistryException.class, () -> coordinator.waitForResponse(uuid)));
+        assertPending(0);
+        Assertions.assertEquals(1, meterRegistry.get(KAFKASQL_APPLY_LATENCY).timer().count());
+    }
+
+    @Test
+    void testTimeout() {
+        UUID uuid = coordinator.createUUID();
+
+        RegistryException error = Assertions.assertThrows(RegistryException.class, () -> coordinator.waitForResponse(uuid));
+        Assertions.assertInstanceOf(TimeoutException.class, error.getCause());
+        assertPending(0);
+        // Timed out operations do not count towards the apply latency
+        Assertions.assertEquals(0, meterRegistry.get(KAFKASQL_APPLY_LATENCY).timer().count());
+
+        // A response received too late is ignored
+        coordinator.notifyResponse(uuid, "applied");
+        Assertions.assertThrows(RegistryException.class, () -> coordinator.waitForResponse(uuid));
+    }
+
+    /**
+     * The waiting thread may resume before the metrics of its response are updated.
+     */
+    private void assertPending(int expected) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (meterRegistry.get(KAFKASQL_PENDING_REQUESTS).gauge().value() != expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        Assertions.assertEquals(expected, meterRegistry.get(KAFKASQL_PENDING_REQUESTS).gauge().value());
+    }
+
+}
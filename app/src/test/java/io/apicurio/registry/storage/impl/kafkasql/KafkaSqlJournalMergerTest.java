@@ -0,0 +1,298 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.GroupMetaDataDto;
+import io.apicurio.registry.storage.impl.kafkasql.keys.ArtifactKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.BootstrapKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.ContentKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.FenceKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.GroupKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlKeySerializer;
+import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueDeserializer;
+import io.apicurio.registry.storage.impl.kafkasql.serde.KafkaSqlValueSerializer;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.BootstrapValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ContentValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.FenceValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.GroupValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class KafkaSqlJournalMergerTest {
+
+    private static final String TOPIC = "kafkasql-journal";
+
+    private MockConsumer<MessageKey, MessageValue> consumer;
+    private final List<String> applied = new ArrayList<>();
+    private final Map<Long, List<Integer>> writtenFences = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(IntStream.range(0, 3).mapToObj(p -> new TopicPartition(TOPIC, p)).collect(Collectors.toList()));
+        applied.clear();
+        writtenFences.clear();
+    }
+
+    @Test
+    void testFencedMessageWaitsForMarkers() {
+        KafkaSqlJournalMerger merger = merger(2, 60000);
+
+        merger.add(records(
+                group(0, 0, "a0"), fenced(0, 1, "m"),
+                group(1, 0, "b0"), group(1, 1, "b1")));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("b0", "b1", "a0"), applied);
+
+        merger.add(records(fence(1, 2, 1), group(1, 3, "b2")));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("b0", "b1", "a0", "m", "fence-1", "b2"), applied);
+    }
+
+    @Test
+    void testPartitionHeldAtMarker() {
+        KafkaSqlJournalMerger merger = merger(2, 60000);
+
+        // The marker is consumed before the fenced message.
+        merger.add(records(group(1, 0, "b0"), fence(1, 1, 3), group(1, 2, "b1")));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("b0"), applied);
+
+        merger.add(records(group(0, 2, "a0"), fenced(0, 3, "m")));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("b0", "a0", "m", "fence-3", "b1"), applied);
+    }
+
+    @Test
+    void testCrossedMarkers() {
+        KafkaSqlJournalMerger merger = merger(2, 60000);
+
+        // Two fenced messages written concurrently, whose markers ended up in the opposite order.
+        merger.add(records(
+                fenced(0, 0, "m0"), fenced(0, 1, "m1"),
+                fence(1, 0, 1), group(1, 1, "b0"), fence(1, 2, 0)));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("m0", "m1", "fence-1", "b0", "fence-0"), applied);
+    }
+
+    @Test
+    void testMissingMarkersWritten() {
+        KafkaSqlJournalMerger merger = merger(3, 0);
+
+        merger.add(records(fenced(0, 5, "m"), fence(2, 0, 5)));
+        merger.release(this::apply);
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of(), applied);
+        Assertions.assertEquals(Map.of(5L, List.of(1)), writtenFences);
+
+        merger.add(records(fence(1, 0, 5)));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("m", "fence-5", "fence-5"), applied);
+    }
+
+    @Test
+    void testHeldPartitionPaused() {
+        KafkaSqlJournalMerger merger = new KafkaSqlJournalMerger(LoggerFactory.getLogger(getClass()), consumer, TOPIC, 2,
+                Collections.emptyMap(), 2, 60000, writtenFences::put);
+        TopicPartition partition = new TopicPartition(TOPIC, 1);
+
+        merger.add(records(fence(1, 0, 7), group(1, 1, "b0"), group(1, 2, "b1")));
+        merger.release(this::apply);
+        Assertions.assertTrue(consumer.paused().contains(partition));
+
+        merger.add(records(fenced(0, 7, "m")));
+        merger.release(this::apply);
+        Assertions.assertEquals(List.of("m", "fence-7", "b0", "b1"), applied);
+        Assertions.assertFalse(consumer.paused().contains(partition));
+    }
+
+    @Test
+    void testSameContentCreatedForTwoPartitions() {
+        ContentKey first = ContentKey.create(1, "hash");
+        ContentKey second = ContentKey.create(2, "hash");
+        ContentValue value = ContentValue.create(ActionType.CREATE, "canonical", ContentHandle.create("{}"), null);
+        Assertions.assertEquals(KafkaSqlJournalPartitions.GLOBAL_PARTITION, KafkaSqlJournalPartitions.partitionFor(first, value, 3));
+        Assertions.assertTrue(KafkaSqlJournalPartitions.isFenced(first, value));
+
+        // Two replicas created the same content concurrently, for artifacts of partitions 1 and 2.  Each
+        // version was written once the markers of its own content were.
+        List<ConsumerRecord<MessageKey, MessageValue>> journal = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 3, first, value), new ConsumerRecord<>(TOPIC, 0, 4, second, value),
+                fence(1, 0, 3), artifact(1, 1, "x"), fence(1, 2, 4),
+                fence(2, 0, 4), artifact(2, 1, "y"), fence(2, 2, 3));
+
+        // Only the first CREATE of a content hash is applied, both versions must use its contentId on
+        // every replica, whatever the order the partitions are consumed in.
+        for (List<Integer> consumed : List.of(List.of(0, 1, 2), List.of(1, 2, 0), List.of(2, 0, 1))) {
+            Map<String, Long> contentIds = new HashMap<>();
+            Map<String, Long> versions = new HashMap<>();
+            KafkaSqlJournalMerger merger = merger(3, 60000);
+            for (int partition : consumed) {
+                merger.add(records(partition(journal, partition)));
+                merger.release(record -> {
+                    if (record.key() instanceof ContentKey) {
+                        ContentKey key = (ContentKey) record.key();
+                        contentIds.putIfAbsent(key.getContentHash(), key.getContentId());
+                    } else if (record.key() instanceof ArtifactKey) {
+                        versions.put(((ArtifactKey) record.key()).getArtifactId(), contentIds.get("hash"));
+                    }
+                });
+            }
+            Assertions.assertEquals(Map.of("x", 1L, "y", 1L), versions, "consumed " + consumed);
+        }
+    }
+
+    @Test
+    void testCompactedJournalReplay() {
+        List<ConsumerRecord<MessageKey, MessageValue>> journal = List.of(
+                group(0, 0, "a0"), fenced(0, 1, "m"), bootstrap(0, 2),
+                group(1, 0, "b0"), fence(1, 1, 1), group(1, 2, "b1"), tombstone(1, 3, "b1"), bootstrap(1, 4),
+                fence(2, 0, 1), group(2, 1, "c0"), bootstrap(2, 2));
+
+        KafkaSqlJournalMerger live = merger(3, 60000);
+        live.add(records(journal));
+        live.release(this::apply);
+        Assertions.assertEquals(List.of("b0", "a0"), applied.subList(0, applied.indexOf("m")));
+
+        // The markers survive compaction, only the overwritten record and the tombstone are removed.
+        List<ConsumerRecord<MessageKey, MessageValue>> compacted = compact(journal);
+        Assertions.assertEquals(journal.size() - 2, compacted.size());
+        Assertions.assertEquals(2, compacted.stream().filter(record -> record.key() instanceof FenceKey).count());
+
+        // A replica started after the topic was compacted, which consumes the other partitions before the
+        // global one, applies the fenced message after the same records without writing markers.
+        applied.clear();
+        KafkaSqlJournalMerger replay = merger(3, 0);
+        replay.add(records(partition(compacted, 1)));
+        replay.add(records(partition(compacted, 2)));
+        replay.release(this::apply);
+        replay.add(records(partition(compacted, 0)));
+        replay.release(this::apply);
+
+        Assertions.assertEquals(List.of("b0", "a0"), applied.subList(0, applied.indexOf("m")));
+        Assertions.assertEquals(compacted.size(), applied.size());
+        Assertions.assertEquals(Map.of(), writtenFences);
+    }
+
+    /**
+     * Compacts the journal like Kafka does: only the last record of each key is kept, and tombstones are
+     * removed.  The records go through the serializers so that markers are compacted as they are written.
+     */
+    private static List<ConsumerRecord<MessageKey, MessageValue>> compact(List<ConsumerRecord<MessageKey, MessageValue>> journal) {
+        KafkaSqlKeySerializer keySerializer = new KafkaSqlKeySerializer();
+        KafkaSqlValueSerializer valueSerializer = new KafkaSqlValueSerializer();
+        KafkaSqlValueDeserializer valueDeserializer = new KafkaSqlValueDeserializer();
+
+        Map<String, ConsumerRecord<MessageKey, MessageValue>> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<MessageKey, MessageValue> record : journal) {
+            String key = record.partition() + ":" + Base64.getEncoder().encodeToString(keySerializer.serialize(TOPIC, record.key()));
+            latest.remove(key);
+            byte[] value = valueSerializer.serialize(TOPIC, record.value());
+            if (value != null) {
+                latest.put(key, new ConsumerRecord<>(TOPIC, record.partition(), record.offset(), record.key(),
+                        valueDeserializer.deserialize(TOPIC, value)));
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private KafkaSqlJournalMerger merger(int partitions, long fenceTimeout) {
+        return new KafkaSqlJournalMerger(LoggerFactory.getLogger(getClass()), consumer, TOPIC, partitions,
+                Collections.emptyMap(), 100, fenceTimeout, writtenFences::put);
+    }
+
+    private void apply(ConsumerRecord<MessageKey, MessageValue> record) {
+        if (record.key() instanceof FenceKey) {
+            applied.add("fence-" + ((FenceKey) record.key()).getOffset());
+        } else if (record.key() instanceof BootstrapKey) {
+            applied.add("bootstrap");
+        } else if (record.value() == null) {
+            applied.add("tombstone-" + ((GroupKey) record.key()).getGroupId());
+        } else {
+            applied.add(((GroupKey) record.key()).getGroupId());
+        }
+    }
+
+    @SafeVarargs
+    private static ConsumerRecords<MessageKey, MessageValue> records(ConsumerRecord<MessageKey, MessageValue>... records) {
+        return records(List.of(records));
+    }
+
+    private static ConsumerRecords<MessageKey, MessageValue> records(List<ConsumerRecord<MessageKey, MessageValue>> records) {
+        Map<TopicPartition, List<ConsumerRecord<MessageKey, MessageValue>>> byPartition = new HashMap<>();
+        for (ConsumerRecord<MessageKey, MessageValue> record : records) {
+            byPartition.computeIfAbsent(new TopicPartition(TOPIC, record.partition()), tp -> new ArrayList<>()).add(record);
+        }
+        return new ConsumerRecords<>(byPartition);
+    }
+
+    private static List<ConsumerRecord<MessageKey, MessageValue>> partition(List<ConsumerRecord<MessageKey, MessageValue>> journal,
+            int partition) {
+        return journal.stream().filter(record -> record.partition() == partition).collect(Collectors.toList());
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> group(int partition, long offset, String groupId) {
+        GroupValue value = GroupValue.create(ActionType.CREATE, GroupMetaDataDto.builder().groupId(groupId).build());
+        return new ConsumerRecord<>(TOPIC, partition, offset, GroupKey.create(groupId), value);
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> fenced(int partition, long offset, String groupId) {
+        // Deleting a group deletes its artifacts on all partitions.
+        return new ConsumerRecord<>(TOPIC, partition, offset, GroupKey.create(groupId), GroupValue.create(ActionType.DELETE, true));
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> fence(int partition, long offset, long fencedOffset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, FenceKey.create(fencedOffset), FenceValue.create(fencedOffset));
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> bootstrap(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, BootstrapKey.create("bootstrap"), BootstrapValue.create("bootstrap"));
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> tombstone(int partition, long offset, String groupId) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, GroupKey.create(groupId), null);
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> artifact(int partition, long offset, String artifactId) {
+        ArtifactValue value = ArtifactValue.create(ActionType.CREATE, offset, null, "AVRO", "hash", null, null, null,
+                null, null, null, null);
+        return new ConsumerRecord<>(TOPIC, partition, offset, ArtifactKey.create("default", artifactId), value);
+    }
+
+}
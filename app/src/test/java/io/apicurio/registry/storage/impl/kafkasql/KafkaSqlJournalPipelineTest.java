@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.impl.kafkasql.keys.ArtifactKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.ContentKey;
+import io.apicurio.registry.storage.impl.kafkasql.keys.MessageKey;
+import io.apicurio.registry.storage.impl.kafkasql.values.ActionType;
+import io.apicurio.registry.storage.impl.kafkasql.values.ArtifactValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.ContentValue;
+import io.apicurio.registry.storage.impl.kafkasql.values.MessageValue;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class KafkaSqlJournalPipelineTest {
+
+    private static final String TOPIC = "kafkasql-journal";
+
+    private final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+    private KafkaSqlJournalPipeline pipeline;
+
+    @AfterEach
+    void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void testRecordsOfAnArtifactStayOrdered() {
+        pipeline = new KafkaSqlJournalPipeline(LoggerFactory.getLogger(getClass()), this::apply, 4, 2);
+
+        long offset = 0;
+        for (int version = 0; version < 50; version++) {
+            for (String artifactId : List.of("a", "b", "c", "d", "e")) {
+                pipeline.submit(version(offset++, artifactId));
+            }
+        }
+        pipeline.drain();
+
+        Assertions.assertEquals(250, applied.size());
+        for (String artifactId : List.of("a", "b", "c", "d", "e")) {
+            List<Long> offsets = applied.stream()
+                    .filter(record -> record.startsWith(artifactId + "-"))
+                    .map(record -> Long.valueOf(record.substring(artifactId.length() + 1)))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(50, offsets.size());
+            Assertions.assertEquals(offsets.stream().sorted().collect(Collectors.toList()), offsets, artifactId);
+        }
+    }
+
+    @Test
+    void testBarrierWaitsForAllLanes() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        pipeline = new KafkaSqlJournalPipeline(LoggerFactory.getLogger(getClass()), record -> {
+            if (record.key() instanceof ArtifactKey && ((ArtifactKey) record.key()).getArtifactId().equals("slow")) {
+                await(blocked);
+            }
+            apply(record);
+        }, 4, 10);
+
+        pipeline.submit(version(0, "slow"));
+        pipeline.submit(version(1, "a"));
+        pipeline.submit(version(2, "b"));
+
+        // The barrier is applied on the submitting thread, once the slow lane has caught up
+        CompletableFuture<Void> barrier = CompletableFuture.runAsync(() -> pipeline.submit(content(3)));
+        TimeUnit.MILLISECONDS.sleep(200);
+        Assertions.assertFalse(barrier.isDone());
+        Assertions.assertFalse(applied.contains("content-3"));
+
+        blocked.countDown();
+        barrier.get(10, TimeUnit.SECONDS);
+        pipeline.submit(version(4, "slow"));
+        pipeline.submit(version(5, "a"));
+        pipeline.drain();
+
+        Assertions.assertEquals(6, applied.size());
+        Assertions.assertEquals(List.of("a-1", "b-2", "slow-0"), sorted(applied.subList(0, 3)));
+        Assertions.assertEquals("content-3", applied.get(3));
+        Assertions.assertEquals(List.of("a-5", "slow-4"), sorted(applied.subList(4, 6)));
+    }
+
+    @Test
+    void testBarriers() {
+        Assertions.assertTrue(KafkaSqlJournalPipeline.isBarrier(content(0).key(), content(0).value()));
+        Assertions.assertTrue(KafkaSqlJournalPipeline.isBarrier(ArtifactKey.create("default", "a"), artifactValue(ActionType.DELETE, 0)));
+        Assertions.assertTrue(KafkaSqlJournalPipeline.isBarrier(ArtifactKey.create("default", "a"), artifactValue(ActionType.IMPORT, 0)));
+        Assertions.assertFalse(KafkaSqlJournalPipeline.isBarrier(ArtifactKey.create("default", "a"), artifactValue(ActionType.UPDATE, 0)));
+    }
+
+    private void apply(ConsumerRecord<MessageKey, MessageValue> record) {
+        if (record.key() instanceof ContentKey) {
+            applied.add("content-" + record.offset());
+        } else {
+            applied.add(((ArtifactKey) record.key()).getArtifactId() + "-" + record.offset());
+        }
+    }
+
+    private static List<String> sorted(List<String> records) {
+        List<String> sorted = new ArrayList<>(records);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> version(long offset, String artifactId) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, ArtifactKey.create("default", artifactId), artifactValue(ActionType.UPDATE, offset));
+    }
+
+    private static ConsumerRecord<MessageKey, MessageValue> content(long offset) {
+        ContentValue value = ContentValue.create(ActionType.CREATE, "canonical", ContentHandle.create("{}"), null);
+        return new ConsumerRecord<>(TOPIC, 0, offset, ContentKey.create(offset, "hash-" + offset), value);
+    }
+
+    private static ArtifactValue artifactValue(ActionType action, long globalId) {
+        return ArtifactValue.create(action, globalId, null, "AVRO", "hash", null, null, null, null, null, null, null);
+    }
+
+}
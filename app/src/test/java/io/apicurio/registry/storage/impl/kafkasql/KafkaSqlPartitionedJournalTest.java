@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
+import io.apicurio.registry.storage.util.KafkasqlPartitionedTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Writes to artifacts that are on different partitions of the KafkaSQL journal, and checks that the
+ * messages that are shared by (or affect) several partitions are merged in the right place.
+ */
+@QuarkusTest
+@TestProfile(KafkasqlPartitionedTestProfile.class)
+public class KafkaSqlPartitionedJournalTest extends AbstractResourceTestBase {
+
+    private static final int PARTITIONS = 3;
+    private static final String CONTENT = "{\"type\":\"record\",\"name\":\"Order\",\"fields\":[{\"name\":\"id\",\"type\":\"string\"}]}";
+
+    @Inject
+    KafkaSqlRegistryStorage storage;
+
+    @Test
+    public void testContentSharedAcrossPartitions() {
+        String groupId = "testContentSharedAcrossPartitions";
+        List<String> artifactIds = onDifferentPartitions(groupId);
+        String content = CONTENT.replace("Order", "SharedOrder");
+
+        // The content is created for the first artifact, and used as soon as it exists by the second one
+        ArtifactMetaDataDto first = storage.createArtifact(groupId, artifactIds.get(0), null, ArtifactType.AVRO,
+                ContentHandle.create(content), null);
+        ArtifactMetaDataDto second = storage.createArtifact(groupId, artifactIds.get(1), null, ArtifactType.AVRO,
+                ContentHandle.create(content), null);
+        Assertions.assertEquals(first.getContentId(), second.getContentId());
+        Assertions.assertEquals(content, storage.getArtifactByContentId(second.getContentId()).getContent().content());
+
+        // Deleting one artifact must not delete the content still used on the other partition
+        storage.deleteArtifact(groupId, artifactIds.get(0));
+        Assertions.assertEquals(content, storage.getArtifactVersion(second.getGlobalId()).getContent().content());
+
+        storage.deleteArtifact(groupId, artifactIds.get(1));
+        Assertions.assertThrows(ContentNotFoundException.class, () -> storage.getArtifactByContentId(second.getContentId()));
+    }
+
+    @Test
+    public void testFencedDeleteAcrossPartitions() {
+        String groupId = "testFencedDeleteAcrossPartitions";
+        List<String> artifactIds = onDifferentPartitions(groupId);
+        for (String artifactId : artifactIds) {
+            storage.createArtifact(groupId, artifactId, null, ArtifactType.AVRO,
+                    ContentHandle.create(CONTENT.replace("Order", artifactId)), null);
+            storage.updateArtifact(groupId, artifactId, null, ArtifactType.AVRO,
+                    ContentHandle.create(CONTENT.replace("Order", artifactId + "V2")), null);
+        }
+
+        // The group delete is written to the global partition, the versions are on the artifacts' partitions
+        storage.deleteArtifacts(groupId);
+        for (String artifactId : artifactIds) {
+            Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage.getArtifactMetaData(groupId, artifactId));
+        }
+
+        // Messages written after the delete are applied after it, whatever their partition
+        for (String artifactId : artifactIds) {
+            ArtifactMetaDataDto recreated = storage.createArtifact(groupId, artifactId, null, ArtifactType.AVRO,
+                    ContentHandle.create(CONTENT.replace("Order", artifactId)), null);
+            Assertions.assertEquals("1", recreated.getVersion());
+            Assertions.assertEquals(List.of("1"), storage.getArtifactVersions(groupId, artifactId));
+        }
+    }
+
+    /**
+     * Returns the ids of two artifacts of the given group whose messages are on different partitions.
+     */
+    private static List<String> onDifferentPartitions(String groupId) {
+        int firstPartition = KafkaSqlJournalPartitions.partitionFor(groupId, "artifact-0", PARTITIONS);
+        String other = IntStream.range(1, 100)
+                .mapToObj(idx -> "artifact-" + idx)
+                .filter(artifactId -> KafkaSqlJournalPartitions.partitionFor(groupId, artifactId, PARTITIONS) != firstPartition)
+                .findFirst()
+                .orElseThrow();
+        return List.of("artifact-0", other);
+    }
+
+}
@@ -16,13 +16,27 @@
 
 package io.apicurio.registry.storage.impl.kafkasql;
 
+import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.noprofile.storage.AbstractRegistryStorageTest;
 import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.RuleNotFoundException;
 import io.apicurio.registry.storage.util.KafkasqlTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.RegistryException;
+import io.apicurio.registry.types.RuleType;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import jakarta.enterprise.inject.Typed;
 import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -42,5 +56,39 @@ public class KafkaSqlRegistryStorageTest extends AbstractRegistryStorageTest {
     protected RegistryStorage storage() {
         return storage;
     }
+
+    @Test
+    public void testDeleteArtifactRulesOfEveryType() {
+        String groupId = KafkaSqlRegistryStorageTest.class.getSimpleName();
+        String artifactId = "testDeleteArtifactRulesOfEveryType";
+        storage.createArtifact(groupId, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT), null);
+        for (RuleType rule : RuleType.values()) {
+            storage.createArtifactRule(groupId, artifactId, rule, new RuleConfigurationDto("FULL"));
+        }
+        Assertions.assertEquals(RuleType.values().length, storage.getArtifactRules(groupId, artifactId).size());
+
+        storage.deleteArtifactRules(groupId, artifactId);
+        Assertions.assertTrue(storage.getArtifactRules(groupId, artifactId).isEmpty());
+
+        // The rules that don't exist are ignored
+        storage.deleteArtifactRules(groupId, artifactId);
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage.deleteArtifactRules(groupId, "missing"));
+    }
+
+    @Test
+    public void testAwaitAll() {
+        Assertions.assertEquals(Arrays.asList("first", null), KafkaSqlRegistryStorage.awaitAll(List.of(
+                CompletableFuture.completedFuture("first"),
+                KafkaSqlRegistryStorage.ignoreRuleNotFound(CompletableFuture.failedFuture(new RuleNotFoundException(RuleType.VALIDITY))))));
+
+        // Waits for every response, and throws the error of the one that failed
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        RegistryException failure = new RegistryException("Failed");
+        CompletableFuture.runAsync(() -> pending.complete("pending"), CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        Assertions.assertSame(failure, Assertions.assertThrows(RegistryException.class, () -> KafkaSqlRegistryStorage.awaitAll(List.of(
+                pending,
+                KafkaSqlRegistryStorage.ignoreRuleNotFound(CompletableFuture.failedFuture(failure))))));
+        Assertions.assertTrue(pending.isDone());
+    }
     
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.snapshot;
+
+import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.impl.sql.SqlRegistryStorage;
+import io.apicurio.registry.storage.util.SnapshotTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.RuleType;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshots the internal SQL storage of KafkaSQL into a snapshot store and restores it, as a replica does
+ * when it starts from the newest snapshot.
+ */
+@QuarkusTest
+@TestProfile(SnapshotTestProfile.class)
+public class KafkaSqlSnapshotRestoreTest extends AbstractResourceTestBase {
+
+    private static final String GROUP_ID = KafkaSqlSnapshotRestoreTest.class.getSimpleName();
+    private static final String TOPIC = "kafkasql-journal";
+    private static final String CONTENT = "{\"type\":\"record\",\"name\":\"Order\",\"fields\":[{\"name\":\"id\",\"type\":\"string\"}]}";
+    private static final String CONTENT_V2 = "{\"type\":\"record\",\"name\":\"Order\",\"fields\":[{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"total\",\"type\":\"int\",\"default\":0}]}";
+
+    @Inject
+    SqlRegistryStorage sqlStore;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSnapshotAndRestore() throws Exception {
+        Assertions.assertTrue(sqlStore.isSnapshotSupported());
+
+        sqlStore.createArtifact(GROUP_ID, "orders", null, ArtifactType.AVRO, ContentHandle.create(CONTENT), null);
+        ArtifactMetaDataDto latest = sqlStore.updateArtifact(GROUP_ID, "orders", null, ArtifactType.AVRO,
+                ContentHandle.create(CONTENT_V2), null);
+        sqlStore.createArtifactRule(GROUP_ID, "orders", RuleType.COMPATIBILITY, new RuleConfigurationDto("BACKWARD"));
+        sqlStore.createGlobalRule(RuleType.VALIDITY, new RuleConfigurationDto("FULL"));
+        sqlStore.setConfigProperty(new DynamicConfigPropertyDto("registry.test.snapshot", "before"));
+        sqlStore.createRoleMapping("snapshot-user", "DEVELOPER", "Snapshot User");
+        sqlStore.createArtifactVersionComment(GROUP_ID, "orders", "2", "Snapshotted");
+
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(tempDir.resolve("snapshots"), 2);
+        Path data = Files.createTempFile(tempDir, "snapshot-", ".sql.gz");
+        sqlStore.createSnapshot(data.toString());
+        store.saveSnapshot(KafkaSqlSnapshot.builder()
+                .snapshotId("snapshot-1")
+                .topic(TOPIC)
+                .createdOn(System.currentTimeMillis())
+                .offsets(Map.of(0, 42L))
+                .build(), data);
+
+        // Changes after the snapshot, the journal records the restored replica would consume again
+        ArtifactMetaDataDto later = sqlStore.createArtifact(GROUP_ID, "invoices", null, ArtifactType.AVRO,
+                ContentHandle.create(CONTENT.replace("Order", "Invoice")), null);
+        sqlStore.deleteArtifactRule(GROUP_ID, "orders", RuleType.COMPATIBILITY);
+        sqlStore.setConfigProperty(new DynamicConfigPropertyDto("registry.test.snapshot", "after"));
+        sqlStore.deleteRoleMapping("snapshot-user");
+
+        Path restored = tempDir.resolve("restored.sql.gz");
+        KafkaSqlSnapshot snapshot = store.getLatestSnapshot(TOPIC, restored).orElseThrow();
+        Assertions.assertEquals(Map.of(0, 42L), snapshot.getOffsets());
+        sqlStore.restoreSnapshot(restored.toString());
+
+        Assertions.assertEquals(List.of("1", "2"), sqlStore.getArtifactVersions(GROUP_ID, "orders"));
+        Assertions.assertEquals(CONTENT_V2, sqlStore.getArtifactVersion(latest.getGlobalId()).getContent().content());
+        Assertions.assertFalse(sqlStore.isArtifactExists(GROUP_ID, "invoices"));
+        Assertions.assertEquals("BACKWARD", sqlStore.getArtifactRule(GROUP_ID, "orders", RuleType.COMPATIBILITY).getConfiguration());
+        Assertions.assertEquals("FULL", sqlStore.getGlobalRule(RuleType.VALIDITY).getConfiguration());
+        Assertions.assertEquals("before", sqlStore.getRawConfigProperty("registry.test.snapshot").getValue());
+        Assertions.assertEquals("DEVELOPER", sqlStore.getRoleMapping("snapshot-user").getRole());
+        Assertions.assertEquals("Snapshotted", sqlStore.getArtifactVersionComments(GROUP_ID, "orders", "2").get(0).getValue());
+
+        // The id sequences are restored too, ids used after the snapshot are given out again
+        ArtifactMetaDataDto replayed = sqlStore.createArtifact(GROUP_ID, "invoices", null, ArtifactType.AVRO,
+                ContentHandle.create(CONTENT.replace("Order", "Invoice")), null);
+        Assertions.assertEquals(later.getGlobalId(), replayed.getGlobalId());
+        Assertions.assertEquals(later.getContentId(), replayed.getContentId());
+    }
+
+    @Test
+    public void testSnapshotIsolatedFromConcurrentWrites() throws Exception {
+        sqlStore.createArtifact(GROUP_ID, "payments", null, ArtifactType.AVRO,
+                ContentHandle.create(CONTENT.replace("Order", "Payment")), null);
+
+        // Written by another thread once the snapshot transaction has started, while the snapshot is written
+        Path data = Files.createTempFile(tempDir, "snapshot-", ".sql.gz");
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            sqlStore.createSnapshot(data.toString(), () -> {
+                try {
+                    writer.submit(() -> sqlStore.createArtifact(GROUP_ID, "refunds", null, ArtifactType.AVRO,
+                            ContentHandle.create(CONTENT.replace("Order", "Refund")), null)).get(1, TimeUnit.MINUTES);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            writer.shutdownNow();
+        }
+        Assertions.assertTrue(sqlStore.isArtifactExists(GROUP_ID, "refunds"));
+
+        sqlStore.restoreSnapshot(data.toString());
+        Assertions.assertTrue(sqlStore.isArtifactExists(GROUP_ID, "payments"));
+        Assertions.assertFalse(sqlStore.isArtifactExists(GROUP_ID, "refunds"));
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.kafkasql.snapshot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+class LocalKafkaSqlSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEmptyStore() throws Exception {
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(tempDir.resolve("snapshots"), 2);
+        Assertions.assertTrue(store.getLatestSnapshot("kafkasql-journal", tempDir.resolve("restored")).isEmpty());
+    }
+
+    @Test
+    void testLatestSnapshot() throws Exception {
+        Path dir = tempDir.resolve("snapshots");
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(dir, 2);
+
+        store.saveSnapshot(snapshot("one", "kafkasql-journal", 100, 10L), data("one"));
+        store.saveSnapshot(snapshot("two", "kafkasql-journal", 200, 20L), data("two"));
+        store.saveSnapshot(snapshot("other", "other-journal", 300, 30L), data("other"));
+
+        Path restored = tempDir.resolve("restored");
+        Optional<KafkaSqlSnapshot> latest = store.getLatestSnapshot("kafkasql-journal", restored);
+        Assertions.assertTrue(latest.isPresent());
+        Assertions.assertEquals("two", latest.get().getSnapshotId());
+        Assertions.assertEquals(Map.of(0, 20L), latest.get().getOffsets());
+        Assertions.assertEquals("two", Files.readString(restored));
+    }
+
+    @Test
+    void testRetentionPerTopic() throws Exception {
+        Path dir = tempDir.resolve("snapshots");
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(dir, 2);
+
+        store.saveSnapshot(snapshot("one", "kafkasql-journal", 100, 10L), data("one"));
+        store.saveSnapshot(snapshot("two", "kafkasql-journal", 200, 20L), data("two"));
+        store.saveSnapshot(snapshot("other", "other-journal", 300, 30L), data("other"));
+        store.saveSnapshot(snapshot("other-two", "other-journal", 400, 40L), data("other-two"));
+
+        // The snapshots of another topic do not count towards the retention of a topic
+        Assertions.assertTrue(Files.exists(dir.resolve("one.json")));
+        Assertions.assertTrue(Files.exists(dir.resolve("two.json")));
+
+        // Only the two newest snapshots of a topic are retained
+        store.saveSnapshot(snapshot("three", "kafkasql-journal", 500, 30L), data("three"));
+        Assertions.assertFalse(Files.exists(dir.resolve("one.json")));
+        Assertions.assertFalse(Files.exists(dir.resolve("one.sql.gz")));
+        Assertions.assertTrue(Files.exists(dir.resolve("two.json")));
+        Assertions.assertTrue(Files.exists(dir.resolve("other.json")));
+        Assertions.assertTrue(Files.exists(dir.resolve("other-two.json")));
+    }
+
+    @Test
+    void testIncompleteSnapshotIgnored() throws Exception {
+        Path dir = tempDir.resolve("snapshots");
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(dir, 3);
+        store.saveSnapshot(snapshot("one", "kafkasql-journal", 100, 10L), data("one"));
+
+        // Data without metadata (e.g. the replica died while storing the snapshot)
+        Files.writeString(dir.resolve("two.sql.gz"), "two", StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("one", store.getLatestSnapshot("kafkasql-journal", tempDir.resolve("restored")).get().getSnapshotId());
+    }
+
+    @Test
+    void testSnapshotBehindDiscarded() throws Exception {
+        Path dir = tempDir.resolve("snapshots");
+        LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(dir, 3);
+        KafkaSqlSnapshot one = KafkaSqlSnapshot.builder().snapshotId("one").topic("kafkasql-journal").createdOn(100)
+                .offsets(Map.of(0, 10L, 1, 5L)).build();
+        Assertions.assertEquals("one", store.saveSnapshot(one, data("one")).getSnapshotId());
+
+        // Taken later by a replica that is behind on one partition
+        KafkaSqlSnapshot two = KafkaSqlSnapshot.builder().snapshotId("two").topic("kafkasql-journal").createdOn(200)
+                .offsets(Map.of(0, 20L, 1, 4L)).build();
+        Path twoData = data("two");
+        Assertions.assertEquals("one", store.saveSnapshot(two, twoData).getSnapshotId());
+        Assertions.assertFalse(Files.exists(twoData));
+        Assertions.assertFalse(Files.exists(dir.resolve("two.json")));
+
+        // Same offsets
+        Assertions.assertEquals("one", store.saveSnapshot(snapshot("three", "kafkasql-journal", 300, 10L), data("three")).getSnapshotId());
+
+        // Ahead, a partition that has not been consumed yet is at offset 0
+        KafkaSqlSnapshot four = KafkaSqlSnapshot.builder().snapshotId("four").topic("kafkasql-journal").createdOn(400)
+                .offsets(Map.of(0, 10L, 1, 5L, 2, 1L)).build();
+        Assertions.assertEquals("four", store.saveSnapshot(four, data("four")).getSnapshotId());
+        Assertions.assertEquals("four", store.getLatestSnapshot("kafkasql-journal", tempDir.resolve("restored")).get().getSnapshotId());
+    }
+
+    @Test
+    void testConcurrentReplicas() throws Exception {
+        Path dir = tempDir.resolve("snapshots");
+        AtomicLong clock = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Replicas sharing the directory, each storing snapshots and restoring the newest one
+            List<Future<?>> replicas = new ArrayList<>();
+            for (int replica = 0; replica < 4; replica++) {
+                LocalKafkaSqlSnapshotStore store = new LocalKafkaSqlSnapshotStore(dir, 2);
+                String prefix = "replica-" + replica + "-";
+                Path restored = tempDir.resolve(prefix + "restored");
+                replicas.add(executor.submit(() -> {
+                    for (int idx = 0; idx < 25; idx++) {
+                        long time = clock.incrementAndGet();
+                        store.saveSnapshot(snapshot(prefix + idx, "kafkasql-journal", time, time), data(prefix + idx));
+                        KafkaSqlSnapshot latest = store.getLatestSnapshot("kafkasql-journal", restored).orElseThrow();
+                        Assertions.assertEquals(latest.getSnapshotId(), Files.readString(restored));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> replica : replicas) {
+                replica.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(2, files.filter(file -> file.toString().endsWith(".json")).count());
+        }
+    }
+
+    private static KafkaSqlSnapshot snapshot(String id, String topic, long createdOn, long offset) {
+        return KafkaSqlSnapshot.builder()
+                .snapshotId(id)
+                .topic(topic)
+                .createdOn(createdOn)
+                .offsets(Map.of(0, offset))
+                .build();
+    }
+
+    private Path data(String content) throws Exception {
+        Path file = Files.createTempFile(tempDir, "data-", ".tmp");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.noprofile.storage.AbstractRegistryStorageTest;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
+import io.apicurio.registry.storage.dto.OrderBy;
+import io.apicurio.registry.storage.dto.OrderDirection;
+import io.apicurio.registry.storage.dto.SearchFilter;
+import io.apicurio.registry.storage.util.IndexedSearchTestProfile;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.Current;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the storage test suite with indexed search enabled, so that the "search_tokens" table is maintained
+ * by every write, and checks that the "everything" filter uses it.
+ */
+@QuarkusTest
+@TestProfile(IndexedSearchTestProfile.class)
+@Typed(IndexedSearchRegistryStorageTest.class)
+public class IndexedSearchRegistryStorageTest extends AbstractRegistryStorageTest {
+
+    private static final String GROUP_ID = IndexedSearchRegistryStorageTest.class.getSimpleName();
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    /**
+     * @see AbstractRegistryStorageTest#storage()
+     */
+    @Override
+    protected RegistryStorage storage() {
+        return storage;
+    }
+
+    @Test
+    public void testIndexedSearchMatchesWordPrefixes() throws Exception {
+        storage().createArtifactWithMetadata(GROUP_ID, "testIndexedSearch-payments", null, ArtifactType.OPENAPI,
+                ContentHandle.create(OPENAPI_CONTENT), new EditableArtifactMetaDataDto("Payment processing",
+                        "Handles the payments of the orders", List.of("Billing-Team"), Map.of("Retention", "short")), null);
+
+        Assertions.assertEquals(1, countEverything("processing"));
+        Assertions.assertEquals(1, countEverything("proc"));
+        Assertions.assertEquals(1, countEverything("ORDERS"));
+        Assertions.assertEquals(1, countEverything("billing"));
+        Assertions.assertEquals(1, countEverything("retention"));
+        Assertions.assertEquals(1, countEverything("payment proc"));
+        // The index matches the beginning of words only
+        Assertions.assertEquals(0, countEverything("cessing"));
+        Assertions.assertEquals(0, countEverything("payment refunds"));
+    }
+
+    @Test
+    public void testIndexedSearchFollowsUpdates() throws Exception {
+        storage().createArtifactWithMetadata(GROUP_ID, "testIndexedSearch-updates", null, ArtifactType.OPENAPI,
+                ContentHandle.create(OPENAPI_CONTENT), new EditableArtifactMetaDataDto("Inventory", null, null, null), null);
+        Assertions.assertEquals(1, countEverything("inventory"));
+
+        storage().updateArtifactMetaData(GROUP_ID, "testIndexedSearch-updates",
+                new EditableArtifactMetaDataDto("Warehouse", null, null, null));
+        Assertions.assertEquals(0, countEverything("inventory"));
+        Assertions.assertEquals(1, countEverything("warehouse"));
+
+        // The version can still be found by its artifact id
+        storage().deleteArtifactVersionMetaData(GROUP_ID, "testIndexedSearch-updates", "1");
+        Assertions.assertEquals(0, countEverything("warehouse"));
+        Assertions.assertEquals(1, countEverything("testindexedsearch updates"));
+
+        storage().deleteArtifact(GROUP_ID, "testIndexedSearch-updates");
+        Assertions.assertEquals(0, countEverything("testindexedsearch updates"));
+    }
+
+    private long countEverything(String text) {
+        return storage().searchArtifacts(Set.of(SearchFilter.ofEverything(text)), OrderBy.name, OrderDirection.asc, 0, 10)
+                .getCount();
+    }
+
+}
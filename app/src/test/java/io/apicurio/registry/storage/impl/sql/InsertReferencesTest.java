@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.impl.sql.jdb.Handle;
+import io.apicurio.registry.storage.impl.sql.jdb.HandleImpl;
+import io.apicurio.registry.storage.impl.sql.jdb.RuntimeSqlException;
+import io.apicurio.registry.storage.impl.sql.mappers.StringMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tests the batched insert of the references of a content, see
+ * {@link AbstractSqlRegistryStorage#insertReferences(Handle, SqlStatements, Long, List)}.
+ */
+class InsertReferencesTest {
+
+    private final SqlStatements sqlStatements = new H2SqlStatements();
+    private Handle handle;
+
+    @BeforeEach
+    void init() throws Exception {
+        handle = new HandleImpl(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()));
+        handle.createUpdate("CREATE TABLE artifactreferences (contentId BIGINT NOT NULL, groupId VARCHAR(512), "
+                + "artifactId VARCHAR(512) NOT NULL, version VARCHAR(256), name VARCHAR(512) NOT NULL)").execute();
+        handle.createUpdate("ALTER TABLE artifactreferences ADD PRIMARY KEY (contentId, name)").execute();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        handle.close();
+    }
+
+    @Test
+    void testInsertReferences() {
+        AbstractSqlRegistryStorage.insertReferences(handle, sqlStatements, 1L,
+                List.of(reference("Customer", "customer.json"), reference("Address", "address.json"),
+                        reference("Other", "customer.json")));
+
+        // Duplicate names are dropped, the first reference wins
+        Assertions.assertEquals(List.of("address.json:Address", "customer.json:Customer"), references(1L));
+    }
+
+    @Test
+    void testExistingReferencesFallBackToOneByOne() {
+        AbstractSqlRegistryStorage.insertReferences(handle, sqlStatements, 1L, List.of(reference("Customer", "customer.json")));
+
+        // The batch fails on the existing reference, the others are still inserted
+        AbstractSqlRegistryStorage.insertReferences(handle, sqlStatements, 1L,
+                List.of(reference("Address", "address.json"), reference("Customer", "customer.json"),
+                        reference("Country", "country.json")));
+
+        Assertions.assertEquals(List.of("address.json:Address", "country.json:Country", "customer.json:Customer"), references(1L));
+    }
+
+    @Test
+    void testOtherErrorsAreThrown() {
+        Assertions.assertThrows(RuntimeSqlException.class, () -> AbstractSqlRegistryStorage.insertReferences(handle,
+                sqlStatements, 1L, List.of(reference(null, "customer.json"))));
+    }
+
+    private List<String> references(long contentId) {
+        return handle.createQuery("SELECT name || ':' || artifactId FROM artifactreferences WHERE contentId = ? ORDER BY name")
+                .bind(0, contentId)
+                .map(StringMapper.instance)
+                .list();
+    }
+
+    private static ArtifactReferenceDto reference(String artifactId, String name) {
+        return new ArtifactReferenceDto("default", artifactId, "1", name);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Red Hat Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.provider.ArtifactTypeUtilProvider;
+import io.apicurio.registry.types.provider.DefaultArtifactTypeUtilProviderImpl;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RegistryStorageContentUtilsTest {
+
+    private static final String SCHEMA = "{\"type\":\"record\",\"name\":\"Order\",\"fields\":[{\"name\":\"customer\",\"type\":\"Customer\"}]}";
+    private static final String CUSTOMER = "{\"type\":\"record\",\"name\":\"Customer\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"}]}";
+
+    private final List<ArtifactReferenceDto> references = List.of(
+            new ArtifactReferenceDto("default", "Customer", "1", "Customer"));
+
+    @Test
+    void testContentHash() {
+        RegistryStorageContentUtils utils = new RegistryStorageContentUtils();
+        ContentHandle content = ContentHandle.create(SCHEMA);
+
+        // The hashes of the stored content must not change
+        Assertions.assertEquals(DigestUtils.sha256Hex(SCHEMA), utils.getContentHash(content, null));
+        Assertions.assertEquals(DigestUtils.sha256Hex(SCHEMA + SqlUtil.serializeReferences(references)),
+                utils.getContentHash(content, references));
+    }
+
+    @Test
+    void testCanonicalContentHashIsMemoized() {
+        AtomicInteger canonicalizations = new AtomicInteger();
+        RegistryStorageContentUtils utils = new RegistryStorageContentUtils();
+        utils.factory = new DefaultArtifactTypeUtilProviderImpl() {
+            @Override
+            public ArtifactTypeUtilProvider getArtifactTypeProvider(String type) {
+                canonicalizations.incrementAndGet();
+                return super.getArtifactTypeProvider(type);
+            }
+        };
+        utils.log = LoggerFactory.getLogger(RegistryStorageContentUtils.class);
+        ContentHandle content = ContentHandle.create(SCHEMA);
+
+        String canonicalHash = utils.getCanonicalContentHash(content, ArtifactType.AVRO, references,
+                refs -> Map.of("Customer", ContentHandle.create(CUSTOMER)));
+        String memoizedHash = utils.getCanonicalContentHash(ContentHandle.create(SCHEMA), ArtifactType.AVRO, references,
+                refs -> Map.of("Customer", ContentHandle.create(CUSTOMER)));
+        Assertions.assertEquals(canonicalHash, memoizedHash);
+        Assertions.assertEquals(1, canonicalizations.get());
+
+        // The referenced version was deleted and created again with other content
+        utils.getCanonicalContentHash(content, ArtifactType.AVRO, references,
+                refs -> Map.of("Customer", ContentHandle.create(CUSTOMER.replace("\"name\",\"type\"", "\"id\",\"type\""))));
+        Assertions.assertEquals(2, canonicalizations.get());
+
+        // Another artifact type canonicalizes the content in its own way
+        utils.getCanonicalContentHash(content, ArtifactType.JSON, null, null);
+        Assertions.assertEquals(3, canonicalizations.get());
+    }
+}
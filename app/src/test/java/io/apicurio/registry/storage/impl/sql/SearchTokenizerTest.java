@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+    @Test
+    void testTokenize() {
+        Assertions.assertEquals(List.of("com", "example", "orders", "v2"),
+                List.copyOf(SearchTokenizer.tokenize("com.example", "Orders-v2", null, "")));
+        Assertions.assertEquals(Set.of("café", "größe"), SearchTokenizer.tokenize("Café, Größe!"));
+        Assertions.assertEquals(SearchTokenizer.MAX_TOKEN_LENGTH,
+                SearchTokenizer.tokenize("x".repeat(100)).iterator().next().length());
+    }
+
+    @Test
+    void testVersionTokens() {
+        Set<String> tokens = SearchTokenizer.versionTokens("my-group", "OrderCreated", "Order created",
+                "Emitted when an order is placed", List.of("billing"), Map.of("team.owner", "ignored-value"));
+        Assertions.assertEquals(Set.of("my", "group", "ordercreated", "order", "created", "emitted", "when", "an",
+                "is", "placed", "billing", "team", "owner"), tokens);
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+import io.apicurio.registry.storage.impl.sql.mappers.StringMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.UUID;
+
+class BatchTest {
+
+    private Connection connection;
+    private Handle handle;
+
+    @BeforeEach
+    void init() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID());
+        handle = new HandleImpl(connection);
+        handle.createUpdate("CREATE TABLE labels (globalId BIGINT NOT NULL, label VARCHAR(256) NOT NULL, PRIMARY KEY (globalId, label))")
+                .execute();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        handle.close();
+    }
+
+    @Test
+    void testEmptyBatch() {
+        Assertions.assertArrayEquals(new int[0], handle.createBatch("INSERT INTO labels (globalId, label) VALUES (?, ?)").execute());
+    }
+
+    @Test
+    void testRows() {
+        Batch batch = handle.createBatch("INSERT INTO labels (globalId, label) VALUES (?, ?)");
+        batch.bind(0, 1L).bind(1, "one").add();
+        batch.bind(0, 1L).bind(1, "two").add();
+        // The last row doesn't need to be finished by add()
+        batch.bind(0, 2L).bind(1, "three");
+
+        Assertions.assertArrayEquals(new int[] { 1, 1, 1 }, batch.execute());
+        Assertions.assertEquals(List.of("one", "three", "two"), labels());
+
+        // The rows are not executed again
+        Assertions.assertArrayEquals(new int[0], batch.execute());
+    }
+
+    @Test
+    void testFailedBatch() {
+        handle.createUpdate("INSERT INTO labels (globalId, label) VALUES (?, ?)").bind(0, 1L).bind(1, "two").execute();
+
+        Batch batch = handle.createBatch("INSERT INTO labels (globalId, label) VALUES (?, ?)");
+        batch.bind(0, 1L).bind(1, "one").add();
+        batch.bind(0, 1L).bind(1, "two").add();
+        RuntimeSqlException error = Assertions.assertThrows(RuntimeSqlException.class, batch::execute);
+        Assertions.assertTrue(error.getMessage().contains("primary key violation"), error.getMessage());
+
+        // The failed rows are discarded, the batch can be reused
+        batch.bind(0, 1L).bind(1, "three").add();
+        Assertions.assertArrayEquals(new int[] { 1 }, batch.execute());
+        Assertions.assertTrue(labels().containsAll(List.of("two", "three")));
+    }
+
+    private List<String> labels() {
+        return handle.createQuery("SELECT label FROM labels ORDER BY label").map(StringMapper.instance).list();
+    }
+
+}
@@ -0,0 +1,15 @@
+package io.apicurio.registry.storage.util;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class IndexedSearchTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Collections.singletonMap("registry.sql.search.indexed.enabled", "true");
+    }
+
+}
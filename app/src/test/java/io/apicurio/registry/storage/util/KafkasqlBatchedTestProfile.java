@@ -0,0 +1,14 @@
+package io.apicurio.registry.storage.util;
+
+import java.util.Map;
+
+public class KafkasqlBatchedTestProfile extends KafkasqlTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "registry.storage.kind", "kafkasql",
+                "registry.kafkasql.consumer.apply.batch.enabled", "true");
+    }
+
+}
@@ -0,0 +1,15 @@
+package io.apicurio.registry.storage.util;
+
+import java.util.Map;
+
+public class KafkasqlPartitionedTestProfile extends KafkasqlTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "registry.storage.kind", "kafkasql",
+                "registry.kafkasql.topic", "kafkasql-journal-partitioned",
+                "registry.kafkasql.topic.partitions", "3");
+    }
+
+}
@@ -0,0 +1,10 @@
+package io.apicurio.registry.storage.util;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * Runs the tests in their own application, as restoring a snapshot replaces the whole database.
+ */
+public class SnapshotTestProfile implements QuarkusTestProfile {
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded cache that can be used by many threads without blocking each other.
+ * <p>
+ * Reads don't lock.  The least recently used entries are evicted when the cache grows above its maximum size, by
+ * the thread that made it grow (other threads don't wait for the eviction), so the size can briefly exceed the
+ * maximum.  A cache with a maximum size of 0 caches nothing.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, System::nanoTime);
+    }
+
+    /**
+     * @param clock  Gives the access times of the entries, tests use a clock that never returns the same time twice.
+     */
+    public BoundedCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value, or null.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = clock.getAsLong();
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value, or computes and caches it.  Unlike {@link Map#computeIfAbsent(Object, Function)},
+     * other threads are not blocked while a value is computed, so the same value can be computed more than once.
+     * Values that can't be computed (the function throws) are not cached.
+     */
+    public V get(K key, Function<K, V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (maxSize <= 0 || value == null) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+        if (entries.size() > maxSize && evictionLock.tryLock()) {
+            try {
+                evictLeastRecentlyUsed(entries.entrySet(), entry -> entry.getValue().lastAccess, maxSize,
+                        entry -> entries.remove(entry.getKey(), entry.getValue()));
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    public boolean remove(K key) {
+        return entries.remove(key) != null;
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Evicts the least recently used of the given entries if there are more than the maximum, down to 90% of the
+     * maximum so that a full cache isn't sorted again on the next put.  The caller makes sure a single thread evicts
+     * the entries of a cache at a time.
+     *
+     * @param entries     the cached entries, they can change while they are evicted
+     * @param lastAccess  the last access time of an entry
+     * @param maxSize     the maximum number of entries
+     * @param evictor     removes an entry from the cache
+     */
+    public static <T> void evictLeastRecentlyUsed(Collection<T> entries, ToLongFunction<T> lastAccess, long maxSize,
+                                                  Consumer<T> evictor) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        // Access times are copied, they keep changing while sorting
+        List<Candidate<T>> candidates = new ArrayList<>(entries.size());
+        entries.forEach(entry -> candidates.add(new Candidate<>(entry, lastAccess.applyAsLong(entry))));
+        long excess = candidates.size() - (maxSize - maxSize / 10);
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+        for (int idx = 0; idx < excess && idx < candidates.size(); idx++) {
+            evictor.accept(candidates.get(idx).entry);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile long lastAccess;
+
+        private Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static final class Candidate<T> {
+
+        private final T entry;
+        private final long lastAccess;
+
+        private Candidate(T entry, long lastAccess) {
+            this.entry = entry;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
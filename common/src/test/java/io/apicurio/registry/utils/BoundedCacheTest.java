@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        AtomicLong clock = new AtomicLong();
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, clock::incrementAndGet);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        Assertions.assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    public void testEvictsDownToNinetyPercent() {
+        AtomicLong clock = new AtomicLong();
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(10, clock::incrementAndGet);
+        for (int idx = 0; idx < 10; idx++) {
+            cache.put(idx, idx);
+        }
+        // Keeps the first entries in use
+        for (int idx = 0; idx < 5; idx++) {
+            cache.get(idx);
+        }
+        cache.put(10, 10);
+
+        Assertions.assertEquals(9, cache.size());
+        for (int idx = 0; idx < 5; idx++) {
+            Assertions.assertEquals(idx, cache.get(idx));
+        }
+        Assertions.assertNull(cache.get(5));
+        Assertions.assertNull(cache.get(6));
+        Assertions.assertEquals(10, cache.get(10));
+    }
+
+    @Test
+    public void testComputesMissingValues() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        AtomicInteger computed = new AtomicInteger();
+        Assertions.assertEquals(1, cache.get("a", key -> computed.incrementAndGet()));
+        Assertions.assertEquals(1, cache.get("a", key -> computed.incrementAndGet()));
+        Assertions.assertEquals(1, computed.get());
+
+        // Failures are not cached
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("b", key -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(2, cache.get("b", key -> 2));
+    }
+
+    @Test
+    public void testDisabled() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(0);
+        cache.put("a", 1);
+
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals(2, cache.get("a", key -> 2));
+    }
+
+}
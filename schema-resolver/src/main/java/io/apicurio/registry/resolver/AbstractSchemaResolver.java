@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.resolver;
 
+import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
 import com.microsoft.kiota.authentication.BaseBearerTokenAuthenticationProvider;
@@ -29,18 +30,31 @@ import io.apicurio.registry.resolver.strategy.ArtifactReferenceResolverStrategy;
 import io.apicurio.registry.resolver.utils.Utils;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.rest.client.models.ArtifactMetaData;
+import io.apicurio.registry.rest.client.models.ContentLookup;
+import io.apicurio.registry.rest.client.models.IdentifiedContent;
 import io.apicurio.registry.rest.client.models.VersionMetaData;
 import io.apicurio.registry.utils.IoUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Base implementation of {@link SchemaResolver}
@@ -51,7 +65,15 @@ import java.util.concurrent.ExecutionException;
  */
 public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S, T> {
 
+    private static final Logger LOG = Logger.getLogger(AbstractSchemaResolver.class.getName());
+
+    // Maximum number of schemas prefetched concurrently
+    private static final int MAX_PREFETCH_THREADS = 8;
+    // Maximum number of ids the registry accepts in a single request for many schemas
+    private static final int MAX_PREFETCH_IDS = 1000;
+
     protected final ERCache<SchemaLookupResult<S>> schemaCache = new ERCache<>();
+    protected PersistentSchemaCache persistentCache;
 
     protected DefaultSchemaResolverConfig config;
     protected SchemaParser<S, T> schemaParser;
@@ -98,6 +120,8 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         Utils.instantiate(ArtifactReferenceResolverStrategy.class, ais, this::setArtifactResolverStrategy);
 
         schemaCache.configureLifetime(config.getCheckPeriod());
+        schemaCache.configureRefreshAhead(config.getRefreshAhead());
+        schemaCache.configureMaxEntries(config.getCacheMaxEntries());
         schemaCache.configureRetryBackoff(config.getRetryBackoff());
         schemaCache.configureRetryCount(config.getRetryCount());
         schemaCache.configureCacheLatest(config.getCacheLatest());
@@ -110,6 +134,17 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureArtifactCoordinatesKeyExtractor(SchemaLookupResult::toArtifactCoordinates);
         schemaCache.checkInitialized();
 
+        String cacheFile = config.getCacheFile();
+        if (cacheFile != null && persistentCache == null) {
+            try {
+                persistentCache = PersistentSchemaCache.open(Paths.get(cacheFile), config.getRegistryUrl(),
+                        config.getCacheMaxEntries());
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open the schema cache file " + cacheFile, e);
+            }
+            warmUpCache();
+        }
+
         String groupIdOverride = config.getExplicitArtifactGroupId();
         if (groupIdOverride != null) {
             this.explicitArtifactGroupId = groupIdOverride;
@@ -178,7 +213,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
     }
 
     protected SchemaLookupResult<S> resolveSchemaByGlobalId(long globalId) {
-        return schemaCache.getByGlobalId(globalId, globalIdKey -> {
+        return schemaCache.getByGlobalId(globalId, globalIdKey -> loadThroughPersistentCache(PersistentSchemaCache.Kind.GLOBAL_ID, globalIdKey, () -> {
             //TODO getContentByGlobalId have to return some minumum metadata (groupId, artifactId and version)
             //TODO or at least add some method to the api to return the version metadata by globalId
 //            ArtifactMetaData artifactMetadata = client.getArtifactMetaData("TODO", artifactId);
@@ -220,7 +255,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
                 .globalId(globalIdKey)
                 .parsedSchema(ps)
                 .build();
-        });
+        }));
     }
 
     protected Map<String, ParsedSchema<S>> resolveReferences(List<io.apicurio.registry.rest.client.models.ArtifactReference> artifactReferences) {
@@ -265,6 +300,242 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
                 .setRawSchema(schema);
     }
 
+    /**
+     * @see io.apicurio.registry.resolver.SchemaResolver#getCacheStats()
+     */
+    @Override
+    public CacheStats getCacheStats() {
+        return this.schemaCache.getStats();
+    }
+
+    /**
+     * @see io.apicurio.registry.resolver.SchemaResolver#resolveArtifactReference(io.apicurio.registry.resolver.data.Record)
+     */
+    @Override
+    public ArtifactReference resolveArtifactReference(Record<T> data) {
+        if (artifactResolverStrategy.loadSchema()) {
+            return null;
+        }
+        try {
+            return resolveArtifactReference(data, null, false, null);
+        } catch (RuntimeException e) {
+            // e.g. a NullPointerException from a strategy that reads the payload even though it doesn't load the schema
+            throw new IllegalStateException("The artifact resolver strategy " + artifactResolverStrategy.getClass().getName()
+                    + " can't find the artifact of a record without its payload, it can't be used to prefetch schemas", e);
+        }
+    }
+
+    /**
+     * Resolves the schemas referenced by id with as few requests as possible, and the others in parallel, at most
+     * {@value #MAX_PREFETCH_THREADS} at a time, on the executor of the cache.
+     * @see io.apicurio.registry.resolver.SchemaResolver#prefetch(java.util.Collection)
+     */
+    @Override
+    public CompletableFuture<Void> prefetch(Collection<ArtifactReference> references) {
+        try {
+            references = prefetchByIds(references);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (references.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<List<ArtifactReference>> lanes = new ArrayList<>();
+        int index = 0;
+        for (ArtifactReference reference : references) {
+            if (lanes.size() < MAX_PREFETCH_THREADS) {
+                lanes.add(new ArrayList<>());
+            }
+            lanes.get(index++ % MAX_PREFETCH_THREADS).add(reference);
+        }
+        CompletableFuture<?>[] prefetches;
+        try {
+            prefetches = lanes.stream()
+                    .map(lane -> CompletableFuture.runAsync(() -> prefetchSchemas(lane), schemaCache.getRefreshExecutor()))
+                    .toArray(CompletableFuture[]::new);
+        } catch (RejectedExecutionException e) {
+            // The executor is saturated, the schemas are resolved when they are used instead
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.allOf(prefetches);
+    }
+
+    /**
+     * Resolves the given schemas one after the other, the failure of one doesn't prevent the others from being cached.
+     */
+    private void prefetchSchemas(List<ArtifactReference> references) {
+        RuntimeException failure = null;
+        for (ArtifactReference reference : references) {
+            try {
+                prefetchSchema(reference);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Loads in the cache, with a request per {@value #MAX_PREFETCH_IDS} ids, the schemas referenced by globalId,
+     * contentId or content hash that aren't cached yet.  A schema with references is parsed once its references are
+     * resolved, one by one as when it is resolved on its own.
+     *
+     * @return the references of the schemas that still have to be resolved one by one, i.e. those referenced by
+     * coordinates, and all of them if the registry can't return many schemas at once
+     */
+    private Collection<ArtifactReference> prefetchByIds(Collection<ArtifactReference> references) {
+        List<ArtifactReference> byCoordinates = new ArrayList<>();
+        List<ArtifactReference> byIds = new ArrayList<>();
+        for (ArtifactReference reference : references) {
+            if (reference.getGlobalId() != null) {
+                if (!schemaCache.containsByGlobalId(reference.getGlobalId())) {
+                    byIds.add(reference);
+                }
+            } else if (reference.getContentId() != null) {
+                if (!schemaCache.containsByContentId(reference.getContentId())) {
+                    byIds.add(reference);
+                }
+            } else if (reference.getContentHash() != null) {
+                if (!schemaCache.containsByContentHash(reference.getContentHash())) {
+                    byIds.add(reference);
+                }
+            } else {
+                byCoordinates.add(reference);
+            }
+        }
+        for (int from = 0; from < byIds.size(); from += MAX_PREFETCH_IDS) {
+            List<ArtifactReference> batch = byIds.subList(from, Math.min(from + MAX_PREFETCH_IDS, byIds.size()));
+            List<IdentifiedContent> contents;
+            try {
+                contents = client.ids().contents().post(toContentLookup(batch)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (!isEndpointMissing(e)) {
+                    throw new RuntimeException(e.getCause());
+                }
+                LOG.log(Level.INFO, "The registry can't return many schemas at once, the {0} schemas referenced by id "
+                        + "are resolved one by one", byIds.size() - from);
+                byCoordinates.addAll(byIds.subList(from, byIds.size()));
+                break;
+            }
+            cacheContents(batch, contents);
+            // Not found by the registry, or not parsed, left for the error to be reported when resolved on its own
+            for (ArtifactReference reference : batch) {
+                if (!isCached(reference)) {
+                    byCoordinates.add(reference);
+                }
+            }
+        }
+        return byCoordinates;
+    }
+
+    /**
+     * Whether the request for many schemas failed because the registry predates it.
+     */
+    private static boolean isEndpointMissing(ExecutionException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiException) {
+                int status = ((ApiException) cause).getResponseStatusCode();
+                return status == 404 || status == 405;
+            }
+        }
+        return false;
+    }
+
+    private static ContentLookup toContentLookup(List<ArtifactReference> references) {
+        List<Long> globalIds = new ArrayList<>();
+        List<Long> contentIds = new ArrayList<>();
+        List<String> contentHashes = new ArrayList<>();
+        for (ArtifactReference reference : references) {
+            if (reference.getGlobalId() != null) {
+                globalIds.add(reference.getGlobalId());
+            } else if (reference.getContentId() != null) {
+                contentIds.add(reference.getContentId());
+            } else {
+                contentHashes.add(reference.getContentHash());
+            }
+        }
+        ContentLookup lookup = new ContentLookup();
+        lookup.setGlobalIds(globalIds);
+        lookup.setContentIds(contentIds);
+        lookup.setContentHashes(contentHashes);
+        return lookup;
+    }
+
+    private void cacheContents(List<ArtifactReference> requested, List<IdentifiedContent> contents) {
+        Set<Long> contentIds = new HashSet<>();
+        Set<String> contentHashes = new HashSet<>();
+        for (ArtifactReference reference : requested) {
+            if (reference.getGlobalId() == null && reference.getContentId() != null) {
+                contentIds.add(reference.getContentId());
+            } else if (reference.getGlobalId() == null) {
+                contentHashes.add(reference.getContentHash());
+            }
+        }
+        for (IdentifiedContent content : contents) {
+            try {
+                // Cached under the ids the content was requested by, like a schema resolved on its own
+                if (content.getGlobalId() != null) {
+                    SchemaLookupResult<S> result = toLookupResult(content).globalId(content.getGlobalId()).build();
+                    schemaCache.getByGlobalId(content.getGlobalId(), key ->
+                            loadThroughPersistentCache(PersistentSchemaCache.Kind.GLOBAL_ID, key, () -> result));
+                    continue;
+                }
+                if (contentIds.contains(content.getContentId())) {
+                    SchemaLookupResult<S> result = toLookupResult(content).contentId(content.getContentId()).build();
+                    schemaCache.getByContentId(content.getContentId(), key ->
+                            loadThroughPersistentCache(PersistentSchemaCache.Kind.CONTENT_ID, key, () -> result));
+                }
+                if (contentHashes.contains(content.getContentHash())) {
+                    SchemaLookupResult<S> result = toLookupResult(content).contentHash(content.getContentHash()).build();
+                    schemaCache.getByContentHash(content.getContentHash(), key ->
+                            loadThroughPersistentCache(PersistentSchemaCache.Kind.CONTENT_HASH, key, () -> result));
+                }
+            } catch (RuntimeException e) {
+                // Skipped, resolved on its own so that the error is reported to the caller that needs it
+                LOG.log(Level.FINE, "Schema with globalId " + content.getGlobalId() + ", contentId "
+                        + content.getContentId() + " not prefetched, it will be resolved on its own", e);
+            }
+        }
+    }
+
+    private SchemaLookupResult.SchemaLookupResultBuilder<S> toLookupResult(IdentifiedContent content) {
+        Map<String, ParsedSchema<S>> resolvedReferences = content.getReferences() == null ? Collections.emptyMap()
+                : resolveReferences(content.getReferences());
+        byte[] schema = content.getContent().getBytes(StandardCharsets.UTF_8);
+        S parsed = schemaParser.parseSchema(schema, resolvedReferences);
+        SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.builder();
+        return result.parsedSchema(new ParsedSchemaImpl<S>()
+                .setParsedSchema(parsed)
+                .setSchemaReferences(new ArrayList<>(resolvedReferences.values()))
+                .setRawSchema(schema));
+    }
+
+    private boolean isCached(ArtifactReference reference) {
+        if (reference.getGlobalId() != null) {
+            return schemaCache.containsByGlobalId(reference.getGlobalId());
+        } else if (reference.getContentId() != null) {
+            return schemaCache.containsByContentId(reference.getContentId());
+        }
+        return schemaCache.containsByContentHash(reference.getContentHash());
+    }
+
+    /**
+     * Resolves, through the cache, the schema of an artifact given to {@link #prefetch(Collection)}.
+     * @param reference
+     */
+    protected void prefetchSchema(ArtifactReference reference) {
+        resolveSchemaByArtifactReference(reference);
+    }
+
     /**
      * @see io.apicurio.registry.resolver.SchemaResolver#reset()
      */
@@ -278,6 +549,103 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
      */
     @Override
     public void close() throws IOException {
+        if (persistentCache != null) {
+            persistentCache.close();
+            persistentCache = null;
+        }
+    }
+
+    /**
+     * Loads the schemas of the persistent cache in the cache, the most recently added first and no more than the cache
+     * can hold.  Those that can't be parsed anymore are skipped.
+     */
+    private void warmUpCache() {
+        long maxEntries = config.getCacheMaxEntries();
+        long loaded = 0;
+        for (PersistentSchemaCache.Entry entry : persistentCache.entries()) {
+            if (maxEntries > 0 && loaded >= maxEntries) {
+                break;
+            }
+            if (!Objects.equals(entry.getArtifactType(), schemaParser.artifactType())) {
+                continue;
+            }
+            loaded++;
+            try {
+                switch (entry.getKind()) {
+                    case GLOBAL_ID:
+                        schemaCache.getByGlobalId(Long.valueOf(entry.getKey()), key -> fromCacheEntry(entry));
+                        break;
+                    case CONTENT_ID:
+                        schemaCache.getByContentId(Long.valueOf(entry.getKey()), key -> fromCacheEntry(entry));
+                        break;
+                    case CONTENT_HASH:
+                        schemaCache.getByContentHash(entry.getKey(), key -> fromCacheEntry(entry));
+                        break;
+                }
+            } catch (RuntimeException e) {
+                // Skipped, resolved from the registry when needed
+            }
+        }
+    }
+
+    /**
+     * Returns the schema resolved with the given id from the persistent cache if it is there, otherwise loads it and
+     * adds it to the persistent cache.
+     */
+    protected SchemaLookupResult<S> loadThroughPersistentCache(PersistentSchemaCache.Kind kind, Object key,
+                                                               Supplier<SchemaLookupResult<S>> loader) {
+        if (persistentCache == null) {
+            return loader.get();
+        }
+        PersistentSchemaCache.Entry entry = persistentCache.get(schemaParser.artifactType(), kind, String.valueOf(key));
+        if (entry != null) {
+            try {
+                return fromCacheEntry(entry);
+            } catch (RuntimeException e) {
+                // Loaded from the registry instead
+            }
+        }
+        SchemaLookupResult<S> result = loader.get();
+        if (result != null && result.getParsedSchema() != null && result.getParsedSchema().getRawSchema() != null) {
+            persistentCache.put(new PersistentSchemaCache.Entry(schemaParser.artifactType(), kind, String.valueOf(key),
+                    result.getGlobalId(), result.getContentId(), result.getContentHash(), result.getGroupId(),
+                    result.getArtifactId(), result.getVersion(), toSchemaNode(result.getParsedSchema())));
+        }
+        return result;
+    }
+
+    private SchemaLookupResult<S> fromCacheEntry(PersistentSchemaCache.Entry entry) {
+        SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.builder();
+        return result
+                .globalId(entry.getGlobalId())
+                .contentId(entry.getContentId())
+                .contentHash(entry.getContentHash())
+                .groupId(entry.getGroupId())
+                .artifactId(entry.getArtifactId())
+                .version(entry.getVersion())
+                .parsedSchema(fromSchemaNode(entry.getSchema()))
+                .build();
+    }
+
+    private ParsedSchema<S> fromSchemaNode(PersistentSchemaCache.SchemaNode node) {
+        Map<String, ParsedSchema<S>> resolvedReferences = new HashMap<>();
+        for (PersistentSchemaCache.SchemaNode reference : node.getReferences()) {
+            resolvedReferences.put(reference.getReferenceName(), fromSchemaNode(reference));
+        }
+        S parsed = schemaParser.parseSchema(node.getRawSchema(), resolvedReferences);
+        return new ParsedSchemaImpl<S>()
+                .setParsedSchema(parsed)
+                .setSchemaReferences(new ArrayList<>(resolvedReferences.values()))
+                .setReferenceName(node.getReferenceName())
+                .setRawSchema(node.getRawSchema());
+    }
+
+    private PersistentSchemaCache.SchemaNode toSchemaNode(ParsedSchema<S> schema) {
+        List<PersistentSchemaCache.SchemaNode> references = new ArrayList<>();
+        if (schema.getSchemaReferences() != null) {
+            schema.getSchemaReferences().forEach(reference -> references.add(toSchemaNode(reference)));
+        }
+        return new PersistentSchemaCache.SchemaNode(schema.referenceName(), schema.getRawSchema(), references);
     }
 
     private RegistryClient configureClientWithBearerAuthentication(DefaultSchemaResolverConfig config, String registryUrl, String authServerUrl, String tokenEndpoint) {
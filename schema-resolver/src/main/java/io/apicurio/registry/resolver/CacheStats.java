@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.resolver;
+
+/**
+ * Point-in-time statistics of the schema cache of a {@link SchemaResolver}.  Counters are cumulative since the
+ * resolver was created.
+ */
+public class CacheStats {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long evictionCount;
+    private final long size;
+
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                      long totalLoadTimeNanos, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Statistics of a resolver that does not cache schemas.
+     */
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Number of lookups that returned a cached schema.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Number of lookups that had to load the schema, because it was not cached or had expired.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Number of schemas loaded from the registry, including background refreshes.
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Number of schema loads that failed, after retries.
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Time spent loading schemas, including retries, in nanoseconds.
+     */
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /**
+     * Average time of a schema load (successful or not), in nanoseconds.
+     */
+    public double getAverageLoadTimeNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTimeNanos / loads;
+    }
+
+    /**
+     * Number of schemas removed from the cache to keep it within its maximum size.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Number of schemas currently cached.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats [hitCount=" + hitCount + ", missCount=" + missCount + ", loadSuccessCount=" + loadSuccessCount
+                + ", loadFailureCount=" + loadFailureCount + ", totalLoadTimeNanos=" + totalLoadTimeNanos
+                + ", evictionCount=" + evictionCount + ", size=" + size + "]";
+    }
+}
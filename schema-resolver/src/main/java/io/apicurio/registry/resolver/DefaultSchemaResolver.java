@@ -175,6 +175,31 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
         return resolveSchemaByCoordinates(reference.getGroupId(), reference.getArtifactId(), reference.getVersion());
     }
 
+    /**
+     * Unless the latest version is looked up, records are looked up by content.  An artifact without version is
+     * therefore prefetched by the number of its latest version, so that it is cached by content and ids only, and
+     * not as the schema to use for any record of the artifact.
+     */
+    @Override
+    protected void prefetchSchema(ArtifactReference reference) {
+        boolean byCoordinates = reference.getGlobalId() == null && reference.getContentId() == null
+                && reference.getContentHash() == null;
+        if (byCoordinates && reference.getVersion() == null && !findLatest && schemaParser.supportsExtractSchemaFromData()) {
+            try {
+                ArtifactMetaData metadata = client.groups().byGroupId(reference.getGroupId()).artifacts()
+                        .byArtifactId(reference.getArtifactId()).meta().get().get();
+                reference = ArtifactReference.builder()
+                        .groupId(reference.getGroupId())
+                        .artifactId(reference.getArtifactId())
+                        .version(metadata.getVersion())
+                        .build();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        super.prefetchSchema(reference);
+    }
+
     private SchemaLookupResult<S> resolveSchemaByCoordinates(String groupId, String artifactId, String version) {
         if (artifactId == null) {
             throw new IllegalStateException("artifactId cannot be null");
@@ -186,7 +211,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
     }
 
     protected SchemaLookupResult<S> resolveSchemaByContentId(long contentId) {
-        return schemaCache.getByContentId(contentId, contentIdKey -> {
+        return schemaCache.getByContentId(contentId, contentIdKey -> loadThroughPersistentCache(PersistentSchemaCache.Kind.CONTENT_ID, contentIdKey, () -> {
 
             // it's impossible to retrieve more info about the artifact with only the contentId, and that's ok for this case
             InputStream rawSchema = null;
@@ -207,6 +232,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
                 ps = new ParsedSchemaImpl<S>()
                         .setParsedSchema(parsed)
+                        .setSchemaReferences(new ArrayList<>(resolvedReferences.values()))
                         .setRawSchema(schema);
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
@@ -221,11 +247,11 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
                     .contentId(contentIdKey)
                     .parsedSchema(ps)
                     .build();
-        });
+        }));
     }
 
     protected SchemaLookupResult<S> resolveSchemaByContentHash(String contentHash) {
-        return schemaCache.getByContentHash(contentHash, contentHashKey -> {
+        return schemaCache.getByContentHash(contentHash, contentHashKey -> loadThroughPersistentCache(PersistentSchemaCache.Kind.CONTENT_HASH, contentHashKey, () -> {
             // it's impossible to retrieve more info about the artifact with only the contentHash, and that's ok for this case
             InputStream rawSchema = null;
             ParsedSchemaImpl<S> ps = null;
@@ -243,6 +269,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
                 ps = new ParsedSchemaImpl<S>()
                         .setParsedSchema(parsed)
+                        .setSchemaReferences(new ArrayList<>(resolvedReferences.values()))
                         .setRawSchema(schema);
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
@@ -255,7 +282,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
                     .contentHash(contentHashKey)
                     .parsedSchema(ps)
                     .build();
-        });
+        }));
     }
 
     /**
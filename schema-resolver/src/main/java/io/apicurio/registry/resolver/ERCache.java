@@ -18,19 +18,41 @@ package io.apicurio.registry.resolver;
 
 import com.microsoft.kiota.ApiException;
 import io.apicurio.registry.resolver.strategy.ArtifactCoordinates;
+import io.apicurio.registry.utils.BoundedCache;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Expiration + Retry Cache
+ * <p>
+ * Concurrent loads of the same key are collapsed into a single call of the loader function.  If refresh-ahead is
+ * configured, an entry accessed shortly before it expires is reloaded in the background, while callers keep
+ * getting the current value.
+ * <p>
+ * The number of cached values can be bounded, in which case the least recently used values are evicted (from all
+ * indexes) when the bound is exceeded.
  *
  * @author Jakub Senko
  * @type V SchemaLookupResult
@@ -48,6 +70,20 @@ public class ERCache<V> {
     /** Artifact content hash index */
     private final Map<String, WrappedValue<V>> index5 = new ConcurrentHashMap<>();
 
+    /** Every cached value, whichever indexes it is in */
+    private final Set<WrappedValue<V>> entries = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /** Loads in progress, by index and key */
+    private final Map<InFlightKey, CompletableFuture<Result<V, RuntimeException>>> inFlight = new ConcurrentHashMap<>();
+
     private Function<V, Long> keyExtractor1;
     private Function<V, String> keyExtractor2;
     private Function<V, Long> keyExtractor3;
@@ -59,6 +95,9 @@ public class ERCache<V> {
     private long retries;
     private boolean cacheLatest;
     private boolean faultTolerantRefresh;
+    private Duration refreshAhead = Duration.ZERO;
+    private long maxEntries;
+    private Executor refreshExecutor;
 
     // === Configuration
 
@@ -94,6 +133,37 @@ public class ERCache<V> {
         this.faultTolerantRefresh = faultTolerantRefresh;
     }
 
+    /**
+     * If greater than zero, an entry accessed less than this duration before it expires is reloaded by a background
+     * thread, and callers keep getting the current value in the meantime.  So entries that are in use do not expire,
+     * and callers do not block on their reload.
+     *
+     * @param refreshAhead  How long before its expiration an entry may be reloaded.
+     */
+    public void configureRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Sets the executor that reloads entries when refresh-ahead is enabled, and prefetches schemas.  By default, a
+     * small bounded pool of daemon threads shared by all caches is used.
+     *
+     * @param refreshExecutor  The executor running the background reloads.
+     */
+    public void configureRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * If greater than zero, the maximum number of values kept in the cache.  When it is exceeded, the least recently
+     * used values are evicted, down to 90% of the maximum so that eviction does not happen on every load.
+     *
+     * @param maxEntries  The maximum number of cached values, or zero for no limit.
+     */
+    public void configureMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
     public void configureGlobalIdKeyExtractor(Function<V, Long> keyExtractor) {
         this.keyExtractor1 = keyExtractor;
     }
@@ -138,6 +208,7 @@ public class ERCache<V> {
         boolean initialized = keyExtractor1 != null && keyExtractor2 != null &&
             keyExtractor3 != null && keyExtractor4 != null && keyExtractor5 != null;
         initialized = initialized && lifetime != null && backoff != null && retries >= 0;
+        initialized = initialized && refreshAhead != null && !refreshAhead.isNegative() && maxEntries >= 0;
         if (!initialized)
             throw new IllegalStateException("Not properly initialized!");
     }
@@ -164,69 +235,179 @@ public class ERCache<V> {
     }
 
     public V getByGlobalId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index1.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(this.index1, key, loaderFunction);
     }
 
     public V getByContent(String key, Function<String, V> loaderFunction) {
-        WrappedValue<V> value = this.index2.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(this.index2, key, loaderFunction);
     }
 
     public V getByContentId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index3.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(this.index3, key, loaderFunction);
     }
 
     public V getByArtifactCoordinates(ArtifactCoordinates key, Function<ArtifactCoordinates, V> loaderFunction) {
-        WrappedValue<V> value = this.index4.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(this.index4, key, loaderFunction);
     }
 
     public V getByContentHash(String key, Function<String, V> loaderFunction) {
-        WrappedValue<V> value = this.index5.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(this.index5, key, loaderFunction);
     }
 
     // === Generic
 
-    private <T> V getValue(WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
-        V result = value != null ? value.value : null;
+    private <T> V getValue(Map<T, WrappedValue<V>> index, T key, Function<T, V> loaderFunction) {
+        WrappedValue<V> value = index.get(key);
+
+        if (value != null && !value.isExpired()) {
+            hitCount.increment();
+            value.touch();
+            if (value.isDueForRefresh(refreshAhead)) {
+                refreshInBackground(new InFlightKey(index, key), key, loaderFunction);
+            }
+            return value.value;
+        }
+
+        missCount.increment();
+        Result<V, RuntimeException> newValue = loadOnce(new InFlightKey(index, key), key, loaderFunction);
+        if (newValue.isOk()) {
+            return newValue.ok;
+        }
+        if (faultTolerantRefresh && value != null) {
+            return value.value;
+        }
+        throw newValue.error;
+    }
+
+    /**
+     * Loads (with retry) and indexes the value, unless a load of the same key is already in progress, in which case
+     * its result is awaited instead.
+     */
+    private <T> Result<V, RuntimeException> loadOnce(InFlightKey inFlightKey, T key, Function<T, V> loaderFunction) {
+        CompletableFuture<Result<V, RuntimeException>> load = new CompletableFuture<>();
+        CompletableFuture<Result<V, RuntimeException>> existing = inFlight.putIfAbsent(inFlightKey, load);
+        if (existing != null) {
+            // A background refresh still waiting for a thread of the (bounded) executor is run by the caller instead
+            if (existing instanceof BackgroundLoad && ((BackgroundLoad<V>) existing).start()) {
+                return load(inFlightKey, existing, key, loaderFunction);
+            }
+            return existing.join();
+        }
+        return load(inFlightKey, load, key, loaderFunction);
+    }
 
-        if (value == null || value.isExpired()) {
+    private <T> void refreshInBackground(InFlightKey inFlightKey, T key, Function<T, V> loaderFunction) {
+        BackgroundLoad<V> load = new BackgroundLoad<>();
+        if (inFlight.putIfAbsent(inFlightKey, load) != null) {
+            return;
+        }
+        try {
+            getRefreshExecutor().execute(() -> {
+                if (load.start()) {
+                    load(inFlightKey, load, key, loaderFunction);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The entry is loaded by the first caller after it expires
+            inFlight.remove(inFlightKey, load);
+            load.complete(Result.error(e));
+        }
+    }
+
+    private <T> Result<V, RuntimeException> load(InFlightKey inFlightKey, CompletableFuture<Result<V, RuntimeException>> load,
+                                                 T key, Function<T, V> loaderFunction) {
+        long start = System.nanoTime();
+        try {
             // With retry
             Result<V, RuntimeException> newValue = retry(backoff, retries, () -> {
                 return loaderFunction.apply(key);
             });
+            totalLoadTime.add(System.nanoTime() - start);
             if (newValue.isOk()) {
+                loadSuccessCount.increment();
                 // Index
                 reindex(new WrappedValue<>(lifetime, Instant.now(), newValue.ok), key);
-                // Return
-                result = newValue.ok;
+                evictIfNeeded();
             } else {
-                if (faultTolerantRefresh && value != null) {
-                    return value.value;
-                }
-                throw newValue.error;
+                loadFailureCount.increment();
             }
+            load.complete(newValue);
+            return newValue;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inFlightKey, load);
         }
+    }
 
-        return result;
+    /**
+     * Returns the executor running the background reloads, also used by the resolver to prefetch schemas.
+     */
+    Executor getRefreshExecutor() {
+        return refreshExecutor != null ? refreshExecutor : DefaultRefreshExecutor.INSTANCE;
     }
 
     private <T> void reindex(WrappedValue<V> newValue, T lookupKey) {
-        Optional.ofNullable(keyExtractor1.apply(newValue.value)).ifPresent(k -> index1.put(k, newValue));
-        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> index2.put(k, newValue));
-        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> index3.put(k, newValue));
-        Optional.ofNullable(keyExtractor4.apply(newValue.value)).ifPresent(k -> {
-            index4.put(k, newValue);
+        put(index1, keyExtractor1.apply(newValue.value), newValue);
+        put(index2, keyExtractor2.apply(newValue.value), newValue);
+        put(index3, keyExtractor3.apply(newValue.value), newValue);
+        ArtifactCoordinates k = keyExtractor4.apply(newValue.value);
+        if (k != null) {
+            put(index4, k, newValue);
             // By storing the lookup key, we ensure that a null/latest lookup gets cached, as the key extractor will
             // automatically add the version to the new key
-            if (this.cacheLatest && k.getClass().equals(lookupKey.getClass())) {
-                index4.put((ArtifactCoordinates) lookupKey, newValue);
+            if (this.cacheLatest && k.getClass().equals(lookupKey.getClass()) && !k.equals(lookupKey)) {
+                put(index4, (ArtifactCoordinates) lookupKey, newValue);
             }
-        });
-        Optional.ofNullable(keyExtractor5.apply(newValue.value)).ifPresent(k -> index5.put(k, newValue));
+        }
+        put(index5, keyExtractor5.apply(newValue.value), newValue);
+        // Only published once all of its keys are known, so that an eviction running meanwhile can't skip any of them
+        entries.add(newValue);
+        if (newValue.references.get() == 0) {
+            // Replaced in every index by a concurrent load before it was published
+            entries.remove(newValue);
+        }
+    }
+
+    private <K> void put(Map<K, WrappedValue<V>> index, K key, WrappedValue<V> newValue) {
+        if (key == null) {
+            return;
+        }
+        WrappedValue<V> previous = index.put(key, newValue);
+        if (previous == newValue) {
+            // Already indexed by this key, each key is only counted once
+            return;
+        }
+        newValue.references.incrementAndGet();
+        newValue.keys.add(new SimpleImmutableEntry<>(index, key));
+        if (previous != null && previous.references.decrementAndGet() == 0) {
+            // No longer in any index
+            entries.remove(previous);
+        }
+    }
+
+    /**
+     * Evicts the least recently used values if there are more than the maximum.  Only one thread evicts at a time,
+     * the others go on without waiting for it.
+     */
+    private void evictIfNeeded() {
+        if (maxEntries <= 0 || entries.size() <= maxEntries || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            BoundedCache.evictLeastRecentlyUsed(entries, value -> value.lastAccess, maxEntries, this::evict);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evict(WrappedValue<V> value) {
+        if (entries.remove(value)) {
+            // Only removes the keys still mapped to this value, not to a newer one
+            value.keys.forEach(key -> key.getKey().remove(key.getValue(), value));
+            evictionCount.increment();
+        }
     }
 
     public void clear() {
@@ -235,6 +416,15 @@ public class ERCache<V> {
         index3.clear();
         index4.clear();
         index5.clear();
+        entries.clear();
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTime.sum(), evictionCount.sum(), entries.size());
     }
 
     // === Util & Other
@@ -277,12 +467,22 @@ public class ERCache<V> {
         private final Instant lastUpdate;
         private final V value;
 
+        /** Number of index keys mapped to this value */
+        private final AtomicInteger references = new AtomicInteger();
+        /** Index keys this value has been put under */
+        private final List<Map.Entry<Map<?, WrappedValue<V>>, Object>> keys = new CopyOnWriteArrayList<>();
+        private volatile long lastAccess = System.nanoTime();
+
         public WrappedValue(Duration lifetime, Instant lastUpdate, V value) {
             this.lifetime = lifetime;
             this.lastUpdate = lastUpdate;
             this.value = value;
         }
 
+        public void touch() {
+            lastAccess = System.nanoTime();
+        }
+
         public V getValue() {
             return value;
         }
@@ -290,6 +490,73 @@ public class ERCache<V> {
         public boolean isExpired() {
             return lastUpdate.plus(lifetime).isBefore(Instant.now());
         }
+
+        public boolean isDueForRefresh(Duration refreshAhead) {
+            return !refreshAhead.isZero() && lastUpdate.plus(lifetime).minus(refreshAhead).isBefore(Instant.now());
+        }
+    }
+
+    private static class InFlightKey {
+
+        /** Keys of different indexes may be equal, e.g. a globalId and a contentId */
+        private final Map<?, ?> index;
+        private final Object key;
+
+        public InFlightKey(Map<?, ?> index, Object key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof InFlightKey))
+                return false;
+            InFlightKey that = (InFlightKey) o;
+            return index == that.index && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(index) + Objects.hashCode(key);
+        }
+    }
+
+    /**
+     * A load submitted to the refresh executor, run by whichever of the executor and a caller of the cache starts it
+     * first.
+     */
+    private static class BackgroundLoad<V> extends CompletableFuture<Result<V, RuntimeException>> {
+
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        boolean start() {
+            return started.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * A small pool shared by all caches, its threads stop when idle.  Reloads and prefetches submitted while its
+     * queue is full are rejected: refreshes are then done by the first caller after the entry expires.
+     */
+    private static class DefaultRefreshExecutor {
+
+        private static final int THREADS = 8;
+        private static final int QUEUE_SIZE = 1000;
+
+        private static final ExecutorService INSTANCE = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                        Thread thread = new Thread(runnable, "apicurio-registry-cache-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
     }
 
     public static class Result<T, E extends Exception> {
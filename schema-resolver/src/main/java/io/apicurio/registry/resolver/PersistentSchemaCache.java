@@ -0,0 +1,467 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.resolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Local file that keeps the schemas resolved by their globalId, contentId or contentHash, so that a restarted
+ * application does not have to fetch them all from the registry again, and can keep resolving them while the registry
+ * is unreachable.  This is possible because those ids always refer to the same content.
+ * <p>
+ * The file is append-only: a header followed by length-prefixed, checksummed records, each holding the raw schema
+ * (with its references) and the ids it was resolved with.  A torn or corrupted tail, e.g. after a crash, is dropped
+ * when the file is opened, and so are the oldest records above the maximum number of entries, or records of ids that
+ * are in the file more than once: the file is then rewritten with only the records that are kept.  The header holds the url of the registry the schemas were resolved from, ids are only
+ * meaningful in one registry: a file written for another registry, or by an older version, is ignored, and started
+ * over if it can be written.
+ * <p>
+ * Resolvers of the same application using the same file share a single instance (see {@link #open(Path, String)}).
+ * If the file is locked by another process, it is only read.
+ */
+public class PersistentSchemaCache implements Closeable {
+
+    private static final int MAGIC = 0x41525343;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final Map<Path, PersistentSchemaCache> OPEN = new HashMap<>();
+
+    public enum Kind {
+        GLOBAL_ID, CONTENT_ID, CONTENT_HASH
+    }
+
+    private final Path file;
+    private final String registryUrl;
+    private final long maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final FileChannel channel;
+    private final FileLock lock;
+    private int references;
+
+    /**
+     * Returns the cache of the given file, opening it if no other resolver of this application uses it yet.  Must be
+     * closed by each caller.
+     *
+     * @param file  The cache file, created if needed.
+     * @param registryUrl  The url of the registry the schemas are resolved from.
+     */
+    public static PersistentSchemaCache open(Path file, String registryUrl) throws IOException {
+        return open(file, registryUrl, 0);
+    }
+
+    /**
+     * Returns the cache of the given file, opening it if no other resolver of this application uses it yet.  Must be
+     * closed by each caller.
+     *
+     * @param file  The cache file, created if needed.
+     * @param registryUrl  The url of the registry the schemas are resolved from.
+     * @param maxEntries  If greater than zero, the maximum number of entries kept when the file is opened, the most
+     *                    recently added ones.  Only used by the first caller, who opens the file.
+     */
+    public static PersistentSchemaCache open(Path file, String registryUrl, long maxEntries) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        synchronized (OPEN) {
+            PersistentSchemaCache cache = OPEN.get(key);
+            if (cache == null) {
+                cache = new PersistentSchemaCache(key, registryUrl, maxEntries);
+                OPEN.put(key, cache);
+            } else if (!Objects.equals(cache.registryUrl, registryUrl)) {
+                throw new IOException("The schema cache file " + file + " is already used for the registry "
+                        + cache.registryUrl);
+            }
+            cache.references++;
+            return cache;
+        }
+    }
+
+    private PersistentSchemaCache(Path file, String registryUrl, long maxEntries) throws IOException {
+        this.file = file;
+        this.registryUrl = registryUrl;
+        this.maxEntries = maxEntries;
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = channel.tryLock();
+            load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the valid records of the file, and if it can be written, drops whatever follows them, and compacts it if
+     * some of them are not kept.
+     */
+    private void load() throws IOException {
+        byte[] header = header();
+        long size = channel.size();
+        if (size < 4) {
+            reset(header);
+            return;
+        }
+        if (readFully(0, 4).getInt() != MAGIC) {
+            throw new IOException("Not a schema cache file: " + file);
+        }
+        if (size < header.length || !Arrays.equals(header, readFully(0, header.length).array())) {
+            // Written for another registry, or by another version
+            reset(header);
+            return;
+        }
+        long position = header.length;
+        int records = 0;
+        while (position + 8 <= size) {
+            ByteBuffer recordHeader = readFully(position, 8);
+            int length = recordHeader.getInt();
+            int checksum = recordHeader.getInt();
+            if (length <= 0 || position + 8 + length > size) {
+                break;
+            }
+            byte[] payload = readFully(position + 8, length).array();
+            if (checksum != checksum(payload)) {
+                break;
+            }
+            Entry entry = Entry.read(new DataInputStream(new ByteArrayInputStream(payload)));
+            entry.sequence = sequence.incrementAndGet();
+            entries.put(entry.id(), entry);
+            records++;
+            position += 8 + length;
+        }
+        List<Entry> newestFirst = entries();
+        if (maxEntries > 0 && newestFirst.size() > maxEntries) {
+            newestFirst.subList((int) maxEntries, newestFirst.size()).forEach(entry -> entries.remove(entry.id()));
+            newestFirst = newestFirst.subList(0, (int) maxEntries);
+        }
+        if (lock == null) {
+            return;
+        }
+        if (newestFirst.size() < records) {
+            compact(header.length, newestFirst);
+        } else if (position < size) {
+            channel.truncate(position);
+        }
+    }
+
+    /**
+     * Rewrites the records of the file with only the given entries, oldest first so that they keep their order.  A
+     * crash meanwhile leaves a corrupted tail, dropped when the file is opened again.
+     */
+    private void compact(long position, List<Entry> newestFirst) throws IOException {
+        for (int idx = newestFirst.size() - 1; idx >= 0; idx--) {
+            ByteBuffer record = record(newestFirst.get(idx));
+            writeFully(record, position);
+            position += record.limit();
+        }
+        channel.truncate(position);
+        channel.force(false);
+    }
+
+    /**
+     * Starts the file over, if it can be written, otherwise its content is just not used.
+     */
+    private void reset(byte[] header) throws IOException {
+        if (lock != null) {
+            channel.truncate(0);
+            writeFully(ByteBuffer.wrap(header), 0);
+            channel.force(false);
+        }
+    }
+
+    private byte[] header() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeNullable(out, registryUrl);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns every cached schema, the most recently added first.
+     */
+    public List<Entry> entries() {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.sequence).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the schema resolved with the given id, if cached.
+     *
+     * @param artifactType  The artifact type of the resolver, null if unknown.
+     */
+    public Entry get(String artifactType, Kind kind, String key) {
+        return entries.get(Entry.id(artifactType, kind, key));
+    }
+
+    /**
+     * Adds the given schema to the file, unless it is already there.  Failures to write are ignored, the schema is
+     * just not available after a restart.
+     */
+    public void put(Entry entry) {
+        entry.sequence = sequence.incrementAndGet();
+        if (entries.putIfAbsent(entry.id(), entry) != null || lock == null) {
+            return;
+        }
+        try {
+            ByteBuffer record = record(entry);
+            synchronized (this) {
+                writeFully(record, channel.size());
+            }
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (OPEN) {
+            if (--references > 0) {
+                return;
+            }
+            OPEN.remove(file);
+        }
+        try {
+            if (lock != null) {
+                channel.force(false);
+                lock.release();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file: " + file);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long start = position;
+        while (buffer.hasRemaining()) {
+            start += channel.write(buffer, start);
+        }
+    }
+
+    private static ByteBuffer record(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        entry.write(new DataOutputStream(bytes));
+        byte[] payload = bytes.toByteArray();
+        return ByteBuffer.allocate(8 + payload.length)
+                .putInt(payload.length)
+                .putInt(checksum(payload))
+                .put(payload)
+                .flip();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A schema as resolved by one of its ids.
+     */
+    public static class Entry {
+
+        private final String artifactType;
+        private final Kind kind;
+        private final String key;
+        private final long globalId;
+        private final long contentId;
+        private final String contentHash;
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final SchemaNode schema;
+        // When it was added to the cache, not written to the file whose records are in that order
+        private volatile long sequence;
+
+        public Entry(String artifactType, Kind kind, String key, long globalId, long contentId, String contentHash,
+                     String groupId, String artifactId, String version, SchemaNode schema) {
+            this.artifactType = artifactType;
+            this.kind = Objects.requireNonNull(kind);
+            this.key = Objects.requireNonNull(key);
+            this.globalId = globalId;
+            this.contentId = contentId;
+            this.contentHash = contentHash;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.schema = Objects.requireNonNull(schema);
+        }
+
+        public String getArtifactType() {
+            return artifactType;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getGlobalId() {
+            return globalId;
+        }
+
+        public long getContentId() {
+            return contentId;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public SchemaNode getSchema() {
+            return schema;
+        }
+
+        private String id() {
+            return id(artifactType, kind, key);
+        }
+
+        private static String id(String artifactType, Kind kind, String key) {
+            return artifactType + "/" + kind + "/" + key;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeNullable(out, artifactType);
+            out.writeByte(kind.ordinal());
+            out.writeUTF(key);
+            out.writeLong(globalId);
+            out.writeLong(contentId);
+            writeNullable(out, contentHash);
+            writeNullable(out, groupId);
+            writeNullable(out, artifactId);
+            writeNullable(out, version);
+            schema.write(out);
+        }
+
+        private static Entry read(DataInputStream in) throws IOException {
+            return new Entry(readNullable(in), Kind.values()[in.readByte()], in.readUTF(), in.readLong(), in.readLong(),
+                    readNullable(in), readNullable(in), readNullable(in), readNullable(in), SchemaNode.read(in));
+        }
+    }
+
+    /**
+     * A raw schema and the schemas it references.
+     */
+    public static class SchemaNode {
+
+        private final String referenceName;
+        private final byte[] rawSchema;
+        private final List<SchemaNode> references;
+
+        public SchemaNode(String referenceName, byte[] rawSchema, List<SchemaNode> references) {
+            this.referenceName = referenceName;
+            this.rawSchema = Objects.requireNonNull(rawSchema);
+            this.references = references == null ? List.of() : List.copyOf(references);
+        }
+
+        public String getReferenceName() {
+            return referenceName;
+        }
+
+        public byte[] getRawSchema() {
+            return rawSchema;
+        }
+
+        public List<SchemaNode> getReferences() {
+            return references;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeNullable(out, referenceName);
+            out.writeInt(rawSchema.length);
+            out.write(rawSchema);
+            out.writeInt(references.size());
+            for (SchemaNode reference : references) {
+                reference.write(out);
+            }
+        }
+
+        private static SchemaNode read(DataInputStream in) throws IOException {
+            String referenceName = readNullable(in);
+            byte[] rawSchema = new byte[in.readInt()];
+            in.readFully(rawSchema);
+            int count = in.readInt();
+            List<SchemaNode> references = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                references.add(read(in));
+            }
+            return new SchemaNode(referenceName, rawSchema, references);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -17,7 +17,9 @@
 package io.apicurio.registry.resolver;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import io.apicurio.registry.resolver.data.Record;
 import io.apicurio.registry.resolver.strategy.ArtifactReferenceImpl;
@@ -59,9 +61,42 @@ public interface SchemaResolver<SCHEMA, DATA> extends Closeable {
      */
     public SchemaLookupResult<SCHEMA> resolveSchemaByArtifactReference(ArtifactReference reference);
 
+    /**
+     * Returns the reference of the artifact the schema of the given record is looked up with, when it only depends
+     * on the metadata of the record.
+     * @param data record, its payload may be null
+     * @return the artifact reference, or null if it can't be known without the payload of the record
+     */
+    default ArtifactReference resolveArtifactReference(Record<DATA> data) {
+        return null;
+    }
+
+    /**
+     * Resolves the schemas of the given artifacts, and the schemas they reference, so that they are cached before
+     * the first record needs them.  Artifacts without version are resolved to their latest version.
+     * @param references
+     * @return a future completed once all the schemas are cached, or exceptionally if any of them could not be resolved
+     */
+    default CompletableFuture<Void> prefetch(Collection<ArtifactReference> references) {
+        try {
+            references.forEach(this::resolveSchemaByArtifactReference);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Hard reset cache
      */
     public void reset();
 
+    /**
+     * Statistics of the schema cache, for resolvers that have one.
+     * @return CacheStats
+     */
+    default CacheStats getCacheStats() {
+        return CacheStats.empty();
+    }
+
 }
@@ -150,6 +150,32 @@ public class SchemaResolverConfig {
     public static final String CHECK_PERIOD_MS = "apicurio.registry.check-period-ms";
     public static final long CHECK_PERIOD_MS_DEFAULT = 30000;
 
+    /**
+     * If greater than zero, a cached artifact used less than this many milliseconds before it would be evicted
+     * (see {@link SchemaResolverConfig#CHECK_PERIOD_MS}) is fetched again by a background thread, while the cached
+     * artifact keeps being used.  This way serdes do not block on fetching artifacts they use regularly.
+     * Valid values are non-negative integers.
+     */
+    public static final String REFRESH_AHEAD_MS = "apicurio.registry.refresh-ahead-ms";
+    public static final long REFRESH_AHEAD_MS_DEFAULT = 0;
+
+    /**
+     * If greater than zero, the maximum number of artifacts kept in the cache.  When it is exceeded, the least recently
+     * used artifacts are evicted.  Useful for applications that handle many distinct schemas.
+     * Valid values are non-negative integers, zero means no limit.
+     */
+    public static final String CACHE_MAX_ENTRIES = "apicurio.registry.cache-max-entries";
+    public static final long CACHE_MAX_ENTRIES_DEFAULT = 0;
+
+    /**
+     * Optional, path of a local file where the schemas resolved by globalId, contentId or contentHash are kept.
+     * They are loaded in the cache when the serde is configured, and are no longer fetched from the Registry,
+     * so a restarted application does not need the Registry to process records using schemas it already used.
+     * Resolvers of the same application may use the same file, but not several applications.  The file is only
+     * valid for the registry url it was written with, it is started over when used with another one.
+     */
+    public static final String CACHE_FILE = "apicurio.registry.cache-file";
+
     /**
      * If a schema can not be retrieved from the Registry, serdes may retry a number of times.
      * This configuration option controls the number of retries before failing.
@@ -39,6 +39,8 @@ public class DefaultSchemaResolverConfig {
             entry(FAULT_TOLERANT_REFRESH, FAULT_TOLERANT_REFRESH_DEFAULT),
             entry(FIND_LATEST_ARTIFACT, FIND_LATEST_ARTIFACT_DEFAULT),
             entry(CHECK_PERIOD_MS, CHECK_PERIOD_MS_DEFAULT),
+            entry(REFRESH_AHEAD_MS, REFRESH_AHEAD_MS_DEFAULT),
+            entry(CACHE_MAX_ENTRIES, CACHE_MAX_ENTRIES_DEFAULT),
             entry(RETRY_COUNT, RETRY_COUNT_DEFAULT),
             entry(RETRY_BACKOFF_MS, RETRY_BACKOFF_MS_DEFAULT),
             entry(DEREFERENCE_SCHEMA, DEREFERENCE_SCHEMA_DEFAULT)
@@ -116,6 +118,18 @@ public class DefaultSchemaResolverConfig {
         return getDurationNonNegativeMillis(CHECK_PERIOD_MS);
     }
 
+    public Duration getRefreshAhead() {
+        return getDurationNonNegativeMillis(REFRESH_AHEAD_MS);
+    }
+
+    public String getCacheFile() {
+        return getString(CACHE_FILE);
+    }
+
+    public long getCacheMaxEntries() {
+        return getLongNonNegative(CACHE_MAX_ENTRIES);
+    }
+
     public long getRetryCount() {
         return getLongNonNegative(RETRY_COUNT);
     }
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 
 import io.apicurio.registry.resolver.data.Record;
 import io.apicurio.registry.resolver.strategy.ArtifactReference;
+import io.apicurio.registry.resolver.strategy.ArtifactReferenceResolverStrategy;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,6 +76,30 @@ public class AbstractSchemaResolverTest {
         }
     }
 
+    @Test
+    void testResolveArtifactReferenceWithPayloadStrategyFailsClearly() throws Exception {
+        Map<String, String> configs = Collections.singletonMap(SchemaResolverConfig.REGISTRY_URL, "http://localhost");
+
+        try (TestAbstractSchemaResolver<Object, Object> resolver = new TestAbstractSchemaResolver<>()) {
+            resolver.configure(configs, null);
+            resolver.setArtifactResolverStrategy(new ArtifactReferenceResolverStrategy<Object, Object>() {
+                @Override
+                public ArtifactReference artifactReference(Record<Object> data, ParsedSchema<Object> parsedSchema) {
+                    return ArtifactReference.builder().artifactId(data.payload().toString()).build();
+                }
+
+                @Override
+                public boolean loadSchema() {
+                    return false;
+                }
+            });
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> resolver.resolveArtifactReference(new MockRecord<>(null, null)));
+            assertInstanceOf(NullPointerException.class, e.getCause());
+        }
+    }
+
     class TestAbstractSchemaResolver<SCHEMA, DATA> extends AbstractSchemaResolver<SCHEMA, DATA> {
 
         @Override
@@ -17,16 +17,24 @@
 package io.apicurio.registry.resolver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.RequestAdapter;
 import org.junit.jupiter.api.Test;
 
 import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.models.IdentifiedContent;
 
 public class DefaultSchemaResolverTest {
     @Test
@@ -71,4 +79,103 @@ public class DefaultSchemaResolverTest {
         assertEquals(1, adapter.timesGetContentByHashCalled);
     }
 
+    @Test
+    void testPrefetchCachesArtifacts() throws Exception {
+        DefaultSchemaResolver<String, String> resolver = new DefaultSchemaResolver<>();
+        MockRequestAdapter adapter = new MockRequestAdapter("prefetched schema content");
+        RegistryClient client = new RegistryClient(adapter);
+        resolver.setClient(client);
+        Map<String, String> configs = new HashMap<>();
+        SchemaParser<String, String> schemaParser = new MockSchemaParser();
+        resolver.configure(configs, schemaParser);
+
+        List<ArtifactReference> references = List.of(
+                ArtifactReference.builder().contentHash("prefetched hash 1").build(),
+                ArtifactReference.builder().contentHash("prefetched hash 2").build());
+        resolver.prefetch(references).get(10, TimeUnit.SECONDS);
+
+        for (ArtifactReference reference : references) {
+            assertEquals(reference.getContentHash(), resolver.resolveSchemaByArtifactReference(reference).getContentHash());
+        }
+        // The registry lacks the endpoint for many schemas at once, they are resolved one by one
+        assertEquals(1, adapter.timesGetContentsCalled);
+        assertEquals(2, adapter.timesGetContentByHashCalled);
+    }
+
+    @Test
+    void testPrefetchCachesArtifactsReturnedAtOnce() throws Exception {
+        DefaultSchemaResolver<String, String> resolver = new DefaultSchemaResolver<>();
+        List<IdentifiedContent> contents = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            IdentifiedContent content = new IdentifiedContent();
+            content.setContentId((long) i);
+            content.setContentHash("prefetched hash " + i);
+            content.setContent("prefetched schema content " + i);
+            contents.add(content);
+        }
+        MockRequestAdapter adapter = new MockRequestAdapter("schema content resolved one by one", contents);
+        RegistryClient client = new RegistryClient(adapter);
+        resolver.setClient(client);
+        Map<String, String> configs = new HashMap<>();
+        SchemaParser<String, String> schemaParser = new MockSchemaParser();
+        resolver.configure(configs, schemaParser);
+
+        List<ArtifactReference> references = List.of(
+                ArtifactReference.builder().contentHash("prefetched hash 1").build(),
+                ArtifactReference.builder().contentHash("prefetched hash 2").build());
+        resolver.prefetch(references).get(10, TimeUnit.SECONDS);
+
+        for (int i = 1; i <= 2; i++) {
+            SchemaLookupResult<String> result = resolver.resolveSchemaByArtifactReference(references.get(i - 1));
+            assertEquals("prefetched hash " + i, result.getContentHash());
+            assertEquals("prefetched schema content " + i,
+                    new String(result.getParsedSchema().getRawSchema(), StandardCharsets.UTF_8));
+        }
+        // Returned by a single request, none is requested on its own
+        assertEquals(1, adapter.timesGetContentsCalled);
+        assertEquals(0, adapter.timesGetContentByHashCalled);
+    }
+
+    @Test
+    void testPrefetchCachesMoreArtifactsThanThreads() throws Exception {
+        DefaultSchemaResolver<String, String> resolver = new DefaultSchemaResolver<>();
+        MockRequestAdapter adapter = new MockRequestAdapter("prefetched schema content");
+        RegistryClient client = new RegistryClient(adapter);
+        resolver.setClient(client);
+        Map<String, String> configs = new HashMap<>();
+        SchemaParser<String, String> schemaParser = new MockSchemaParser();
+        resolver.configure(configs, schemaParser);
+
+        List<ArtifactReference> references = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            references.add(ArtifactReference.builder().contentHash("prefetched hash " + i).build());
+        }
+        resolver.prefetch(references).get(10, TimeUnit.SECONDS);
+
+        for (ArtifactReference reference : references) {
+            assertTrue(resolver.schemaCache.containsByContentHash(reference.getContentHash()));
+        }
+    }
+
+    @Test
+    void testPrefetchFailsWhenTheRegistryFails() {
+        DefaultSchemaResolver<String, String> resolver = new DefaultSchemaResolver<>();
+        MockRequestAdapter adapter = new MockRequestAdapter("prefetched schema content", 500);
+        RegistryClient client = new RegistryClient(adapter);
+        resolver.setClient(client);
+        Map<String, String> configs = new HashMap<>();
+        SchemaParser<String, String> schemaParser = new MockSchemaParser();
+        resolver.configure(configs, schemaParser);
+
+        List<ArtifactReference> references = List.of(
+                ArtifactReference.builder().contentHash("prefetched hash 1").build());
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> resolver.prefetch(references).get(10, TimeUnit.SECONDS));
+
+        assertEquals(500, ((ApiException) e.getCause().getCause()).getResponseStatusCode());
+        assertEquals(1, adapter.timesGetContentsCalled);
+        // Not retried one by one, the registry doesn't lack the endpoint
+        assertEquals(0, adapter.timesGetContentByHashCalled);
+    }
+
 }
@@ -22,6 +22,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -185,6 +192,218 @@ public class ERCacheTest {
         assertEquals(2, loadCount.get());
     }
 
+    @Test
+    void testRefreshAheadReturnsCurrentValueWhileReloading() throws Exception {
+        String contentHashKey = "refresh ahead key";
+        ERCache<String> cache = newCache(contentHashKey);
+        cache.configureLifetime(Duration.ofMinutes(10));
+        cache.configureRefreshAhead(Duration.ofMinutes(15));
+        List<Runnable> refreshes = new ArrayList<>();
+        cache.configureRefreshExecutor(refreshes::add);
+
+        cache.getByContentHash(contentHashKey, (key) -> {return "first value";});
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        Function<String, String> countingLoader = (key) -> {
+            loadCount.incrementAndGet();
+            return "second value";
+        };
+
+        // Due for refresh: the current value is returned, and a single reload is scheduled
+        assertEquals("first value", cache.getByContentHash(contentHashKey, countingLoader));
+        assertEquals("first value", cache.getByContentHash(contentHashKey, countingLoader));
+        assertEquals(1, refreshes.size());
+        assertEquals(0, loadCount.get());
+
+        refreshes.get(0).run();
+        assertEquals(1, loadCount.get());
+        assertEquals("second value", cache.getByContentHash(contentHashKey, (key) -> {throw new IllegalStateException("this should've been cached");}));
+    }
+
+    @Test
+    void testExpiredEntryLoadedByCallerWhileRefreshIsQueued() throws Exception {
+        String contentHashKey = "queued refresh key";
+        ERCache<String> cache = newCache(contentHashKey);
+        cache.configureLifetime(Duration.ofMillis(200));
+        cache.configureRefreshAhead(Duration.ofMinutes(1));
+        // The executor is saturated, the refresh stays queued
+        List<Runnable> refreshes = new ArrayList<>();
+        cache.configureRefreshExecutor(refreshes::add);
+
+        cache.getByContentHash(contentHashKey, (key) -> {return "first value";});
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        Function<String, String> countingLoader = (key) -> {
+            loadCount.incrementAndGet();
+            return "second value";
+        };
+        assertEquals("first value", cache.getByContentHash(contentHashKey, countingLoader));
+        assertEquals(1, refreshes.size());
+
+        // Expired, the caller runs the queued refresh instead of waiting for it
+        Thread.sleep(300);
+        assertEquals("second value", cache.getByContentHash(contentHashKey, countingLoader));
+        assertEquals(1, loadCount.get());
+
+        refreshes.get(0).run();
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        String contentHashKey = "single flight key";
+        ERCache<String> cache = newCache(contentHashKey);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        Function<String, String> blockingLoader = (key) -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "value";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.getByContentHash(contentHashKey, blockingLoader)));
+            loading.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.getByContentHash(contentHashKey, blockingLoader)));
+            }
+            // Give the other callers time to wait for the load in progress
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedFromAllIndexes() {
+        ERCache<String> cache = new ERCache<>();
+        cache.configureLifetime(Duration.ofDays(30));
+        cache.configureMaxEntries(10);
+        cache.configureGlobalIdKeyExtractor((o) -> {return Long.valueOf(o);});
+        cache.configureContentIdKeyExtractor((o) -> {return Long.valueOf(o) + 1000;});
+        cache.configureContentHashKeyExtractor((o) -> {return "hash-" + o;});
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {return ArtifactCoordinates.builder().artifactId("artifact-" + o).build();});
+        cache.configureContentKeyExtractor((o) -> {return "content-" + o;});
+        cache.checkInitialized();
+
+        for (long i = 0; i < 10; i++) {
+            cache.getByGlobalId(i, String::valueOf);
+        }
+        // Use the first value, so that the second one is the least recently used
+        cache.getByGlobalId(0L, (key) -> {throw new IllegalStateException("this should've been cached");});
+        cache.getByGlobalId(10L, String::valueOf);
+
+        // Evicted down to 90% of the maximum
+        CacheStats stats = cache.getStats();
+        assertEquals(9, stats.getSize());
+        assertEquals(2, stats.getEvictionCount());
+        assertTrue(cache.containsByGlobalId(0L));
+        assertFalse(cache.containsByGlobalId(1L));
+        assertFalse(cache.containsByContentId(1001L));
+        assertFalse(cache.containsByContentHash("hash-1"));
+        assertFalse(cache.containsByArtifactCoordinates(ArtifactCoordinates.builder().artifactId("artifact-1").build()));
+        assertFalse(cache.containsByGlobalId(2L));
+        assertTrue(cache.containsByGlobalId(10L));
+    }
+
+    @Test
+    void testConcurrentLoadsAndEvictionsDoNotLeakKeys() throws Exception {
+        ERCache<String> cache = new ERCache<>();
+        cache.configureLifetime(Duration.ofDays(30));
+        cache.configureMaxEntries(10);
+        cache.configureGlobalIdKeyExtractor((o) -> {return Long.valueOf(o);});
+        cache.configureContentIdKeyExtractor((o) -> {return Long.valueOf(o) + 100_000;});
+        cache.configureContentHashKeyExtractor((o) -> {return "hash-" + o;});
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {return ArtifactCoordinates.builder().artifactId("artifact-" + o).build();});
+        cache.configureContentKeyExtractor((o) -> {return "content-" + o;});
+        cache.checkInitialized();
+
+        int threads = 8;
+        int loadsPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * loadsPerThread;
+                results.add(executor.submit(() -> {
+                    for (long i = first; i < first + loadsPerThread; i++) {
+                        cache.getByGlobalId(i, String::valueOf);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every key still indexed belongs to a value that can be evicted
+        long size = cache.getStats().getSize();
+        long globalIds = 0;
+        long contentIds = 0;
+        for (long i = 0; i < (long) threads * loadsPerThread; i++) {
+            globalIds += cache.containsByGlobalId(i) ? 1 : 0;
+            contentIds += cache.containsByContentId(i + 100_000) ? 1 : 0;
+        }
+        assertEquals(size, globalIds);
+        assertEquals(size, contentIds);
+        assertTrue(size <= 10 + threads);
+    }
+
+    @Test
+    void testReloadingExplicitVersionDoesNotLeakEntries() {
+        ERCache<String> cache = newCache("some key");
+        // Every lookup reloads the entry
+        cache.configureLifetime(Duration.ofSeconds(-1));
+        cache.configureCacheLatest(true);
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {
+            return ArtifactCoordinates.builder().groupId("someGroupId").artifactId("someArtifactId").version("1").build();
+        });
+
+        ArtifactCoordinates versionKey = ArtifactCoordinates.builder()
+            .groupId("someGroupId")
+            .artifactId("someArtifactId")
+            .version("1")
+            .build();
+        for (int i = 0; i < 5; i++) {
+            cache.getByArtifactCoordinates(versionKey, (key) -> {return "some value";});
+        }
+
+        assertEquals(5, cache.getStats().getLoadSuccessCount());
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void testStats() {
+        String contentHashKey = "stats key";
+        ERCache<String> cache = newCache(contentHashKey);
+
+        cache.getByContentHash(contentHashKey, (key) -> {return "value";});
+        cache.getByContentHash(contentHashKey, (key) -> {return "value";});
+        assertThrows(RuntimeException.class, () -> {cache.getByContentHash("other key", (key) -> {throw new IllegalStateException("load failure");});});
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getLoadSuccessCount());
+        assertEquals(1, stats.getLoadFailureCount());
+        assertTrue(stats.getTotalLoadTimeNanos() > 0);
+        assertEquals(1, stats.getSize());
+    }
+
     private ERCache<String> newCache(String contentHashKey) {
         ERCache<String> cache = new ERCache<>();
         cache.configureLifetime(Duration.ofDays(30));
@@ -1,11 +1,14 @@
 package io.apicurio.registry.resolver;
 
+import com.microsoft.kiota.ApiExceptionBuilder;
 import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import com.microsoft.kiota.serialization.SerializationWriterFactoryRegistry;
 import com.microsoft.kiota.store.BackingStoreFactory;
+import io.apicurio.registry.rest.client.models.IdentifiedContent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -20,10 +23,29 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class MockRequestAdapter implements RequestAdapter {
 
     private String schemaContent;
-    public int timesGetContentByHashCalled;
+    private int getContentsStatusCode;
+    private List<IdentifiedContent> contents;
+    public volatile int timesGetContentByHashCalled;
+    public volatile int timesGetContentsCalled;
 
     public MockRequestAdapter(String schemaContent) {
+        this(schemaContent, 404);
+    }
+
+    /**
+     * @param getContentsStatusCode the error status of the requests for many schemas at once
+     */
+    public MockRequestAdapter(String schemaContent, int getContentsStatusCode) {
+        this.schemaContent = schemaContent;
+        this.getContentsStatusCode = getContentsStatusCode;
+    }
+
+    /**
+     * @param contents the schemas returned by the requests for many schemas at once
+     */
+    public MockRequestAdapter(String schemaContent, List<IdentifiedContent> contents) {
         this.schemaContent = schemaContent;
+        this.contents = contents;
     }
 
     @Override
@@ -33,7 +55,7 @@ public class MockRequestAdapter implements RequestAdapter {
     @NotNull
     @Override
     public SerializationWriterFactory getSerializationWriterFactory() {
-        return null;
+        return SerializationWriterFactoryRegistry.defaultInstance;
     }
 
     @Nullable
@@ -44,14 +66,24 @@ public class MockRequestAdapter implements RequestAdapter {
 
     @Nullable
     @Override
-    public <ModelType extends Parsable> CompletableFuture<List<ModelType>> sendCollectionAsync(@NotNull RequestInformation requestInfo, @NotNull ParsableFactory<ModelType> factory, @Nullable HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+    public synchronized <ModelType extends Parsable> CompletableFuture<List<ModelType>> sendCollectionAsync(@NotNull RequestInformation requestInfo, @NotNull ParsableFactory<ModelType> factory, @Nullable HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        if (requestInfo.urlTemplate.startsWith("{+baseurl}/ids/contents")) {
+            this.timesGetContentsCalled++;
+            if (this.contents != null) {
+                return CompletableFuture.completedFuture((List<ModelType>) this.contents);
+            }
+            return CompletableFuture.failedFuture(new ApiExceptionBuilder()
+                    .withMessage("Status " + this.getContentsStatusCode)
+                    .withResponseStatusCode(this.getContentsStatusCode)
+                    .build());
+        }
         assertEquals("{+baseurl}/ids/contentHashes/{contentHash}/references", requestInfo.urlTemplate);
         return CompletableFuture.completedFuture(List.of());
     }
 
     @Nullable
     @Override
-    public <ModelType> CompletableFuture<ModelType> sendPrimitiveAsync(@NotNull RequestInformation requestInfo, @NotNull Class<ModelType> targetClass, @Nullable HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+    public synchronized <ModelType> CompletableFuture<ModelType> sendPrimitiveAsync(@NotNull RequestInformation requestInfo, @NotNull Class<ModelType> targetClass, @Nullable HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
         assertEquals("{+baseurl}/ids/contentHashes/{contentHash}", requestInfo.urlTemplate);
         this.timesGetContentByHashCalled++;
         return CompletableFuture.completedFuture((ModelType)new ByteArrayInputStream(this.schemaContent.getBytes(StandardCharsets.UTF_8)));
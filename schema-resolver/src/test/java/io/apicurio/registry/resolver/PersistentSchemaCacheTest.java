@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.apicurio.registry.resolver.PersistentSchemaCache.Entry;
+import io.apicurio.registry.resolver.PersistentSchemaCache.Kind;
+import io.apicurio.registry.resolver.PersistentSchemaCache.SchemaNode;
+
+public class PersistentSchemaCacheTest {
+
+    private static final String REGISTRY_URL = "http://localhost:8080/apis/registry/v2";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEntriesSurviveReopen() throws IOException {
+        Path file = dir.resolve("cache/schemas.bin");
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            cache.put(entry(Kind.GLOBAL_ID, "42"));
+            cache.put(entry(Kind.CONTENT_HASH, "abc"));
+        }
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertEquals(2, cache.entries().size());
+            Entry entry = cache.get("AVRO", Kind.GLOBAL_ID, "42");
+            assertNotNull(entry);
+            assertEquals(42, entry.getGlobalId());
+            assertEquals("my-artifact", entry.getArtifactId());
+            assertNull(entry.getVersion());
+            assertArrayEquals(bytes("schema"), entry.getSchema().getRawSchema());
+            SchemaNode reference = entry.getSchema().getReferences().get(0);
+            assertEquals("ref.avsc", reference.getReferenceName());
+            assertArrayEquals(bytes("referenced schema"), reference.getRawSchema());
+
+            assertNull(cache.get("PROTOBUF", Kind.GLOBAL_ID, "42"));
+            assertNull(cache.get("AVRO", Kind.CONTENT_ID, "42"));
+        }
+    }
+
+    @Test
+    void testCorruptedTailIsDropped() throws IOException {
+        Path file = dir.resolve("schemas.bin");
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            cache.put(entry(Kind.GLOBAL_ID, "1"));
+        }
+        long validSize = Files.size(file);
+        // A record that was only partially written
+        Files.write(file, new byte[] { 0, 0, 1, 0, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertEquals(1, cache.entries().size());
+            assertEquals(validSize, Files.size(file));
+            cache.put(entry(Kind.GLOBAL_ID, "2"));
+        }
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertEquals(2, cache.entries().size());
+        }
+    }
+
+    @Test
+    void testOldestEntriesDroppedOnReopen() throws IOException {
+        Path file = dir.resolve("schemas.bin");
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL, 2)) {
+            cache.put(entry(Kind.GLOBAL_ID, "1"));
+            cache.put(entry(Kind.GLOBAL_ID, "2"));
+            cache.put(entry(Kind.GLOBAL_ID, "3"));
+            assertEquals(List.of("3", "2", "1"), keys(cache));
+        }
+        long fullSize = Files.size(file);
+
+        // Compacted, the file only holds the newest entries
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL, 2)) {
+            assertEquals(List.of("3", "2"), keys(cache));
+            assertTrue(Files.size(file) < fullSize);
+            cache.put(entry(Kind.GLOBAL_ID, "4"));
+        }
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertEquals(List.of("4", "3", "2"), keys(cache));
+        }
+    }
+
+    @Test
+    void testSharedBySameFile() throws IOException {
+        Path file = dir.resolve("schemas.bin");
+        try (PersistentSchemaCache first = PersistentSchemaCache.open(file, REGISTRY_URL);
+             PersistentSchemaCache second = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertSame(first, second);
+            first.put(entry(Kind.CONTENT_ID, "7"));
+            assertNotNull(second.get("AVRO", Kind.CONTENT_ID, "7"));
+        }
+    }
+
+    @Test
+    void testFileOfAnotherRegistryIsIgnored() throws IOException {
+        Path file = dir.resolve("schemas.bin");
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            cache.put(entry(Kind.GLOBAL_ID, "1"));
+        }
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, "http://other:8080/apis/registry/v2")) {
+            // The same ids refer to other schemas in another registry
+            assertNull(cache.get("AVRO", Kind.GLOBAL_ID, "1"));
+            cache.put(entry(Kind.GLOBAL_ID, "2"));
+        }
+
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertEquals(0, cache.entries().size());
+        }
+    }
+
+    @Test
+    void testSameFileCanNotBeSharedByTwoRegistries() throws IOException {
+        Path file = dir.resolve("schemas.bin");
+        try (PersistentSchemaCache cache = PersistentSchemaCache.open(file, REGISTRY_URL)) {
+            assertThrows(IOException.class, () -> PersistentSchemaCache.open(file, "http://other:8080/apis/registry/v2"));
+        }
+    }
+
+    private static Entry entry(Kind kind, String key) {
+        SchemaNode reference = new SchemaNode("ref.avsc", bytes("referenced schema"), null);
+        SchemaNode schema = new SchemaNode(null, bytes("schema"), List.of(reference));
+        return new Entry("AVRO", kind, key, 42, 7, "abc", "my-group", "my-artifact", null, schema);
+    }
+
+    private static List<String> keys(PersistentSchemaCache cache) {
+        return cache.entries().stream().map(Entry::getKey).collect(Collectors.toList());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
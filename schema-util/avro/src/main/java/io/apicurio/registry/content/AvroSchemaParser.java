@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import org.apache.avro.Schema;
+
+import java.util.Map;
+
+/**
+ * Parses Avro schemas through a {@link ParsedContentCache}, the same way for the compatibility checker, the content
+ * validator and the content canonicalizer.
+ */
+public final class AvroSchemaParser {
+
+    private static final String KIND = "avro-schema";
+
+    private AvroSchemaParser() {
+    }
+
+    /**
+     * Parses the schema after the schemas it references, with a parser of its own.
+     *
+     * @param resolvedReferences may be null
+     * @throws org.apache.avro.AvroRuntimeException if a schema is invalid
+     */
+    public static Schema parse(ParsedContentCache cache, String content, Map<String, ContentHandle> resolvedReferences) {
+        return cache.get(KIND, content, resolvedReferences, () -> {
+            Schema.Parser parser = new Schema.Parser();
+            if (resolvedReferences != null) {
+                for (ContentHandle schema : resolvedReferences.values()) {
+                    parser.parse(schema.content());
+                }
+            }
+            return parser.parse(content);
+        });
+    }
+}
@@ -24,7 +24,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.apicurio.registry.content.AvroSchemaParser;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 
 /**
  * An Avro implementation of a content Canonicalizer that handles avro references.
@@ -34,6 +36,16 @@ public class EnhancedAvroContentCanonicalizer implements ContentCanonicalizer {
 
     public static final String EMPTY_DOC = "";
 
+    private final ParsedContentCache parsedContentCache;
+
+    public EnhancedAvroContentCanonicalizer() {
+        this(ParsedContentCache.disabled());
+    }
+
+    public EnhancedAvroContentCanonicalizer(ParsedContentCache parsedContentCache) {
+        this.parsedContentCache = parsedContentCache;
+    }
+
     public static Schema normalizeSchema(String schemaString) {
         Schema.Parser parser = new Schema.Parser();
         Schema schema = parser.parse(schemaString);
@@ -135,7 +147,9 @@ public class EnhancedAvroContentCanonicalizer implements ContentCanonicalizer {
      */
     @Override
     public ContentHandle canonicalize(ContentHandle content, Map<String, ContentHandle> resolvedReferences) {
-        String normalisedSchema = normalizeSchema(content.content()).toString();
+        // Parsed without the references, as by normalizeSchema(String)
+        Schema schema = AvroSchemaParser.parse(parsedContentCache, content.content(), null);
+        String normalisedSchema = normalizeSchema(schema).toString();
         return ContentHandle.create(normalisedSchema);
     }
 }
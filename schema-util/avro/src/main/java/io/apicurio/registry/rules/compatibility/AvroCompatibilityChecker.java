@@ -17,7 +17,9 @@
 package io.apicurio.registry.rules.compatibility;
 
 import com.google.common.collect.ImmutableSet;
+import io.apicurio.registry.content.AvroSchemaParser;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rules.UnprocessableSchemaException;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
@@ -35,20 +37,22 @@ import java.util.Set;
  */
 public class AvroCompatibilityChecker extends AbstractCompatibilityChecker<Incompatibility> {
 
+    private final ParsedContentCache parsedContentCache;
+
+    public AvroCompatibilityChecker() {
+        this(ParsedContentCache.disabled(), CompatibilityVerdictCache.disabled());
+    }
+
+    public AvroCompatibilityChecker(ParsedContentCache parsedContentCache, CompatibilityVerdictCache verdictCache) {
+        super(verdictCache);
+        this.parsedContentCache = parsedContentCache;
+    }
+
     @Override
     protected Set<Incompatibility> isBackwardsCompatibleWith(String existing, String proposed, Map<String, ContentHandle> resolvedReferences) {
         try {
-            Schema.Parser existingParser = new Schema.Parser();
-            for (ContentHandle schema : resolvedReferences.values()) {
-                existingParser.parse(schema.content());
-            }
-            final Schema existingSchema = existingParser.parse(existing);
-
-            Schema.Parser proposingParser = new Schema.Parser();
-            for (ContentHandle schema : resolvedReferences.values()) {
-                proposingParser.parse(schema.content());
-            }
-            final Schema proposedSchema = proposingParser.parse(proposed);
+            final Schema existingSchema = AvroSchemaParser.parse(parsedContentCache, existing, resolvedReferences);
+            final Schema proposedSchema = AvroSchemaParser.parse(parsedContentCache, proposed, resolvedReferences);
 
             var result = SchemaCompatibility.checkReaderWriterCompatibility(proposedSchema, existingSchema).getResult();
             switch (result.getCompatibility()) {
@@ -16,12 +16,24 @@
 
 package io.apicurio.registry.rules.compatibility.avro;
 
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
+import io.apicurio.registry.content.StoredContentHandle;
 import io.apicurio.registry.rules.compatibility.AvroCompatibilityChecker;
+import io.apicurio.registry.rules.compatibility.CompatibilityCheckExecutor;
+import io.apicurio.registry.rules.compatibility.CompatibilityLevel;
 import io.apicurio.registry.rules.compatibility.CompatibilityTestExecutor;
+import io.apicurio.registry.rules.compatibility.CompatibilityVerdictCache;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.List;
+
 import static io.apicurio.registry.rules.compatibility.CompatibilityTestExecutor.readResource;
 import static io.apicurio.registry.rules.compatibility.CompatibilityTestExecutor.throwOnFailure;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Jakub Senko <em>m@jsenko.net</em>
@@ -33,4 +45,58 @@ class AvroSchemaSmokeTest {
         var executor = new CompatibilityTestExecutor(new AvroCompatibilityChecker());
         throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
     }
+
+    @Test
+    void testCompatibilityWithCachedVerdicts() throws Exception {
+        var checker = new AvroCompatibilityChecker(new ParsedContentCache(), new CompatibilityVerdictCache());
+        var executor = new CompatibilityTestExecutor(checker);
+        // The second run gets the verdicts of the first one from the cache
+        throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
+        throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
+    }
+
+    @Test
+    void testTransitiveCompatibilityInParallel() {
+        var v1 = ContentHandle.create("{\"type\":\"record\",\"name\":\"R\",\"fields\":[{\"name\":\"a\",\"type\":\"int\"}]}");
+        var v2 = ContentHandle.create("{\"type\":\"record\",\"name\":\"R\",\"fields\":[{\"name\":\"a\",\"type\":\"int\"},{\"name\":\"c\",\"type\":\"string\"}]}");
+        var existing = List.of(v1, v2, v1, v2);
+        var checker = new AvroCompatibilityChecker(new ParsedContentCache(), new CompatibilityVerdictCache());
+        var executor = CompatibilityCheckExecutor.parallel(4);
+        try {
+            var sequential = checker.testCompatibility(CompatibilityLevel.BACKWARD_TRANSITIVE, existing, v2, Collections.emptyMap());
+            var parallel = checker.testCompatibility(CompatibilityLevel.BACKWARD_TRANSITIVE, existing, v2, Collections.emptyMap(), executor);
+            // v2 can't read the data written with v1, which has no "c" field
+            assertFalse(sequential.isCompatible());
+            assertEquals(sequential.getIncompatibleDifferences().size(), parallel.getIncompatibleDifferences().size());
+            assertFalse(checker.isCompatible(CompatibilityLevel.BACKWARD_TRANSITIVE, existing, v2, Collections.emptyMap(), executor));
+            assertFalse(checker.isCompatible(CompatibilityLevel.FULL_TRANSITIVE, existing, v2, Collections.emptyMap(), executor));
+            assertTrue(checker.isCompatible(CompatibilityLevel.BACKWARD, existing, v2, Collections.emptyMap(), executor));
+            assertTrue(checker.isCompatible(CompatibilityLevel.FORWARD_TRANSITIVE, existing, v2, Collections.emptyMap(), executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testVerdictsOfStoredContentAreKeyedByContentHash() {
+        var v1 = ContentHandle.create("{\"type\":\"record\",\"name\":\"R\",\"fields\":[{\"name\":\"a\",\"type\":\"int\"}]}");
+        var v2 = ContentHandle.create("{\"type\":\"record\",\"name\":\"R\",\"fields\":[{\"name\":\"a\",\"type\":\"int\"},{\"name\":\"c\",\"type\":\"string\"}]}");
+        var verdictCache = new CompatibilityVerdictCache();
+        var checker = new AvroCompatibilityChecker(new ParsedContentCache(), verdictCache);
+
+        assertFalse(checker.isCompatible(CompatibilityLevel.BACKWARD, List.of(new StoredContentHandle(v1, "hash-1")), v2,
+                Collections.emptyMap(), CompatibilityCheckExecutor.sequential()));
+        assertEquals(1, verdictCache.size());
+        // The same stored content, loaded again, gets the cached verdict
+        assertFalse(checker.isCompatible(CompatibilityLevel.BACKWARD, List.of(new StoredContentHandle(ContentHandle.create(v1.content()), "hash-1")),
+                v2, Collections.emptyMap(), CompatibilityCheckExecutor.sequential()));
+        assertEquals(1, verdictCache.size());
+        // Content that isn't stored is keyed by its own hash
+        assertFalse(checker.isCompatible(CompatibilityLevel.BACKWARD, List.of(v1), v2, Collections.emptyMap(),
+                CompatibilityCheckExecutor.sequential()));
+        assertEquals(2, verdictCache.size());
+        assertTrue(checker.isCompatible(CompatibilityLevel.FORWARD, List.of(new StoredContentHandle(v1, "hash-1")), v2,
+                Collections.emptyMap(), CompatibilityCheckExecutor.sequential()));
+        assertEquals(3, verdictCache.size());
+    }
 }
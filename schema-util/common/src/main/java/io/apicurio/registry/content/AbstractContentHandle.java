@@ -29,6 +29,8 @@ abstract class AbstractContentHandle implements ContentHandle {
 
     protected byte[] bytes;
     protected String content;
+    // The content doesn't change, so it is hashed at most once
+    private volatile String sha256Hash;
 
     @Override
     public InputStream stream() {
@@ -55,6 +57,9 @@ abstract class AbstractContentHandle implements ContentHandle {
 
     @Override
     public String getSha256Hash() {
-        return DigestUtils.sha256Hex(bytes());
+        if (sha256Hash == null) {
+            sha256Hash = DigestUtils.sha256Hex(bytes());
+        }
+        return sha256Hash;
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import io.apicurio.registry.utils.BoundedCache;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Models parsed from artifact content (e.g. Avro schemas), shared by the compatibility checker, the content
+ * validator and the content canonicalizer of an artifact type, so that some content is parsed once when it is
+ * registered, and the existing versions aren't parsed again by every compatibility check.
+ * <p>
+ * Models are keyed by the SHA-256 hash of the content and of its resolved references, and by a kind which tells
+ * apart the models parsed from the same content in different ways.  A cached model is shared by threads, so it must
+ * not be modified.  Content that can't be parsed is not cached, the error is thrown again the next time.  The least
+ * recently used models are evicted when the cache is full.
+ */
+public class ParsedContentCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final ParsedContentCache DISABLED = new ParsedContentCache(0);
+
+    private final int maxEntries;
+    private final BoundedCache<Key, Object> models;
+
+    public ParsedContentCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries nothing is cached when it is 0
+     */
+    public ParsedContentCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.models = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * A cache that parses the content every time, for the checkers, validators and canonicalizers created on their
+     * own rather than by an artifact type provider.
+     */
+    public static ParsedContentCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns the model of the given kind parsed from the content and its references, parsing it if it isn't cached.
+     *
+     * @param kind               the kind of model, each kind must always be parsed to the same type
+     * @param content            the content to parse
+     * @param resolvedReferences the content of the references the model depends on, may be null
+     * @param parser             parses the content
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, String content, Map<String, ContentHandle> resolvedReferences, Supplier<T> parser) {
+        if (maxEntries <= 0) {
+            return parser.get();
+        }
+        Key key = new Key(kind, DigestUtils.sha256Hex(content), referencesHash(resolvedReferences));
+        return (T) models.get(key, k -> parser.get());
+    }
+
+    public long size() {
+        return models.size();
+    }
+
+    public void clear() {
+        models.clear();
+    }
+
+    /**
+     * Returns a hash of the names and content of the given references, which is empty when there are none.
+     */
+    public static String referencesHash(Map<String, ContentHandle> resolvedReferences) {
+        if (resolvedReferences == null || resolvedReferences.isEmpty()) {
+            return "";
+        }
+        // Sorted, the references are the same whatever the order they were resolved in
+        StringBuilder references = new StringBuilder();
+        new TreeMap<>(resolvedReferences).forEach((name, content) ->
+                references.append(name).append('=').append(content.getSha256Hash()).append('\n'));
+        return DigestUtils.sha256Hex(references.toString());
+    }
+
+    private static final class Key {
+
+        private final String kind;
+        private final String contentHash;
+        private final String referencesHash;
+
+        private Key(String kind, String contentHash, String referencesHash) {
+            this.kind = kind;
+            this.contentHash = contentHash;
+            this.referencesHash = referencesHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind.equals(other.kind) && contentHash.equals(other.contentHash)
+                    && referencesHash.equals(other.referencesHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, contentHash, referencesHash);
+        }
+    }
+}
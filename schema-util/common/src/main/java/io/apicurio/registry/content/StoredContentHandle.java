@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Content loaded from the registry storage, along with the hash the storage identifies it by, so that it can be
+ * looked up in a cache without being hashed again.  The content hash also covers the references of the content, so
+ * it is not necessarily the same as {@link #getSha256Hash()}.
+ */
+public final class StoredContentHandle implements ContentHandle {
+
+    private final ContentHandle content;
+    private final String contentHash;
+
+    public StoredContentHandle(ContentHandle content, String contentHash) {
+        this.content = Objects.requireNonNull(content);
+        this.contentHash = Objects.requireNonNull(contentHash);
+    }
+
+    /**
+     * @return the hash the storage identifies this content by
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public InputStream stream() {
+        return content.stream();
+    }
+
+    @Override
+    public byte[] bytes() {
+        return content.bytes();
+    }
+
+    @Override
+    public String content() {
+        return content.content();
+    }
+
+    @Override
+    public int getSizeBytes() {
+        return content.getSizeBytes();
+    }
+
+    @Override
+    public String getSha256Hash() {
+        return content.getSha256Hash();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return content.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return content.hashCode();
+    }
+}
@@ -16,14 +16,15 @@
 
 package io.apicurio.registry.rules.compatibility;
 
-import com.google.common.collect.ImmutableSet;
 import io.apicurio.registry.content.ContentHandle;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -35,8 +36,23 @@ import static java.util.Objects.requireNonNull;
  */
 public abstract class AbstractCompatibilityChecker<D> implements CompatibilityChecker {
 
+    private final CompatibilityVerdictCache verdictCache;
+
+    protected AbstractCompatibilityChecker() {
+        this(CompatibilityVerdictCache.disabled());
+    }
+
+    protected AbstractCompatibilityChecker(CompatibilityVerdictCache verdictCache) {
+        this.verdictCache = verdictCache;
+    }
+
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences) {
+        return testCompatibility(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences, CompatibilityCheckExecutor.sequential());
+    }
+
+    @Override
+    public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences, CompatibilityCheckExecutor executor) {
         requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
         requireNonNull(existingArtifacts, "existingSchemas MUST NOT be null");
         requireNonNull(proposedArtifact, "proposedSchema MUST NOT be null");
@@ -45,61 +61,103 @@ public abstract class AbstractCompatibilityChecker<D> implements CompatibilityCh
             return CompatibilityExecutionResult.compatible();
         }
 
-        final String proposedArtifactContent = proposedArtifact.content();
-
         Set<D> incompatibleDiffs = new HashSet<>();
-        String lastExistingSchema = existingArtifacts.get(existingArtifacts.size() - 1).content();
+        for (Set<D> diffs : executor.invokeAll(pairwiseChecks(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences))) {
+            incompatibleDiffs.addAll(diffs);
+        }
+        Set<CompatibilityDifference> diffs =
+                incompatibleDiffs
+                        .stream()
+                        .map(this::transform)
+                        .collect(Collectors.toSet());
+        return CompatibilityExecutionResult.incompatibleOrEmpty(diffs);
+    }
+
+    @Override
+    public boolean isCompatible(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences, CompatibilityCheckExecutor executor) {
+        requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
+        requireNonNull(existingArtifacts, "existingSchemas MUST NOT be null");
+        requireNonNull(proposedArtifact, "proposedSchema MUST NOT be null");
 
+        if (existingArtifacts.isEmpty()) {
+            return true;
+        }
+
+        List<Supplier<Boolean>> checks = new ArrayList<>();
+        for (Supplier<Set<D>> check : pairwiseChecks(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences)) {
+            checks.add(() -> check.get().isEmpty());
+        }
+        return executor.allMatch(checks);
+    }
+
+    /**
+     * Returns the pairwise checks the given compatibility level is made of, each returning its set of differences.
+     * The existing schemas are loaded on the calling thread, and iterated over rather than accessed by index for the
+     * transitive levels, so that the list can load them all at once.
+     */
+    private List<Supplier<Set<D>>> pairwiseChecks(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts,
+                                                  ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences) {
+        List<Supplier<Set<D>>> checks = new ArrayList<>();
         switch (compatibilityLevel) {
-            case BACKWARD:
-                incompatibleDiffs = isBackwardsCompatibleWith(lastExistingSchema, proposedArtifactContent, resolvedReferences);
+            case BACKWARD: {
+                ContentHandle lastExisting = lastOf(existingArtifacts);
+                checks.add(() -> backward(lastExisting, proposedArtifact, resolvedReferences));
                 break;
+            }
             case BACKWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(existing, proposed, resolvedReferences));
+                for (ContentHandle existing : existingArtifacts) {
+                    checks.add(() -> backward(existing, proposedArtifact, resolvedReferences));
+                }
                 break;
-            case FORWARD:
-                incompatibleDiffs = isBackwardsCompatibleWith(proposedArtifactContent, lastExistingSchema, resolvedReferences);
+            case FORWARD: {
+                ContentHandle lastExisting = lastOf(existingArtifacts);
+                checks.add(() -> forward(lastExisting, proposedArtifact, resolvedReferences));
                 break;
+            }
             case FORWARD_TRANSITIVE:
-                incompatibleDiffs = transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(proposed, existing, resolvedReferences));
+                for (ContentHandle existing : existingArtifacts) {
+                    checks.add(() -> forward(existing, proposedArtifact, resolvedReferences));
+                }
                 break;
-            case FULL:
-                incompatibleDiffs = ImmutableSet.<D>builder()
-                        .addAll(isBackwardsCompatibleWith(lastExistingSchema, proposedArtifactContent, resolvedReferences))
-                        .addAll(isBackwardsCompatibleWith(proposedArtifactContent, lastExistingSchema, resolvedReferences))
-                        .build();
+            case FULL: {
+                ContentHandle lastExisting = lastOf(existingArtifacts);
+                checks.add(() -> backward(lastExisting, proposedArtifact, resolvedReferences));
+                checks.add(() -> forward(lastExisting, proposedArtifact, resolvedReferences));
                 break;
+            }
             case FULL_TRANSITIVE:
-                incompatibleDiffs = ImmutableSet.<D>builder()
-                        .addAll(transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(existing, proposed, resolvedReferences))) // Backward
-                        .addAll(transitively(existingArtifacts, proposedArtifactContent, (existing, proposed) -> isBackwardsCompatibleWith(proposed, existing, resolvedReferences))) // Backward
-                        .build();
+                for (ContentHandle existing : existingArtifacts) {
+                    checks.add(() -> backward(existing, proposedArtifact, resolvedReferences));
+                    checks.add(() -> forward(existing, proposedArtifact, resolvedReferences));
+                }
                 break;
             case NONE:
                 break;
         }
-        Set<CompatibilityDifference> diffs =
-                incompatibleDiffs
-                        .stream()
-                        .map(this::transform)
-                        .collect(Collectors.toSet());
-        return CompatibilityExecutionResult.incompatibleOrEmpty(diffs);
+        return checks;
     }
 
-    /**
-     * Given a proposed schema, walk the existing schemas in reverse order (i.e. newest to oldest),
-     * and for each pair (existing, proposed) call the check function.
-     *
-     * @return The collected set of differences.
-     */
-    private Set<D> transitively(List<ContentHandle> existingSchemas, String proposedSchema,
-                                BiFunction<String, String, Set<D>> checkExistingProposed) {
-        Set<D> result = new HashSet<>();
-        for (int i = existingSchemas.size() - 1; i >= 0; i--) { // TODO This may become too slow, more wide refactoring needed.
-            Set<D> current = checkExistingProposed.apply(existingSchemas.get(i).content(), proposedSchema);
-            result.addAll(current);
+    private static ContentHandle lastOf(List<ContentHandle> existingArtifacts) {
+        return existingArtifacts.get(existingArtifacts.size() - 1);
+    }
+
+    private Set<D> backward(ContentHandle existing, ContentHandle proposed, Map<String, ContentHandle> resolvedReferences) {
+        return check(CompatibilityLevel.BACKWARD, existing, proposed, resolvedReferences,
+                () -> isBackwardsCompatibleWith(existing.content(), proposed.content(), resolvedReferences));
+    }
+
+    private Set<D> forward(ContentHandle existing, ContentHandle proposed, Map<String, ContentHandle> resolvedReferences) {
+        return check(CompatibilityLevel.FORWARD, existing, proposed, resolvedReferences,
+                () -> isBackwardsCompatibleWith(proposed.content(), existing.content(), resolvedReferences));
+    }
+
+    private Set<D> check(CompatibilityLevel level, ContentHandle existing, ContentHandle proposed,
+                         Map<String, ContentHandle> resolvedReferences, Supplier<Set<D>> check) {
+        // Some content is always compatible with itself, e.g. when the latest version is registered again
+        if (existing.content().equals(proposed.content())) {
+            return Collections.emptySet();
         }
-        return result;
+        return verdictCache.get(level, existing, proposed, resolvedReferences, check);
     }
 
     protected abstract Set<D> isBackwardsCompatibleWith(String existing, String proposed, Map<String, ContentHandle> resolvedReferences);
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs the pairwise checks a compatibility check is made of, e.g. the check of the proposed content against
+ * each existing version for a transitive level.  The pairwise checks are independent, so they can run in
+ * parallel, on a pool of a bounded number of threads shared by all the compatibility checks.
+ * <p>
+ * The {@link #sequential()} executor runs the checks one after the other on the calling thread.
+ */
+public class CompatibilityCheckExecutor {
+
+    private static final CompatibilityCheckExecutor SEQUENTIAL = new CompatibilityCheckExecutor(null);
+
+    private final ExecutorService executor;
+
+    private CompatibilityCheckExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public static CompatibilityCheckExecutor sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * @param parallelism the maximum number of pairwise checks running at the same time
+     */
+    public static CompatibilityCheckExecutor parallel(int parallelism) {
+        if (parallelism <= 1) {
+            return SEQUENTIAL;
+        }
+        return new CompatibilityCheckExecutor(new ForkJoinPool(parallelism));
+    }
+
+    /**
+     * Runs all the checks and returns their results, in the order of the checks.
+     */
+    public <T> List<T> invokeAll(List<Supplier<T>> checks) {
+        List<T> results = new ArrayList<>(checks.size());
+        if (executor == null || checks.size() < 2) {
+            for (Supplier<T> check : checks) {
+                results.add(check.get());
+            }
+            return results;
+        }
+        List<Future<T>> futures = new ArrayList<>(checks.size());
+        try {
+            for (Supplier<T> check : checks) {
+                futures.add(executor.submit(check::get));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking compatibility", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Returns whether all the checks pass, without waiting for the remaining checks once one of them fails.
+     */
+    public boolean allMatch(List<Supplier<Boolean>> checks) {
+        if (executor == null || checks.size() < 2) {
+            for (Supplier<Boolean> check : checks) {
+                if (!check.get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(checks.size());
+        try {
+            for (Supplier<Boolean> check : checks) {
+                futures.add(completionService.submit(check::get));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (!completionService.take().get()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking compatibility", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Rethrows the exception thrown by a check as is, e.g. an {@link io.apicurio.registry.rules.UnprocessableSchemaException}.
+     */
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
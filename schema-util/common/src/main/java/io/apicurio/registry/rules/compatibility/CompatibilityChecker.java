@@ -50,4 +50,24 @@ public interface CompatibilityChecker {
         final List<ContentHandle> contentHandles = existingArtifacts.stream().map(ContentHandle::create).collect(Collectors.toList());
         return testCompatibility(compatibilityLevel, contentHandles, ContentHandle.create(proposedArtifact), resolvedReferences);
     }
+
+    /**
+     * Same as {@link #testCompatibility(CompatibilityLevel, List, ContentHandle, Map)}, running the pairwise checks
+     * with the given executor, e.g. in parallel.
+     *
+     * @param executor MUST NOT be null
+     */
+    default CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences, CompatibilityCheckExecutor executor) {
+        return testCompatibility(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences);
+    }
+
+    /**
+     * Checks whether the proposed artifact is compatible, for the callers that don't need the incompatible
+     * differences, which allows the check to stop at the first incompatibility.
+     *
+     * @param executor MUST NOT be null
+     */
+    default boolean isCompatible(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences, CompatibilityCheckExecutor executor) {
+        return testCompatibility(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences, executor).isCompatible();
+    }
 }
\ No newline at end of file
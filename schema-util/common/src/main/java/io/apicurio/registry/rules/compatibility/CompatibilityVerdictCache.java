@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
+import io.apicurio.registry.content.StoredContentHandle;
+import io.apicurio.registry.utils.BoundedCache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The verdicts of the compatibility checks of a proposed content against a single existing content, so that a
+ * transitive compatibility check only checks the proposed content against the versions it hasn't been checked
+ * against yet, e.g. when a registration is retried, or when the same content is checked before it is registered.
+ * <p>
+ * Verdicts are keyed by the level of the pairwise check, i.e. {@link CompatibilityLevel#BACKWARD} or
+ * {@link CompatibilityLevel#FORWARD}, by the hash of the proposed content and of the resolved references, and by the
+ * existing content.  The existing content is identified by its storage content hash when it was loaded from the
+ * storage (see {@link StoredContentHandle}), so it isn't hashed again on every lookup.  The transitive and full
+ * levels are made of the pairwise checks, so they share their verdicts.  A cached verdict is shared by threads, so it
+ * must not be modified.  The least recently used verdicts are evicted when the cache is full.
+ */
+public class CompatibilityVerdictCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final CompatibilityVerdictCache DISABLED = new CompatibilityVerdictCache(0);
+
+    private final int maxEntries;
+    private final BoundedCache<Key, Object> verdicts;
+
+    public CompatibilityVerdictCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries nothing is cached when it is 0
+     */
+    public CompatibilityVerdictCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.verdicts = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * A cache that checks the compatibility every time, for the checkers created on their own rather than by an
+     * artifact type provider.
+     */
+    public static CompatibilityVerdictCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns the verdict of the pairwise check of the proposed content against the existing content, checking it
+     * if it isn't cached.
+     *
+     * @param level              the level of the pairwise check
+     * @param existing           the existing content
+     * @param proposed           the proposed content
+     * @param resolvedReferences the content of the references the check depends on, may be null
+     * @param check              checks the compatibility
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(CompatibilityLevel level, ContentHandle existing, ContentHandle proposed,
+                     Map<String, ContentHandle> resolvedReferences, Supplier<T> check) {
+        if (maxEntries <= 0) {
+            return check.get();
+        }
+        boolean existingStored = existing instanceof StoredContentHandle;
+        String existingHash = existingStored ? ((StoredContentHandle) existing).getContentHash() : existing.getSha256Hash();
+        Key key = new Key(level, proposed.getSha256Hash(), ParsedContentCache.referencesHash(resolvedReferences),
+                existingHash, existingStored);
+        return (T) verdicts.get(key, k -> check.get());
+    }
+
+    public long size() {
+        return verdicts.size();
+    }
+
+    public void clear() {
+        verdicts.clear();
+    }
+
+    private static final class Key {
+
+        private final CompatibilityLevel level;
+        private final String proposedHash;
+        private final String referencesHash;
+        private final String existingHash;
+        // The storage content hash and the SHA-256 of the content are not the same thing
+        private final boolean existingStored;
+
+        private Key(CompatibilityLevel level, String proposedHash, String referencesHash, String existingHash,
+                    boolean existingStored) {
+            this.level = level;
+            this.proposedHash = proposedHash;
+            this.referencesHash = referencesHash;
+            this.existingHash = existingHash;
+            this.existingStored = existingStored;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return level == other.level && proposedHash.equals(other.proposedHash)
+                    && referencesHash.equals(other.referencesHash) && existingHash.equals(other.existingHash)
+                    && existingStored == other.existingStored;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, proposedHash, referencesHash, existingHash, existingStored);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.apicurio.registry.rules.compatibility;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rules.compatibility.jsonschema.JsonSchemaDiffLibrary;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.Difference;
 
@@ -30,9 +31,20 @@ import java.util.Set;
  */
 public class JsonSchemaCompatibilityChecker extends AbstractCompatibilityChecker<Difference> {
 
+    private final ParsedContentCache parsedContentCache;
+
+    public JsonSchemaCompatibilityChecker() {
+        this(ParsedContentCache.disabled(), CompatibilityVerdictCache.disabled());
+    }
+
+    public JsonSchemaCompatibilityChecker(ParsedContentCache parsedContentCache, CompatibilityVerdictCache verdictCache) {
+        super(verdictCache);
+        this.parsedContentCache = parsedContentCache;
+    }
+
     @Override
     protected Set<Difference> isBackwardsCompatibleWith(String existing, String proposed, Map<String, ContentHandle> resolvedReferences) {
-        return JsonSchemaDiffLibrary.getIncompatibleDifferences(existing, proposed, resolvedReferences);
+        return JsonSchemaDiffLibrary.getIncompatibleDifferences(existing, proposed, resolvedReferences, parsedContentCache);
     }
 
     @Override
@@ -19,6 +19,7 @@ package io.apicurio.registry.rules.compatibility.jsonschema;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.DiffContext;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.Difference;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.SchemaDiffVisitor;
@@ -42,6 +43,8 @@ public class JsonSchemaDiffLibrary {
 
     private static final String SCHEMA_KEYWORD = "$schema";
 
+    private static final String PARSED_CONTENT_KIND = "json-schema-diff";
+
     /**
      * Find and analyze differences between two JSON schemas.
      *
@@ -52,28 +55,33 @@ public class JsonSchemaDiffLibrary {
      * @throws IllegalArgumentException if the input is not a valid representation of a JsonSchema
      */
     public static DiffContext findDifferences(String original, String updated, Map<String, ContentHandle> resolvedReferences) {
-        try {
-            JsonNode originalNode = MAPPER.readTree(original);
-            JsonNode updatedNode = MAPPER.readTree(updated);
-
-            JSONObject originalJson = MAPPER.readValue(original, JSONObject.class);
-            JSONObject updatedJson = MAPPER.readValue(updated, JSONObject.class);
-
-            SchemaLoader.SchemaLoaderBuilder originalSchemaBuilder = SchemaLoader.builder();
-
-            loadReferences(originalNode, resolvedReferences, originalSchemaBuilder);
+        return findDifferences(original, updated, resolvedReferences, ParsedContentCache.disabled());
+    }
 
-            Schema originalSchema = originalSchemaBuilder
-                    .schemaJson(originalJson)
-                    .build().load().build();
+    /**
+     * Find and analyze differences between two JSON schemas, that are loaded through the given cache.
+     *
+     * @see #findDifferences(String, String, Map)
+     */
+    public static DiffContext findDifferences(String original, String updated, Map<String, ContentHandle> resolvedReferences,
+                                              ParsedContentCache parsedContentCache) {
+        Schema originalSchema = parsedContentCache.get(PARSED_CONTENT_KIND, original, resolvedReferences,
+                () -> loadSchema(original, resolvedReferences));
+        Schema updatedSchema = parsedContentCache.get(PARSED_CONTENT_KIND, updated, resolvedReferences,
+                () -> loadSchema(updated, resolvedReferences));
+        return findDifferences(originalSchema, updatedSchema);
+    }
 
-            SchemaLoader.SchemaLoaderBuilder updatedSchemaBuilder = SchemaLoader.builder();
+    private static Schema loadSchema(String content, Map<String, ContentHandle> resolvedReferences) {
+        try {
+            JsonNode node = MAPPER.readTree(content);
+            JSONObject json = MAPPER.readValue(content, JSONObject.class);
 
-            loadReferences(updatedNode, resolvedReferences, updatedSchemaBuilder);
+            SchemaLoader.SchemaLoaderBuilder schemaBuilder = SchemaLoader.builder();
 
-            Schema updatedSchema = updatedSchemaBuilder.schemaJson(updatedJson).build().load().build();
+            loadReferences(node, resolvedReferences, schemaBuilder);
 
-            return findDifferences(originalSchema, updatedSchema);
+            return schemaBuilder.schemaJson(json).build().load().build();
 
         } catch (JsonProcessingException e) {
             throw new IllegalStateException(e);
@@ -116,4 +124,9 @@ public class JsonSchemaDiffLibrary {
     public static Set<Difference> getIncompatibleDifferences(String original, String updated, Map<String, ContentHandle> resolvedReferences) {
         return findDifferences(original, updated, resolvedReferences).getIncompatibleDifferences();
     }
+
+    public static Set<Difference> getIncompatibleDifferences(String original, String updated, Map<String, ContentHandle> resolvedReferences,
+                                                             ParsedContentCache parsedContentCache) {
+        return findDifferences(original, updated, resolvedReferences, parsedContentCache).getIncompatibleDifferences();
+    }
 }
\ No newline at end of file
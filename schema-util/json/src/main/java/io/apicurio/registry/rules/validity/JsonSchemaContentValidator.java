@@ -17,13 +17,16 @@
 package io.apicurio.registry.rules.validity;
 
 
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 
 import org.everit.json.schema.SchemaException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolation;
 import io.apicurio.registry.rules.RuleViolationException;
@@ -40,10 +43,23 @@ public class JsonSchemaContentValidator implements ContentValidator {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final String PARSED_CONTENT_KIND = "json-schema";
+
+    private final ParsedContentCache parsedContentCache;
+
     /**
      * Constructor.
      */
     public JsonSchemaContentValidator() {
+        this(ParsedContentCache.disabled());
+    }
+
+    /**
+     * Constructor.
+     * @param parsedContentCache
+     */
+    public JsonSchemaContentValidator(ParsedContentCache parsedContentCache) {
+        this.parsedContentCache = parsedContentCache;
     }
 
     /**
@@ -59,7 +75,14 @@ public class JsonSchemaContentValidator implements ContentValidator {
             }
         } else if (level == ValidityLevel.FULL) {
             try {
-                JsonUtil.readSchema(artifactContent.content(), resolvedReferences);
+                String content = artifactContent.content();
+                parsedContentCache.get(PARSED_CONTENT_KIND, content, resolvedReferences, () -> {
+                    try {
+                        return JsonUtil.readSchema(content, resolvedReferences);
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
             } catch (SchemaException e) {
                 String context = e.getSchemaLocation();
                 String description = e.getMessage();
@@ -70,7 +93,8 @@ public class JsonSchemaContentValidator implements ContentValidator {
                 throw new RuleViolationException("Syntax or semantic violation for JSON Schema artifact.", RuleType.VALIDITY, level.name(),
                         Collections.singleton(violation));
             } catch (Exception e) {
-                RuleViolation violation = new RuleViolation("JSON schema not valid: " + e.getMessage(), "");
+                Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+                RuleViolation violation = new RuleViolation("JSON schema not valid: " + cause.getMessage(), "");
                 throw new RuleViolationException("Syntax or semantic violation for JSON Schema artifact.", RuleType.VALIDITY, level.name(),
                         Collections.singleton(violation));
             }
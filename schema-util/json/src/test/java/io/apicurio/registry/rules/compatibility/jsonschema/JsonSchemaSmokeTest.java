@@ -16,7 +16,9 @@
 
 package io.apicurio.registry.rules.compatibility.jsonschema;
 
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rules.compatibility.CompatibilityTestExecutor;
+import io.apicurio.registry.rules.compatibility.CompatibilityVerdictCache;
 import io.apicurio.registry.rules.compatibility.JsonSchemaCompatibilityChecker;
 import org.junit.jupiter.api.Test;
 
@@ -33,4 +35,13 @@ class JsonSchemaSmokeTest {
         var executor = new CompatibilityTestExecutor(new JsonSchemaCompatibilityChecker());
         throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
     }
+
+    @Test
+    void testCompatibilityWithCachedVerdicts() throws Exception {
+        var checker = new JsonSchemaCompatibilityChecker(new ParsedContentCache(), new CompatibilityVerdictCache());
+        var executor = new CompatibilityTestExecutor(checker);
+        // The second run gets the verdicts of the first one from the cache
+        throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
+        throwOnFailure(executor.execute(readResource(this.getClass(), "compatibility-test-data.json")));
+    }
 }
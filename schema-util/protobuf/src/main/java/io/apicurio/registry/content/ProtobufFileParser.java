@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import com.squareup.wire.schema.internal.parser.ProtoFileElement;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
+
+/**
+ * Parses .proto files through a {@link ParsedContentCache}, for the compatibility checker and the content validator.
+ */
+public final class ProtobufFileParser {
+
+    private static final String ELEMENT_KIND = "protobuf-element";
+    private static final String FILE_KIND = "protobuf-file";
+
+    private ProtobufFileParser() {
+    }
+
+    public static ProtoFileElement parseElement(ParsedContentCache cache, String content) {
+        return cache.get(ELEMENT_KIND, content, null, () -> ProtobufFile.toProtoFileElement(content));
+    }
+
+    /**
+     * Returns the file with its indexes of fields, enums and services, built from the cached element.
+     */
+    public static ProtobufFile parseFile(ParsedContentCache cache, String content) {
+        return cache.get(FILE_KIND, content, null, () -> new ProtobufFile(parseElement(cache, content)));
+    }
+}
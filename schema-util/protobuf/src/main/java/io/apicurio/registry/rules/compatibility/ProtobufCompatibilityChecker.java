@@ -18,10 +18,14 @@ package io.apicurio.registry.rules.compatibility;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
+import io.apicurio.registry.content.ProtobufFileParser;
 import io.apicurio.registry.rules.compatibility.protobuf.ProtobufCompatibilityCheckerLibrary;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 import org.jetbrains.annotations.NotNull;
@@ -31,8 +35,25 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ProtobufCompatibilityChecker implements CompatibilityChecker {
 
+    private final ParsedContentCache parsedContentCache;
+    private final CompatibilityVerdictCache verdictCache;
+
+    public ProtobufCompatibilityChecker() {
+        this(ParsedContentCache.disabled(), CompatibilityVerdictCache.disabled());
+    }
+
+    public ProtobufCompatibilityChecker(ParsedContentCache parsedContentCache, CompatibilityVerdictCache verdictCache) {
+        this.parsedContentCache = parsedContentCache;
+        this.verdictCache = verdictCache;
+    }
+
     @Override
     public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences) {
+        return testCompatibility(compatibilityLevel, existingArtifacts, proposedArtifact, resolvedReferences, CompatibilityCheckExecutor.sequential());
+    }
+
+    @Override
+    public CompatibilityExecutionResult testCompatibility(CompatibilityLevel compatibilityLevel, List<ContentHandle> existingArtifacts, ContentHandle proposedArtifact, Map<String, ContentHandle> resolvedReferences, CompatibilityCheckExecutor executor) {
         requireNonNull(compatibilityLevel, "compatibilityLevel MUST NOT be null");
         requireNonNull(existingArtifacts, "existingArtifacts MUST NOT be null");
         requireNonNull(proposedArtifact, "proposedArtifact MUST NOT be null");
@@ -41,50 +62,66 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
             return CompatibilityExecutionResult.compatible();
         }
 
-        ProtobufFile fileBefore = new ProtobufFile(existingArtifacts.get(existingArtifacts.size() - 1).content());
-        ProtobufFile fileAfter = new ProtobufFile(proposedArtifact.content());
-
         switch (compatibilityLevel) {
             case BACKWARD: {
-                return testBackward(fileBefore, fileAfter);
+                return testBackward(existingArtifacts.get(existingArtifacts.size() - 1), proposedArtifact);
             }
             case BACKWARD_TRANSITIVE: {
-                return testBackwardTransitive(existingArtifacts, fileAfter);
+                return testBackwardTransitive(existingArtifacts, proposedArtifact, executor);
             }
             case FORWARD: {
-                return testForward(fileBefore, fileAfter);
+                return testForward(existingArtifacts.get(existingArtifacts.size() - 1), proposedArtifact);
             }
             case FORWARD_TRANSITIVE: {
-                return testForwardTransitive(existingArtifacts, fileAfter);
+                return testForwardTransitive(existingArtifacts, proposedArtifact, executor);
             }
             case FULL: {
-                return testFull(fileBefore, fileAfter);
+                return testFull(existingArtifacts.get(existingArtifacts.size() - 1), proposedArtifact);
             }
             case FULL_TRANSITIVE: {
-                return testFullTransitive(existingArtifacts, fileAfter);
+                return testFullTransitive(existingArtifacts, proposedArtifact, executor);
             }
             default:
                 return CompatibilityExecutionResult.compatible();
         }
     }
 
+    private ProtobufFile parse(ContentHandle content) {
+        return ProtobufFileParser.parseFile(parsedContentCache, content.content());
+    }
+
+    /**
+     * Checks that the proposed file can read the data written with the existing file, or, for the
+     * {@link CompatibilityLevel#FORWARD} level, the other way round.  The existing files are checked
+     * against a given proposed file only once.
+     */
+    private boolean isCompatible(CompatibilityLevel level, ContentHandle existing, ContentHandle proposed) {
+        if (existing.content().equals(proposed.content())) {
+            return true;
+        }
+        return verdictCache.get(level, existing, proposed, null, () -> {
+            ProtobufCompatibilityCheckerLibrary checker = level == CompatibilityLevel.BACKWARD
+                    ? new ProtobufCompatibilityCheckerLibrary(parse(existing), parse(proposed))
+                    : new ProtobufCompatibilityCheckerLibrary(parse(proposed), parse(existing));
+            return checker.validate();
+        });
+    }
+
     @NotNull
-    private CompatibilityExecutionResult testFullTransitive(List<ContentHandle> existingSchemas, ProtobufFile fileAfter) {
-        ProtobufFile fileBefore;
+    private CompatibilityExecutionResult testFullTransitive(List<ContentHandle> existingSchemas, ContentHandle proposed, CompatibilityCheckExecutor executor) {
+        List<Supplier<Boolean>> checks = new ArrayList<>();
         for (ContentHandle existing : existingSchemas) {
-            fileBefore = new ProtobufFile(existing.content());
-            if (!testFull(fileBefore, fileAfter).isCompatible()) {
-                return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not fully compatible.");
-            }
+            checks.add(() -> testFull(existing, proposed).isCompatible());
+        }
+        if (!executor.allMatch(checks)) {
+            return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not fully compatible.");
         }
         return CompatibilityExecutionResult.compatible();
     }
 
     @NotNull
-    private CompatibilityExecutionResult testFull(ProtobufFile fileBefore, ProtobufFile fileAfter) {
-        ProtobufCompatibilityCheckerLibrary backwardChecker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
-        ProtobufCompatibilityCheckerLibrary forwardChecker = new ProtobufCompatibilityCheckerLibrary(fileAfter, fileBefore);
-        if (!backwardChecker.validate() && !forwardChecker.validate()) {
+    private CompatibilityExecutionResult testFull(ContentHandle existing, ContentHandle proposed) {
+        if (!isCompatible(CompatibilityLevel.BACKWARD, existing, proposed) && !isCompatible(CompatibilityLevel.FORWARD, existing, proposed)) {
             return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not fully compatible.");
         } else {
             return CompatibilityExecutionResult.compatible();
@@ -92,22 +129,20 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
     }
 
     @NotNull
-    private CompatibilityExecutionResult testForwardTransitive(List<ContentHandle> existingSchemas, ProtobufFile fileAfter) {
-        ProtobufFile fileBefore;
+    private CompatibilityExecutionResult testForwardTransitive(List<ContentHandle> existingSchemas, ContentHandle proposed, CompatibilityCheckExecutor executor) {
+        List<Supplier<Boolean>> checks = new ArrayList<>();
         for (ContentHandle existing : existingSchemas) {
-            fileBefore = new ProtobufFile(existing.content());
-            ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileAfter, fileBefore);
-            if (!checker.validate()) {
-                return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not forward compatible.");
-            }
+            checks.add(() -> isCompatible(CompatibilityLevel.FORWARD, existing, proposed));
+        }
+        if (!executor.allMatch(checks)) {
+            return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not forward compatible.");
         }
         return CompatibilityExecutionResult.compatible();
     }
 
     @NotNull
-    private CompatibilityExecutionResult testForward(ProtobufFile fileBefore, ProtobufFile fileAfter) {
-        ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileAfter, fileBefore);
-        if (checker.validate()) {
+    private CompatibilityExecutionResult testForward(ContentHandle existing, ContentHandle proposed) {
+        if (isCompatible(CompatibilityLevel.FORWARD, existing, proposed)) {
             return CompatibilityExecutionResult.compatible();
         } else {
             return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not forward compatible.");
@@ -115,25 +150,23 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
     }
 
     @NotNull
-    private CompatibilityExecutionResult testBackwardTransitive(List<ContentHandle> existingSchemas, ProtobufFile fileAfter) {
-        ProtobufFile fileBefore;
+    private CompatibilityExecutionResult testBackwardTransitive(List<ContentHandle> existingSchemas, ContentHandle proposed, CompatibilityCheckExecutor executor) {
+        List<Supplier<Boolean>> checks = new ArrayList<>();
         for (ContentHandle existing : existingSchemas) {
-            fileBefore = new ProtobufFile(existing.content());
-            ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
-            if (!checker.validate()) {
-                return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not backward compatible.");
-            }
+            checks.add(() -> isCompatible(CompatibilityLevel.BACKWARD, existing, proposed));
+        }
+        if (!executor.allMatch(checks)) {
+            return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not backward compatible.");
         }
         return CompatibilityExecutionResult.compatible();
     }
 
     @NotNull
-    private CompatibilityExecutionResult testBackward(ProtobufFile fileBefore, ProtobufFile fileAfter) {
-        ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
-        if (checker.validate()) {
+    private CompatibilityExecutionResult testBackward(ContentHandle existing, ContentHandle proposed) {
+        if (isCompatible(CompatibilityLevel.BACKWARD, existing, proposed)) {
             return CompatibilityExecutionResult.compatible();
         } else {
             return CompatibilityExecutionResult.incompatible("The new version of the protobuf artifact is not backward compatible.");
         }
     }
-}
\ No newline at end of file
+}
@@ -28,13 +28,14 @@ import com.squareup.wire.schema.internal.parser.MessageElement;
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
+import io.apicurio.registry.content.ProtobufFileParser;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolation;
 import io.apicurio.registry.rules.RuleViolationException;
 import io.apicurio.registry.rules.integrity.IntegrityLevel;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.protobuf.schema.FileDescriptorUtils;
-import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
 
 /**
@@ -44,10 +45,21 @@ import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
  */
 public class ProtobufContentValidator implements ContentValidator {
 
+    private final ParsedContentCache parsedContentCache;
+
     /**
      * Constructor.
      */
     public ProtobufContentValidator() {
+        this(ParsedContentCache.disabled());
+    }
+
+    /**
+     * Constructor.
+     * @param parsedContentCache
+     */
+    public ProtobufContentValidator(ParsedContentCache parsedContentCache) {
+        this.parsedContentCache = parsedContentCache;
     }
 
     /**
@@ -58,14 +70,14 @@ public class ProtobufContentValidator implements ContentValidator {
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
                 if (resolvedReferences == null || resolvedReferences.isEmpty()) {
-                    ProtobufFile.toProtoFileElement(artifactContent.content());
+                    ProtobufFileParser.parseElement(parsedContentCache, artifactContent.content());
                 } else {
-                    final ProtoFileElement protoFileElement = ProtobufFile.toProtoFileElement(artifactContent.content());
+                    final ProtoFileElement protoFileElement = ProtobufFileParser.parseElement(parsedContentCache, artifactContent.content());
                     final Map<String, ProtoFileElement> dependencies = Collections.unmodifiableMap(resolvedReferences.entrySet()
                             .stream()
                             .collect(Collectors.toMap(
                                     Map.Entry::getKey,
-                                    e -> ProtobufFile.toProtoFileElement(e.getValue().content())
+                                    e -> ProtobufFileParser.parseElement(parsedContentCache, e.getValue().content())
                             )));
                     MessageElement firstMessage = FileDescriptorUtils.firstMessage(protoFileElement);
                     if (firstMessage != null) {
@@ -94,7 +106,7 @@ public class ProtobufContentValidator implements ContentValidator {
         try {
             Set<String> mappedRefs = references.stream().map(ref -> ref.getName()).collect(Collectors.toSet());
 
-            ProtoFileElement protoFileElement = ProtobufFile.toProtoFileElement(artifactContent.content());
+            ProtoFileElement protoFileElement = ProtobufFileParser.parseElement(parsedContentCache, artifactContent.content());
             Set<String> allImports = new HashSet<>();
             allImports.addAll(protoFileElement.getImports());
             allImports.addAll(protoFileElement.getPublicImports());
@@ -26,6 +26,7 @@ import io.apicurio.registry.content.refs.JsonSchemaReferenceFinder;
 import io.apicurio.registry.content.refs.ReferenceFinder;
 import io.apicurio.registry.rules.compatibility.AvroCompatibilityChecker;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
+import io.apicurio.registry.rules.compatibility.CompatibilityVerdictCache;
 import io.apicurio.registry.rules.validity.AvroContentValidator;
 import io.apicurio.registry.rules.validity.ContentValidator;
 import io.apicurio.registry.types.ArtifactType;
@@ -42,17 +43,17 @@ public class AvroArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new AvroCompatibilityChecker();
+        return new AvroCompatibilityChecker(getParsedContentCache(), new CompatibilityVerdictCache());
     }
 
     @Override
     protected ContentCanonicalizer createContentCanonicalizer() {
-        return new EnhancedAvroContentCanonicalizer();
+        return new EnhancedAvroContentCanonicalizer(getParsedContentCache());
     }
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new AvroContentValidator();
+        return new AvroContentValidator(getParsedContentCache());
     }
 
     @Override
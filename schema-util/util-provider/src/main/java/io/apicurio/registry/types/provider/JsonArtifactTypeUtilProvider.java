@@ -25,6 +25,7 @@ import io.apicurio.registry.content.extract.JsonContentExtractor;
 import io.apicurio.registry.content.refs.JsonSchemaReferenceFinder;
 import io.apicurio.registry.content.refs.ReferenceFinder;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
+import io.apicurio.registry.rules.compatibility.CompatibilityVerdictCache;
 import io.apicurio.registry.rules.compatibility.JsonSchemaCompatibilityChecker;
 import io.apicurio.registry.rules.validity.ContentValidator;
 import io.apicurio.registry.rules.validity.JsonSchemaContentValidator;
@@ -42,7 +43,7 @@ public class JsonArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new JsonSchemaCompatibilityChecker();
+        return new JsonSchemaCompatibilityChecker(getParsedContentCache(), new CompatibilityVerdictCache());
     }
 
     @Override
@@ -52,7 +53,7 @@ public class JsonArtifactTypeUtilProvider extends AbstractArtifactTypeUtilProvid
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new JsonSchemaContentValidator();
+        return new JsonSchemaContentValidator(getParsedContentCache());
     }
 
     @Override
@@ -25,6 +25,7 @@ import io.apicurio.registry.content.extract.NoopContentExtractor;
 import io.apicurio.registry.content.refs.ProtobufReferenceFinder;
 import io.apicurio.registry.content.refs.ReferenceFinder;
 import io.apicurio.registry.rules.compatibility.CompatibilityChecker;
+import io.apicurio.registry.rules.compatibility.CompatibilityVerdictCache;
 import io.apicurio.registry.rules.compatibility.ProtobufCompatibilityChecker;
 import io.apicurio.registry.rules.validity.ContentValidator;
 import io.apicurio.registry.rules.validity.ProtobufContentValidator;
@@ -41,7 +42,7 @@ public class ProtobufArtifactTypeUtilProvider extends AbstractArtifactTypeUtilPr
 
     @Override
     protected CompatibilityChecker createCompatibilityChecker() {
-        return new ProtobufCompatibilityChecker();
+        return new ProtobufCompatibilityChecker(getParsedContentCache(), new CompatibilityVerdictCache());
     }
 
     @Override
@@ -51,7 +52,7 @@ public class ProtobufArtifactTypeUtilProvider extends AbstractArtifactTypeUtilPr
 
     @Override
     protected ContentValidator createContentValidator() {
-        return new ProtobufContentValidator();
+        return new ProtobufContentValidator(getParsedContentCache());
     }
 
     @Override
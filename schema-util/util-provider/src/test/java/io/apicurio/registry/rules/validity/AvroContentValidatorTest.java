@@ -17,8 +17,12 @@
 package io.apicurio.registry.rules.validity;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.ParsedContentCache;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolationException;
+import io.apicurio.registry.rules.compatibility.CompatibilityExecutionResult;
+import io.apicurio.registry.rules.compatibility.CompatibilityLevel;
+import io.apicurio.registry.types.provider.AvroArtifactTypeUtilProvider;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -49,6 +53,29 @@ public class AvroContentValidatorTest extends ArtifactUtilProviderTestBase {
         });
     }
 
+    @Test
+    public void testParsedContentCache() throws Exception {
+        AvroArtifactTypeUtilProvider provider = new AvroArtifactTypeUtilProvider();
+        ParsedContentCache cache = provider.getParsedContentCache();
+        ContentHandle content = resourceToContentHandle("avro-valid.json");
+
+        provider.getContentValidator().validate(ValidityLevel.FULL, content, Collections.emptyMap());
+        Assertions.assertEquals(1, cache.size());
+
+        // The compatibility check and the canonicalization reuse the schema parsed by the validator
+        CompatibilityExecutionResult result = provider.getCompatibilityChecker().testCompatibility(
+                CompatibilityLevel.BACKWARD, List.of(content), content, Collections.emptyMap());
+        Assertions.assertTrue(result.isCompatible());
+        provider.getContentCanonicalizer().canonicalize(content, Collections.emptyMap());
+        Assertions.assertEquals(1, cache.size());
+
+        // Invalid content is not cached
+        Assertions.assertThrows(RuleViolationException.class, () -> {
+            provider.getContentValidator().validate(ValidityLevel.FULL, resourceToContentHandle("avro-invalid.json"), Collections.emptyMap());
+        });
+        Assertions.assertEquals(1, cache.size());
+    }
+
     @Test
     public void testValidateReferences() throws Exception {
         ContentHandle content = resourceToContentHandle("avro-valid-with-refs.json");
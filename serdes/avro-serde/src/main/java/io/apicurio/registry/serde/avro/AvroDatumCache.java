@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.avro;
+
+import io.apicurio.registry.utils.BoundedCache;
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+
+/**
+ * Datum readers and writers created by an {@link AvroDatumProvider}, so that they are built once per schema rather
+ * than once per record.  Datum readers and writers can be shared by threads once built, and a datum reader keeps
+ * the resolution of the writer schema against the reader schema.
+ * <p>
+ * Schemas are compared by identity, the schema resolver returns the same instance for a schema as long as it is
+ * cached.  A datum writer is assumed to only depend on the schema and on the class of the data, and a datum reader
+ * on the writer schema (the provider picks the reader schema from it).  The least recently used readers and writers
+ * are evicted when a cache is full, e.g. after schemas have been reloaded many times.
+ *
+ * @param <T> the type of the data
+ */
+class AvroDatumCache<T> {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final AvroDatumProvider<T> avroDatumProvider;
+    private final BoundedCache<DatumKey, DatumWriter<T>> writers = new BoundedCache<>(MAX_ENTRIES);
+    private final BoundedCache<DatumKey, DatumReader<T>> readers = new BoundedCache<>(MAX_ENTRIES);
+
+    AvroDatumCache(AvroDatumProvider<T> avroDatumProvider) {
+        this.avroDatumProvider = avroDatumProvider;
+    }
+
+    DatumWriter<T> getDatumWriter(T data, Schema schema) {
+        return writers.get(new DatumKey(schema, data.getClass()), key -> avroDatumProvider.createDatumWriter(data, schema));
+    }
+
+    DatumReader<T> getDatumReader(Schema writerSchema) {
+        return readers.get(new DatumKey(writerSchema, null), key -> avroDatumProvider.createDatumReader(writerSchema));
+    }
+
+    private static final class DatumKey {
+
+        private final Schema schema;
+        // null for datum readers
+        private final Class<?> dataClass;
+
+        private DatumKey(Schema schema, Class<?> dataClass) {
+            this.schema = schema;
+            this.dataClass = dataClass;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DatumKey)) {
+                return false;
+            }
+            DatumKey other = (DatumKey) obj;
+            return schema == other.schema && dataClass == other.dataClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(schema) + (dataClass == null ? 0 : dataClass.hashCode());
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.kafka.common.header.Headers;
@@ -42,9 +43,14 @@ import io.apicurio.registry.serde.AbstractKafkaDeserializer;
  */
 public class AvroKafkaDeserializer<U> extends AbstractKafkaDeserializer<Schema, U> {
 
+    // Binary decoder reused by the records deserialized on the same thread, not set while it is in use
+    private static final ThreadLocal<BinaryDecoder> BINARY_DECODER = new ThreadLocal<>();
+    private static final byte[] NO_BYTES = new byte[0];
+
     private final DecoderFactory decoderFactory = DecoderFactory.get();
     private AvroSchemaParser<U> parser;
     private AvroDatumProvider<U> avroDatumProvider;
+    private AvroDatumCache<U> avroDatumCache;
     private AvroEncoding configEncoding;
     private AvroSerdeHeaders avroHeaders;
 
@@ -58,6 +64,7 @@ public class AvroKafkaDeserializer<U> extends AbstractKafkaDeserializer<Schema,
 
     private AvroKafkaDeserializer<U> setAvroDatumProvider(AvroDatumProvider<U> avroDatumProvider) {
         this.avroDatumProvider = Objects.requireNonNull(avroDatumProvider);
+        this.avroDatumCache = new AvroDatumCache<>(avroDatumProvider);
         return this;
     }
 
@@ -107,18 +114,31 @@ public class AvroKafkaDeserializer<U> extends AbstractKafkaDeserializer<Schema,
             encoding = configEncoding;
         }
         try {
-            DatumReader<U> reader = avroDatumProvider.createDatumReader(schema.getParsedSchema());
+            DatumReader<U> reader = avroDatumCache.getDatumReader(schema.getParsedSchema());
             if( encoding == AvroEncoding.JSON) {
-                // copy the data into a new byte[]
-                byte[] msgData = new byte[length];
-                System.arraycopy(buffer.array(), start, msgData, 0, length);
-                return reader.read(null, decoderFactory.jsonDecoder(schema.getParsedSchema(), new ByteArrayInputStream(msgData)));
+                return reader.read(null, decoderFactory.jsonDecoder(schema.getParsedSchema(), new ByteArrayInputStream(buffer.array(), start, length)));
             } else {
-                return reader.read(null, decoderFactory.binaryDecoder(buffer.array(), start, length, null));
+                return readBinary(decoderFactory, reader, buffer.array(), start, length);
             }
 
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * Reads binary encoded data with the decoder of the calling thread.  The decoder is given an empty buffer once
+     * done, so that it doesn't keep the last record of the thread from being garbage collected.
+     */
+    static <U> U readBinary(DecoderFactory decoderFactory, DatumReader<U> reader, byte[] bytes, int start, int length)
+            throws IOException {
+        BinaryDecoder reuse = BINARY_DECODER.get();
+        BINARY_DECODER.set(null);
+        BinaryDecoder decoder = decoderFactory.binaryDecoder(bytes, start, length, reuse);
+        try {
+            return reader.read(null, decoder);
+        } finally {
+            BINARY_DECODER.set(decoderFactory.binaryDecoder(NO_BYTES, 0, 0, decoder));
+        }
+    }
 }
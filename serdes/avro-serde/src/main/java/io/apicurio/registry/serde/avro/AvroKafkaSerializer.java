@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
@@ -43,9 +44,14 @@ import io.apicurio.registry.serde.AbstractKafkaSerializer;
  */
 public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
 
+    // Binary encoder reused by the records serialized on the same thread, not set while it is in use
+    static final ThreadLocal<BinaryEncoder> BINARY_ENCODER = new ThreadLocal<>();
+    private static final OutputStream NO_OUTPUT = OutputStream.nullOutputStream();
+
     private final EncoderFactory encoderFactory = EncoderFactory.get();
     private AvroSchemaParser<U> parser;
     private AvroDatumProvider<U> avroDatumProvider;
+    private AvroDatumCache<U> avroDatumCache;
     private AvroEncoding encoding;
     private AvroSerdeHeaders avroHeaders;
 
@@ -69,6 +75,7 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
 
     private AvroKafkaSerializer<U> setAvroDatumProvider(AvroDatumProvider<U> avroDatumProvider) {
         this.avroDatumProvider = Objects.requireNonNull(avroDatumProvider);
+        this.avroDatumCache = new AvroDatumCache<>(avroDatumProvider);
         return this;
     }
 
@@ -105,17 +112,38 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
     @SuppressWarnings("unchecked")
     @Override
     protected void serializeData(ParsedSchema<Schema> schema, U data, OutputStream out) throws IOException {
-        Encoder encoder = createEncoder(schema.getParsedSchema(), out);
-
         // I guess this can happen if generics are lost with reflection ...
         if (data instanceof NonRecordContainer) {
             //noinspection unchecked
             data = (U) NonRecordContainer.class.cast(data).getValue();
         }
 
-        DatumWriter<U> writer = avroDatumProvider.createDatumWriter(data, schema.getParsedSchema());
-        writer.write(data, encoder);
-        encoder.flush();
+        DatumWriter<U> writer = avroDatumCache.getDatumWriter(data, schema.getParsedSchema());
+        if (encoding == AvroEncoding.JSON) {
+            Encoder encoder = encoderFactory.jsonEncoder(schema.getParsedSchema(), out);
+            writer.write(data, encoder);
+            encoder.flush();
+        } else {
+            writeBinary(encoderFactory, writer, data, out);
+        }
+    }
+
+    /**
+     * Writes binary encoded data with the encoder of the calling thread.  The encoder is given an output that
+     * discards everything once done, so that it doesn't keep the output buffer of the last record from being
+     * garbage collected.
+     */
+    static <U> void writeBinary(EncoderFactory encoderFactory, DatumWriter<U> writer, U data, OutputStream out)
+            throws IOException {
+        BinaryEncoder reuse = BINARY_ENCODER.get();
+        BINARY_ENCODER.set(null);
+        BinaryEncoder encoder = encoderFactory.directBinaryEncoder(out, reuse);
+        try {
+            writer.write(data, encoder);
+            encoder.flush();
+        } finally {
+            BINARY_ENCODER.set(encoderFactory.directBinaryEncoder(NO_OUTPUT, encoder));
+        }
     }
 
     /**
@@ -128,12 +156,4 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
         }
         serializeData(schema, data, out);
     }
-
-    private Encoder createEncoder(Schema schema, OutputStream os) throws IOException {
-        if(encoding == AvroEncoding.JSON) {
-            return encoderFactory.jsonEncoder(schema, os);
-        } else {
-            return encoderFactory.directBinaryEncoder(os, null);
-        }
-    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.avro;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+public class AvroBinaryEncoderTest {
+
+    private static final Schema USER = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"User\","
+            + "\"fields\":[{\"name\":\"name\",\"type\":\"string\"}]}");
+
+    @Test
+    void testEncoderIsReusedAndReleasesTheOutput() throws IOException {
+        EncoderFactory encoderFactory = EncoderFactory.get();
+        DatumWriter<GenericRecord> writer = new GenericDatumWriter<>(USER);
+        GenericRecord record = new GenericData.Record(USER);
+        record.put("name", "a name");
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        AvroKafkaSerializer.writeBinary(encoderFactory, writer, record, first);
+        BinaryEncoder encoder = AvroKafkaSerializer.BINARY_ENCODER.get();
+        assertNotNull(encoder);
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        AvroKafkaSerializer.writeBinary(encoderFactory, writer, record, second);
+        assertSame(encoder, AvroKafkaSerializer.BINARY_ENCODER.get());
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        // Once done, the encoder no longer writes to the output of the last record
+        int size = second.size();
+        encoder.writeString("discarded");
+        encoder.flush();
+        assertEquals(size, second.size());
+    }
+}
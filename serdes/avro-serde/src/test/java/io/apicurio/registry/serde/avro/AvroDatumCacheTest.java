@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.avro;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+public class AvroDatumCacheTest {
+
+    private static final Schema USER_V1 = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"User\","
+            + "\"fields\":[{\"name\":\"name\",\"type\":\"string\"}]}");
+    private static final Schema USER_V2 = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"User\","
+            + "\"fields\":[{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"age\",\"type\":\"int\",\"default\":0}]}");
+
+    @Test
+    void testRoundTripWithTwoWriterSchemas() throws IOException {
+        AtomicInteger readersCreated = new AtomicInteger();
+        // Reads every version of the record with the latest schema
+        AvroDatumCache<GenericRecord> cache = new AvroDatumCache<>(new AvroDatumProvider<GenericRecord>() {
+            @Override
+            public DatumWriter<GenericRecord> createDatumWriter(GenericRecord data, Schema schema) {
+                return new GenericDatumWriter<>(schema);
+            }
+
+            @Override
+            public DatumReader<GenericRecord> createDatumReader(Schema schema) {
+                readersCreated.incrementAndGet();
+                return new GenericDatumReader<>(schema, USER_V2);
+            }
+
+            @Override
+            public Schema toSchema(GenericRecord data) {
+                return data.getSchema();
+            }
+        });
+        DecoderFactory decoderFactory = DecoderFactory.get();
+
+        GenericRecord longer = new GenericData.Record(USER_V2);
+        longer.put("name", "a name longer than the one of the other record");
+        longer.put("age", 42);
+        GenericRecord shorter = new GenericData.Record(USER_V1);
+        shorter.put("name", "short");
+        byte[] longerBytes = write(cache, longer, 3);
+        byte[] shorterBytes = write(cache, shorter, 5);
+
+        // The decoder of the thread is reused for records of both schemas, in any order
+        for (int idx = 0; idx < 2; idx++) {
+            GenericRecord read = AvroKafkaDeserializer.readBinary(decoderFactory, cache.getDatumReader(USER_V2),
+                    longerBytes, 3, longerBytes.length - 3);
+            assertEquals(longer.get("name"), read.get("name").toString());
+            assertEquals(42, read.get("age"));
+
+            read = AvroKafkaDeserializer.readBinary(decoderFactory, cache.getDatumReader(USER_V1),
+                    shorterBytes, 5, shorterBytes.length - 5);
+            assertEquals("short", read.get("name").toString());
+            assertEquals(0, read.get("age"));
+        }
+
+        // One reader per writer schema
+        assertSame(cache.getDatumReader(USER_V1), cache.getDatumReader(USER_V1));
+        assertEquals(2, readersCreated.get());
+    }
+
+    /**
+     * Encodes the record after the given number of bytes, as the deserializer reads it after the schema id.
+     */
+    private static byte[] write(AvroDatumCache<GenericRecord> cache, GenericRecord record, int offset) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[offset]);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        cache.getDatumWriter(record, record.getSchema()).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
@@ -38,8 +38,11 @@ import org.everit.json.schema.loader.SpecificationVersion;
 import org.everit.json.schema.loader.internal.ReferenceResolver;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Map;
@@ -54,7 +57,7 @@ public class JsonSchema {
     private static final String SCHEMA_KEYWORD = "$schema";
     private static final Object NONE_MARKER = new Object();
     private final JsonNode jsonNode;
-    private transient Schema schemaObj;
+    private transient volatile Schema schemaObj;
     private final Integer version;
     private final Map<String, JsonSchema> resolvedReferences;
     private transient String canonicalString;
@@ -225,7 +228,7 @@ public class JsonSchema {
             if (value instanceof ArrayNode) {
                 jsonObject = objectMapper.treeToValue((ArrayNode) value, JSONArray.class);
             } else if (value instanceof ObjectNode) {
-                jsonObject = new JSONObject(value.toString());
+                jsonObject = toJsonValue((ObjectNode) value);
             } else if (value instanceof JsonNode) {
                 jsonObject = objectMapper.treeToValue((JsonNode) value, JSONObject.class);
             } else if (value.getClass().isArray()) {
@@ -274,6 +277,52 @@ public class JsonSchema {
         return ((ObjectSchema) schemaObj).getRequiredProperties().contains(schema.getKey());
     }
 
+    /**
+     * Converts a Jackson tree to the same org.json value as writing it and parsing the result with
+     * {@link JSONObject#JSONObject(String)}, without doing so.  org.json parses integers to the smallest of
+     * Integer, Long and BigInteger, and other numbers to BigDecimal, whatever their Jackson node type.
+     */
+    static Object toJsonValue(JsonNode node) {
+        if (node.isObject()) {
+            JSONObject object = new JSONObject();
+            node.fields().forEachRemaining(field -> object.put(field.getKey(), toJsonValue(field.getValue())));
+            return object;
+        } else if (node.isArray()) {
+            JSONArray array = new JSONArray();
+            node.forEach(element -> array.put(toJsonValue(element)));
+            return array;
+        } else if (node.isNull() || node.isMissingNode()) {
+            return JSONObject.NULL;
+        } else if (node.isIntegralNumber()) {
+            BigInteger value = node.bigIntegerValue();
+            if (value.bitLength() <= 31) {
+                return value.intValue();
+            } else if (value.bitLength() <= 63) {
+                return value.longValue();
+            }
+            return value;
+        } else if (node.isNumber()) {
+            double value = node.doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                // Written as a string
+                return node.asText();
+            }
+            BigDecimal decimal = new BigDecimal(node.asText());
+            if (decimal.signum() == 0 && node.asText().startsWith("-")) {
+                // BigDecimal has no negative zero
+                return -0.0d;
+            }
+            return decimal;
+        } else if (node.isBoolean()) {
+            return node.booleanValue();
+        } else if (node.isPojo()) {
+            return new JSONTokener(node.toString()).nextValue();
+        } else {
+            // Text, and binary as base64 text
+            return node.asText();
+        }
+    }
+
     private static boolean isPrimitive(Object value) {
         return value == null || value instanceof Boolean || value instanceof Number || value instanceof String;
     }
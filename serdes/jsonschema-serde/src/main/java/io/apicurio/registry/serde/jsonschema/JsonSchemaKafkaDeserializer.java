@@ -132,15 +132,13 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         return internalReadData(headers, schema, buffer, start, length);
     }
 
+    @SuppressWarnings("unchecked")
     private T internalReadData(Headers headers, ParsedSchema<JsonSchema> schema, ByteBuffer buffer, int start, int length) {
-        byte[] data = new byte[length];
-        System.arraycopy(buffer.array(), start, data, 0, length);
-
         try {
-            JsonParser parser = mapper.getFactory().createParser(data);
-
+            JsonNode validatedData = null;
             if (isValidationEnabled()) {
-                JsonSchemaValidationUtil.validateDataWithSchema(schema, data, mapper);
+                validatedData = mapper.readTree(buffer.array(), start, length);
+                JsonSchemaValidationUtil.validateDataWithSchema(schema, validatedData);
             }
 
             Class<T> messageType = null;
@@ -148,7 +146,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
             if (this.specificReturnClass != null) {
                 messageType = this.specificReturnClass;
             } else if (headers == null) {
-                JsonNode jsonSchema = mapper.readTree(schema.getRawSchema());
+                JsonNode jsonSchema = schema.getParsedSchema().toJsonNode();
 
                 String javaType = null;
                 JsonNode javaTypeNode = jsonSchema.get("javaType");
@@ -163,6 +161,13 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
                 messageType = javaType == null ? null : Utils.loadClass(javaType);
             }
 
+            if (messageType == null && validatedData != null) {
+                // The tree built for the validation is the result.  It is not converted to a message type, the
+                // floating point numbers of the tree may have lost the precision of BigDecimal fields.
+                return (T) validatedData;
+            }
+
+            JsonParser parser = mapper.getFactory().createParser(buffer.array(), start, length);
             if (messageType == null) {
                 //TODO maybe warn there is no message type and the deserializer will return a JsonNode
                 return mapper.readTree(parser);
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.jsonschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.apicurio.registry.resolver.ParsedSchemaImpl;
+import io.apicurio.registry.rest.client.RegistryClient;
+
+public class JsonSchemaTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void testParsedRecord() throws Exception {
+        assertSameAsParsed((ObjectNode) MAPPER.readTree("{\"name\":\"a name\",\"flag\":true,\"nothing\":null,"
+                + "\"int\":42,\"long\":4200000000,\"big\":123456789012345678901234567890,"
+                + "\"decimal\":1.5,\"exponent\":1.0E20,\"negativeZero\":-0.0,"
+                + "\"array\":[1,null,\"text\",[null],{\"nested\":null}],\"object\":{\"empty\":{}}}"));
+    }
+
+    @Test
+    void testNumberNodes() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("short", (short) 7);
+        node.put("int", Integer.MIN_VALUE);
+        node.put("smallLong", 3L);
+        node.put("long", Long.MAX_VALUE);
+        node.put("bigInteger", BigInteger.valueOf(5));
+        node.put("hugeInteger", BigInteger.TEN.pow(30));
+        node.put("float", 0.1f);
+        node.put("double", 0.1d);
+        node.put("integralDouble", 2.0d);
+        node.put("negativeZero", -0.0d);
+        node.put("decimal", new BigDecimal("12.3400"));
+        node.put("nan", Double.NaN);
+        node.put("infinity", Double.POSITIVE_INFINITY);
+
+        assertSameAsParsed(node);
+    }
+
+    @Test
+    void testBinaryAndNullNodes() {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("binary", new byte[] { 0, 1, 2, (byte) 0xff });
+        node.putNull("null");
+        node.putArray("array").addNull().add(new byte[] { 3 }).addNull();
+        node.putPOJO("pojo", new BigDecimal("1.5"));
+
+        assertSameAsParsed(node);
+    }
+
+    @Test
+    void testValidatedRecordKeepsBigDecimalPrecision() {
+        JsonSchemaKafkaDeserializer<Amount> deserializer = new JsonSchemaKafkaDeserializer<>((RegistryClient) null, true);
+        deserializer.setObjectMapper(new ObjectMapper());
+        JsonSchema schema = new JsonSchema("{\"type\":\"object\",\"javaType\":\"" + Amount.class.getName() + "\","
+                + "\"properties\":{\"value\":{\"type\":\"number\"}}}");
+        byte[] data = "{\"value\":12345678901234567890.123456789}".getBytes(StandardCharsets.UTF_8);
+
+        Amount amount = deserializer.readData(new ParsedSchemaImpl<JsonSchema>().setParsedSchema(schema),
+                ByteBuffer.wrap(data), 0, data.length);
+
+        assertEquals(new BigDecimal("12345678901234567890.123456789"), amount.value);
+    }
+
+    public static class Amount {
+        public BigDecimal value;
+    }
+
+    /**
+     * The record must be validated with the same values as when it was written and parsed again.
+     */
+    private static void assertSameAsParsed(ObjectNode node) {
+        Object parsed = new JSONObject(node.toString());
+        Object converted = JsonSchema.toJsonValue(node);
+
+        assertTrue(((JSONObject) parsed).similar(converted), () -> parsed + " != " + converted);
+        assertSameValues(parsed, converted);
+    }
+
+    private static void assertSameValues(Object expected, Object actual) {
+        // similar() compares the numbers by value, not by type
+        assertEquals(expected.getClass(), actual.getClass(), () -> expected + " != " + actual);
+        if (expected instanceof JSONObject) {
+            JSONObject expectedObject = (JSONObject) expected;
+            JSONObject actualObject = (JSONObject) actual;
+            assertEquals(expectedObject.keySet(), actualObject.keySet());
+            for (String key : expectedObject.keySet()) {
+                assertSameValues(expectedObject.get(key), actualObject.get(key));
+            }
+        } else if (expected instanceof JSONArray) {
+            JSONArray expectedArray = (JSONArray) expected;
+            JSONArray actualArray = (JSONArray) actual;
+            assertEquals(expectedArray.length(), actualArray.length());
+            Iterator<Object> actualElements = actualArray.iterator();
+            for (Object expectedElement : expectedArray) {
+                assertSameValues(expectedElement, actualElements.next());
+            }
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -16,26 +16,25 @@
 
 package io.apicurio.registry.serde.protobuf;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.DescriptorProtos;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.SchemaParser;
@@ -43,6 +42,7 @@ import io.apicurio.registry.resolver.SchemaResolver;
 import io.apicurio.registry.resolver.utils.Utils;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaDeserializer;
+import io.apicurio.registry.utils.BoundedCache;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
 import io.apicurio.registry.serde.protobuf.ref.RefOuterClass.Ref;
 
@@ -53,15 +53,19 @@ import io.apicurio.registry.serde.protobuf.ref.RefOuterClass.Ref;
  */
 public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaDeserializer<ProtobufSchema, U> {
 
-    private static final String PROTOBUF_PARSE_METHOD = "parseFrom";
+    private static final String PROTOBUF_DEFAULT_INSTANCE_METHOD = "getDefaultInstance";
+    // Maximum number of message types whose derived class is cached
+    private static final int MAX_DERIVED_PARSERS = 1000;
 
     private ProtobufSchemaParser<U> parser = new ProtobufSchemaParser<>();
 
     private Class<?> specificReturnClass;
-    private Method specificReturnClassParseMethod;
+    private Parser<?> specificReturnClassParser;
     private boolean deriveClass;
 
-    private Map<String, Method> parseMethodsCache = new ConcurrentHashMap<>();
+    private Map<String, Parser<?>> parsersCache = new ConcurrentHashMap<>();
+    // Parsers of the classes derived from message types, by descriptor (compared by identity)
+    private BoundedCache<Descriptor, Optional<Parser<?>>> derivedParsersCache = new BoundedCache<>(MAX_DERIVED_PARSERS);
 
     private ProtobufSerdeHeaders serdeHeaders;
 
@@ -92,9 +96,9 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
         try {
             if (specificReturnClass != null) {
                 if (specificReturnClass.equals(DynamicMessage.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, Descriptor.class, InputStream.class);
+                    this.specificReturnClassParser = null;
                 } else if (!specificReturnClass.equals(Object.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
+                    this.specificReturnClassParser = parserOf(specificReturnClass);
                 } else {
                     throw new ConfigException("Class " + specificReturnClass.getCanonicalName() + " is not a valid protobuf message class");
                 }
@@ -135,10 +139,8 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
     @SuppressWarnings("unchecked")
     protected U internalReadData(Headers headers, ParsedSchema<ProtobufSchema> schema, ByteBuffer buff, int start, int length) {
         try {
-            byte[] bytes = new byte[length];
-            System.arraycopy(buff.array(), start, bytes, 0, length);
-
-            ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+            // Parsed in place, the record is not copied
+            CodedInputStream input = CodedInputStream.newInstance(buff.array(), start, length);
 
             Descriptor descriptor = null;
             if (headers != null) {
@@ -149,61 +151,90 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
             }
             if (descriptor == null){
                 try {
-                    Ref ref = Ref.parseDelimitedFrom(is);
+                    Ref ref = readRef(input);
                     descriptor = schema.getParsedSchema().getFileDescriptor().findMessageTypeByName(ref.getName());
                 } catch (IOException e) {
-                    is = new ByteArrayInputStream(bytes);
+                    input = CodedInputStream.newInstance(buff.array(), start, length);
                     //use the first message type found
                     descriptor = schema.getParsedSchema().getFileDescriptor().getMessageTypes().get(0);
                 }
             }
 
-            if (specificReturnClassParseMethod != null) {
+            if (specificReturnClass != null) {
                 try {
-                    if (specificReturnClass.equals(DynamicMessage.class)) {
-                        return (U) specificReturnClassParseMethod.invoke(null, descriptor, is);
+                    if (specificReturnClassParser == null) {
+                        return (U) DynamicMessage.parseFrom(descriptor, input);
                     }
-                    return (U) specificReturnClassParseMethod.invoke(null, is);
-                } catch (Exception e) {
+                    return (U) specificReturnClassParser.parseFrom(input);
+                } catch (IOException e) {
                     throw new ConfigException("Not a valid protobuf builder", e);
                 }
             } else if (deriveClass) {
-                String className = deriveClassFromDescriptor(descriptor);
-                if (className != null) {
-                    return invokeParseMethod(is, className);
+                Optional<Parser<?>> derivedParser = derivedParser(descriptor);
+                if (derivedParser.isPresent()) {
+                    return parse(derivedParser.get(), input);
                 }
             } else if (headers != null) {
                 String messageTypeHeader = serdeHeaders.getMessageType(headers);
                 if (messageTypeHeader != null) {
-                    return invokeParseMethod(is, messageTypeHeader);
+                    return parse(parserOf(messageTypeHeader), input);
                 }
             }
 
-            return (U) DynamicMessage.parseFrom(descriptor, is);
+            return (U) DynamicMessage.parseFrom(descriptor, input);
 
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Parses a message of a class that was looked up by name, failures are reported as when the class is invalid.
+     */
     @SuppressWarnings("unchecked")
-    private U invokeParseMethod(InputStream buffer, String className) {
+    private U parse(Parser<?> messageParser, CodedInputStream input) {
         try {
-            Method parseMethod = parseMethodsCache.computeIfAbsent(className, k -> {
-                Class<?> protobufClass = Utils.loadClass(className);
-                try {
-                    return protobufClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
-                } catch (NoSuchMethodException | SecurityException e) {
-                    throw new SerializationException("Class " + className + " is not a valid protobuf message class", e);
-                }
-            });
-            return (U) parseMethod.invoke(null, buffer);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            parseMethodsCache.remove(className);
+            return (U) messageParser.parseFrom(input);
+        } catch (IOException e) {
             throw new SerializationException("Not a valid protobuf builder", e);
         }
     }
 
+    /**
+     * Reads the length-delimited {@link Ref} written by the serializer before the message.
+     */
+    private static Ref readRef(CodedInputStream input) throws IOException {
+        int oldLimit = input.pushLimit(input.readRawVarint32());
+        Ref ref = Ref.parser().parseFrom(input);
+        input.popLimit(oldLimit);
+        return ref;
+    }
+
+    private Optional<Parser<?>> derivedParser(Descriptor descriptor) {
+        return derivedParsersCache.get(descriptor, key -> {
+            String className = deriveClassFromDescriptor(key);
+            return className == null ? Optional.empty() : Optional.of(parserOf(className));
+        });
+    }
+
+    private Parser<?> parserOf(String className) {
+        Parser<?> messageParser = parsersCache.get(className);
+        if (messageParser == null) {
+            messageParser = parserOf(Utils.loadClass(className));
+            parsersCache.put(className, messageParser);
+        }
+        return messageParser;
+    }
+
+    private static Parser<?> parserOf(Class<?> protobufClass) {
+        try {
+            Message defaultInstance = (Message) protobufClass.getDeclaredMethod(PROTOBUF_DEFAULT_INSTANCE_METHOD).invoke(null);
+            return defaultInstance.getParserForType();
+        } catch (ReflectiveOperationException | SecurityException | ClassCastException e) {
+            throw new SerializationException("Class " + protobufClass.getName() + " is not a valid protobuf message class", e);
+        }
+    }
+
     //TODO refactor
     public String deriveClassFromDescriptor(Descriptor des) {
         Descriptor descriptor = des;
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.protobuf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.ParsedSchemaImpl;
+import io.apicurio.registry.resolver.SchemaLookupResult;
+import io.apicurio.registry.resolver.SchemaParser;
+import io.apicurio.registry.resolver.SchemaResolver;
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+import io.apicurio.registry.resolver.strategy.ArtifactReferenceResolverStrategy;
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.SerdeHeaders;
+import io.apicurio.registry.serde.protobuf.ref.RefOuterClass.Ref;
+import io.apicurio.registry.utils.IoUtil;
+import io.apicurio.registry.utils.protobuf.schema.FileDescriptorUtils;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
+
+public class ProtobufKafkaDeserializerTest {
+
+    private static final Timestamp MESSAGE = Timestamp.newBuilder().setSeconds(1700000000L).setNanos(42).build();
+
+    private final ParsedSchema<ProtobufSchema> schema = new ParsedSchemaImpl<ProtobufSchema>()
+            .setParsedSchema(new ProtobufSchema(Timestamp.getDescriptor().getFile(),
+                    FileDescriptorUtils.fileDescriptorToProtoFile(Timestamp.getDescriptor().getFile().toProto())));
+
+    @Test
+    void testRefHeaderWithoutClass() throws IOException {
+        ProtobufKafkaDeserializer<Message> deserializer = deserializer(Map.of());
+        byte[] bytes = withRef("Timestamp", MESSAGE.toByteArray());
+
+        Message message = read(deserializer, null, bytes);
+
+        assertInstanceOf(DynamicMessage.class, message);
+        assertEquals(MESSAGE, Timestamp.parseFrom(message.toByteArray()));
+    }
+
+    @Test
+    void testDerivedClass() throws IOException {
+        ProtobufKafkaDeserializer<Message> deserializer = deserializer(
+                Map.of(ProtobufKafkaDeserializerConfig.DERIVE_CLASS_FROM_SCHEMA, true));
+        byte[] bytes = withRef("Timestamp", MESSAGE.toByteArray());
+
+        // The parser of the derived class is cached, the second record is parsed the same way
+        assertEquals(MESSAGE, read(deserializer, null, bytes));
+        assertEquals(MESSAGE, read(deserializer, null, bytes));
+    }
+
+    @Test
+    void testMessageTypeHeader() throws IOException {
+        ProtobufKafkaDeserializer<Message> deserializer = deserializer(Map.of());
+        Headers headers = new RecordHeaders();
+        headers.add(SerdeHeaders.HEADER_VALUE_MESSAGE_TYPE, IoUtil.toBytes(Timestamp.class.getName()));
+        headers.add("apicurio.protobuf.type", IoUtil.toBytes("Timestamp"));
+
+        // The message type is known from the headers, the record has no Ref
+        assertEquals(MESSAGE, read(deserializer, headers, MESSAGE.toByteArray()));
+    }
+
+    @Test
+    void testInvalidMessageFailsAsBefore() throws IOException {
+        byte[] bytes = withRef("Timestamp", new byte[] { 0x08, (byte) 0x80 });
+
+        ProtobufKafkaDeserializer<Message> specific = deserializer(
+                Map.of(SerdeConfig.DESERIALIZER_SPECIFIC_VALUE_RETURN_CLASS, Timestamp.class));
+        assertThrows(ConfigException.class, () -> read(specific, null, bytes));
+
+        ProtobufKafkaDeserializer<Message> derived = deserializer(
+                Map.of(ProtobufKafkaDeserializerConfig.DERIVE_CLASS_FROM_SCHEMA, true));
+        assertThrows(SerializationException.class, () -> read(derived, null, bytes));
+    }
+
+    private Message read(ProtobufKafkaDeserializer<Message> deserializer, Headers headers, byte[] bytes) {
+        // Preceded by other bytes, as the schema id of a real record
+        byte[] record = new byte[bytes.length + 5];
+        System.arraycopy(bytes, 0, record, 5, bytes.length);
+        return deserializer.internalReadData(headers, schema, ByteBuffer.wrap(record), 5, bytes.length);
+    }
+
+    private static byte[] withRef(String messageName, byte[] message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Ref.newBuilder().setName(messageName).build().writeDelimitedTo(out);
+        out.write(message);
+        return out.toByteArray();
+    }
+
+    private static ProtobufKafkaDeserializer<Message> deserializer(Map<String, Object> configs) {
+        ProtobufKafkaDeserializer<Message> deserializer = new ProtobufKafkaDeserializer<>(new NoSchemaResolver());
+        deserializer.configure(new HashMap<>(configs), false);
+        return deserializer;
+    }
+
+    /**
+     * The schemas are passed to the deserializer by the tests.
+     */
+    private static class NoSchemaResolver implements SchemaResolver<ProtobufSchema, Message> {
+
+        @Override
+        public void configure(Map<String, ?> configs, SchemaParser<ProtobufSchema, Message> schemaMapper) {
+        }
+
+        @Override
+        public void setClient(RegistryClient client) {
+        }
+
+        @Override
+        public void setArtifactResolverStrategy(ArtifactReferenceResolverStrategy<ProtobufSchema, Message> artifactResolverStrategy) {
+        }
+
+        @Override
+        public SchemaParser<ProtobufSchema, Message> getSchemaParser() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SchemaLookupResult<ProtobufSchema> resolveSchema(Record<Message> data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SchemaLookupResult<ProtobufSchema> resolveSchemaByArtifactReference(ArtifactReference reference) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
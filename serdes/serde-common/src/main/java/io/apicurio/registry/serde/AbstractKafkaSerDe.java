@@ -17,20 +17,31 @@
 
 package io.apicurio.registry.serde;
 
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.errors.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.apicurio.registry.resolver.SchemaParser;
 import io.apicurio.registry.resolver.SchemaResolver;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.resolver.utils.Utils;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.config.BaseKafkaSerDeConfig;
+import io.apicurio.registry.serde.data.KafkaSerdeMetadata;
+import io.apicurio.registry.serde.data.KafkaSerdeRecord;
 import io.apicurio.registry.serde.headers.HeadersHandler;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Common class for both serializer and deserializer.
@@ -47,6 +58,7 @@ public abstract class AbstractKafkaSerDe<T, U> extends SchemaResolverConfigurer<
 
     protected IdHandler idHandler;
     protected HeadersHandler headersHandler;
+    protected volatile CompletableFuture<Void> prefetched = CompletableFuture.completedFuture(null);
 
     public AbstractKafkaSerDe() {
         super();
@@ -88,6 +100,88 @@ public abstract class AbstractKafkaSerDe<T, U> extends SchemaResolverConfigurer<
             Utils.instantiate(HeadersHandler.class, headersHandler, this::setHeadersHandler);
             this.headersHandler.configure(config.originals(), isKey);
         }
+
+        List<ArtifactReference> prefetchReferences = new ArrayList<>();
+        config.getPrefetchTopics().forEach(topic -> prefetchReferences.add(topicArtifactReference(topic)));
+        config.getPrefetchArtifacts().forEach(artifact -> prefetchReferences.add(parseArtifactReference(artifact)));
+        if (!prefetchReferences.isEmpty()) {
+            prefetch(prefetchReferences, config.getPrefetchTimeoutMs());
+        }
+    }
+
+    /**
+     * Resolves the schemas of the given topics, and the schemas they reference, in parallel so that the first
+     * record of each topic doesn't wait for the registry.
+     * @param topics
+     * @return a future completed once these schemas, and those prefetched before, are cached, see
+     * {@link #getPrefetchFuture()}
+     */
+    public CompletableFuture<Void> prefetch(Collection<String> topics) {
+        List<ArtifactReference> references = new ArrayList<>();
+        topics.forEach(topic -> references.add(topicArtifactReference(topic)));
+        prefetch(references, 0);
+        return getPrefetchFuture();
+    }
+
+    /**
+     * Returns a future completed once the schemas to prefetch (see {@link SerdeConfig#PREFETCH_TOPICS} and
+     * {@link SerdeConfig#PREFETCH_ARTIFACTS}) are cached, or exceptionally if some of them could not be resolved.
+     * Already completed if there is nothing to prefetch.
+     */
+    public CompletableFuture<Void> getPrefetchFuture() {
+        return prefetched;
+    }
+
+    /**
+     * Returns true once the schemas to prefetch are all cached.
+     */
+    public boolean isReady() {
+        return prefetched.isDone() && !prefetched.isCompletedExceptionally();
+    }
+
+    private void prefetch(List<ArtifactReference> references, long timeoutMs) {
+        CompletableFuture<Void> prefetch = getSchemaResolver().prefetch(references).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Some of the schemas to prefetch could not be resolved, they will be resolved on first use.", error);
+            }
+        });
+        synchronized (this) {
+            // Earlier prefetches are kept, so that their failures are still reported
+            prefetched = CompletableFuture.allOf(prefetched, prefetch);
+        }
+        if (timeoutMs > 0) {
+            try {
+                prefetch.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Already logged
+            } catch (TimeoutException e) {
+                log.warn(String.format("The schemas to prefetch were not resolved within %d ms.", timeoutMs));
+            }
+        }
+    }
+
+    private ArtifactReference topicArtifactReference(String topic) {
+        ArtifactReference reference = getSchemaResolver()
+                .resolveArtifactReference(new KafkaSerdeRecord<>(new KafkaSerdeMetadata(topic, key, null), null));
+        if (reference == null) {
+            throw new IllegalStateException("The artifact of topic " + topic + " can't be found without a record, "
+                    + "its schema can't be prefetched with the configured artifact resolver strategy");
+        }
+        return reference;
+    }
+
+    private static ArtifactReference parseArtifactReference(String artifact) {
+        String[] parts = artifact.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new ConfigException(SerdeConfig.PREFETCH_ARTIFACTS, artifact, "Expected groupId:artifactId or groupId:artifactId:version");
+        }
+        return ArtifactReference.builder()
+                .groupId(parts[0])
+                .artifactId(parts[1])
+                .version(parts.length == 3 ? parts[2] : null)
+                .build();
     }
 
     public abstract SchemaParser<T, U> schemaParser();
@@ -39,6 +39,13 @@ import java.util.Map;
  */
 public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T, U> implements Serializer<U> {
 
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    // Buffers that grew larger than this are not kept for the next record
+    static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    // Output buffer reused by the records serialized on the same thread, not set while it is in use
+    private static final ThreadLocal<ByteArrayOutputStream> OUTPUT_BUFFER = new ThreadLocal<>();
+
     public AbstractKafkaSerializer() {
         super();
     }
@@ -82,21 +89,45 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
 
             SchemaLookupResult<T> schema = getSchemaResolver().resolveSchema(new KafkaSerdeRecord<>(resolverMetadata, data));
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            if (headersHandler != null && headers != null) {
-                headersHandler.writeHeaders(headers, schema.toArtifactReference());
-                serializeData(headers, schema.getParsedSchema(), data, out);
-            } else {
-                out.write(MAGIC_BYTE);
-                getIdHandler().writeId(schema.toArtifactReference(), out);
-                serializeData(schema.getParsedSchema(), data, out);
+            ByteArrayOutputStream out = acquireBuffer();
+            try {
+                if (headersHandler != null && headers != null) {
+                    headersHandler.writeHeaders(headers, schema.toArtifactReference());
+                    serializeData(headers, schema.getParsedSchema(), data, out);
+                } else {
+                    out.write(MAGIC_BYTE);
+                    getIdHandler().writeId(schema.toArtifactReference(), out);
+                    serializeData(schema.getParsedSchema(), data, out);
+                }
+                return out.toByteArray();
+            } finally {
+                releaseBuffer(out);
             }
-            return out.toByteArray();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Takes the output buffer of the current thread, or creates one if it is already in use (e.g. a serializer
+     * called while serializing a record).
+     */
+    static ByteArrayOutputStream acquireBuffer() {
+        ByteArrayOutputStream out = OUTPUT_BUFFER.get();
+        if (out == null) {
+            return new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        }
+        OUTPUT_BUFFER.set(null);
+        return out;
+    }
+
+    static void releaseBuffer(ByteArrayOutputStream out) {
+        if (out.size() <= MAX_REUSED_BUFFER_SIZE) {
+            out.reset();
+            OUTPUT_BUFFER.set(out);
+        }
+    }
+
     @Override
     public void close() {
         try {
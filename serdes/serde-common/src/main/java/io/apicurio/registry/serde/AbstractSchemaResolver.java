@@ -22,6 +22,7 @@ import com.microsoft.kiota.authentication.BaseBearerTokenAuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import io.apicurio.registry.auth.BasicAuthenticationProvider;
 import io.apicurio.registry.auth.OidcAccessTokenProvider;
+import io.apicurio.registry.resolver.CacheStats;
 import io.apicurio.registry.resolver.ERCache;
 import io.apicurio.registry.resolver.ParsedSchemaImpl;
 import io.apicurio.registry.resolver.config.DefaultSchemaResolverConfig;
@@ -134,6 +135,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureLifetime(config.getCheckPeriod());
         schemaCache.configureRetryBackoff(config.getRetryBackoff());
         schemaCache.configureRetryCount(config.getRetryCount());
+        schemaCache.configureMaxEntries(config.getCacheMaxEntries());
 
         schemaCache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
         schemaCache.configureContentKeyExtractor(schema -> Optional.ofNullable(schema.getRawSchema()).map(IoUtil::toString).orElse(null));
@@ -247,6 +249,14 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         });
     }
 
+    /**
+     * @see io.apicurio.registry.resolver.SchemaResolver#getCacheStats()
+     */
+    @Override
+    public CacheStats getCacheStats() {
+        return this.schemaCache.getStats();
+    }
+
     /**
      * @see io.apicurio.registry.serde.SchemaResolver#reset()
      */
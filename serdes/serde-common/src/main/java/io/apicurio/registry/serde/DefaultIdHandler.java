@@ -36,7 +36,10 @@ public class DefaultIdHandler implements IdHandler {
         } else {
             id = reference.getGlobalId();
         }
-        out.write(ByteBuffer.allocate(idSize).putLong(id).array());
+        // Big-endian, like ByteBuffer#putLong
+        for (int shift = (idSize - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (id >>> shift));
+        }
     }
 
     @Override
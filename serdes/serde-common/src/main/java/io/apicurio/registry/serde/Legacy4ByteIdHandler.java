@@ -41,7 +41,11 @@ public class Legacy4ByteIdHandler implements IdHandler {
         } else {
             id = reference.getGlobalId();
         }
-        out.write(ByteBuffer.allocate(idSize).putInt((int) id).array());
+        // Big-endian, like ByteBuffer#putInt
+        int intId = (int) id;
+        for (int shift = (idSize - 1) * 8; shift >= 0; shift -= 8) {
+            out.write(intId >>> shift);
+        }
     }
 
     @Override
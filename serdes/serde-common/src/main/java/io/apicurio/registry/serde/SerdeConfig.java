@@ -199,6 +199,28 @@ public class SerdeConfig {
     public static final String USE_ID = "apicurio.registry.use-id";
     public static final String USE_ID_DEFAULT = IdOption.globalId.name();
 
+    /**
+     * Comma separated list of topics whose schemas are resolved when the serdes are configured, rather than on the first
+     * record of each topic.  The artifact of a topic is found with the configured artifact resolver strategy, so only
+     * strategies that don't need the record data (such as the default, {@link TopicIdStrategy}) are supported.
+     */
+    public static final String PREFETCH_TOPICS = "apicurio.registry.prefetch.topics";
+
+    /**
+     * Comma separated list of artifacts whose schemas are resolved when the serdes are configured, in the
+     * format "groupId:artifactId" or "groupId:artifactId:version".  Artifacts without version are resolved to their
+     * latest version.
+     */
+    public static final String PREFETCH_ARTIFACTS = "apicurio.registry.prefetch.artifacts";
+
+    /**
+     * Number of milliseconds the configuration of the serdes waits for the prefetched schemas to be resolved.  If 0
+     * (the default) they are resolved in the background.  Schemas that are not resolved in time, or fail to be
+     * resolved, are resolved on their first record as usual.
+     */
+    public static final String PREFETCH_TIMEOUT_MS = "apicurio.registry.prefetch.timeout-ms";
+    public static final long PREFETCH_TIMEOUT_MS_DEFAULT = 0;
+
     /**
      * Boolean used to enable or disable validation. Not applicable to all serde classes.  For example, the
      * JSON Schema serde classes use this to enable or disable JSON Schema validation (unlike Avro, the JSON
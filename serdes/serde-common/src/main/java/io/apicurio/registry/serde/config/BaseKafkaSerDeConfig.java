@@ -18,6 +18,8 @@ package io.apicurio.registry.serde.config;
 
 import static io.apicurio.registry.serde.SerdeConfig.*;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.common.config.AbstractConfig;
@@ -36,7 +38,10 @@ public class BaseKafkaSerDeConfig extends AbstractConfig {
                 .define(ENABLE_CONFLUENT_ID_HANDLER, Type.BOOLEAN, false, Importance.LOW, "TODO docs")
                 .define(ENABLE_HEADERS, Type.BOOLEAN, ENABLE_HEADERS_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(HEADERS_HANDLER, Type.CLASS, HEADERS_HANDLER_DEFAULT, Importance.MEDIUM, "TODO docs")
-                .define(USE_ID, Type.STRING, USE_ID_DEFAULT, Importance.MEDIUM, "TODO docs");
+                .define(USE_ID, Type.STRING, USE_ID_DEFAULT, Importance.MEDIUM, "TODO docs")
+                .define(PREFETCH_TOPICS, Type.LIST, Collections.emptyList(), Importance.LOW, "Topics whose schemas are resolved when the serdes are configured")
+                .define(PREFETCH_ARTIFACTS, Type.LIST, Collections.emptyList(), Importance.LOW, "Artifacts (groupId:artifactId[:version]) whose schemas are resolved when the serdes are configured")
+                .define(PREFETCH_TIMEOUT_MS, Type.LONG, PREFETCH_TIMEOUT_MS_DEFAULT, Importance.LOW, "Milliseconds the configuration of the serdes waits for the prefetched schemas");
         return configDef;
     }
 
@@ -68,4 +73,16 @@ public class BaseKafkaSerDeConfig extends AbstractConfig {
         return IdOption.valueOf(this.getString(USE_ID));
     }
 
+    public List<String> getPrefetchTopics() {
+        return this.getList(PREFETCH_TOPICS);
+    }
+
+    public List<String> getPrefetchArtifacts() {
+        return this.getList(PREFETCH_ARTIFACTS);
+    }
+
+    public long getPrefetchTimeoutMs() {
+        return this.getLong(PREFETCH_TIMEOUT_MS);
+    }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.serde;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+public class IdHandlerTest {
+
+    @Test
+    void testWriteIdToStreamMatchesBuffer() throws Exception {
+        long globalId = 0x0102030405060708L;
+        ArtifactReference reference = ArtifactReference.builder().globalId(globalId).build();
+
+        DefaultIdHandler defaultHandler = new DefaultIdHandler();
+        defaultHandler.configure(Collections.emptyMap(), false);
+        assertWrittenIdMatchesBuffer(defaultHandler, reference);
+        assertEquals(globalId, defaultHandler.readId(ByteBuffer.wrap(writeId(defaultHandler, reference))).getGlobalId());
+
+        Legacy4ByteIdHandler legacyHandler = new Legacy4ByteIdHandler();
+        legacyHandler.configure(Collections.emptyMap(), false);
+        assertWrittenIdMatchesBuffer(legacyHandler, ArtifactReference.builder().globalId(-2L).build());
+    }
+
+    private static void assertWrittenIdMatchesBuffer(IdHandler handler, ArtifactReference reference) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(handler.idSize());
+        handler.writeId(reference, buffer);
+        assertArrayEquals(buffer.array(), writeId(handler, reference));
+    }
+
+    private static byte[] writeId(IdHandler handler, ArtifactReference reference) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.writeId(reference, out);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+public class OutputBufferTest {
+
+    @Test
+    void testBufferIsReusedEmptyByTheNextRecord() {
+        ByteArrayOutputStream first = AbstractKafkaSerializer.acquireBuffer();
+        first.write(1);
+        AbstractKafkaSerializer.releaseBuffer(first);
+
+        ByteArrayOutputStream second = AbstractKafkaSerializer.acquireBuffer();
+        assertSame(first, second);
+        assertEquals(0, second.size());
+        AbstractKafkaSerializer.releaseBuffer(second);
+    }
+
+    @Test
+    void testBufferInUseIsNotShared() {
+        ByteArrayOutputStream outer = AbstractKafkaSerializer.acquireBuffer();
+        // e.g. a serializer called while serializing a record
+        ByteArrayOutputStream inner = AbstractKafkaSerializer.acquireBuffer();
+        assertNotSame(outer, inner);
+        AbstractKafkaSerializer.releaseBuffer(inner);
+        AbstractKafkaSerializer.releaseBuffer(outer);
+    }
+
+    @Test
+    void testOversizedBufferIsReleased() {
+        ByteArrayOutputStream oversized = AbstractKafkaSerializer.acquireBuffer();
+        oversized.write(new byte[AbstractKafkaSerializer.MAX_REUSED_BUFFER_SIZE + 1], 0,
+                AbstractKafkaSerializer.MAX_REUSED_BUFFER_SIZE + 1);
+        AbstractKafkaSerializer.releaseBuffer(oversized);
+
+        ByteArrayOutputStream next = AbstractKafkaSerializer.acquireBuffer();
+        assertNotSame(oversized, next);
+        AbstractKafkaSerializer.releaseBuffer(next);
+    }
+}
@@ -36,8 +36,6 @@ import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.util.internal.JacksonUtils;
 import org.apache.kafka.common.cache.Cache;
-import org.apache.kafka.common.cache.LRUCache;
-import org.apache.kafka.common.cache.SynchronizedCache;
 import org.apache.kafka.connect.data.Date;
 import org.apache.kafka.connect.data.*;
 import org.apache.kafka.connect.errors.DataException;
@@ -315,6 +313,11 @@ public class AvroData {
 
     private Cache<Schema, org.apache.avro.Schema> fromConnectSchemaCache;
     private Cache<AvroSchemaAndVersion, Schema> toConnectSchemaCache;
+    // Last conversions, records usually come with the same schema instance as the previous record, which is then
+    // found without computing the (deep) hash of the schema.  Null if the caches are disabled.
+    private volatile LastConversion<Schema, org.apache.avro.Schema> lastFromConnectSchema;
+    private volatile LastConversion<AvroSchemaAndVersion, Schema> lastToConnectSchema;
+    private boolean cacheLastConversions;
     private boolean connectMetaData;
     private boolean generalizedSumTypeSupport;
     private boolean ignoreDefaultForNullables;
@@ -366,12 +369,9 @@ public class AvroData {
     }
 
     public AvroData(AvroDataConfig avroDataConfig) {
-        fromConnectSchemaCache =
-            new SynchronizedCache<>(new LRUCache<>(
-                avroDataConfig.getSchemasCacheSize()));
-        toConnectSchemaCache =
-            new SynchronizedCache<>(new LRUCache<>(
-                avroDataConfig.getSchemasCacheSize()));
+        fromConnectSchemaCache = new ConcurrentLruCache<>(avroDataConfig.getSchemasCacheSize());
+        toConnectSchemaCache = new ConcurrentLruCache<>(avroDataConfig.getSchemasCacheSize());
+        this.cacheLastConversions = avroDataConfig.getSchemasCacheSize() > 0;
         this.connectMetaData = avroDataConfig.isConnectMetaData();
         //this.generalizedSumTypeSupport = avroDataConfig.isGeneralizedSumTypeSupport();
         //this.ignoreDefaultForNullables = avroDataConfig.ignoreDefaultForNullables();
@@ -793,14 +793,21 @@ public class AvroData {
             return ANYTHING_SCHEMA;
         }
 
+        LastConversion<Schema, org.apache.avro.Schema> last = lastFromConnectSchema;
+        if (last != null && last.source == schema) {
+            return last.result;
+        }
+
         org.apache.avro.Schema cached = fromConnectSchemaCache.get(schema);
         if (cached != null) {
+            rememberFromConnectSchema(schema, cached);
             return cached;
         }
 
         FromConnectContext fromConnectContext = new FromConnectContext(schemaMap);
         org.apache.avro.Schema finalSchema = fromConnectSchema(schema, fromConnectContext, false);
         fromConnectSchemaCache.put(schema, finalSchema);
+        rememberFromConnectSchema(schema, finalSchema);
         return finalSchema;
     }
 
@@ -1714,8 +1721,18 @@ public class AvroData {
         // the internal conversions, this is the safest place to add caching since some of the internal
         // conversions take extra flags (like forceOptional) which means the resulting schema might not
         // exactly match the Avro schema.
+        Schema cachedSchema = null;
+        LastConversion<AvroSchemaAndVersion, Schema> last = lastToConnectSchema;
+        if (last != null && last.source.schema() == schema && Objects.equals(last.source.version(), version)) {
+            cachedSchema = last.result;
+        }
         AvroSchemaAndVersion schemaAndVersion = new AvroSchemaAndVersion(schema, version);
-        Schema cachedSchema = toConnectSchemaCache.get(schemaAndVersion);
+        if (cachedSchema == null) {
+            cachedSchema = toConnectSchemaCache.get(schemaAndVersion);
+            if (cachedSchema != null) {
+                rememberToConnectSchema(schemaAndVersion, cachedSchema);
+            }
+        }
         if (cachedSchema != null) {
             if (schema.getType() == org.apache.avro.Schema.Type.RECORD) {
                 // cycleReferences is only populated with record type schemas. We need to initialize it here
@@ -1729,9 +1746,35 @@ public class AvroData {
         Schema resultSchema = toConnectSchema(schema, getForceOptionalDefault(), null,
                                               null, version, toConnectContext);
         toConnectSchemaCache.put(schemaAndVersion, resultSchema);
+        rememberToConnectSchema(schemaAndVersion, resultSchema);
         return resultSchema;
     }
 
+    private void rememberFromConnectSchema(Schema schema, org.apache.avro.Schema result) {
+        if (cacheLastConversions) {
+            lastFromConnectSchema = new LastConversion<>(schema, result);
+        }
+    }
+
+    private void rememberToConnectSchema(AvroSchemaAndVersion schemaAndVersion, Schema result) {
+        if (cacheLastConversions) {
+            lastToConnectSchema = new LastConversion<>(schemaAndVersion, result);
+        }
+    }
+
+    /**
+     * A schema conversion, whose source is compared by identity.
+     */
+    private static final class LastConversion<S, R> {
+        private final S source;
+        private final R result;
+
+        private LastConversion(S source, R result) {
+            this.source = source;
+            this.result = result;
+        }
+    }
+
     /**
      * @param schema           schema to convert
      * @param forceOptional    make the resulting schema optional, for converting Avro unions to a
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.converter.avro;
+
+import io.apicurio.registry.utils.BoundedCache;
+import org.apache.kafka.common.cache.Cache;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache that can be used by many threads without blocking each other, unlike a
+ * {@link org.apache.kafka.common.cache.SynchronizedCache} around a {@link org.apache.kafka.common.cache.LRUCache}.
+ * The Kafka Connect {@link Cache} view of a {@link BoundedCache}, see there for how entries are evicted.
+ */
+class ConcurrentLruCache<K, V> implements Cache<K, V> {
+
+    private final BoundedCache<K, V> cache;
+
+    ConcurrentLruCache(int maxSize) {
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * @param clock  Gives the access times of the entries, tests use a clock that never returns the same time twice.
+     */
+    ConcurrentLruCache(int maxSize, LongSupplier clock) {
+        this.cache = new BoundedCache<>(maxSize, clock);
+    }
+
+    @Override
+    public V get(K key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return cache.remove(key);
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+}
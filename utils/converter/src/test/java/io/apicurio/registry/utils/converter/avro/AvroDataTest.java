@@ -3,6 +3,7 @@ package io.apicurio.registry.utils.converter.avro;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -116,4 +117,61 @@ public class AvroDataTest {
         org.apache.avro.Schema aSchema = avroData.fromConnectSchema(avroData.toConnectSchema(bSchema));
         Assertions.assertEquals(bSchema.toString(), aSchema.toString());
     }
+
+    @Test
+    public void testLastFromConnectSchemaIsReused() {
+        Schema first = SchemaBuilder.struct().name("io.apicurio.First").field("a", Schema.STRING_SCHEMA).build();
+        Schema second = SchemaBuilder.struct().name("io.apicurio.Second").field("b", Schema.INT32_SCHEMA).build();
+        AvroData avroData = new AvroData(10);
+
+        org.apache.avro.Schema firstAvro = avroData.fromConnectSchema(first);
+        Assertions.assertSame(firstAvro, avroData.fromConnectSchema(first));
+
+        // Another schema replaces the last conversion, each schema still gets its own
+        org.apache.avro.Schema secondAvro = avroData.fromConnectSchema(second);
+        Assertions.assertEquals("Second", secondAvro.getName());
+        Assertions.assertSame(firstAvro, avroData.fromConnectSchema(first));
+        Assertions.assertSame(secondAvro, avroData.fromConnectSchema(second));
+
+        // An equal schema, but another instance, is found in the cache
+        Schema firstCopy = SchemaBuilder.struct().name("io.apicurio.First").field("a", Schema.STRING_SCHEMA).build();
+        Assertions.assertSame(firstAvro, avroData.fromConnectSchema(firstCopy));
+    }
+
+    @Test
+    public void testLastToConnectSchemaIsReused() {
+        org.apache.avro.Schema first = new org.apache.avro.Schema.Parser().parse(
+                "{\"type\":\"record\",\"name\":\"First\",\"fields\":[{\"name\":\"a\",\"type\":\"string\"}]}");
+        org.apache.avro.Schema second = new org.apache.avro.Schema.Parser().parse(
+                "{\"type\":\"record\",\"name\":\"Second\",\"fields\":[{\"name\":\"b\",\"type\":\"int\"}]}");
+        AvroData avroData = new AvroData(10);
+
+        Schema firstConnect = avroData.toConnectSchema(first);
+        Assertions.assertSame(firstConnect, avroData.toConnectSchema(first));
+
+        Schema secondConnect = avroData.toConnectSchema(second);
+        Assertions.assertEquals("Second", secondConnect.name());
+        Assertions.assertSame(firstConnect, avroData.toConnectSchema(first));
+        Assertions.assertSame(secondConnect, avroData.toConnectSchema(second));
+    }
+
+    @Test
+    public void testConversionsWithCacheDisabled() {
+        Schema first = SchemaBuilder.struct().name("io.apicurio.First").field("a", Schema.STRING_SCHEMA).build();
+        Schema second = SchemaBuilder.struct().name("io.apicurio.Second").field("b", Schema.INT32_SCHEMA).build();
+        AvroData avroData = new AvroData(0);
+
+        // Nothing is kept, not even the last conversion
+        org.apache.avro.Schema firstAvro = avroData.fromConnectSchema(first);
+        org.apache.avro.Schema firstAvroAgain = avroData.fromConnectSchema(first);
+        Assertions.assertNotSame(firstAvro, firstAvroAgain);
+        Assertions.assertEquals(firstAvro, firstAvroAgain);
+        Assertions.assertEquals("Second", avroData.fromConnectSchema(second).getName());
+
+        Schema firstConnect = avroData.toConnectSchema(firstAvro);
+        Schema firstConnectAgain = avroData.toConnectSchema(firstAvro);
+        Assertions.assertNotSame(firstConnect, firstConnectAgain);
+        Assertions.assertEquals(firstConnect, firstConnectAgain);
+        Assertions.assertEquals("io.apicurio.Second", avroData.toConnectSchema(avroData.fromConnectSchema(second)).name());
+    }
 }
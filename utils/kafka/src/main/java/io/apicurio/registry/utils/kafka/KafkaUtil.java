@@ -65,8 +65,20 @@ public class KafkaUtil {
      * @param topicConfig the config to use for the new topic
      */
     public static void createTopics(Properties properties, Set<String> topicNames, Map<String, String> topicConfig) {
+        createTopics(properties, topicNames, topicConfig, 1);
+    }
+
+    /**
+     * Create topics with sensible defaults and the given number of partitions.
+     *
+     * @param properties the Kafka properties to create Kafka admin
+     * @param topicNames topics to create, if they don't exist
+     * @param topicConfig the config to use for the new topic
+     * @param partitions the number of partitions of the new topic
+     */
+    public static void createTopics(Properties properties, Set<String> topicNames, Map<String, String> topicConfig, int partitions) {
         try (Admin admin = Admin.create(properties)) {
-            createTopics(admin, topicNames, topicConfig);
+            ConcurrentUtil.result(createTopicsAsync(admin, topicNames, topicConfig, partitions));
         }
     }
     public static void createTopics(Properties properties, Set<String> topicNames) {
@@ -94,11 +106,22 @@ public class KafkaUtil {
      * @param topicNames topics to create, if they don't exist
      */
     public static CompletionStage<Void> createTopicsAsync(Admin admin, Set<String> topicNames, Map<String, String> topicConfig) {
+        return createTopicsAsync(admin, topicNames, topicConfig, 1);
+    }
+
+    /**
+     * Create topics with sensible defaults and the given number of partitions, async.
+     *
+     * @param admin      the Kafka admin to use
+     * @param topicNames topics to create, if they don't exist
+     * @param partitions the number of partitions of the new topics
+     */
+    public static CompletionStage<Void> createTopicsAsync(Admin admin, Set<String> topicNames, Map<String, String> topicConfig, int partitions) {
         List<CompletionStage<NewTopic>> topicsToCreate = new ArrayList<>();
         return toCompletionStage(admin.listTopics().names())
                 .thenCompose(topics -> {
                     for (String topicName : topicNames) {
-                        createTopic(admin, topics, topicsToCreate, topicName, topicConfig);
+                        createTopic(admin, topics, topicsToCreate, topicName, topicConfig, partitions);
                     }
                     //noinspection SuspiciousToArrayCall
                     return CompletableFuture.allOf(topicsToCreate.toArray(new CompletableFuture[0]));
@@ -119,7 +142,7 @@ public class KafkaUtil {
                 });
     }
 
-    private static void createTopic(Admin admin, Set<String> topics, List<CompletionStage<NewTopic>> topicsToCreate, String topicName, Map<String, String> topicConfig) {
+    private static void createTopic(Admin admin, Set<String> topics, List<CompletionStage<NewTopic>> topicsToCreate, String topicName, Map<String, String> topicConfig, int partitions) {
         if (!topics.contains(topicName)) {
             KafkaFuture<NewTopic> newTopicKF = admin.describeCluster().nodes().thenApply(nodes -> {
                 Map<String, String> configs = new HashMap<>();
@@ -133,7 +156,7 @@ public class KafkaUtil {
                 }
                 int minimumInSyncReplicas = Math.max(replicationFactor - 1, 1);
                 configs.putIfAbsent(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(minimumInSyncReplicas));
-                return new NewTopic(topicName, 1, (short) replicationFactor).configs(configs);
+                return new NewTopic(topicName, partitions, (short) replicationFactor).configs(configs);
             }).whenComplete((nt, t) -> log.info("Created new topic: {}", topicName, t));
             topicsToCreate.add(toCompletionStage(newTopicKF));
         }